@@ -149,6 +149,10 @@ public class DMLScript
 	public static boolean           SYNCHRONIZE_GPU      = true;
 	// Enable eager CUDA free on rmvar
 	public static boolean           EAGER_CUDA_FREE      = false;
+	// Enable vectorized (SIMD) kernels for dense CP operations
+	public static boolean           SIMD_OPS             = false;
+	// Min size in bytes of dense blocks allocated or deserialized off-heap (-1 disables)
+	public static long              OFFHEAP_DENSE_THRESHOLD = -1;
 
 	// Global seed 
 	public static int               SEED                 = -1;
@@ -513,6 +517,9 @@ public class DMLScript
 		NativeHelper.initialize(dmlconf.getTextValue(DMLConfig.NATIVE_BLAS_DIR), dmlconf.getTextValue(DMLConfig.NATIVE_BLAS).trim());
 		DMLScript.SYNCHRONIZE_GPU = dmlconf.getBooleanValue(DMLConfig.SYNCHRONIZE_GPU);
 		DMLScript.EAGER_CUDA_FREE = dmlconf.getBooleanValue(DMLConfig.EAGER_CUDA_FREE);
+		DMLScript.SIMD_OPS = dmlconf.getBooleanValue(DMLConfig.CP_SIMD_OPS);
+		double offheap = dmlconf.getDoubleValue(DMLConfig.CP_OFFHEAP_DENSE);
+		DMLScript.OFFHEAP_DENSE_THRESHOLD = (offheap < 0) ? -1 : (long)(offheap * 1024 * 1024);
 		DMLScript.PRINT_GPU_MEMORY_INFO = dmlconf.getBooleanValue(DMLConfig.PRINT_GPU_MEMORY_INFO);
 		DMLScript.GPU_MEMORY_UTILIZATION_FACTOR = dmlconf.getDoubleValue(DMLConfig.GPU_MEMORY_UTILIZATION_FACTOR);
 		DMLScript.GPU_MEMORY_ALLOCATOR = dmlconf.getTextValue(DMLConfig.GPU_MEMORY_ALLOCATOR);
@@ -34,8 +34,10 @@ import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUObject;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig;
 import org.apache.sysds.runtime.lineage.LineageEstimatorStatistics;
 import org.apache.sysds.runtime.lineage.LineageGPUCacheEviction;
+import org.apache.sysds.runtime.lineage.LineagePersistentCache;
 import org.apache.sysds.utils.Statistics;
 
 public class ScriptExecutorUtils {
@@ -119,6 +121,8 @@ public class ScriptExecutorUtils {
 			}
 			if( ConfigurationManager.isCodegenEnabled() )
 				SpoofCompiler.cleanupCodeGenerator();
+			if( LineageCacheConfig.isSetPersist() )
+				LineagePersistentCache.flush();
 			
 			// display statistics (incl caching stats if enabled)
 			Statistics.stopRunTimer();
@@ -70,6 +70,8 @@ public class DMLConfig
 	public static final String DEFAULT_BLOCK_SIZE   = "sysds.defaultblocksize";
 	public static final String CP_PARALLEL_OPS      = "sysds.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysds.cp.parallel.io";
+	public static final String CP_SIMD_OPS          = "sysds.cp.simd.ops"; // boolean: enable vectorized (Vector API) dense kernels
+	public static final String CP_OFFHEAP_DENSE     = "sysds.cp.offheap.dense"; // double: min size (MB) of deserialized dense blocks kept off-heap, -1 disables
 	public static final String IO_COMPRESSION_CODEC = "sysds.io.compression.encoding";
 	public static final String PARALLEL_ENCODE      = "sysds.parallel.encode";  // boolean: enable multi-threaded transformencode and apply
 	public static final String PARALLEL_ENCODE_STAGED = "sysds.parallel.encode.staged";
@@ -81,6 +83,8 @@ public class DMLConfig
 	public static final String COMPRESSED_LINALG    = "sysds.compressed.linalg";
 	public static final String COMPRESSED_LINALG_INTERMEDIATE    = "sysds.compressed.linalg.intermediate";
 	public static final String COMPRESSED_LOSSY     = "sysds.compressed.lossy";
+	public static final String COMPRESSED_LOSSY_ERROR = "sysds.compressed.lossy.error";
+	public static final String COMPRESSED_LOSSY_RELATIVE = "sysds.compressed.lossy.relative";
 	public static final String COMPRESSED_VALID_COMPRESSIONS = "sysds.compressed.valid.compressions";
 	public static final String COMPRESSED_OVERLAPPING = "sysds.compressed.overlapping"; 
 	public static final String COMPRESSED_SAMPLING_RATIO = "sysds.compressed.sampling.ratio"; 
@@ -89,6 +93,7 @@ public class DMLConfig
 	public static final String COMPRESSED_COST_MODEL= "sysds.compressed.costmodel";
 	public static final String COMPRESSED_TRANSPOSE = "sysds.compressed.transpose";
 	public static final String COMPRESSED_TRANSFORMENCODE = "sysds.compressed.transformencode";
+	public static final String COMPRESSED_SPARK_SCHEME = "sysds.compressed.spark.scheme";
 	public static final String NATIVE_BLAS          = "sysds.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysds.native.blas.directory";
 	public static final String DAG_LINEARIZATION    = "sysds.compile.linearization";
@@ -107,9 +112,16 @@ public class DMLConfig
 	public static final String USE_LOCAL_SPARK_CONFIG = "sysds.local.spark"; // If set to true, it forces spark execution to a local spark context.
 	public static final String LOCAL_SPARK_NUM_THREADS = "sysds.local.spark.number.threads"; // the number of threads allowed to be used in the local spark configuration, default is * to enable use of all threads.
 	public static final String LINEAGECACHESPILL    = "sysds.lineage.cachespill"; // boolean: whether to spill cache entries to disk
+	public static final String LINEAGECACHEPREFETCH = "sysds.lineage.cacheprefetch"; // boolean: whether to asynchronously restore spilled cache entries ahead of use
 	public static final String COMPILERASSISTED_RW  = "sysds.lineage.compilerassisted"; // boolean: whether to apply compiler assisted rewrites
+	public static final String LINEAGECACHE_PERSIST_DIR  = "sysds.lineage.persist.dir"; // string: local dir of the cross-run lineage cache, empty if disabled
+	public static final String LINEAGECACHE_PERSIST_SIZE = "sysds.lineage.persist.size"; // int: size limit of the cross-run lineage cache in MB
 	public static final String BUFFERPOOL_LIMIT     = "sysds.caching.bufferpoollimit"; // max buffer pool size in percentage
 	public static final String MEMORY_MANAGER       = "sysds.caching.memorymanager"; // static or unified memory manager
+	public static final String CACHING_MMAP         = "sysds.caching.mmap"; // boolean: restore evicted dense blocks via memory-mapping
+	public static final String CACHING_SPILL_CODEC  = "sysds.caching.spill.codec"; // string: none, lz4, snappy, deflate
+	public static final String CACHING_SPILL_THRESHOLD = "sysds.caching.spill.threshold"; // int: min size in KB of compressed spills
+	public static final String CACHING_EVICTION_POLICY = "sysds.caching.evictionpolicy"; // string: fifo, lru, cost
 	
 	// Fraction of available memory to use. The available memory is computer when the GPUContext is created
 	// to handle the tradeoff on calling cudaMemGetInfo too often.
@@ -156,6 +168,8 @@ public class DMLConfig
 		_defaultVals.put(DEFAULT_BLOCK_SIZE,     String.valueOf(OptimizerUtils.DEFAULT_BLOCKSIZE) );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(CP_SIMD_OPS,            "false" );
+		_defaultVals.put(CP_OFFHEAP_DENSE,       "-1" );
 		_defaultVals.put(IO_COMPRESSION_CODEC,   "none");
 		_defaultVals.put(PARALLEL_TOKENIZE,      "false");
 		_defaultVals.put(PARALLEL_TOKENIZE_NUM_BLOCKS, "64");
@@ -166,6 +180,8 @@ public class DMLConfig
 		_defaultVals.put(PARALLEL_ENCODE_NUM_THREADS, "-1");
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.FALSE.name() );
 		_defaultVals.put(COMPRESSED_LOSSY,       "false" );
+		_defaultVals.put(COMPRESSED_LOSSY_ERROR, "1e-3" );
+		_defaultVals.put(COMPRESSED_LOSSY_RELATIVE, "false" );
 		_defaultVals.put(COMPRESSED_VALID_COMPRESSIONS, "SDC,DDC");
 		_defaultVals.put(COMPRESSED_OVERLAPPING, "true" );
 		_defaultVals.put(COMPRESSED_SAMPLING_RATIO, "0.01");
@@ -174,6 +190,7 @@ public class DMLConfig
 		_defaultVals.put(COMPRESSED_COST_MODEL,  "AUTO");
 		_defaultVals.put(COMPRESSED_TRANSPOSE,   "auto");
 		_defaultVals.put(COMPRESSED_TRANSFORMENCODE, "false");
+		_defaultVals.put(COMPRESSED_SPARK_SCHEME, "false");
 		_defaultVals.put(DAG_LINEARIZATION,      DagLinearizer.DEPTH_FIRST.name());
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_API,            GeneratorAPI.JAVA.name() );
@@ -184,9 +201,16 @@ public class DMLConfig
 		_defaultVals.put(NATIVE_BLAS,            "none" );
 		_defaultVals.put(NATIVE_BLAS_DIR,        "none" );
 		_defaultVals.put(LINEAGECACHESPILL,      "true" );
+		_defaultVals.put(LINEAGECACHEPREFETCH,   "true" );
 		_defaultVals.put(COMPILERASSISTED_RW,    "true" );
+		_defaultVals.put(LINEAGECACHE_PERSIST_DIR,  "" );
+		_defaultVals.put(LINEAGECACHE_PERSIST_SIZE, "4096" );
 		_defaultVals.put(BUFFERPOOL_LIMIT,       "15"); // % of total heap
 		_defaultVals.put(MEMORY_MANAGER,         "static"); // static/unified partitioning of heap
+		_defaultVals.put(CACHING_MMAP,           "false" );
+		_defaultVals.put(CACHING_SPILL_CODEC,    "none" );
+		_defaultVals.put(CACHING_SPILL_THRESHOLD, "64" );
+		_defaultVals.put(CACHING_EVICTION_POLICY, "fifo" );
 		_defaultVals.put(PRINT_GPU_MEMORY_INFO,  "false" );
 		_defaultVals.put(EVICTION_SHADOW_BUFFERSIZE,  "0.0" );
 		_defaultVals.put(STATS_MAX_WRAP_LEN,     "30" );
@@ -456,12 +480,15 @@ public class DMLConfig
 	public String getConfigInfo()  {
 		String[] tmpConfig = new String[] { 
 			LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL, DEFAULT_BLOCK_SIZE,
-			CP_PARALLEL_OPS, CP_PARALLEL_IO, PARALLEL_ENCODE, NATIVE_BLAS, NATIVE_BLAS_DIR,
-			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
+			CP_PARALLEL_OPS, CP_PARALLEL_IO, CP_SIMD_OPS, CP_OFFHEAP_DENSE, PARALLEL_ENCODE, NATIVE_BLAS, NATIVE_BLAS_DIR,
+			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_LOSSY_ERROR, COMPRESSED_LOSSY_RELATIVE,
+			COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
 			COMPRESSED_SAMPLING_RATIO, COMPRESSED_SOFT_REFERENCE_COUNT,
-			COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, DAG_LINEARIZATION,
+			COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, COMPRESSED_SPARK_SCHEME,
+			DAG_LINEARIZATION,
 			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
-			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, BUFFERPOOL_LIMIT, MEMORY_MANAGER,
+			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, LINEAGECACHEPREFETCH, COMPILERASSISTED_RW, LINEAGECACHE_PERSIST_DIR, LINEAGECACHE_PERSIST_SIZE, BUFFERPOOL_LIMIT, MEMORY_MANAGER, CACHING_MMAP,
+			CACHING_SPILL_CODEC, CACHING_SPILL_THRESHOLD, CACHING_EVICTION_POLICY,
 			PRINT_GPU_MEMORY_INFO, AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, GPU_RULE_BASED_PLACEMENT,
 			FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, LOCAL_SPARK_NUM_THREADS, EVICTION_SHADOW_BUFFERSIZE,
 			GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR, USE_SSL_FEDERATED_COMMUNICATION,
@@ -545,7 +545,9 @@ public class OptimizerUtils
 			return BUFFER_POOL_SIZE;
 		DMLConfig conf = ConfigurationManager.getDMLConfig();
 		double bufferPoolFactor = (double)(conf.getIntValue(DMLConfig.BUFFERPOOL_LIMIT))/100;
-		bufferPoolFactor = Math.max(bufferPoolFactor, DEFAULT_MEM_UTIL_FACTOR);
+		//unified memory manager shares its budget with operation memory (85%)
+		bufferPoolFactor = Math.max(bufferPoolFactor,
+			isUMMEnabled() ? DEFAULT_UMM_UTIL_FACTOR : DEFAULT_MEM_UTIL_FACTOR);
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		return (long)(bufferPoolFactor * maxMem);
 	}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Cache of intermediates of matrix multiplications on a compressed matrix that only depend on the compressed matrix
+ * itself, such as the column groups with the common values extracted (including their cached counts) and the result
+ * of t(x) %*% x.
+ *
+ * Iterative algorithms repeatedly multiply with the same compressed matrix, and reuse these intermediates across
+ * calls. The cache is only valid for the list of column groups it was created for, and is held through a soft
+ * reference in the compressed matrix block, that is cleared on modification of the column groups.
+ *
+ * The pre-aggregated dictionaries of left matrix multiplications are not cached, since they depend on the other
+ * operand, and the counts are already cached in the column groups.
+ */
+public final class CompressedMMCache {
+
+	/** The maximum size of the cached intermediates relative to the compressed size of the matrix */
+	public static final double MAX_RELATIVE_SIZE = 0.5;
+
+	/** The column groups this cache was created for */
+	private final List<AColGroup> _source;
+	/** The maximum number of bytes allowed to cache */
+	private final long _maxSize;
+
+	/** The column groups with extracted common values, and the extracted common values */
+	private Pair<List<AColGroup>, double[]> _filtered;
+	/** The result of t(x) %*% x */
+	private MatrixBlock _tsmm;
+	/** The size of the cached intermediates */
+	private long _size = 0;
+
+	protected CompressedMMCache(List<AColGroup> source, long compressedSize) {
+		_source = source;
+		_maxSize = (long) (compressedSize * MAX_RELATIVE_SIZE);
+	}
+
+	/**
+	 * Get if the cache is created for the given column groups.
+	 *
+	 * @param groups The current column groups of the compressed matrix
+	 * @return If the cache is valid
+	 */
+	public boolean isValidFor(List<AColGroup> groups) {
+		return _source == groups;
+	}
+
+	/**
+	 * Get the cached column groups with the common values extracted, together with the extracted common values. Note
+	 * the list and array are shared and should not be modified.
+	 *
+	 * @return The filtered column groups and constant vector or null if not cached
+	 */
+	public synchronized Pair<List<AColGroup>, double[]> getFilteredGroups() {
+		return _filtered;
+	}
+
+	/**
+	 * Set the column groups with the common values extracted, if small enough to cache.
+	 *
+	 * @param filtered The filtered column groups
+	 * @param constV   The extracted common values
+	 */
+	public synchronized void setFilteredGroups(List<AColGroup> filtered, double[] constV) {
+		if(_filtered != null)
+			return;
+		final long size = estimateFilteredSize(filtered, constV);
+		if(_size + size > _maxSize)
+			return;
+		_filtered = new ImmutablePair<>(Collections.unmodifiableList(filtered), constV);
+		_size += size;
+	}
+
+	/**
+	 * Get the cached result of t(x) %*% x.
+	 *
+	 * @return The result or null if not cached
+	 */
+	public synchronized MatrixBlock getTSMM() {
+		return _tsmm;
+	}
+
+	/**
+	 * Set the result of t(x) %*% x, if small enough to cache. The given block is copied.
+	 *
+	 * @param tsmm The result of the transpose self matrix multiplication
+	 */
+	public synchronized void setTSMM(MatrixBlock tsmm) {
+		if(_tsmm != null)
+			return;
+		final long size = tsmm.getInMemorySize();
+		if(_size + size > _maxSize)
+			return;
+		_tsmm = new MatrixBlock(tsmm);
+		_size += size;
+	}
+
+	/**
+	 * Get the size of the cached intermediates in memory.
+	 *
+	 * @return The size in bytes
+	 */
+	public synchronized long getInMemorySize() {
+		return _size;
+	}
+
+	private long estimateFilteredSize(List<AColGroup> filtered, double[] constV) {
+		final Set<AColGroup> source = Collections.newSetFromMap(new IdentityHashMap<>());
+		source.addAll(_source);
+		long size = 16 + 40 + 8L * filtered.size(); // list with references
+		size += constV != null ? 16 + 8L * constV.length : 0;
+		for(AColGroup g : filtered) {
+			if(source.contains(g))
+				continue; // shared with the compressed matrix
+			else if(g instanceof ADictBasedColGroup) // index structures are shared, but not the dictionary
+				size += ((ADictBasedColGroup) g).getDictionary().getInMemorySize();
+			else
+				size += g.estimateInMemorySize();
+		}
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName());
+		sb.append(" size: ");
+		sb.append(_size);
+		sb.append(" filtered: ");
+		sb.append(_filtered != null);
+		sb.append(" tsmm: ");
+		sb.append(_tsmm != null);
+		return sb.toString();
+	}
+}
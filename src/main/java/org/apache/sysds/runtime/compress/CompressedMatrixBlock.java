@@ -58,6 +58,7 @@ import org.apache.sysds.runtime.compress.lib.CLALibDecompress;
 import org.apache.sysds.runtime.compress.lib.CLALibMMChain;
 import org.apache.sysds.runtime.compress.lib.CLALibMatrixMult;
 import org.apache.sysds.runtime.compress.lib.CLALibMerge;
+import org.apache.sysds.runtime.compress.lib.CLALibRBind;
 import org.apache.sysds.runtime.compress.lib.CLALibReplace;
 import org.apache.sysds.runtime.compress.lib.CLALibReorg;
 import org.apache.sysds.runtime.compress.lib.CLALibReshape;
@@ -128,6 +129,11 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	/** Cached Memory size */
 	protected transient long cachedMemorySize = -1;
 
+	/**
+	 * Soft reference to cached intermediates of matrix multiplications with this matrix block.
+	 */
+	protected transient SoftReference<CompressedMMCache> mmCache;
+
 	public CompressedMatrixBlock() {
 		super(true);
 		sparse = false;
@@ -217,6 +223,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	 */
 	public void allocateColGroup(AColGroup cg) {
 		cachedMemorySize = -1;
+		mmCache = null;
 		_colGroups = new ArrayList<>(1);
 		_colGroups.add(cg);
 	}
@@ -228,6 +235,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	 */
 	public void allocateColGroupList(List<AColGroup> colGroups) {
 		cachedMemorySize = -1;
+		mmCache = null;
 		_colGroups = colGroups;
 	}
 
@@ -323,6 +331,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	public CompressedMatrixBlock squash(int k) {
 		cachedMemorySize = -1;
+		mmCache = null;
 		return CLALibSquash.squash(this, k);
 	}
 
@@ -383,7 +392,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public long getInMemorySize() {
-		return estimateCompressedSizeInMemory();
+		// include the cached multiplication intermediates, to charge them against the buffer pool
+		return estimateCompressedSizeInMemory() + getMMCacheSize();
 	}
 
 	@Override
@@ -425,6 +435,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		total += 8; // Col Group Ref
 		total += 8; // v reference
 		total += 8; // soft reference to decompressed version
+		total += 8; // soft reference to matrix multiplication cache
 		total += 8; // long cached memory size
 		total += 1 + 7; // Booleans plus padding
 
@@ -466,6 +477,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void readFields(DataInput in) throws IOException {
 		cachedMemorySize = -1;
+		mmCache = null;
 		// deserialize compressed block
 		rlen = in.readInt();
 		clen = in.readInt();
@@ -558,13 +570,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public MatrixBlock append(MatrixBlock[] that, MatrixBlock ret, boolean cbind) {
 		if(cbind)
 			return CLALibCBind.cbind(this, that, InfrastructureAnalyzer.getLocalParallelism());
-		else {
-			MatrixBlock left = getUncompressed("append list or r-bind not supported in compressed");
-			MatrixBlock[] thatUC = new MatrixBlock[that.length];
-			for(int i = 0; i < that.length; i++)
-				thatUC[i] = getUncompressed(that[i]);
-			return left.append(thatUC, ret, cbind);
-		}
+		else
+			return CLALibRBind.rbind(this, that, ret, InfrastructureAnalyzer.getLocalParallelism());
 	}
 
 	@Override
@@ -1065,6 +1072,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	private void copyCompressedMatrix(CompressedMatrixBlock that) {
 		cachedMemorySize = -1;
+		mmCache = null;
 		this.rlen = that.getNumRows();
 		this.clen = that.getNumColumns();
 		this.sparseBlock = null;
@@ -1086,6 +1094,36 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		decompressedVersion = null;
 	}
 
+	/**
+	 * Get the cache of matrix multiplication intermediates for the current column groups, and create it if not
+	 * existing or invalid.
+	 * 
+	 * @return The cache of matrix multiplication intermediates
+	 */
+	public synchronized CompressedMMCache getMMCache() {
+		CompressedMMCache c = mmCache != null ? mmCache.get() : null;
+		if(c == null || !c.isValidFor(_colGroups)) {
+			c = new CompressedMMCache(_colGroups, estimateCompressedSizeInMemory());
+			mmCache = new SoftReference<>(c);
+		}
+		return c;
+	}
+
+	/**
+	 * Get the size of the cached matrix multiplication intermediates, zero if not cached or already garbage collected.
+	 * 
+	 * @return The size in bytes
+	 */
+	public long getMMCacheSize() {
+		final SoftReference<CompressedMMCache> ref = mmCache;
+		final CompressedMMCache c = ref != null ? ref.get() : null;
+		return c != null && c.isValidFor(_colGroups) ? c.getInMemorySize() : 0;
+	}
+
+	public void clearMMCache() {
+		mmCache = null;
+	}
+
 	public void clearCounts() {
 		for(AColGroup a : _colGroups)
 			a.clear();
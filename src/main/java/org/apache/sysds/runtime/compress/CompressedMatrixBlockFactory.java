@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.compress;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -36,6 +37,8 @@ import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
 import org.apache.sysds.runtime.compress.cost.ACostEstimate;
 import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
 import org.apache.sysds.runtime.compress.cost.CostEstimatorBuilder;
@@ -46,6 +49,8 @@ import org.apache.sysds.runtime.compress.estim.AComEst;
 import org.apache.sysds.runtime.compress.estim.ComEstFactory;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
+import org.apache.sysds.runtime.compress.lib.CLALibQuantize;
+import org.apache.sysds.runtime.compress.lib.CLALibQuantize.Quantization;
 import org.apache.sysds.runtime.compress.workload.WTreeRoot;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
@@ -87,6 +92,8 @@ public class CompressedMatrixBlockFactory {
 	private AComEst informationExtractor;
 	/** Compression information gathered through the sampling, used for the actual compression decided */
 	private CompressedSizeInfo compressionGroups;
+	/** The quantization of the input if the compression is lossy */
+	private Quantization quantization;
 
 	private CompressedMatrixBlockFactory(MatrixBlock mb, int k, CompressionSettingsBuilder compSettings,
 		ACostEstimate costEstimator) {
@@ -314,13 +321,19 @@ public class CompressedMatrixBlockFactory {
 		if(mb.isEmpty()) // empty input return empty compression
 			return createEmpty();
 
+		final MatrixBlock input = mb;
+		if(compSettings.lossy && !(mb instanceof CompressedMatrixBlock))
+			quantizePhase();
+
 		res = new CompressedMatrixBlock(mb); // copy metadata and allocate soft reference
 		logInit();
 			
 		classifyPhase();
 
-		if(compressionGroups == null) 
+		if(compressionGroups == null) {
+			mb = input; // return the unmodified input
 			return abortCompression();
+		}
 
 		// clear extra data from analysis
 		compressionGroups.clearMaps();
@@ -330,8 +343,10 @@ public class CompressedMatrixBlockFactory {
 		compressPhase();
 		finalizePhase();
 
-		if(res == null)
+		if(res == null) {
+			mb = input; // return the unmodified input, not the quantized or transposed matrix
 			return abortCompression();
+		}
 
 		if(CompressedMatrixBlock.debug) {
 			final double afterComp = mb.sum(k).getDouble(0, 0);
@@ -342,9 +357,22 @@ public class CompressedMatrixBlockFactory {
 		return new ImmutablePair<>(res, _stats);
 	}
 
+	private void quantizePhase() {
+		// only compute the step sizes, the columns are quantized per column group to not hold a quantized copy
+		quantization = CLALibQuantize.quantize(mb, compSettings.lossyErrorBound, compSettings.lossyRelativeError);
+		_stats.lossyMaxError = quantization.maxError;
+		_stats.lossyQuantizedColumns = quantization.getNumQuantizedColumns();
+		if(LOG.isDebugEnabled())
+			LOG.debug(String.format("--quantized columns: %d max error: %e", _stats.lossyQuantizedColumns,
+				_stats.lossyMaxError));
+	}
+
 	private void classifyPhase() {
 		// Create the extractor for column statistics
-		informationExtractor = ComEstFactory.createEstimator(mb, compSettings, k);
+		if(quantization == null)
+			informationExtractor = ComEstFactory.createEstimator(mb, compSettings, k);
+		else
+			informationExtractor = ComEstFactory.createQuantizedEstimator(mb, compSettings, quantization, k);
 		// Compute the individual columns cost information
 		compressionGroups = informationExtractor.computeCompressedSizeInfos(k);
 
@@ -418,7 +446,8 @@ public class CompressedMatrixBlockFactory {
 
 	private void transposePhase() {
 		final boolean haveMemory = Runtime.getRuntime().freeMemory() - (mb.estimateSizeInMemory() * 2) > 0;
-		if(!compSettings.transposed && haveMemory) {
+		// lossy compression quantizes the columns of each group from the row major input instead of a transposed copy
+		if(!compSettings.transposed && haveMemory && quantization == null) {
 			transposeHeuristics();
 			if(compSettings.transposed) {
 				boolean sparse = mb.isInSparseFormat();
@@ -464,12 +493,59 @@ public class CompressedMatrixBlockFactory {
 	}
 
 	private void compressPhase() {
-		List<AColGroup> c = ColGroupFactory.compressColGroups(mb, compressionGroups, compSettings, costEstimator, k);
+		final List<AColGroup> c = quantization == null ? //
+			ColGroupFactory.compressColGroups(mb, compressionGroups, compSettings, costEstimator, k) : //
+			compressQuantized();
 		res.allocateColGroupList(c);
 		_stats.compressedInitialSize = res.getInMemorySize();
 		logPhase();
 	}
 
+	private List<AColGroup> compressQuantized() {
+		final List<CompressedSizeInfoColGroup> groups = compressionGroups.getInfo();
+		final List<AColGroup> ret = new ArrayList<>(groups.size());
+		if(k <= 1) {
+			for(CompressedSizeInfoColGroup g : groups)
+				ret.addAll(compressQuantized(g));
+			return ret;
+		}
+
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			// at most k groups are quantized at a time
+			final List<Future<List<AColGroup>>> tasks = new ArrayList<>(groups.size());
+			for(CompressedSizeInfoColGroup g : groups)
+				tasks.add(pool.submit(() -> compressQuantized(g)));
+			for(Future<List<AColGroup>> t : tasks)
+				ret.addAll(t.get());
+			return ret;
+		}
+		catch(Exception e) {
+			throw new DMLCompressionException("Lossy compression failed", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private List<AColGroup> compressQuantized(CompressedSizeInfoColGroup g) {
+		// quantize only the columns of this group and compress them with local column indexes
+		final IColIndex cols = g.getColumns();
+		final MatrixBlock in = CLALibQuantize.quantizeColumns(mb, cols, quantization.steps);
+		final CompressedSizeInfo ci = new CompressedSizeInfo(g.copyWithColumns(ColIndexFactory.create(cols.size())));
+		final List<AColGroup> c = ColGroupFactory.compressColGroups(in, ci, compSettings, costEstimator, 1);
+
+		final List<AColGroup> ret = new ArrayList<>(c.size());
+		for(AColGroup cg : c) {
+			final IColIndex local = cg.getColIndices();
+			final int[] global = new int[local.size()];
+			for(int i = 0; i < global.length; i++)
+				global[i] = cols.get(local.get(i));
+			ret.add(cg.copyAndSet(ColIndexFactory.create(global)));
+		}
+		return CLALibQuantize.quantizeDictionaries(ret, quantization.steps);
+	}
+
 	private void finalizePhase() {
 		res.cleanupBlock(true, true);
 
@@ -498,7 +574,7 @@ public class CompressedMatrixBlockFactory {
 		if(compSettings.isInSparkInstruction)
 			res.clearSoftReferenceToDecompressed();
 
-		res.setNonZeros(mb.getNonZeros());
+		res.setNonZeros(quantization != null ? quantization.nonZeros : mb.getNonZeros());
 
 		logPhase();
 	}
@@ -81,6 +81,16 @@ public class CompressionSettings {
 	/** True if lossy compression is enabled */
 	public final boolean lossy;
 
+	/**
+	 * The error bound of lossy compression. Values are quantized per column such that the absolute error of each cell
+	 * is at most this bound, or if lossyRelativeError is set, at most this bound times the maximum absolute value of
+	 * the column.
+	 */
+	public final double lossyErrorBound;
+
+	/** True if the lossy error bound is relative to the maximum absolute value of each column */
+	public final boolean lossyRelativeError;
+
 	/** The selected method for column partitioning used in CoCoding compressed columns */
 	public final PartitionerType columnPartitioner;
 
@@ -96,6 +106,12 @@ public class CompressionSettings {
 	 */
 	public final double coCodePercentage;
 
+	/**
+	 * The time budget in milliseconds for the co-coding search, after which the search stops and returns the best
+	 * plan found so far. Values less than or equal to zero disable the budget.
+	 */
+	public final long coCodeTimeBudget;
+
 	/**
 	 * Valid Compressions List, containing the ColGroup CompressionTypes that are allowed to be used for the compression
 	 * Default is to always allow for Uncompromisable ColGroup.
@@ -137,7 +153,8 @@ public class CompressionSettings {
 		String transposeInput, int seed, boolean lossy, EnumSet<CompressionType> validCompressions,
 		boolean sortValuesByLength, PartitionerType columnPartitioner, int maxColGroupCoCode, double coCodePercentage,
 		int minimumSampleSize, int maxSampleSize, EstimationType estimationType, CostType costComputationType,
-		double minimumCompressionRatio, boolean isInSparkInstruction, SORT_TYPE sdcSortType, double[] scaleFactors) {
+		double minimumCompressionRatio, boolean isInSparkInstruction, SORT_TYPE sdcSortType, double[] scaleFactors,
+		long coCodeTimeBudget, double lossyErrorBound, boolean lossyRelativeError) {
 		this.samplingRatio = samplingRatio;
 		this.samplePower = samplePower;
 		this.allowSharedDictionary = allowSharedDictionary;
@@ -145,6 +162,8 @@ public class CompressionSettings {
 		this.seed = seed == -1 ? (int) System.nanoTime() : seed;
 		this.validCompressions = validCompressions;
 		this.lossy = lossy;
+		this.lossyErrorBound = lossyErrorBound;
+		this.lossyRelativeError = lossyRelativeError;
 		this.sortTuplesByFrequency = sortValuesByLength;
 		this.columnPartitioner = columnPartitioner;
 		this.maxColGroupCoCode = maxColGroupCoCode;
@@ -157,6 +176,7 @@ public class CompressionSettings {
 		this.isInSparkInstruction = isInSparkInstruction;
 		this.sdcSortType = sdcSortType;
 		this.scaleFactors = scaleFactors;
+		this.coCodeTimeBudget = coCodeTimeBudget;
 		
 		if(!printedStatus && LOG.isDebugEnabled()) {
 			printedStatus = true;
@@ -176,6 +196,8 @@ public class CompressionSettings {
 		sb.append("\t Share dict: " + allowSharedDictionary);
 		sb.append("\t Partitioner: " + columnPartitioner);
 		sb.append("\t Lossy: " + lossy);
+		if(lossy)
+			sb.append("\t Error bound: " + lossyErrorBound + (lossyRelativeError ? " (relative)" : ""));
 		sb.append("\t Cost Computation Type: " + costComputationType);
 		if(samplingRatio < 1.0)
 			sb.append("\t Estimation Type: " + estimationType);
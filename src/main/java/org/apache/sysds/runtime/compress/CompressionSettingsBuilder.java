@@ -40,10 +40,13 @@ public class CompressionSettingsBuilder {
 	private String transposeInput;
 	private int seed = -1;
 	private boolean lossy = false;
+	private double lossyErrorBound = 1e-3;
+	private boolean lossyRelativeError = false;
 	private EnumSet<CompressionType> validCompressions;
 	private boolean sortValuesByLength = true;
 	private int maxColGroupCoCode = 10000;
 	private double coCodePercentage = 0.01;
+	private long coCodeTimeBudget = 0;
 	private int minimumSampleSize = 3000;
 	private int maxSampleSize = 1000000;
 	private EstimationType estimationType = EstimationType.HassAndStokes;
@@ -58,6 +61,8 @@ public class CompressionSettingsBuilder {
 
 		DMLConfig conf = ConfigurationManager.getDMLConfig();
 		this.lossy = conf.getBooleanValue(DMLConfig.COMPRESSED_LOSSY);
+		this.lossyErrorBound = conf.getDoubleValue(DMLConfig.COMPRESSED_LOSSY_ERROR);
+		this.lossyRelativeError = conf.getBooleanValue(DMLConfig.COMPRESSED_LOSSY_RELATIVE);
 		this.validCompressions = EnumSet.of(CompressionType.UNCOMPRESSED, CompressionType.CONST, CompressionType.EMPTY);
 		String[] validCompressionsString = conf.getTextValue(DMLConfig.COMPRESSED_VALID_COMPRESSIONS).split(",");
 		for(String comp : validCompressionsString)
@@ -95,11 +100,14 @@ public class CompressionSettingsBuilder {
 		this.transposeInput = that.transposeInput;
 		this.seed = that.seed;
 		this.lossy = that.lossy;
+		this.lossyErrorBound = that.lossyErrorBound;
+		this.lossyRelativeError = that.lossyRelativeError;
 		this.validCompressions = EnumSet.copyOf(that.validCompressions);
 		this.sortValuesByLength = that.sortTuplesByFrequency;
 		this.columnPartitioner = that.columnPartitioner;
 		this.maxColGroupCoCode = that.maxColGroupCoCode;
 		this.coCodePercentage = that.coCodePercentage;
+		this.coCodeTimeBudget = that.coCodeTimeBudget;
 		this.minimumSampleSize = that.minimumSampleSize;
 		return this;
 	}
@@ -115,6 +123,24 @@ public class CompressionSettingsBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the error bound of lossy compression, and enable lossy compression. Each column is quantized to a grid such
+	 * that no cell changes by more than the bound, and the dictionaries of quantized columns are stored with 8 or 16
+	 * bit values if possible.
+	 * 
+	 * @param bound    The maximum error per cell, must be positive
+	 * @param relative If the bound is relative to the maximum absolute value of each column
+	 * @return The CompressionSettingsBuilder
+	 */
+	public CompressionSettingsBuilder setLossyErrorBound(double bound, boolean relative) {
+		if(!(bound > 0))
+			throw new DMLCompressionException("Invalid lossy error bound, must be positive: " + bound);
+		this.lossy = true;
+		this.lossyErrorBound = bound;
+		this.lossyRelativeError = relative;
+		return this;
+	}
+
 	/**
 	 * Set the sampling ratio in percent to sample the input matrix. Input value should be in range 0.0 - 1.0
 	 * 
@@ -258,6 +284,19 @@ public class CompressionSettingsBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the time budget of the coCoding search in milliseconds. Once exceeded, the coCoding stops and returns the
+	 * best combination of columns found so far. A value less than or equal to zero disables the budget, which is the
+	 * default such that compression plans do not depend on the machine speed.
+	 * 
+	 * @param coCodeTimeBudget The time budget in milliseconds
+	 * @return The CompressionSettingsBuilder
+	 */
+	public CompressionSettingsBuilder setCoCodeTimeBudget(long coCodeTimeBudget) {
+		this.coCodeTimeBudget = coCodeTimeBudget;
+		return this;
+	}
+
 	/**
 	 * Set the minimum sample size to extract from a given matrix, this overrules the sample percentage if the sample
 	 * percentage extracted is lower than this minimum bound.
@@ -345,6 +384,6 @@ public class CompressionSettingsBuilder {
 		return new CompressionSettings(samplingRatio, samplePower, allowSharedDictionary, transposeInput, seed, lossy,
 			validCompressions, sortValuesByLength, columnPartitioner, maxColGroupCoCode, coCodePercentage,
 			minimumSampleSize, maxSampleSize, estimationType, costType, minimumCompressionRatio, isInSparkInstruction,
-			sdcSortType, scaleFactors);
+			sdcSortType, scaleFactors, coCodeTimeBudget, lossyErrorBound, lossyRelativeError);
 	}
 }
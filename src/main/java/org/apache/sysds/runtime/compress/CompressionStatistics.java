@@ -57,6 +57,11 @@ public class CompressionStatistics {
 	/** Cost of the compressed representation */
 	public double compressedCost = Double.NaN;
 
+	/** Maximum absolute error introduced by lossy quantization */
+	public double lossyMaxError = 0;
+	/** Number of columns quantized by lossy compression */
+	public int lossyQuantizedColumns = 0;
+
 	/** local hashmap to count the column group instances */
 	private Map<String, int[]> colGroupCounts;
 
@@ -125,6 +130,10 @@ public class CompressionStatistics {
 		sb.append("\nCompressed Size       : " + compressedSize);
 		sb.append("\nCompressionRatio      : " + getRatio());
 		sb.append("\nDenseCompressionRatio : " + getDenseRatio());
+		if(lossyQuantizedColumns > 0) {
+			sb.append("\nQuantizedColumns      : " + lossyQuantizedColumns);
+			sb.append("\nLossyMaxError         : " + lossyMaxError);
+		}
 
 		if(colGroupCounts != null) {
 			sb.append("\nCompressionTypes      : " + getGroupsTypesString());
@@ -0,0 +1,450 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.colgroup.scheme.CompressionScheme;
+import org.apache.sysds.runtime.compress.colgroup.scheme.ICLAScheme;
+import org.apache.sysds.runtime.compress.lib.CLALibRBind;
+import org.apache.sysds.runtime.compress.lib.CLALibScheme;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Compression of a matrix that is streamed in row blocks, for instance while reading, without materializing the
+ * uncompressed matrix.
+ *
+ * The first completed row blocks are buffered uncompressed until enough rows are sampled to compress them and extract
+ * a compression scheme. All following row blocks are encoded directly into column groups with the scheme, updating the
+ * scheme with new distinct values. On finish the encoded row blocks are aligned to the final dictionaries of the
+ * scheme and appended into the column groups of the compressed matrix.
+ *
+ * Parts of row blocks (for instance column blocks, or rows of a row block split across input splits) can be appended in
+ * any order and from multiple threads. If the sample is not compressible, or the encoded row blocks cannot be combined,
+ * the remaining rows are materialized uncompressed.
+ *
+ * Appending threads only assemble row blocks under the monitor of the compressor. Completed row blocks are queued and
+ * processed (sampled or encoded) by whichever appending thread obtains the processing lock, while all other threads
+ * continue reading. Appending threads only wait for the processing if the queue of completed row blocks is full.
+ */
+public class StreamCompressor {
+	private static final Log LOG = LogFactory.getLog(StreamCompressor.class.getName());
+
+	/** The minimum number of rows to sample before fixing the compression scheme */
+	public static final int SAMPLE_ROWS = 10000;
+
+	private final int _rlen;
+	private final int _clen;
+	private final int _blen;
+	private final int _k;
+	private final long _estnnz;
+	/** The number of rows to sample, rounded up to full row blocks */
+	private final int _sampleRows;
+
+	/** Row blocks that have only partially been appended, and the number of cells appended (guarded by this) */
+	private final Map<Integer, MatrixBlock> _partial = new HashMap<>();
+	private final Map<Integer, Long> _partialCells = new HashMap<>();
+	/** The row blocks that are completed (guarded by this) */
+	private final boolean[] _done;
+	/** Completed row blocks waiting to be processed (guarded by this) */
+	private final TreeMap<Integer, MatrixBlock> _pending = new TreeMap<>();
+
+	/** Lock that serializes the processing of completed row blocks, and guards all following fields */
+	private final ReentrantLock _processLock = new ReentrantLock();
+	/** Completed row blocks, buffered uncompressed until the compression scheme is fixed */
+	private final TreeMap<Integer, MatrixBlock> _sample = new TreeMap<>();
+	private int _sampled = 0;
+
+	/** The compression scheme, updated in place while encoding */
+	private CompressionScheme _scheme;
+	/** The encoded column groups per row block */
+	private final List<AColGroup>[] _encoded;
+	/** The column groups of the last encoded row block, containing the most recent dictionaries */
+	private List<AColGroup> _last;
+	private long _nnz = 0;
+
+	/** The uncompressed output if compression is not possible */
+	private MatrixBlock _uncompressed;
+
+	/**
+	 * Create a stream compressor for a matrix with the given dimensions.
+	 *
+	 * @param rlen   The number of rows
+	 * @param clen   The number of columns
+	 * @param blen   The number of rows per row block
+	 * @param estnnz The estimated number of non zeros, used if falling back to uncompressed, -1 if unknown
+	 * @param k      The parallelization degree used to encode
+	 */
+	public StreamCompressor(int rlen, int clen, int blen, long estnnz, int k) {
+		this(rlen, clen, blen, estnnz, k, SAMPLE_ROWS);
+	}
+
+	/**
+	 * Create a stream compressor for a matrix with the given dimensions.
+	 *
+	 * @param rlen       The number of rows
+	 * @param clen       The number of columns
+	 * @param blen       The number of rows per row block
+	 * @param estnnz     The estimated number of non zeros, used if falling back to uncompressed, -1 if unknown
+	 * @param k          The parallelization degree used to encode
+	 * @param sampleRows The minimum number of rows to sample before fixing the compression scheme
+	 */
+	@SuppressWarnings("unchecked")
+	public StreamCompressor(int rlen, int clen, int blen, long estnnz, int k, int sampleRows) {
+		_rlen = rlen;
+		_clen = clen;
+		_blen = blen;
+		_k = k;
+		_estnnz = estnnz;
+		_sampleRows = Math.min(rlen, (int) Math.ceil((double) Math.max(sampleRows, 1) / blen) * blen);
+		_done = new boolean[getNumBlocks()];
+		_encoded = new List[_done.length];
+	}
+
+	/**
+	 * Allocate an empty buffer for the given number of rows of the matrix, in sparse (MCSR) or dense format according
+	 * to the estimated number of non zeros.
+	 *
+	 * @param nRow The number of rows
+	 * @return The allocated matrix block
+	 */
+	public MatrixBlock allocateRows(int nRow) {
+		final long estnnz = _estnnz < 0 ? (long) nRow * _clen : (long) Math.ceil((double) _estnnz / _rlen * nRow);
+		final MatrixBlock ret = new MatrixBlock(nRow, _clen, MatrixBlock.evalSparseFormatInMemory(nRow, _clen, estnnz));
+		ret.allocateBlock();
+		return ret;
+	}
+
+	/**
+	 * Append a part of the matrix. The part has to be contained in a single row block, and must not be modified
+	 * afterwards, since it can be retained until encoded.
+	 *
+	 * @param mb The part of the matrix
+	 * @param rl The row offset of the part
+	 * @param cl The column offset of the part
+	 */
+	public void append(MatrixBlock mb, int rl, int cl) {
+		final boolean full;
+		synchronized(this) {
+			final int bix = rl / _blen;
+			final int blockStart = bix * _blen;
+			final int blockRows = getBlockRows(bix);
+			if(rl + mb.getNumRows() > blockStart + blockRows || cl + mb.getNumColumns() > _clen)
+				throw new DMLCompressionException("Invalid part of row block " + bix + " at [" + rl + "," + cl
+					+ "] of size [" + mb.getNumRows() + "," + mb.getNumColumns() + "]");
+
+			if(rl == blockStart && mb.getNumRows() == blockRows && mb.getNumColumns() == _clen)
+				complete(bix, mb);
+			else {
+				MatrixBlock p = _partial.get(bix);
+				if(p == null) {
+					p = allocateRows(blockRows);
+					_partial.put(bix, p);
+				}
+				p.copy(rl - blockStart, rl - blockStart + mb.getNumRows() - 1, cl, cl + mb.getNumColumns() - 1, mb,
+					false);
+				final long cells = _partialCells.getOrDefault(bix, 0L) + (long) mb.getNumRows() * mb.getNumColumns();
+				if(cells < (long) blockRows * _clen) {
+					_partialCells.put(bix, cells);
+					return;
+				}
+				complete(bix, removePartial(bix));
+			}
+			full = _pending.size() > Math.max(_k, 2);
+		}
+		// process completed row blocks outside the monitor, and only wait if the queue is full
+		processPending(full);
+	}
+
+	/**
+	 * Finish the compression, all parts not appended are assumed empty.
+	 *
+	 * @return The compressed matrix, or an uncompressed matrix if the input was not compressible
+	 */
+	public MatrixBlock finish() {
+		synchronized(this) {
+			// flush partially appended and never appended row blocks
+			for(Integer bix : new ArrayList<>(_partial.keySet()))
+				complete(bix, removePartial(bix));
+			for(int bix = 0; bix < _done.length; bix++)
+				if(!_done[bix])
+					complete(bix, new MatrixBlock(getBlockRows(bix), _clen, true));
+		}
+
+		_processLock.lock();
+		try {
+			Entry<Integer, MatrixBlock> e;
+			while((e = pollPending()) != null)
+				processBlock(e.getKey(), e.getValue());
+
+			if(_uncompressed == null && _scheme == null)
+				fixScheme();
+
+			if(_uncompressed == null) {
+				final MatrixBlock ret = combine();
+				if(ret != null)
+					return ret;
+				fallback();
+			}
+
+			_uncompressed.recomputeNonZeros();
+			_uncompressed.examSparsity();
+			return _uncompressed;
+		}
+		finally {
+			_processLock.unlock();
+		}
+	}
+
+	/**
+	 * Get if the stream fell back to materializing the matrix uncompressed.
+	 *
+	 * @return If the output is uncompressed
+	 */
+	public boolean isUncompressed() {
+		_processLock.lock();
+		try {
+			return _uncompressed != null;
+		}
+		finally {
+			_processLock.unlock();
+		}
+	}
+
+	private int getNumBlocks() {
+		return (int) Math.ceil((double) _rlen / _blen);
+	}
+
+	private int getBlockRows(int bix) {
+		return Math.min(_blen, _rlen - bix * _blen);
+	}
+
+	private MatrixBlock removePartial(int bix) {
+		final MatrixBlock p = _partial.remove(bix);
+		_partialCells.remove(bix);
+		p.recomputeNonZeros();
+		p.examSparsity();
+		return p;
+	}
+
+	private void complete(int bix, MatrixBlock mb) {
+		_done[bix] = true;
+		_pending.put(bix, mb);
+	}
+
+	private synchronized Entry<Integer, MatrixBlock> pollPending() {
+		return _pending.pollFirstEntry();
+	}
+
+	private synchronized boolean hasPending() {
+		return !_pending.isEmpty();
+	}
+
+	/**
+	 * Process the queued row blocks. If another thread already processes row blocks and wait is false, the queued
+	 * blocks are left to this thread, which re-checks the queue after releasing the processing lock.
+	 */
+	private void processPending(boolean wait) {
+		do {
+			if(wait)
+				_processLock.lock();
+			else if(!_processLock.tryLock())
+				return;
+			try {
+				Entry<Integer, MatrixBlock> e;
+				while((e = pollPending()) != null)
+					processBlock(e.getKey(), e.getValue());
+			}
+			finally {
+				_processLock.unlock();
+			}
+		}
+		while(hasPending());
+	}
+
+	private void processBlock(int bix, MatrixBlock mb) {
+		if(_uncompressed != null)
+			mb.putInto(_uncompressed, bix * _blen, 0, false);
+		else if(_scheme == null) {
+			_sample.put(bix, mb);
+			_sampled += mb.getNumRows();
+			if(_sampled >= _sampleRows)
+				fixScheme();
+		}
+		else
+			encode(bix, mb);
+	}
+
+	private void fixScheme() {
+		if(_sample.isEmpty()) {
+			fallback();
+			return;
+		}
+		final MatrixBlock[] blocks = _sample.values().toArray(new MatrixBlock[0]);
+		final MatrixBlock sample = blocks.length == 1 ? blocks[0] : blocks[0]
+			.append(Arrays.copyOfRange(blocks, 1, blocks.length), null, false);
+		try {
+			// restrict to encodings that support schemes and appending of row blocks
+			final CompressionSettingsBuilder cs = new CompressionSettingsBuilder().clearValidCompression()
+				.addValidCompression(CompressionType.DDC).addValidCompression(CompressionType.SDC);
+			final MatrixBlock c = CompressedMatrixBlockFactory.compress(sample, _k, cs).getLeft();
+			if(!(c instanceof CompressedMatrixBlock) || ((CompressedMatrixBlock) c).isOverlapping()) {
+				LOG.debug("Sample of stream not compressible, falling back to uncompressed");
+				fallback();
+				return;
+			}
+			final CompressionScheme scheme = CLALibScheme.getScheme((CompressedMatrixBlock) c);
+			for(int i = 0; i < ((CompressedMatrixBlock) c).getColGroups().size(); i++)
+				if(scheme.get(i) == null)
+					throw new DMLCompressionException("Column group without compression scheme");
+			_scheme = scheme;
+		}
+		catch(Exception e) {
+			LOG.debug("Failed to extract compression scheme of stream sample, falling back to uncompressed", e);
+			fallback();
+			return;
+		}
+
+		final Map<Integer, MatrixBlock> sampled = new TreeMap<>(_sample);
+		_sample.clear();
+		for(Entry<Integer, MatrixBlock> e : sampled.entrySet())
+			processBlock(e.getKey(), e.getValue());
+	}
+
+	private void encode(int bix, MatrixBlock mb) {
+		try {
+			final List<AColGroup> groups = _scheme.updateAndEncode(mb, _k).getColGroups();
+			_encoded[bix] = groups;
+			_last = groups;
+			_nnz += mb.getNonZeros();
+		}
+		catch(Exception e) {
+			LOG.debug("Failed to encode row block " + bix + ", falling back to uncompressed", e);
+			fallback();
+			mb.putInto(_uncompressed, bix * _blen, 0, false);
+		}
+	}
+
+	private void fallback() {
+		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(_rlen, _clen,
+			_estnnz < 0 ? (long) _rlen * _clen : _estnnz);
+		_uncompressed = new MatrixBlock(_rlen, _clen, sparse);
+		_uncompressed.allocateBlock();
+		for(Entry<Integer, MatrixBlock> e : _sample.entrySet())
+			e.getValue().putInto(_uncompressed, e.getKey() * _blen, 0, false);
+		_sample.clear();
+		for(int bix = 0; bix < _encoded.length; bix++) {
+			if(_encoded[bix] != null) {
+				final CompressedMatrixBlock c = new CompressedMatrixBlock(getBlockRows(bix), _clen, -1, false,
+					_encoded[bix]);
+				c.putInto(_uncompressed, bix * _blen, 0, false);
+				_encoded[bix] = null;
+			}
+		}
+		_last = null;
+		_scheme = null;
+	}
+
+	private MatrixBlock combine() {
+		if(_last == null)
+			return null;
+		try {
+			final List<AColGroup> ret = new ArrayList<>(_last.size());
+			for(int j = 0; j < _last.size(); j++) {
+				final AColGroup g = AColGroup.appendN(align(j), _blen, _rlen);
+				if(g == null) {
+					LOG.debug("Failed to append encoded row blocks of column group " + j);
+					return null;
+				}
+				ret.add(g);
+			}
+			return new CompressedMatrixBlock(_rlen, _clen, _nnz, false, ret);
+		}
+		catch(Exception e) {
+			LOG.debug("Failed to combine encoded row blocks, falling back to uncompressed", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Align the j'th column group of all row blocks to the type and dictionary of the last encoded row block. Updates
+	 * of the scheme only append new entries to the dictionaries, therefore earlier row blocks can adopt the final
+	 * dictionary, and row blocks encoded before a change of the encoding type are re-encoded.
+	 */
+	private AColGroup[] align(int j) {
+		final AColGroup ref = _last.get(j);
+		final IDictionary refDict = ref instanceof ADictBasedColGroup ? ((ADictBasedColGroup) ref).getDictionary() : null;
+		final AColGroup[] ret = new AColGroup[_encoded.length];
+		for(int bix = 0; bix < _encoded.length; bix++) {
+			AColGroup g = _encoded[bix].get(j);
+			if(g.getClass() != ref.getClass())
+				g = reencode(g, _scheme.get(j), getBlockRows(bix));
+			if(refDict != null && g.getClass() == ref.getClass()) {
+				final IDictionary d = ((ADictBasedColGroup) g).getDictionary();
+				if(d != refDict && CLALibRBind.extendsDictionary(d, refDict, g.getNumCols()))
+					g = ((ADictBasedColGroup) g).copyAndSet(refDict);
+			}
+			ret[bix] = g;
+		}
+		return ret;
+	}
+
+	private static AColGroup reencode(AColGroup g, ICLAScheme scheme, int nRow) {
+		final IColIndex cols = g.getColIndices();
+		final IColIndex local = ColIndexFactory.create(cols.size());
+		final MatrixBlock tmp = new MatrixBlock(nRow, cols.size(), false);
+		tmp.allocateDenseBlock();
+		g.copyAndSet(local).decompressToDenseBlock(tmp.getDenseBlock(), 0, nRow);
+		tmp.recomputeNonZeros();
+		return scheme.encode(tmp, local).copyAndSet(cols);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName());
+		sb.append(" [");
+		sb.append(_rlen);
+		sb.append(",");
+		sb.append(_clen);
+		sb.append("] sampled: ");
+		sb.append(_sampled);
+		sb.append(" partial: ");
+		sb.append(_partial.size());
+		sb.append(" uncompressed: ");
+		sb.append(_uncompressed != null);
+		return sb.toString();
+	}
+}
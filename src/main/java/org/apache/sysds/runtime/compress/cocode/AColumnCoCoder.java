@@ -37,11 +37,36 @@ public abstract class AColumnCoCoder {
 	protected final AComEst _sest;
 	protected final ACostEstimate _cest;
 	protected final CompressionSettings _cs;
+	/** System.nanoTime() after which the coCoding search should return its current best plan */
+	protected long _deadline;
+	/** If the coCoding search is bounded by a time budget */
+	protected boolean _bounded;
 
 	protected AColumnCoCoder(AComEst sizeEstimator, ACostEstimate costEstimator, CompressionSettings cs) {
 		_sest = sizeEstimator;
 		_cest = costEstimator;
 		_cs = cs;
+		_bounded = cs.coCodeTimeBudget > 0;
+		_deadline = _bounded ? System.nanoTime() + cs.coCodeTimeBudget * 1000000L : 0;
+	}
+
+	/**
+	 * Share the time budget of another coCoder, such that nested coCoders do not restart the budget.
+	 * 
+	 * @param parent The coCoder to take the deadline from
+	 */
+	protected void withDeadlineOf(AColumnCoCoder parent) {
+		_deadline = parent._deadline;
+		_bounded = parent._bounded;
+	}
+
+	/**
+	 * Indicate if the time budget for the coCoding search is exceeded.
+	 * 
+	 * @return true if the search should stop and return its current best plan
+	 */
+	protected boolean isOverTimeBudget() {
+		return _bounded && System.nanoTime() - _deadline > 0;
 	}
 
 	/**
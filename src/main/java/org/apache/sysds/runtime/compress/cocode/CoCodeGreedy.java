@@ -82,6 +82,11 @@ public class CoCodeGreedy extends AColumnCoCoder {
 
 			// Process merging iterations until no more change
 			while(workSet.size() > 1) {
+				if(isOverTimeBudget()) {
+					LOG.warn("CoCode greedy search exceeded its time budget of " + _cs.coCodeTimeBudget
+						+ " ms, returning current plan with " + workSet.size() + " groups");
+					break;
+				}
 				if(secondChange != 0)
 					mem.incst4();
 				// maintain selected
@@ -159,6 +164,8 @@ public class CoCodeGreedy extends AColumnCoCoder {
 					// ColIndexes combined = new ColIndexes(tmp.getColumns());
 					mem.put(selectedJ, tmp); // add back the new combination to memorizer
 					workSet.add(selectedJ);
+					if(k > 1) // speculatively combine the new group with all others for the next iteration
+						parallelCombineWith(selectedJ, workSet, pool);
 					if(selectedJ.contains(secondSelected1, secondSelected2)) {
 						secondTmp = null;
 						secondSelectedJ = null;
@@ -190,47 +197,85 @@ public class CoCodeGreedy extends AColumnCoCoder {
 
 	protected void parallelFirstCombine(List<ColIndexes> workSet, ExecutorService pool) {
 		try {
+			// one task per column group, combining it with all following groups
 			final List<CombineTask> tasks = new ArrayList<>();
-			final int size = workSet.size();
-			for(int i = 0; i < size; i++)
-				for(int j = i + 1; j < size; j++)
-					tasks.add(new CombineTask(workSet.get(i), workSet.get(j)));
-
-			if(pool != null)
-				for(Future<Object> t : pool.invokeAll(tasks))
-					t.get();
-			else 
-				for(CombineTask t: tasks)
-					t.call();
+			final List<ColIndexes> others = new ArrayList<>(workSet);
+			for(int i = 0; i < others.size() - 1; i++)
+				tasks.add(new CombineTask(others.get(i), others, i + 1));
+			execute(tasks, pool);
 		}
 		catch(Exception e) {
 			throw new DMLCompressionException("Failed parallelize first level all join all", e);
 		}
 	}
 
+	/**
+	 * Speculatively combine a newly created group with all other groups of the work set in parallel, such that the
+	 * next iteration of the greedy search finds the combinations in the memorizer.
+	 * 
+	 * @param c       The newly combined group
+	 * @param workSet The current work set containing c
+	 * @param pool    The thread pool to use
+	 */
+	protected void parallelCombineWith(ColIndexes c, List<ColIndexes> workSet, ExecutorService pool) {
+		try {
+			final List<ColIndexes> others = new ArrayList<>(workSet.size());
+			for(ColIndexes w : workSet)
+				if(w != c)
+					others.add(w);
+			// split the other groups into blocks to amortize the task overhead
+			final int blkz = Math.max(8, others.size() / (4 * InfrastructureAnalyzer.getLocalParallelism()));
+			final List<CombineTask> tasks = new ArrayList<>();
+			for(int i = 0; i < others.size(); i += blkz)
+				tasks.add(new CombineTask(c, others.subList(i, Math.min(i + blkz, others.size())), 0));
+			execute(tasks, pool);
+		}
+		catch(Exception e) {
+			throw new DMLCompressionException("Failed parallel speculative combine", e);
+		}
+	}
+
+	private static void execute(List<CombineTask> tasks, ExecutorService pool) throws Exception {
+		if(pool != null)
+			for(Future<Object> t : pool.invokeAll(tasks))
+				t.get();
+		else
+			for(CombineTask t : tasks)
+				t.call();
+	}
+
 	protected class CombineTask implements Callable<Object> {
-		private final ColIndexes _c1, _c2;
+		private final ColIndexes _c1;
+		private final List<ColIndexes> _others;
+		private final int _start;
 
-		protected CombineTask(ColIndexes c1, ColIndexes c2) {
+		protected CombineTask(ColIndexes c1, List<ColIndexes> others, int start) {
 			_c1 = c1;
-			_c2 = c2;
+			_others = others;
+			_start = start;
 		}
 
 		@Override
 		public Object call() throws Exception {
 			final CompressedSizeInfoColGroup c1i = mem.get(_c1);
-			final CompressedSizeInfoColGroup c2i = mem.get(_c2);
-			if(c1i != null && c2i != null) {
+			if(c1i == null)
+				return null;
+			for(int j = _start; j < _others.size() && !isOverTimeBudget(); j++) {
+				final ColIndexes c2 = _others.get(j);
+				final CompressedSizeInfoColGroup c2i = mem.get(c2);
+				if(c2i == null)
+					continue;
 				final int maxCombined = c1i.getNumVals() * c2i.getNumVals();
 
 				if(maxCombined < 0 // int overflow
 					|| maxCombined > c1i.getNumRows() // higher than number of rows
 					|| maxCombined > 100000) // higher than 100k ... then lets not precalculate it.
-					return null;
+					continue;
 
-				final IColIndex c = _c1._indexes.combine(_c2._indexes);
+				final IColIndex c = _c1._indexes.combine(c2._indexes);
 				final ColIndexes cI = new ColIndexes(c);
-				mem.getOrCreate(cI, _c1, _c2);
+				if(!mem.contains(cI))
+					mem.getOrCreate(cI, _c1, c2);
 			}
 			return null;
 		}
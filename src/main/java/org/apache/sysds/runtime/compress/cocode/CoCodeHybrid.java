@@ -47,10 +47,12 @@ public class CoCodeHybrid extends AColumnCoCoder {
 			if(LOG.isDebugEnabled())
 				LOG.debug("Hybrid chose to do greedy CoCode because of few columns");
 			CoCodeGreedy gd = new CoCodeGreedy(_sest, _cest, _cs);
+			gd.withDeadlineOf(this);
 			return colInfos.setInfo(gd.combine(colInfos.getInfo(), k));
 		}
 		else if(startSize > 1000) {
 			CoCodePriorityQue pq = new CoCodePriorityQue(_sest, _cest, _cs, pqColumnThreashold);
+			pq.withDeadlineOf(this);
 
 			return colInfos.setInfo(pq.join(colInfos.getInfo(), 1, k));
 		}
@@ -61,6 +63,7 @@ public class CoCodeHybrid extends AColumnCoCoder {
 		if(PriorityQueGoal > 30) { // hybrid if there is a large number of columns to begin with
 			Timing time = new Timing(true);
 			CoCodePriorityQue pq = new CoCodePriorityQue(_sest, _cest, _cs, pqColumnThreashold);
+			pq.withDeadlineOf(this);
 			colInfos.setInfo(pq.join(colInfos.getInfo(), PriorityQueGoal, k));
 			final int pqSize = colInfos.getInfo().size();
 
@@ -68,6 +71,7 @@ public class CoCodeHybrid extends AColumnCoCoder {
 				LOG.debug("Que based time: " + time.stop());
 			if(pqSize < PriorityQueGoal || (pqSize < startSize && _cest instanceof ComputationCostEstimator)) {
 				CoCodeGreedy gd = new CoCodeGreedy(_sest, _cest, _cs);
+				gd.withDeadlineOf(this);
 				colInfos.setInfo(gd.combine(colInfos.getInfo(), k));
 				if(LOG.isDebugEnabled())
 					LOG.debug("Greedy time:     " + time.stop());
@@ -78,6 +82,7 @@ public class CoCodeHybrid extends AColumnCoCoder {
 			if(LOG.isDebugEnabled())
 				LOG.debug("Using only Greedy based since Nr Column groups: " + startSize + " is not large enough");
 			CoCodeGreedy gd = new CoCodeGreedy(_sest, _cest, _cs);
+			gd.withDeadlineOf(this);
 			colInfos.setInfo(gd.combine(colInfos.getInfo(), k));
 			return colInfos;
 		}
@@ -125,7 +125,7 @@ public class CoCodePriorityQue extends AColumnCoCoder {
 		int groupNr = ret.size() + que.size();
 		int lastCombine = 0; // if we have not combined in the last 5 tries abort cocoding.
 
-		while(que.peek() != null && groupNr >= minNumGroups && lastCombine < 5) {
+		while(que.peek() != null && groupNr >= minNumGroups && lastCombine < 5 && !isOverTimeBudget()) {
 			CompressedSizeInfoColGroup r = que.peek();
 			CompressedSizeInfoColGroup g = sEst.combine(l, r);
 
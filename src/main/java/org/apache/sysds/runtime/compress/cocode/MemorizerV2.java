@@ -19,24 +19,36 @@
 
 package org.apache.sysds.runtime.compress.cocode;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
 import org.apache.sysds.runtime.compress.estim.AComEst;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
 
+/**
+ * Memorizer of estimated column group combinations, bucketed by the first column index of each combination.
+ * 
+ * The buckets are concurrent, such that candidate combinations can be evaluated speculatively in parallel. Two threads
+ * requesting the same combination may both evaluate it, but only the first result is kept.
+ */
 public class MemorizerV2 {
+	/** Placeholder for memorized combinations that could not be estimated (the concurrent maps do not allow null) */
+	private static final CompressedSizeInfoColGroup INVALID = new CompressedSizeInfoColGroup(
+		ColIndexFactory.create(0, 1), 0, CompressionType.EMPTY);
+
 	private final AComEst _sEst;
 
-	private final Map<ColIndexes, CompressedSizeInfoColGroup>[] mem;
+	private final AtomicReferenceArray<Map<ColIndexes, CompressedSizeInfoColGroup>> mem;
 	private int st1 = 0, st2 = 0, st3 = 0, st4 = 0;
 
-	@SuppressWarnings("unchecked")
 	public MemorizerV2(AComEst sEst, int nCol) {
 		_sEst = sEst;
-		mem = new Map[nCol];
+		mem = new AtomicReferenceArray<>(nCol);
 	}
 
 	public void put(CompressedSizeInfoColGroup g) {
@@ -44,25 +56,25 @@ public class MemorizerV2 {
 	}
 
 	public void put(ColIndexes key, CompressedSizeInfoColGroup val) {
-		final IColIndex gi = key._indexes;
-		final int bucketID = gi.get(0);
-		Map<ColIndexes, CompressedSizeInfoColGroup> bucket = mem[bucketID];
-		if(bucket == null)
-			bucket = mem[bucketID] = new HashMap<>();
-		bucket.put(key, val);
+		getBucket(key).put(key, val == null ? INVALID : val);
 	}
 
 	public CompressedSizeInfoColGroup get(ColIndexes c) {
-		return mem[c._indexes.get(0)].get(c);
+		final Map<ColIndexes, CompressedSizeInfoColGroup> bucket = mem.get(c._indexes.get(0));
+		if(bucket == null)
+			return null;
+		final CompressedSizeInfoColGroup g = bucket.get(c);
+		return g == INVALID ? null : g;
 	}
 
 	public void remove(ColIndexes c1, ColIndexes c2) {
-		mem[c1._indexes.get(0)] = null;
-		mem[c2._indexes.get(0)] = null;
+		mem.set(c1._indexes.get(0), null);
+		mem.set(c2._indexes.get(0), null);
 	}
 
 	public CompressedSizeInfoColGroup getOrCreate(ColIndexes cI, ColIndexes c1, ColIndexes c2) {
-		CompressedSizeInfoColGroup g = get(cI);
+		final Map<ColIndexes, CompressedSizeInfoColGroup> bucket = getBucket(cI);
+		CompressedSizeInfoColGroup g = bucket.get(cI);
 		st2++;
 		if(g == null) {
 			final CompressedSizeInfoColGroup left = get(c1);
@@ -75,13 +87,34 @@ public class MemorizerV2 {
 						throw new DMLCompressionException(
 							"Combination returned less distinct values on: \n" + left + "\nand\n" + right + "\nEq\n" + g);
 				}
-				synchronized(this) {
-					put(cI, g);
-				}
+				// keep the first memorized result if another thread combined the same columns concurrently
+				final CompressedSizeInfoColGroup prev = bucket.putIfAbsent(cI, g == null ? INVALID : g);
+				if(prev != null)
+					g = prev;
 			}
+		}
+		return g == INVALID ? null : g;
+	}
+
+	/**
+	 * Indicate if the given combination is already memorized, including combinations that could not be estimated.
+	 * 
+	 * @param c The column combination
+	 * @return true if memorized
+	 */
+	public boolean contains(ColIndexes c) {
+		final Map<ColIndexes, CompressedSizeInfoColGroup> bucket = mem.get(c._indexes.get(0));
+		return bucket != null && bucket.containsKey(c);
+	}
 
+	private Map<ColIndexes, CompressedSizeInfoColGroup> getBucket(ColIndexes key) {
+		final int bucketID = key._indexes.get(0);
+		Map<ColIndexes, CompressedSizeInfoColGroup> bucket = mem.get(bucketID);
+		if(bucket == null) {
+			mem.compareAndSet(bucketID, null, new ConcurrentHashMap<>());
+			bucket = mem.get(bucketID);
 		}
-		return g;
+		return bucket;
 	}
 
 	public void incst1() {
@@ -651,12 +651,15 @@ public class ColGroupDDC extends APreAgg implements IMapToDataGroup {
 		final int blkzK = 24;
 		final int lenJ = cru - crl;
 		final int end = cru - (lenJ % vLen);
+		final int[] idx = new int[blkzI];
 		for(int bi = rl; bi < ru; bi += blkzI) {
 			final int bie = Math.min(ru, bi + blkzI);
+			// decode the row indexes once per block instead of once per block of columns
+			_data.getIndexes(bi, bie, idx);
 			for(int bk = 0; bk < kd; bk += blkzK) {
 				final int bke = Math.min(kd, bk + blkzK);
 				for(int i = bi; i < bie; i++) {
-					int offi = _data.getIndex(i) * kd;
+					int offi = idx[i - bi] * kd;
 					final int offOut = i * jd + crl;
 					for(int k = bk; k < bke; k++) {
 						final double aa = a[offi + k];
@@ -860,7 +863,8 @@ public class ColGroupDDC extends APreAgg implements IMapToDataGroup {
 
 				ColGroupDDC gDDC = (ColGroupDDC) g;
 				if(gDDC._dict.equals(_dict)) {
-					AMapToData nd = _data.append(gDDC._data);
+					// the maps can differ in type if the other group refers to values appended to the dictionary
+					AMapToData nd = MapToFactory.append(_data, gDDC._data, _dict.getNumberOfValues(_colIndexes.size()));
 					return create(_colIndexes, _dict, nd, null);
 				}
 				else
@@ -19,62 +19,968 @@
 
 package org.apache.sysds.runtime.compress.colgroup;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUtils.P;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.DeltaDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.DictLibMatrixMult;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.DictionaryFactory;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.MatrixBlockDictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.scheme.DeltaDDCScheme;
+import org.apache.sysds.runtime.compress.colgroup.scheme.ICLAScheme;
+import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
+import org.apache.sysds.runtime.compress.estim.EstimationFactors;
+import org.apache.sysds.runtime.compress.estim.encoding.EncodingFactory;
+import org.apache.sysds.runtime.compress.estim.encoding.IEncode;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockMCSR;
+import org.apache.sysds.runtime.data.SparseRow;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Divide;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+
 /**
  * Class to encapsulate information about a column group that is first delta encoded then encoded with dense dictionary
  * encoding (DeltaDDC).
+ *
+ * The value of row i is the sum of the dictionary tuples of all rows up to and including i. The first tuple of the
+ * dictionary is reserved for the first row and contains its absolute values, all other tuples are differences to the
+ * previous row. Aggregations and matrix multiplications exploit this structure and work on the deltas instead of
+ * decompressing, while operations that do not distribute over the prefix sums fall back to an uncompressed group.
  */
-public class ColGroupDeltaDDC  { // extends ColGroupDDC
-
-// 	private static final long serialVersionUID = -1045556313148564147L;
-
-// 	/** Constructor for serialization */
-// 	protected ColGroupDeltaDDC() {
-// 	}
-
-// 	private ColGroupDeltaDDC(int[] colIndexes, ADictionary dict, AMapToData data, int[] cachedCounts) {
-// 		super();
-// 		LOG.info("Carefully use of DeltaDDC since implementation is not finished.");
-// 		_colIndexes = colIndexes;
-// 		_dict = dict;
-// 		_data = data;
-// 	}
-
-// 	public static AColGroup create(int[] colIndices, ADictionary dict, AMapToData data, int[] cachedCounts) {
-// 		if(dict == null)
-// 			throw new NotImplementedException("Not implemented constant delta group");
-// 		else
-// 			return new ColGroupDeltaDDC(colIndices, dict, data, cachedCounts);
-// 	}
-
-// 	public CompressionType getCompType() {
-// 		return CompressionType.DeltaDDC;
-// 	}
-
-// 	@Override
-// 	protected void decompressToDenseBlockDenseDictionary(DenseBlock db, int rl, int ru, int offR, int offC,
-// 		double[] values) {
-// 		final int nCol = _colIndexes.length;
-// 		for(int i = rl, offT = rl + offR; i < ru; i++, offT++) {
-// 			final double[] c = db.values(offT);
-// 			final int off = db.pos(offT) + offC;
-// 			final int rowIndex = _data.getIndex(i) * nCol;
-// 			final int prevOff = (off == 0) ? off : off - nCol;
-// 			for(int j = 0; j < nCol; j++) {
-// 				// Here we use the values in the previous row to compute current values along with the delta
-// 				double newValue = c[prevOff + j] + values[rowIndex + j];
-// 				c[off + _colIndexes[j]] += newValue;
-// 			}
-// 		}
-// 	}
-
-// 	@Override
-// 	protected void decompressToSparseBlockDenseDictionary(SparseBlock ret, int rl, int ru, int offR, int offC,
-// 		double[] values) {
-// 		throw new NotImplementedException();
-// 	}
-
-// 	@Override
-// 	public AColGroup scalarOperation(ScalarOperator op) {
-// 		return new ColGroupDeltaDDC(_colIndexes, _dict.applyScalarOp(op), _data, getCachedCounts());
-// 	}
+public class ColGroupDeltaDDC extends ADictBasedColGroup implements IMapToDataGroup {
+	private static final long serialVersionUID = -1045556313148564147L;
+
+	/** Number of rows between the cached reconstructed row values */
+	private static final int CHECKPOINT_BLK = 4096;
+
+	/** Pointers to row indexes in the dictionary */
+	protected final AMapToData _data;
+
+	/** Lazily materialized values of the rows before every CHECKPOINT_BLK row, for random access */
+	private transient volatile double[] _checkpoints;
+
+	private ColGroupDeltaDDC(IColIndex colIndexes, IDictionary dict, AMapToData data) {
+		super(colIndexes, dict);
+		_data = data;
+		if(!(dict instanceof DeltaDictionary))
+			throw new DMLCompressionException("Invalid construction of DeltaDDC without delta dictionary");
+	}
+
+	/**
+	 * Create a delta encoded DDC column group. The first row of the data have to point to the first tuple of the
+	 * dictionary, that is not used by any other row.
+	 *
+	 * @param colIndexes The column indexes
+	 * @param dict       The delta dictionary
+	 * @param data       The mapping from rows to delta tuples
+	 * @return A column group, Empty or Const if the deltas allow it.
+	 */
+	public static AColGroup create(IColIndex colIndexes, DeltaDictionary dict, AMapToData data) {
+		if(dict == null)
+			return new ColGroupEmpty(colIndexes);
+		final int nCol = colIndexes.size();
+		final double[] vals = dict.getValues();
+		for(int i = nCol; i < vals.length; i++)
+			if(vals[i] != 0)
+				return new ColGroupDeltaDDC(colIndexes, dict, data);
+
+		// all rows are equal to the first row
+		final double[] first = Arrays.copyOf(vals, nCol);
+		if(ColGroupUtils.allZero(first))
+			return new ColGroupEmpty(colIndexes);
+		return ColGroupConst.create(colIndexes, first);
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.DeltaDDC;
+	}
+
+	@Override
+	protected ColGroupType getColGroupType() {
+		return ColGroupType.DeltaDDC;
+	}
+
+	@Override
+	public AMapToData getMapToData() {
+		return _data;
+	}
+
+	@Override
+	public int getNumValues() {
+		return _dict.getNumberOfValues(_colIndexes.size());
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	/**
+	 * Reconstruct the values of the given row.
+	 *
+	 * @param r   The row to reconstruct, if negative the values are zero.
+	 * @param ret The array to put the values of the row into
+	 */
+	private void getRowValues(int r, double[] ret) {
+		final int nCol = _colIndexes.size();
+		if(r < 0) {
+			Arrays.fill(ret, 0);
+			return;
+		}
+		final double[] values = _dict.getValues();
+		final double[] cps = getCheckpoints();
+		final int b = r / CHECKPOINT_BLK;
+		System.arraycopy(cps, b * nCol, ret, 0, nCol);
+		for(int i = b * CHECKPOINT_BLK; i <= r; i++)
+			addTuple(ret, values, _data.getIndex(i) * nCol);
+	}
+
+	private double[] getCheckpoints() {
+		double[] cps = _checkpoints;
+		if(cps == null) {
+			final int nCol = _colIndexes.size();
+			final int nRows = _data.size();
+			final double[] values = _dict.getValues();
+			final double[] running = new double[nCol];
+			cps = new double[((nRows - 1) / CHECKPOINT_BLK + 1) * nCol];
+			for(int i = 0; i < nRows; i++) {
+				if(i % CHECKPOINT_BLK == 0)
+					System.arraycopy(running, 0, cps, (i / CHECKPOINT_BLK) * nCol, nCol);
+				addTuple(running, values, _data.getIndex(i) * nCol);
+			}
+			_checkpoints = cps;
+		}
+		return cps;
+	}
+
+	private static void addTuple(double[] running, double[] values, int off) {
+		for(int j = 0; j < running.length; j++)
+			running[j] += values[off + j];
+	}
+
+	@Override
+	public double getIdx(int r, int colIdx) {
+		final double[] row = new double[_colIndexes.size()];
+		getRowValues(r, row);
+		return row[colIdx];
+	}
+
+	@Override
+	protected void decompressToDenseBlockDenseDictionary(DenseBlock db, int rl, int ru, int offR, int offC,
+		double[] values) {
+		final int nCol = _colIndexes.size();
+		final double[] prev = new double[nCol];
+		getRowValues(rl - 1, prev);
+		for(int i = rl, offT = rl + offR; i < ru; i++, offT++) {
+			final double[] c = db.values(offT);
+			final int off = db.pos(offT) + offC;
+			addTuple(prev, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				c[off + _colIndexes.get(j)] += prev[j];
+		}
+	}
+
+	@Override
+	protected void decompressToDenseBlockSparseDictionary(DenseBlock db, int rl, int ru, int offR, int offC,
+		SparseBlock sb) {
+		throw new DMLCompressionException("DeltaDDC is always using a dense delta dictionary");
+	}
+
+	@Override
+	protected void decompressToSparseBlockDenseDictionary(SparseBlock ret, int rl, int ru, int offR, int offC,
+		double[] values) {
+		final int nCol = _colIndexes.size();
+		final double[] prev = new double[nCol];
+		getRowValues(rl - 1, prev);
+		for(int i = rl, offT = rl + offR; i < ru; i++, offT++) {
+			addTuple(prev, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				if(prev[j] != 0)
+					ret.append(offT, _colIndexes.get(j) + offC, prev[j]);
+		}
+	}
+
+	@Override
+	protected void decompressToSparseBlockSparseDictionary(SparseBlock ret, int rl, int ru, int offR, int offC,
+		SparseBlock sb) {
+		throw new DMLCompressionException("DeltaDDC is always using a dense delta dictionary");
+	}
+
+	@Override
+	protected void decompressToDenseBlockTransposedDenseDictionary(DenseBlock db, int rl, int ru, double[] dict) {
+		final int nCol = _colIndexes.size();
+		final double[] prev = new double[nCol];
+		getRowValues(rl - 1, prev);
+		for(int i = rl; i < ru; i++) {
+			addTuple(prev, dict, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++) {
+				final int rowOut = _colIndexes.get(j);
+				db.values(rowOut)[db.pos(rowOut) + i] += prev[j];
+			}
+		}
+	}
+
+	@Override
+	protected void decompressToDenseBlockTransposedSparseDictionary(DenseBlock db, int rl, int ru, SparseBlock dict) {
+		throw new DMLCompressionException("DeltaDDC is always using a dense delta dictionary");
+	}
+
+	@Override
+	protected void decompressToSparseBlockTransposedDenseDictionary(SparseBlockMCSR sbr, double[] dict, int nColOut) {
+		final int nCol = _colIndexes.size();
+		final int nRows = _data.size();
+		final SparseRow[] rows = new SparseRow[nCol];
+		for(int j = 0; j < nCol; j++) {
+			sbr.allocate(_colIndexes.get(j));
+			rows[j] = sbr.get(_colIndexes.get(j));
+		}
+
+		final double[] prev = new double[nCol];
+		for(int i = 0; i < nRows; i++) {
+			addTuple(prev, dict, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				if(prev[j] != 0)
+					rows[j] = rows[j].append(i, prev[j]);
+		}
+		for(int j = 0; j < nCol; j++)
+			sbr.set(_colIndexes.get(j), rows[j], false);
+	}
+
+	@Override
+	protected void decompressToSparseBlockTransposedSparseDictionary(SparseBlockMCSR db, SparseBlock dict,
+		int nColOut) {
+		throw new DMLCompressionException("DeltaDDC is always using a dense delta dictionary");
+	}
+
+	@Override
+	protected boolean allowShallowIdentityRightMult() {
+		return false;
+	}
+
+	@Override
+	protected AColGroup allocateRightMultiplication(MatrixBlock right, IColIndex colIndexes, IDictionary preAgg) {
+		// prefix sums commute with the right multiplication, therefore the result is delta encoded with the same map.
+		if(preAgg == null)
+			return null;
+		return create(colIndexes, toDelta(preAgg, getNumValues(), colIndexes.size()), _data);
+	}
+
+	@Override
+	protected AColGroup copyAndSet(IColIndex colIndexes, IDictionary newDictionary) {
+		final ColGroupDeltaDDC ret = new ColGroupDeltaDDC(colIndexes,
+			toDelta(newDictionary, getNumValues(), colIndexes.size()), _data);
+		if(newDictionary == _dict)
+			ret._checkpoints = _checkpoints;
+		return ret;
+	}
+
+	private static DeltaDictionary toDelta(IDictionary dict, int nVals, int nCol) {
+		if(dict instanceof DeltaDictionary)
+			return (DeltaDictionary) dict;
+		final MatrixBlockDictionary mbd = dict == null ? null : dict.getMBDict(nCol);
+		final double[] values = mbd == null ? new double[nVals * nCol] : //
+			DataConverter.convertToDoubleVector(mbd.getMatrixBlock(), false, false);
+		return new DeltaDictionary(values, nCol);
+	}
+
+	@Override
+	public void leftMultByMatrixNoPreAgg(MatrixBlock matrix, MatrixBlock result, int rl, int ru, int cl, int cu) {
+		if(matrix.isEmpty())
+			return;
+		// sum_i L[r,i] * V_i = rowSum(L[r]) * V_(cl-1) + sum_k (sum_(i>=k) L[r,i]) * D[map[k]]
+		final int nCol = _colIndexes.size();
+		final int nVals = getNumValues();
+		final double[] values = _dict.getValues();
+		final double[] before = new double[nCol];
+		getRowValues(cl - 1, before);
+		final double[] preAgg = new double[nVals];
+		final DenseBlock retV = result.getDenseBlock();
+
+		for(int r = rl; r < ru; r++) {
+			final double s = matrix.isInSparseFormat() ? //
+				preAggSuffixSparse(matrix.getSparseBlock(), r, cl, cu, preAgg) : //
+				preAggSuffixDense(matrix.getDenseBlock(), r, cl, cu, preAgg);
+			final double[] c = retV.values(r);
+			final int off = retV.pos(r);
+			for(int j = 0; j < nCol; j++) {
+				double v = s * before[j];
+				for(int k = 0; k < nVals; k++)
+					v += preAgg[k] * values[k * nCol + j];
+				c[off + _colIndexes.get(j)] += v;
+			}
+			Arrays.fill(preAgg, 0);
+		}
+	}
+
+	private double preAggSuffixDense(DenseBlock db, int r, int cl, int cu, double[] preAgg) {
+		final double[] a = db.values(r);
+		final int off = db.pos(r);
+		double s = 0;
+		for(int k = cu - 1; k >= cl; k--) {
+			s += a[off + k];
+			preAgg[_data.getIndex(k)] += s;
+		}
+		return s;
+	}
+
+	private double preAggSuffixSparse(SparseBlock sb, int r, int cl, int cu, double[] preAgg) {
+		if(sb.isEmpty(r))
+			return 0;
+		final int apos = sb.pos(r);
+		final int[] aix = sb.indexes(r);
+		final double[] avals = sb.values(r);
+		int p = apos + sb.size(r) - 1;
+		while(p >= apos && aix[p] >= cu)
+			p--;
+		double s = 0;
+		for(int k = cu - 1; k >= cl; k--) {
+			if(p >= apos && aix[p] == k)
+				s += avals[p--];
+			if(s != 0)
+				preAgg[_data.getIndex(k)] += s;
+		}
+		return s;
+	}
+
+	/**
+	 * Multiply the transposed rows of this column group with the rows of another column group, t(this) %*% other,
+	 * without decompressing this group. The other group is decompressed in blocks from the last row, to maintain suffix
+	 * sums of its rows that are pre aggregated on the deltas of this group.
+	 *
+	 * @param other The other column group
+	 * @return A row major nCol x nColOther matrix of the result
+	 */
+	private double[] tsmmPreAgg(AColGroup other) {
+		final int nCol = _colIndexes.size();
+		final int nColO = other.getNumCols();
+		final int nVals = getNumValues();
+		final int nRows = _data.size();
+		final int blkz = Math.min(nRows, 1024);
+		final AColGroup o = other.copyAndSet(ColIndexFactory.create(nColO));
+		final MatrixBlock tmp = new MatrixBlock(blkz, nColO, false);
+		tmp.allocateDenseBlock();
+		final double[] tv = tmp.getDenseBlockValues();
+		final double[] suffix = new double[nColO];
+		final double[] preAgg = new double[nVals * nColO];
+
+		for(int bu = nRows; bu > 0; bu -= blkz) {
+			final int bl = Math.max(0, bu - blkz);
+			Arrays.fill(tv, 0);
+			o.decompressToDenseBlock(tmp.getDenseBlock(), bl, bu, -bl, 0);
+			for(int i = bu - 1; i >= bl; i--) {
+				final int offT = (i - bl) * nColO;
+				final int offP = _data.getIndex(i) * nColO;
+				for(int j = 0; j < nColO; j++) {
+					suffix[j] += tv[offT + j];
+					preAgg[offP + j] += suffix[j];
+				}
+			}
+		}
+
+		final double[] values = _dict.getValues();
+		final double[] ret = new double[nCol * nColO];
+		for(int k = 0; k < nVals; k++) {
+			final int offP = k * nColO;
+			for(int a = 0; a < nCol; a++) {
+				final double v = values[k * nCol + a];
+				if(v != 0)
+					for(int b = 0; b < nColO; b++)
+						ret[a * nColO + b] += v * preAgg[offP + b];
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public void leftMultByAColGroup(AColGroup lhs, MatrixBlock result, int nRows) {
+		if(lhs instanceof ColGroupEmpty)
+			return;
+		final double[] tmp = tsmmPreAgg(lhs);
+		final double[] retV = result.getDenseBlockValues();
+		final int nColRet = result.getNumColumns();
+		final int nCol = _colIndexes.size();
+		final int nColO = lhs.getNumCols();
+		for(int a = 0; a < nCol; a++)
+			for(int b = 0; b < nColO; b++)
+				retV[lhs._colIndexes.get(b) * nColRet + _colIndexes.get(a)] += tmp[a * nColO + b];
+	}
+
+	/**
+	 * Left multiply the transposed of this column group with the right column group, t(this) %*% right.
+	 *
+	 * @param right  The right hand side column group
+	 * @param result The result matrix to add the output into
+	 */
+	public void leftMultByThisTransposed(AColGroup right, MatrixBlock result) {
+		if(right instanceof ColGroupEmpty)
+			return;
+		final double[] tmp = tsmmPreAgg(right);
+		final double[] retV = result.getDenseBlockValues();
+		final int nColRet = result.getNumColumns();
+		final int nCol = _colIndexes.size();
+		final int nColO = right.getNumCols();
+		for(int a = 0; a < nCol; a++) {
+			final int off = _colIndexes.get(a) * nColRet;
+			for(int b = 0; b < nColO; b++)
+				retV[off + right._colIndexes.get(b)] += tmp[a * nColO + b];
+		}
+	}
+
+	@Override
+	public void tsmmAColGroup(AColGroup other, MatrixBlock result) {
+		if(other instanceof ColGroupEmpty)
+			return;
+		final double[] tmp = tsmmPreAgg(other);
+		final double[] retV = result.getDenseBlockValues();
+		final int nColRet = result.getNumColumns();
+		final int nCol = _colIndexes.size();
+		final int nColO = other.getNumCols();
+		for(int a = 0; a < nCol; a++)
+			for(int b = 0; b < nColO; b++)
+				DictLibMatrixMult.addToUpperTriangle(nColRet, _colIndexes.get(a), other._colIndexes.get(b), retV,
+					tmp[a * nColO + b]);
+	}
+
+	@Override
+	public void rightDecompressingMult(MatrixBlock right, MatrixBlock ret, int rl, int ru, int nRows, int crl, int cru) {
+		final double[] values = _dict.getValues();
+		final double[] b = right.getDenseBlockValues();
+		final double[] c = ret.getDenseBlockValues();
+		final int nCol = _colIndexes.size();
+		final int jd = right.getNumColumns();
+		final double[] prev = new double[nCol];
+		getRowValues(rl - 1, prev);
+		for(int i = rl; i < ru; i++) {
+			addTuple(prev, values, _data.getIndex(i) * nCol);
+			final int offOut = i * jd;
+			for(int k = 0; k < nCol; k++) {
+				final double aa = prev[k];
+				if(aa == 0)
+					continue;
+				final int offB = _colIndexes.get(k) * jd;
+				for(int j = crl; j < cru; j++)
+					c[offOut + j] += aa * b[offB + j];
+			}
+		}
+	}
+
+	@Override
+	protected void tsmm(double[] result, int numColumns, int nRows) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		final double[] tmp = new double[nCol * nCol];
+		for(int i = 0; i < _data.size(); i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int a = 0; a < nCol; a++) {
+				final double v = running[a];
+				if(v != 0)
+					for(int b = a; b < nCol; b++)
+						tmp[a * nCol + b] += v * running[b];
+			}
+		}
+		for(int a = 0; a < nCol; a++) {
+			final int offRet = numColumns * _colIndexes.get(a);
+			for(int b = a; b < nCol; b++)
+				result[offRet + _colIndexes.get(b)] += tmp[a * nCol + b];
+		}
+	}
+
+	/**
+	 * Get the number of rows each delta tuple contributes to, that is the number of rows from its first occurrence to
+	 * the end of the column group, summed over all its occurrences.
+	 *
+	 * @return The weight of each tuple
+	 */
+	private double[] getSuffixCounts() {
+		final int nRows = _data.size();
+		final double[] w = new double[getNumValues()];
+		for(int i = 0; i < nRows; i++)
+			w[_data.getIndex(i)] += nRows - i;
+		return w;
+	}
+
+	@Override
+	public void computeColSums(double[] c, int nRows) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] w = getSuffixCounts();
+		for(int k = 0; k < w.length; k++)
+			for(int j = 0; j < nCol; j++)
+				c[_colIndexes.get(j)] += w[k] * values[k * nCol + j];
+	}
+
+	@Override
+	protected void computeSum(double[] c, int nRows) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] w = getSuffixCounts();
+		double s = 0;
+		for(int k = 0; k < w.length; k++)
+			for(int j = 0; j < nCol; j++)
+				s += w[k] * values[k * nCol + j];
+		c[0] += s;
+	}
+
+	@Override
+	protected void computeSumSq(double[] c, int nRows) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		double s = 0;
+		for(int i = 0; i < _data.size(); i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				s += running[j] * running[j];
+		}
+		c[0] += s;
+	}
+
+	@Override
+	protected void computeColSumsSq(double[] c, int nRows) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		final double[] s = new double[nCol];
+		for(int i = 0; i < _data.size(); i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				s[j] += running[j] * running[j];
+		}
+		for(int j = 0; j < nCol; j++)
+			c[_colIndexes.get(j)] += s[j];
+	}
+
+	@Override
+	protected void computeRowSums(double[] c, int rl, int ru, double[] preAgg) {
+		final int nCol = _colIndexes.size();
+		final double[] prev = new double[nCol];
+		getRowValues(rl - 1, prev);
+		if(preAgg == null) { // sum of squares is not distributive over the deltas.
+			final double[] values = _dict.getValues();
+			for(int i = rl; i < ru; i++) {
+				addTuple(prev, values, _data.getIndex(i) * nCol);
+				for(int j = 0; j < nCol; j++)
+					c[i] += prev[j] * prev[j];
+			}
+		}
+		else {
+			double s = 0;
+			for(int j = 0; j < nCol; j++)
+				s += prev[j];
+			for(int i = rl; i < ru; i++) {
+				s += preAgg[_data.getIndex(i)];
+				c[i] += s;
+			}
+		}
+	}
+
+	@Override
+	protected void computeRowMxx(double[] c, Builtin builtin, int rl, int ru, double[] preAgg) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] prev = new double[nCol];
+		getRowValues(rl - 1, prev);
+		for(int i = rl; i < ru; i++) {
+			addTuple(prev, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				c[i] = builtin.execute(c[i], prev[j]);
+		}
+	}
+
+	@Override
+	protected double computeMxx(double c, Builtin builtin) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		for(int i = 0; i < _data.size(); i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				c = builtin.execute(c, running[j]);
+		}
+		return c;
+	}
+
+	@Override
+	protected void computeColMxx(double[] c, Builtin builtin) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		for(int i = 0; i < _data.size(); i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++) {
+				final int col = _colIndexes.get(j);
+				c[col] = builtin.execute(c[col], running[j]);
+			}
+		}
+	}
+
+	@Override
+	protected void computeProduct(double[] c, int nRows) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		double p = 1;
+		for(int i = 0; i < _data.size() && p != 0; i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				p *= running[j];
+		}
+		c[0] *= p;
+	}
+
+	@Override
+	protected void computeRowProduct(double[] c, int rl, int ru, double[] preAgg) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] prev = new double[nCol];
+		getRowValues(rl - 1, prev);
+		for(int i = rl; i < ru; i++) {
+			addTuple(prev, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				c[i] *= prev[j];
+		}
+	}
+
+	@Override
+	protected void computeColProduct(double[] c, int nRows) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		final double[] p = new double[nCol];
+		Arrays.fill(p, 1);
+		for(int i = 0; i < _data.size(); i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				p[j] *= running[j];
+		}
+		for(int j = 0; j < nCol; j++)
+			c[_colIndexes.get(j)] *= p[j];
+	}
+
+	@Override
+	protected double[] preAggSumRows() {
+		return _dict.sumAllRowsToDouble(_colIndexes.size());
+	}
+
+	@Override
+	protected double[] preAggSumSqRows() {
+		return null;
+	}
+
+	@Override
+	protected double[] preAggProductRows() {
+		return null;
+	}
+
+	@Override
+	protected double[] preAggBuiltinRows(Builtin builtin) {
+		return null;
+	}
+
+	@Override
+	public boolean containsValue(double pattern) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		final boolean nan = Double.isNaN(pattern);
+		for(int i = 0; i < _data.size(); i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				if(running[j] == pattern || (nan && Double.isNaN(running[j])))
+					return true;
+		}
+		return false;
+	}
+
+	@Override
+	public long getNumberNonZeros(int nRows) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] running = new double[nCol];
+		long nnz = 0;
+		for(int i = 0; i < _data.size(); i++) {
+			addTuple(running, values, _data.getIndex(i) * nCol);
+			for(int j = 0; j < nCol; j++)
+				nnz += running[j] != 0 ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public AColGroup scalarOperation(ScalarOperator op) {
+		final double v = op.getConstant();
+		final boolean left = op instanceof LeftScalarOperator;
+		if(op.fn instanceof Plus || op.fn instanceof Minus || (op.fn instanceof Multiply && Double.isFinite(v)) ||
+			(op.fn instanceof Divide && !left && Double.isFinite(v) && v != 0))
+			return create(_colIndexes, (DeltaDictionary) _dict.applyScalarOp(op), _data);
+		return decompressToUncompressed().scalarOperation(op);
+	}
+
+	@Override
+	public AColGroup binaryRowOpLeft(BinaryOperator op, double[] v, boolean isRowSafe) {
+		final AColGroup ret = binaryRowOp(op, v, true);
+		return ret != null ? ret : decompressToUncompressed().binaryRowOpLeft(op, v, isRowSafe);
+	}
+
+	@Override
+	public AColGroup binaryRowOpRight(BinaryOperator op, double[] v, boolean isRowSafe) {
+		final AColGroup ret = binaryRowOp(op, v, false);
+		return ret != null ? ret : decompressToUncompressed().binaryRowOpRight(op, v, isRowSafe);
+	}
+
+	private AColGroup binaryRowOp(BinaryOperator op, double[] v, boolean left) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] ret = new double[values.length];
+		if(op.fn instanceof Plus || op.fn instanceof Minus) {
+			// only the first row is modified, except for c - x that also negates the deltas
+			final boolean negate = left && op.fn instanceof Minus;
+			for(int j = 0; j < nCol; j++) {
+				final double c = v[_colIndexes.get(j)];
+				ret[j] = left ? op.fn.execute(c, values[j]) : op.fn.execute(values[j], c);
+			}
+			for(int i = nCol; i < values.length; i++)
+				ret[i] = negate ? -values[i] : values[i];
+		}
+		else if(op.fn instanceof Multiply || (op.fn instanceof Divide && !left)) {
+			// scaling columns distribute over the deltas for finite scales
+			for(int j = 0; j < nCol; j++) {
+				final double c = v[_colIndexes.get(j)];
+				if(!Double.isFinite(c) || (op.fn instanceof Divide && c == 0))
+					return null;
+			}
+			for(int i = 0; i < values.length; i++)
+				ret[i] = op.fn.execute(values[i], v[_colIndexes.get(i % nCol)]);
+		}
+		else
+			return null;
+		return create(_colIndexes, new DeltaDictionary(ret, nCol), _data);
+	}
+
+	/**
+	 * Decompress this column group into an uncompressed column group, used for operations that do not distribute over
+	 * the delta encoding.
+	 *
+	 * @return An uncompressed column group with the same column indexes
+	 */
+	private AColGroup decompressToUncompressed() {
+		final int nRows = _data.size();
+		final int nCol = _colIndexes.size();
+		final MatrixBlock mb = new MatrixBlock(nRows, nCol, false);
+		mb.allocateDenseBlock();
+		copyAndSet(ColIndexFactory.create(nCol)).decompressToDenseBlock(mb.getDenseBlock(), 0, nRows, 0, 0);
+		mb.recomputeNonZeros();
+		mb.examSparsity();
+		return ColGroupUncompressed.create(mb, _colIndexes);
+	}
+
+	@Override
+	public AColGroup unaryOperation(UnaryOperator op) {
+		return decompressToUncompressed().unaryOperation(op);
+	}
+
+	@Override
+	public AColGroup replace(double pattern, double replace) {
+		return decompressToUncompressed().replace(pattern, replace);
+	}
+
+	@Override
+	public AColGroup rexpandCols(int max, boolean ignore, boolean cast, int nRows) {
+		return decompressToUncompressed().rexpandCols(max, ignore, cast, nRows);
+	}
+
+	@Override
+	public CM_COV_Object centralMoment(CMOperator op, int nRows) {
+		return decompressToUncompressed().centralMoment(op, nRows);
+	}
+
+	@Override
+	protected AColGroup sliceSingleColumn(int idx) {
+		final IColIndex retIndexes = ColIndexFactory.create(1);
+		if(_colIndexes.size() == 1) // early abort, only single column already.
+			return create(retIndexes, (DeltaDictionary) _dict, _data);
+		return sliceMultiColumns(idx, idx + 1, retIndexes);
+	}
+
+	@Override
+	protected AColGroup sliceMultiColumns(int idStart, int idEnd, IColIndex outputCols) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final int nColOut = idEnd - idStart;
+		final int nVals = getNumValues();
+		final double[] ret = new double[nVals * nColOut];
+		for(int k = 0; k < nVals; k++)
+			System.arraycopy(values, k * nCol + idStart, ret, k * nColOut, nColOut);
+		return create(outputCols, new DeltaDictionary(ret, nColOut), _data);
+	}
+
+	@Override
+	public AColGroup sliceRows(int rl, int ru) {
+		// the first row of the slice becomes the absolute first tuple.
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues().clone();
+		final double[] first = new double[nCol];
+		getRowValues(rl, first);
+		System.arraycopy(first, 0, values, 0, nCol);
+		final AMapToData sliceMap = _data.slice(rl, ru);
+		sliceMap.set(0, 0);
+		return create(_colIndexes, new DeltaDictionary(values, nCol), sliceMap);
+	}
+
+	@Override
+	protected AColGroup fixColIndexes(IColIndex newColIndex, int[] reordering) {
+		final int nCol = _colIndexes.size();
+		final double[] values = _dict.getValues();
+		final double[] ret = new double[values.length];
+		for(int off = 0; off < values.length; off += nCol)
+			for(int j = 0; j < nCol; j++)
+				ret[off + j] = values[off + reordering[j]];
+		return create(newColIndex, new DeltaDictionary(ret, nCol), _data);
+	}
+
+	@Override
+	protected void sparseSelection(MatrixBlock selection, P[] points, MatrixBlock ret, int rl, int ru) {
+		final SparseBlock sb = selection.getSparseBlock();
+		final SparseBlock retB = ret.getSparseBlock();
+		for(int r = rl; r < ru; r++) {
+			if(sb.isEmpty(r))
+				continue;
+
+			final int sPos = sb.pos(r);
+			final int rowCompressed = sb.indexes(r)[sPos];
+			decompressToSparseBlock(retB, rowCompressed, rowCompressed + 1, r - rowCompressed, 0);
+		}
+	}
+
+	@Override
+	protected void denseSelection(MatrixBlock selection, P[] points, MatrixBlock ret, int rl, int ru) {
+		final SparseBlock sb = selection.getSparseBlock();
+		final DenseBlock retB = ret.getDenseBlock();
+		for(int r = rl; r < ru; r++) {
+			if(sb.isEmpty(r))
+				continue;
+
+			final int sPos = sb.pos(r);
+			final int rowCompressed = sb.indexes(r)[sPos];
+			decompressToDenseBlock(retB, rowCompressed, rowCompressed + 1, r - rowCompressed, 0);
+		}
+	}
+
+	@Override
+	public AColGroup append(AColGroup g) {
+		return null;
+	}
+
+	@Override
+	protected AColGroup appendNInternal(AColGroup[] groups, int blen, int rlen) {
+		// the deltas restart at the first row of each group, therefore the mappings cannot simply be concatenated
+		return null;
+	}
+
+	@Override
+	public AColGroup[] splitReshape(int multiplier, int nRow, int nColOrg) {
+		// the deltas are between consecutive rows, which end up in different groups
+		return decompressToUncompressed().splitReshape(multiplier, nRow, nColOrg);
+	}
+
+	@Override
+	public ICLAScheme getCompressionScheme() {
+		return DeltaDDCScheme.create(this);
+	}
+
+	@Override
+	public AColGroup recompress() {
+		return this;
+	}
+
+	@Override
+	public CompressedSizeInfoColGroup getCompressionInfo(int nRow) {
+		final IEncode enc = getEncoding();
+		final EstimationFactors ef = new EstimationFactors(getNumValues(), _data.size(), _data.size(), 1.0);
+		return new CompressedSizeInfoColGroup(_colIndexes, ef, estimateInMemorySize(), getCompType(), enc);
+	}
+
+	@Override
+	public IEncode getEncoding() {
+		return EncodingFactory.create(_data);
+	}
+
+	@Override
+	public boolean sameIndexStructure(AColGroupCompressed that) {
+		return that instanceof ColGroupDeltaDDC && ((ColGroupDeltaDDC) that)._data == _data;
+	}
+
+	@Override
+	public double getCost(ComputationCostEstimator e, int nRows) {
+		final int nVals = getNumValues();
+		final int nCols = getNumCols();
+		return e.getCost(nRows, nRows, nCols, nVals, 1.0);
+	}
+
+	@Override
+	public double getSparsity() {
+		return 1.0;
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+		size += _data.getInMemorySize();
+		size += 8; // checkpoints reference
+		return size;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		super.write(out);
+		_data.write(out);
+	}
+
+	public static ColGroupDeltaDDC read(DataInput in) throws IOException {
+		IColIndex cols = ColIndexFactory.read(in);
+		IDictionary dict = DictionaryFactory.read(in);
+		AMapToData data = MapToFactory.readIn(in);
+		return new ColGroupDeltaDDC(cols, dict, data);
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = super.getExactSizeOnDisk();
+		ret += _data.getExactSizeOnDisk();
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(super.toString());
+		sb.append(String.format("\n%15s", "Data: "));
+		sb.append(_data);
+		return sb.toString();
+	}
 }
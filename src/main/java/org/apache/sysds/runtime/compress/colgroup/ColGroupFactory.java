@@ -38,6 +38,7 @@ import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.bitmap.ABitmap;
 import org.apache.sysds.runtime.compress.bitmap.BitmapEncoder;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.DeltaDictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.DictionaryFactory;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
@@ -55,6 +56,7 @@ import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
 import org.apache.sysds.runtime.compress.lib.CLALibCombineGroups;
 import org.apache.sysds.runtime.compress.readers.ReaderColumnSelection;
+import org.apache.sysds.runtime.compress.readers.ReaderColumnSelectionDelta;
 import org.apache.sysds.runtime.compress.utils.ACount;
 import org.apache.sysds.runtime.compress.utils.DblArray;
 import org.apache.sysds.runtime.compress.utils.DblArrayCountHashMap;
@@ -288,6 +290,10 @@ public class ColGroupFactory {
 		else if(ct == CompressionType.DDC) {
 			return directCompressDDC(colIndexes, cg);
 		}
+		else if(ct == CompressionType.DeltaDDC) {
+			// quantization-fused if scale factors are given (see compressDeltaDDC)
+			return compressDeltaDDC(colIndexes, cg);
+		}
 		else if(ct == CompressionType.LinearFunctional) {
 			if(cs.scaleFactors != null) {
 				throw new NotImplementedException(); // quantization-fused compression NOT allowed
@@ -684,6 +690,36 @@ public class ColGroupFactory {
 		return ColGroupDDC.create(colIndexes, dict, resData, null);
 	}
 
+	private AColGroup compressDeltaDDC(IColIndex colIndexes, CompressedSizeInfoColGroup cg) throws Exception {
+		final int nCol = colIndexes.size();
+		final AMapToData d = MapToFactory.create(nRow, Math.max(Math.min(cg.getNumOffs() + 1, nRow), 126));
+		final DblArrayCountHashMap map = new DblArrayCountHashMap(Math.max(cg.getNumVals(), 64));
+		// quantized values (if scale factors are given) are integers, so their differences are exact
+		final ReaderColumnSelectionDelta reader = ReaderColumnSelection.createDeltaReader(in, colIndexes,
+			cs.transposed, 0, nRow, cs.scaleFactors);
+
+		// the first row is stored as absolute values in the first tuple of the dictionary.
+		DblArray cellVals = reader.nextRow();
+		final double[] first = cellVals.getData().clone();
+		d.set(0, 0);
+		while((cellVals = reader.nextRow()) != null)
+			d.set(reader.getCurrentRowIndex(), map.increment(cellVals) + 1);
+
+		if(!reader.isLossless()) {
+			// the differences of the columns can not reconstruct the values exactly.
+			LOG.debug("Lossy delta encoding of columns: " + colIndexes + " fallback to DDC");
+			return directCompressDDC(colIndexes, cg);
+		}
+
+		final ACount<DblArray>[] vals = map.extractValues();
+		final double[] values = new double[(vals.length + 1) * nCol];
+		System.arraycopy(first, 0, values, 0, nCol);
+		for(ACount<DblArray> dac : vals)
+			System.arraycopy(dac.key().getData(), 0, values, (dac.id + 1) * nCol, nCol);
+		final AMapToData resData = d.resize(vals.length + 1);
+		return ColGroupDeltaDDC.create(colIndexes, new DeltaDictionary(values, nCol), resData);
+	}
+
 	private boolean readToMapDDC(IColIndex colIndexes, DblArrayCountHashMap map, AMapToData data, int rl, int ru,
 		int fill) {
 
@@ -825,7 +861,8 @@ public class ColGroupFactory {
 	private boolean parallelReadToMapDDC(IColIndex colIndexes, DblArrayCountHashMap map, AMapToData data, int rlen,
 		int fill, int k) throws Exception {
 
-		final int blk = Math.max(rlen / colIndexes.size() / k, 64000 / colIndexes.size());
+		int blk = Math.max(rlen / colIndexes.size() / k, 64000 / colIndexes.size());
+		blk = Math.max(64, blk - blk % 64); // ensure long size, for maps packed into longs
 
 		List<readToMapDDCTask> tasks = new ArrayList<>();
 		for(int i = 0; i < rlen; i += blk) {
@@ -129,6 +129,8 @@ public interface ColGroupIO {
 				return ColGroupSDCFOR.read(in, nRows);
 			case LinearFunctional:
 				return ColGroupLinearFunctional.read(in, nRows);
+			case DeltaDDC:
+				return ColGroupDeltaDDC.read(in);
 			default:
 				throw new DMLRuntimeException("Unsupported ColGroup Type used: " + ctype);
 		}
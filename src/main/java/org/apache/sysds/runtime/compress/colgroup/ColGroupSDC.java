@@ -612,7 +612,7 @@ public class ColGroupSDC extends ASDC implements IMapToDataGroup {
 		if(g instanceof ColGroupSDC && g.getColIndices().equals(_colIndexes)) {
 			final ColGroupSDC gSDC = (ColGroupSDC) g;
 			if(Arrays.equals(_defaultTuple, gSDC._defaultTuple) && gSDC._dict.equals(_dict)) {
-				final AMapToData nd = _data.append(gSDC._data);
+				final AMapToData nd = MapToFactory.append(_data, gSDC._data, _dict.getNumberOfValues(_colIndexes.size()));
 				final AOffset ofd = _indexes.append(gSDC._indexes, getNumRows());
 				return create(_colIndexes, _numRows + gSDC._numRows, _dict, _defaultTuple, ofd, nd, null);
 			}
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.compress.colgroup;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.DictionaryFactory;
 import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
@@ -39,24 +40,35 @@ public interface ColGroupSizes {
 	}
 
 	public static long estimateInMemorySizeGroupValue(int nrColumns, boolean contiguousColumns, int nrValues,
-		double tupleSparsity, boolean lossy) {
+		double tupleSparsity, int lossyBytes) {
 		long size = estimateInMemorySizeGroup(nrColumns, contiguousColumns);
 		size += 8; // Counts reference
 		size += 8; // Reference to Dict.
-		size += DictionaryFactory.getInMemorySize(nrValues, nrColumns, tupleSparsity, lossy);
+		size += DictionaryFactory.getInMemorySize(nrValues, nrColumns, tupleSparsity, lossyBytes);
 		return size;
 	}
 
 	public static long estimateInMemorySizeDDC(int nrCols, boolean contiguousColumns, int numTuples, int dataLength,
-		double tupleSparsity, boolean lossy) {
-		long size = estimateInMemorySizeGroupValue(nrCols, contiguousColumns, numTuples, tupleSparsity, lossy);
+		double tupleSparsity, int lossyBytes) {
+		long size = estimateInMemorySizeGroupValue(nrCols, contiguousColumns, numTuples, tupleSparsity, lossyBytes);
 		size += MapToFactory.estimateInMemorySize(dataLength, numTuples);
 		return size;
 	}
 
+	public static long estimateInMemorySizeDeltaDDC(int nrCols, boolean contiguousColumns, int numTuples,
+		int dataLength) {
+		// the delta dictionary is always dense, numTuples include the absolute first row.
+		long size = estimateInMemorySizeGroup(nrCols, contiguousColumns);
+		size += 8; // Reference to Dict.
+		size += Dictionary.getInMemorySize(numTuples * nrCols);
+		size += MapToFactory.estimateInMemorySize(dataLength, numTuples);
+		size += 8; // checkpoints reference
+		return size;
+	}
+
 	public static long estimateInMemorySizeOffset(int nrColumns, boolean contiguousColumns, int nrValues, int pointers,
-		int offsetLength, double tupleSparsity, boolean lossy) {
-		long size = estimateInMemorySizeGroupValue(nrColumns, contiguousColumns, nrValues, tupleSparsity, lossy);
+		int offsetLength, double tupleSparsity, int lossyBytes) {
+		long size = estimateInMemorySizeGroupValue(nrColumns, contiguousColumns, nrValues, tupleSparsity, lossyBytes);
 		size += 4; // Int nRows
 		size += 1; // _zeros boolean reference
 		size += 3; // padding
@@ -66,16 +78,16 @@ public interface ColGroupSizes {
 	}
 
 	public static long estimateInMemorySizeOLE(int nrColumns, boolean contiguousColumns, int nrValues, int offsetLength,
-		int nrRows, double tupleSparsity, boolean lossy) {
+		int nrRows, double tupleSparsity, int lossyBytes) {
 		nrColumns = nrColumns > 0 ? nrColumns : 1;
 		offsetLength += (nrRows / CompressionSettings.BITMAP_BLOCK_SZ) * 2;
 		long size = estimateInMemorySizeOffset(nrColumns, contiguousColumns, nrValues, nrValues + 1, offsetLength,
-			tupleSparsity, lossy);
+			tupleSparsity, lossyBytes);
 		return size;
 	}
 
 	public static long estimateInMemorySizeRLE(int nrColumns, boolean contiguousColumns, int nrValues, int nrRuns,
-		int nrRows, double tupleSparsity, boolean lossy) {
+		int nrRows, double tupleSparsity, int lossyBytes) {
 		// Correct low number of runs if very large input.
 		// This correction handles the case where the skip runs are added in a safe manner
 		if(nrRows > Character.MAX_VALUE) {
@@ -86,12 +98,12 @@ public interface ColGroupSizes {
 			nrRuns += (extra / 2) * nrValues;
 		}
 		return estimateInMemorySizeOffset(nrColumns, contiguousColumns, nrValues, nrValues + 1, nrRuns * 2, tupleSparsity,
-			lossy);
+			lossyBytes);
 	}
 
 	public static long estimateInMemorySizeSDC(int nrColumns, boolean contiguousColumns, int nrValues, int nrRows,
-		int largestOff, double tupleSparsity, boolean largestOffZero, boolean lossy) {
-		long size = estimateInMemorySizeGroupValue(nrColumns, contiguousColumns, nrValues, tupleSparsity, lossy);
+		int largestOff, double tupleSparsity, boolean largestOffZero, int lossyBytes) {
+		long size = estimateInMemorySizeGroupValue(nrColumns, contiguousColumns, nrValues, tupleSparsity, lossyBytes);
 		size += OffsetFactory.estimateInMemorySize(nrRows - largestOff, nrRows);
 		if(nrValues > 1 + (largestOffZero ? 0 : 1))
 			size += MapToFactory.estimateInMemorySize(nrRows - largestOff, nrValues);
@@ -99,9 +111,9 @@ public interface ColGroupSizes {
 	}
 
 	public static long estimateInMemorySizeCONST(int nrColumns, boolean contiguousColumns, double tupleSparsity,
-		boolean lossy) {
+		int lossyBytes) {
 		long size = estimateInMemorySizeGroup(nrColumns, contiguousColumns);
-		size += DictionaryFactory.getInMemorySize(1, nrColumns, tupleSparsity, lossy);
+		size += DictionaryFactory.getInMemorySize(1, nrColumns, tupleSparsity, lossyBytes);
 		size += 8; // reference to dictionary.
 		return size;
 	}
@@ -725,6 +725,8 @@ public class ColGroupUncompressed extends AColGroup {
 			leftMultByAColGroupUncompressed((ColGroupUncompressed) lhs, result);
 		else if(lhs instanceof APreAgg)
 			leftMultByAPreAggColGroup((APreAgg) lhs, result);
+		else if(lhs instanceof ColGroupDeltaDDC)
+			((ColGroupDeltaDDC) lhs).leftMultByThisTransposed(this, result);
 		else
 			throw new DMLCompressionException("Not supported leftMult colgroup type: " + lhs.getClass().getSimpleName());
 	}
@@ -1035,7 +1037,7 @@ public class ColGroupUncompressed extends AColGroup {
 		final int _numRows = _data.getNumRows();
 		final CompressionSettings _cs = new CompressionSettingsBuilder().create();// default settings
 		final EstimationFactors em = new EstimationFactors(_numRows, _numRows, 1, null, _numRows, _numRows, _numRows,
-			false, false, (double) _numRows / _data.getNonZeros(), (double) _numRows / _data.getNonZeros());
+			0, false, (double) _numRows / _data.getNonZeros(), (double) _numRows / _data.getNonZeros());
 		// map.extractFacts(_numRows, _data.getSparsity(), _data.getSparsity(), _cs);
 		return new CompressedSizeInfoColGroup(_colIndexes, em, _cs.validCompressions, null);
 	}
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup.dictionary;
+
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Abstract quantized dictionary, storing the values as integers multiplied by a scale. Subclasses only define the
+ * integer storage (e.g., 8 or 16 bit) and its serialization, while all operations are shared.
+ */
+public abstract class AQDictionary extends ACachingMBDictionary {
+
+	private static final long serialVersionUID = -2479460385736712497L;
+
+	protected double _scale;
+	protected int _nCol;
+
+	protected AQDictionary(double scale, int nCol) {
+		_scale = scale;
+		_nCol = nCol;
+	}
+
+	/**
+	 * Get the number of stored quantized values.
+	 * 
+	 * @return The number of values
+	 */
+	protected abstract int size();
+
+	/**
+	 * Get the quantized (unscaled) value at the given index.
+	 * 
+	 * @param i The index
+	 * @return The quantized value
+	 */
+	protected abstract int getQuantized(int i);
+
+	/**
+	 * Allocate an empty dictionary of the same type and scale.
+	 * 
+	 * @param size The number of values
+	 * @param nCol The number of columns
+	 * @return The empty dictionary
+	 */
+	protected abstract AQDictionary allocate(int size, int nCol);
+
+	/**
+	 * Set the quantized (unscaled) value at the given index.
+	 * 
+	 * @param i The index
+	 * @param v The quantized value, guaranteed to fit the storage type
+	 */
+	protected abstract void setQuantized(int i, int v);
+
+	@Override
+	public double[] getValues() {
+		double[] res = new double[size()];
+		for(int i = 0; i < res.length; i++)
+			res[i] = getValue(i);
+		return res;
+	}
+
+	@Override
+	public double getValue(int i) {
+		return getQuantized(i) * _scale;
+	}
+
+	@Override
+	public final double getValue(int r, int c, int nCol) {
+		return getQuantized(r * nCol + c) * _scale;
+	}
+
+	@Override
+	public double aggregate(double init, Builtin fn) {
+		// full aggregate can disregard tuple boundaries
+		int len = size();
+		double ret = init;
+		for(int i = 0; i < len; i++)
+			ret = fn.execute(ret, getValue(i));
+		return ret;
+	}
+
+	@Override
+	public int getNumberOfValues(int nCol) {
+		return size() / nCol;
+	}
+
+	@Override
+	public int getNumberOfColumns(int nCol) {
+		return size() / nCol;
+	}
+
+	@Override
+	public double[] sumAllRowsToDouble(int nrColumns) {
+		if(nrColumns == 1)
+			return getValues(); // shallow copy of values
+
+		final int numVals = getNumberOfValues(nrColumns);
+		double[] ret = new double[numVals];
+		for(int k = 0; k < numVals; k++)
+			ret[k] = sumRow(k, nrColumns);
+
+		return ret;
+	}
+
+	@Override
+	public double[] sumAllRowsToDoubleSq(int nrColumns) {
+		final int numVals = getNumberOfValues(nrColumns);
+		double[] ret = new double[numVals];
+		for(int k = 0; k < numVals; k++)
+			ret[k] = sumRowSq(k, nrColumns);
+		return ret;
+	}
+
+	private double sumRow(int k, int nrColumns) {
+		int valOff = k * nrColumns;
+		long res = 0;
+		for(int i = 0; i < nrColumns; i++)
+			res += getQuantized(valOff + i);
+		return res * _scale;
+	}
+
+	private double sumRowSq(int k, int nrColumns) {
+		int valOff = k * nrColumns;
+		double res = 0.0;
+		for(int i = 0; i < nrColumns; i++) {
+			final double v = getQuantized(valOff + i);
+			res += (v * v) * _scale * _scale;
+		}
+		return res;
+	}
+
+	public String getString(int colIndexes) {
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < size(); i++) {
+			sb.append(getQuantized(i));
+			sb.append((i) % (colIndexes) == colIndexes - 1 ? "\n" : " ");
+		}
+		return sb.toString();
+	}
+
+	public IDictionary sliceOutColumnRange(int idxStart, int idxEnd, int previousNumberOfColumns) {
+		int numberTuples = getNumberOfValues(previousNumberOfColumns);
+		int tupleLengthAfter = idxEnd - idxStart;
+		AQDictionary ret = allocate(tupleLengthAfter * numberTuples, tupleLengthAfter);
+		int orgOffset = idxStart;
+		int targetOffset = 0;
+		for(int v = 0; v < numberTuples; v++) {
+			for(int c = 0; c < tupleLengthAfter; c++, orgOffset++, targetOffset++)
+				ret.setQuantized(targetOffset, getQuantized(orgOffset));
+			orgOffset += previousNumberOfColumns - idxEnd + idxStart;
+		}
+		return ret;
+	}
+
+	@Override
+	public long getNumberNonZeros(int[] counts, int nCol) {
+		long nnz = 0;
+		final int nRow = size() / nCol;
+		for(int i = 0; i < nRow; i++) {
+			long rowCount = 0;
+			final int off = i * nCol;
+			for(int j = off; j < off + nCol; j++) {
+				if(getQuantized(j) != 0)
+					rowCount++;
+			}
+			nnz += rowCount * counts[i];
+		}
+		return nnz;
+	}
+
+	@Override
+	public int[] countNNZZeroColumns(int[] counts) {
+		final int nRow = counts.length;
+		final int nCol = size() / nRow;
+
+		final int[] ret = new int[nCol];
+		for(int i = 0; i < nRow; i++) {
+			for(int j = 0; j < nCol; j++) {
+				final int off = i * nCol + j;
+				if(getQuantized(off) != 0)
+					ret[j] += counts[i];
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public double getSparsity() {
+		int nnz = 0;
+		for(int i = 0; i < size(); i++)
+			nnz += getQuantized(i) == 0 ? 0 : 1;
+		return (double) nnz / size();
+	}
+
+	@Override
+	public boolean equals(IDictionary o) {
+		return getMBDict().equals(o);
+	}
+
+	@Override
+	public MatrixBlockDictionary getMBDict() {
+		return getMBDict(_nCol);
+	}
+
+	@Override
+	public MatrixBlockDictionary createMBDict(int nCol) {
+		MatrixBlock mb = new MatrixBlock(size() / nCol, nCol, false);
+		mb.allocateDenseBlock();
+		double[] dbv = mb.getDenseBlockValues();
+		for(int i = 0; i < dbv.length; i++)
+			dbv[i] = getValue(i);
+		mb.recomputeNonZeros();
+		return new MatrixBlockDictionary(mb);
+	}
+}
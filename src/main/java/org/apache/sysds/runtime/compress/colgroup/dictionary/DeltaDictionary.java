@@ -19,19 +19,25 @@
 
 package org.apache.sysds.runtime.compress.colgroup.dictionary;
 
+import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.runtime.functionobjects.Divide;
 import org.apache.sysds.runtime.functionobjects.Minus;
 import org.apache.sysds.runtime.functionobjects.Multiply;
 import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
 
 /**
  * This dictionary class is a specialization for the DeltaDDCColgroup. Here the adjustments for operations for the delta
  * encoded values are implemented.
+ * 
+ * The first tuple is reserved for the absolute values of the first row, all other tuples are differences to the
+ * previous row. Therefore additive scalar operations only modify the first tuple.
  */
 public class DeltaDictionary extends ADictionary {
 	private static final long serialVersionUID = -5700139221491143705L;
@@ -53,11 +59,12 @@ public class DeltaDictionary extends ADictionary {
 	@Override
 	public DeltaDictionary applyScalarOp(ScalarOperator op) {
 		final double[] retV = new double[_values.length];
-		if(op.fn instanceof Multiply || op.fn instanceof Divide) {
+		final boolean left = op instanceof LeftScalarOperator;
+		if(op.fn instanceof Multiply || (op.fn instanceof Divide && !left)) {
 			for(int i = 0; i < _values.length; i++)
 				retV[i] = op.executeScalar(_values[i]);
 		}
-		else if(op.fn instanceof Plus || op.fn instanceof Minus) {
+		else if(op.fn instanceof Plus || (op.fn instanceof Minus && !left)) {
 			// With Plus and Minus only the first row needs to be updated when delta encoded
 			for(int i = 0; i < _values.length; i++) {
 				if(i < _numCols)
@@ -66,6 +73,15 @@ public class DeltaDictionary extends ADictionary {
 					retV[i] = _values[i];
 			}
 		}
+		else if(op.fn instanceof Minus) {
+			// c - x negates all differences
+			for(int i = 0; i < _values.length; i++) {
+				if(i < _numCols)
+					retV[i] = op.executeScalar(_values[i]);
+				else
+					retV[i] = -_values[i];
+			}
+		}
 		else
 			throw new NotImplementedException();
 
@@ -77,19 +93,45 @@ public class DeltaDictionary extends ADictionary {
 		return Dictionary.getInMemorySize(_values.length);
 	}
 
+	/**
+	 * Get the number of columns in each tuple of this dictionary.
+	 * 
+	 * @return The number of columns
+	 */
+	public int getNumCols() {
+		return _numCols;
+	}
+
+	@Override
+	public MatrixBlockDictionary getMBDict() {
+		return MatrixBlockDictionary.createDictionary(_values, _numCols, true);
+	}
+
 	@Override
 	public void write(DataOutput out) throws IOException {
-		throw new NotImplementedException();
+		out.writeByte(DictionaryFactory.Type.DELTA_DICT.ordinal());
+		out.writeInt(_numCols);
+		out.writeInt(_values.length);
+		for(int i = 0; i < _values.length; i++)
+			out.writeDouble(_values[i]);
+	}
+
+	public static DeltaDictionary read(DataInput in) throws IOException {
+		final int numCols = in.readInt();
+		final double[] values = new double[in.readInt()];
+		for(int i = 0; i < values.length; i++)
+			values[i] = in.readDouble();
+		return new DeltaDictionary(values, numCols);
 	}
 
 	@Override
 	public long getExactSizeOnDisk() {
-		throw new NotImplementedException();
+		return 1 + 4 + 4 + 8L * _values.length;
 	}
 
 	@Override
 	public DictType getDictType() {
-		throw new NotImplementedException();
+		return DictType.Delta;
 	}
 
 	@Override
@@ -104,21 +146,26 @@ public class DeltaDictionary extends ADictionary {
 
 	@Override
 	public String getString(int colIndexes) {
-		throw new NotImplementedException();
+		return "Delta" + Arrays.toString(_values);
 	}
 
 	@Override
 	public long getNumberNonZeros(int[] counts, int nCol) {
-		throw new NotImplementedException();
+		// the non zeros are defined by the reconstructed rows not the differences, therefore assume dense.
+		long nRows = 0;
+		for(int c : counts)
+			nRows += c;
+		return nRows * nCol;
 	}
 
 	@Override
 	public boolean equals(IDictionary o) {
-		throw new NotImplementedException();
+		return o instanceof DeltaDictionary && ((DeltaDictionary) o)._numCols == _numCols &&
+			Arrays.equals(_values, ((DeltaDictionary) o)._values);
 	}
 
 	@Override
 	public IDictionary clone() {
-		throw new NotImplementedException();
+		return new DeltaDictionary(_values.clone(), _numCols);
 	}
 }
@@ -52,7 +52,7 @@ public interface DictionaryFactory {
 	static final Log LOG = LogFactory.getLog(DictionaryFactory.class.getName());
 
 	public enum Type {
-		FP64_DICT, MATRIX_BLOCK_DICT, INT8_DICT, IDENTITY, IDENTITY_SLICE, PLACE_HOLDER
+		FP64_DICT, MATRIX_BLOCK_DICT, INT8_DICT, IDENTITY, IDENTITY_SLICE, PLACE_HOLDER, DELTA_DICT, INT16_DICT
 	}
 
 	public static IDictionary read(DataInput in) throws IOException {
@@ -62,21 +62,36 @@ public interface DictionaryFactory {
 				return Dictionary.read(in);
 			case INT8_DICT:
 				return QDictionary.read(in);
+			case INT16_DICT:
+				return QDictionary16.read(in);
 			case PLACE_HOLDER:
 				return PlaceHolderDict.read(in);
 			case IDENTITY:
 				return IdentityDictionary.read(in);
 			case IDENTITY_SLICE:
 				return IdentityDictionarySlice.read(in);
+			case DELTA_DICT:
+				return DeltaDictionary.read(in);
 			case MATRIX_BLOCK_DICT:
 			default:
 				return MatrixBlockDictionary.read(in);
 		}
 	}
 
-	public static long getInMemorySize(int nrValues, int nrColumns, double tupleSparsity, boolean lossy) {
-		if(lossy)
+	/**
+	 * Estimate the in memory size of a dictionary.
+	 * 
+	 * @param nrValues      The number of distinct tuples
+	 * @param nrColumns     The number of columns
+	 * @param tupleSparsity The sparsity of the tuples
+	 * @param lossyBytes    The bytes per value if the dictionary is quantized by lossy compression, zero otherwise
+	 * @return The estimated in memory size
+	 */
+	public static long getInMemorySize(int nrValues, int nrColumns, double tupleSparsity, int lossyBytes) {
+		if(lossyBytes == 1)
 			return QDictionary.getInMemorySize(nrValues * nrColumns);
+		else if(lossyBytes == 2)
+			return QDictionary16.getInMemorySize(nrValues * nrColumns);
 		else if(nrColumns > 1 && tupleSparsity < 0.4)
 			return MatrixBlockDictionary.getInMemorySize(nrValues, nrColumns, tupleSparsity);
 		else
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup.dictionary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * A quantized dictionary storing the values as 16 bit integers multiplied by a scale, used for lossy compression where
+ * the quantized values do not fit the 8 bit QDictionary.
+ */
+public class QDictionary16 extends AQDictionary {
+
+	private static final long serialVersionUID = -3413718236472883310L;
+
+	protected short[] _values;
+
+	protected QDictionary16(short[] values, double scale, int nCol) {
+		super(scale, nCol);
+		_values = values;
+	}
+
+	public static QDictionary16 create(short[] values, double scale, int nCol, boolean check) {
+		if(scale == 0)
+			return null;
+		if(check) {
+			boolean containsOnlyZero = true;
+			for(int i = 0; i < values.length && containsOnlyZero; i++) {
+				if(values[i] != 0)
+					containsOnlyZero = false;
+			}
+			if(containsOnlyZero)
+				return null;
+		}
+		return new QDictionary16(values, scale, nCol);
+	}
+
+	@Override
+	protected int size() {
+		return _values.length;
+	}
+
+	@Override
+	protected int getQuantized(int i) {
+		return _values[i];
+	}
+
+	@Override
+	protected QDictionary16 allocate(int size, int nCol) {
+		return new QDictionary16(new short[size], _scale, nCol);
+	}
+
+	@Override
+	protected void setQuantized(int i, int v) {
+		_values[i] = (short) v;
+	}
+
+	@Override
+	public long getInMemorySize() {
+		// object + values array + double
+		return getInMemorySize(size());
+	}
+
+	public static long getInMemorySize(int valuesCount) {
+		// object + values array + double
+		return 16 + (long) MemoryEstimates.charArrayCost(valuesCount) + 8;
+	}
+
+	@Override
+	public QDictionary16 clone() {
+		return new QDictionary16(_values.clone(), _scale, _nCol);
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(DictionaryFactory.Type.INT16_DICT.ordinal());
+		out.writeDouble(_scale);
+		out.writeInt(_values.length);
+		for(int i = 0; i < _values.length; i++)
+			out.writeShort(_values[i]);
+		out.writeInt(_nCol);
+	}
+
+	public static QDictionary16 read(DataInput in) throws IOException {
+		double scale = in.readDouble();
+		int numVals = in.readInt();
+		short[] values = new short[numVals];
+		for(int i = 0; i < numVals; i++) {
+			values[i] = in.readShort();
+		}
+		int nCol = in.readInt();
+		return new QDictionary16(values, scale, nCol);
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		return 1 + 8 + 4 + 2L * size() + 4;
+	}
+
+	@Override
+	public DictType getDictType() {
+		return DictType.Int16;
+	}
+
+}
@@ -98,6 +98,18 @@ public abstract class AMapToData implements Serializable {
 	 */
 	public abstract int getIndex(int n);
 
+	/**
+	 * Get the values of a range of indexes into the beginning of the given buffer.
+	 * 
+	 * @param rl  the index to start from
+	 * @param ru  the index to end at (not inclusive)
+	 * @param buf the buffer to write into, of at least length ru - rl
+	 */
+	public void getIndexes(int rl, int ru, int[] buf) {
+		for(int i = rl; i < ru; i++)
+			buf[i - rl] = getIndex(i);
+	}
+
 	/**
 	 * Shortcut method to support Integer objects, not really efficient but for the purpose of reusing code.
 	 * 
@@ -1002,7 +1014,10 @@ public abstract class AMapToData implements Serializable {
 		for(int i = 0; i < multiplier; i++)
 			ret[i] = MapToFactory.create(eachSize, getUnique());
 
-		final int blkz = Math.max(eachSize / 8, 2048) * multiplier;
+		// align the tasks to 64 output values, such that concurrent tasks never write to the same long
+		int blk = Math.max(eachSize / 8, 2048);
+		blk += (64 - blk % 64) % 64;
+		final int blkz = blk * multiplier;
 		List<Future<?>> tasks = new ArrayList<>();
 		for(int i = 0; i < s; i += blkz) {
 			final int start = i;
@@ -272,6 +272,8 @@ public class MapToChar extends AMapToData {
 			ret = new MapToUByte(unique, size);
 		else if(unique < 256)
 			ret = new MapToByte(unique, size);
+		else if(unique > 256 && unique <= MapToPacked.MAX_UNIQUE)
+			ret = new MapToPacked(unique, size);
 		else {
 			setUnique(unique);
 			return this;
@@ -201,6 +201,8 @@ public class MapToCharPByte extends AMapToData {
 			ret = new MapToUByte(unique, size);
 		else if(unique < 256)
 			ret = new MapToByte(unique, size);
+		else if(unique > 256 && unique <= MapToPacked.MAX_UNIQUE)
+			ret = new MapToPacked(unique, size);
 		else if(unique < Character.MAX_VALUE - 1)
 			ret = new MapToChar(unique, size);
 		else {
@@ -37,7 +37,7 @@ public interface MapToFactory {
 
 	/** The different supported types of mappings. */
 	public enum MAP_TYPE {
-		ZERO, BIT, UBYTE, BYTE, CHAR, CHAR_BYTE, INT;
+		ZERO, BIT, UBYTE, BYTE, CHAR, CHAR_BYTE, INT, PACKED;
 	}
 
 	/**
@@ -108,6 +108,8 @@ public interface MapToFactory {
 			return new MapToUByte(unique, size);
 		else if(unique <= 256)
 			return new MapToByte(unique, size);
+		else if(unique <= MapToPacked.MAX_UNIQUE)
+			return new MapToPacked(unique, size);
 		else if(unique <= Character.MAX_VALUE + 1)
 			return new MapToChar(unique, size);
 		else if(unique <= MapToCharPByte.max + 1)
@@ -137,6 +139,8 @@ public interface MapToFactory {
 				return new MapToChar(size);
 			case CHAR_BYTE:
 				return new MapToCharPByte(size);
+			case PACKED:
+				return new MapToPacked(size);
 			case INT:
 			default:
 				return new MapToInt(size);
@@ -187,6 +191,9 @@ public interface MapToFactory {
 			case CHAR_BYTE:
 				ret = new MapToCharPByte(numTuples, size);
 				break;
+			case PACKED:
+				ret = new MapToPacked(numTuples, size);
+				break;
 			case INT:
 			default:
 				ret = new MapToInt(numTuples, size);
@@ -195,6 +202,34 @@ public interface MapToFactory {
 		return ret;
 	}
 
+	/**
+	 * Append two maps into a new map that supports the given number of unique values. In contrast to
+	 * AMapToData.append, the two maps can be of different types, and the output grows to a wider type if the appended
+	 * map refers to new values, for instance values added to a dictionary by an updated compression scheme.
+	 * 
+	 * @param a      The first map
+	 * @param b      The map to append after a
+	 * @param unique The number of unique values to support in the output
+	 * @return The appended map
+	 */
+	public static AMapToData append(AMapToData a, AMapToData b, int unique) {
+		unique = Math.max(unique, Math.max(a.getUnique(), b.getUnique()));
+		// packed maps of the same type can differ in width, therefore also check the actual maps
+		if(a.getType() == b.getType() && getMaxPossible(a.getType()) >= unique - 1 &&
+			Math.max(a.getUpperBoundValue(), b.getUpperBoundValue()) >= unique - 1) {
+			// same type that is wide enough, use the type specific append.
+			final AMapToData ret = a.append(b);
+			ret.setUnique(unique);
+			return ret;
+		}
+		final int na = a.size();
+		final int nb = b.size();
+		final AMapToData ret = create(na + nb, unique);
+		ret.set(0, na, 0, a);
+		ret.set(na, na + nb, 0, b);
+		return ret;
+	}
+
 	/**
 	 * Estimate the size in memory of a MapToFactory.
 	 * 
@@ -209,6 +244,8 @@ public interface MapToFactory {
 			return MapToBit.getInMemorySize(size);
 		else if(unique <= 256)
 			return MapToByte.getInMemorySize(size);
+		else if(unique <= MapToPacked.MAX_UNIQUE)
+			return MapToPacked.getInMemorySize(size, unique);
 		else if(unique <= Character.MAX_VALUE + 1)
 			return MapToChar.getInMemorySize(size);
 		else if(unique <= MapToCharPByte.max)
@@ -239,6 +276,8 @@ public interface MapToFactory {
 				return MapToChar.readFields(in);
 			case CHAR_BYTE:
 				return MapToCharPByte.readFields(in);
+			case PACKED:
+				return MapToPacked.readFields(in);
 			case INT:
 			default:
 				return MapToInt.readFields(in);
@@ -265,6 +304,8 @@ public interface MapToFactory {
 				return Character.MAX_VALUE;
 			case CHAR_BYTE:
 				return MapToCharPByte.max;
+			case PACKED:
+				return MapToPacked.MAX_UNIQUE - 1;
 			case INT:
 			default:
 				return Integer.MAX_VALUE;
@@ -239,6 +239,8 @@ public class MapToInt extends AMapToData {
 			ret = new MapToUByte(unique, size);
 		else if(unique < 256)
 			ret = new MapToByte(unique, size);
+		else if(unique > 256 && unique <= MapToPacked.MAX_UNIQUE)
+			ret = new MapToPacked(unique, size);
 		else if(unique < Character.MAX_VALUE)
 			ret = new MapToChar(unique, size);
 		else if(unique < MapToCharPByte.max)
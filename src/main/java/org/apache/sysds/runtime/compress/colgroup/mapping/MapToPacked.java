@@ -0,0 +1,565 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup.mapping;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.sysds.runtime.compress.colgroup.IMapToDataGroup;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory.MAP_TYPE;
+import org.apache.sysds.utils.MemoryEstimates;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A map packing the values with an arbitrary number of bits inside a long array.
+ *
+ * Value n is located at bit n * bits, counted from the right most bit of the first long, and can span two longs. This
+ * allows a dictionary with for instance 3000 distinct values to use 12 bits per row instead of the 16 bits of a
+ * MapToChar. The bulk operations decode blocks of values at a time into an int buffer, with a sequential pass over the
+ * longs, instead of decoding each value individually. Blocks of 64 values, which span exactly bits longs, are
+ * decoded with vectors by loading the longs of a lane group contiguously, rearranging them to the lanes with
+ * precomputed shuffles, and shifting each lane. Gathers with an index map are avoided since they are slower and
+ * crash the C2 compiler of JDK 17 for long vectors on AVX-512.
+ *
+ * Note that writing values concurrently is only safe for ranges aligned to 64 values, since these start at a long
+ * boundary.
+ */
+public class MapToPacked extends AMapToData {
+
+	private static final long serialVersionUID = -4375601478563893315L;
+
+	/** The maximum number of unique values to use a packed map for instead of a MapToChar */
+	public static final int MAX_UNIQUE = 4096;
+
+	/** The number of values to decode at a time in bulk operations */
+	private static final int BLK = 256;
+
+	private static final VectorSpecies<Long> LSPECIES = LongVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Integer> ISPECIES = VectorSpecies.of(int.class,
+		VectorShape.forBitSize(LSPECIES.length() * Integer.SIZE));
+	private static final VectorSpecies<Double> DSPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	/** Per number of bits, the offset of the long containing each of 64 values relative to the first long */
+	private static final int[][] WORD = new int[33][64];
+	/** Per number of bits, the shift of each of 64 values inside its first long */
+	private static final long[][] SHIFT_LO = new long[33][64];
+	/** Per number of bits, the shift of the remaining bits of each of 64 values in the next long, minus one */
+	private static final long[][] SHIFT_HI = new long[33][64];
+	/** Per number of bits and lane group, the shuffles of the loaded longs to the first and next long of each lane */
+	private static final VectorShuffle<Long>[][] SHUFFLE_LO = createShuffles();
+	private static final VectorShuffle<Long>[][] SHUFFLE_HI = createShuffles();
+
+	static {
+		final int vLen = LSPECIES.length();
+		for(int b = 1; b <= 32; b++) {
+			for(int j = 0; j < 64; j++) {
+				WORD[b][j] = (j * b) >>> 6;
+				SHIFT_LO[b][j] = (j * b) & 63;
+				SHIFT_HI[b][j] = 63 - SHIFT_LO[b][j];
+			}
+			// with at least two lanes and at most 32 bits, the longs of a lane group fit into one vector
+			final int[] lo = new int[vLen];
+			final int[] hi = new int[vLen];
+			for(int j = 0; j < 64; j += vLen) {
+				for(int l = 0; l < vLen; l++) {
+					lo[l] = WORD[b][j + l] - WORD[b][j];
+					hi[l] = Math.min(vLen - 1, lo[l] + 1);
+				}
+				SHUFFLE_LO[b][j / vLen] = VectorShuffle.fromArray(LSPECIES, lo, 0);
+				SHUFFLE_HI[b][j / vLen] = VectorShuffle.fromArray(LSPECIES, hi, 0);
+			}
+		}
+	}
+
+	private final long[] _data;
+	private final int _size;
+	private final int _bits;
+	private final long _mask;
+
+	protected MapToPacked(int size) {
+		this(MAX_UNIQUE, size);
+	}
+
+	public MapToPacked(int unique, int size) {
+		this(unique, new long[longSize(size, bits(unique))], size, bits(unique));
+	}
+
+	private MapToPacked(int unique, long[] data, int size, int bits) {
+		super(unique);
+		_data = data;
+		_size = size;
+		_bits = bits;
+		_mask = (1L << bits) - 1;
+	}
+
+	/**
+	 * Get the number of bits used to encode the given number of unique values.
+	 *
+	 * @param unique The number of unique values
+	 * @return The number of bits, at least 1
+	 */
+	public static int bits(int unique) {
+		return Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(unique, 2) - 1));
+	}
+
+	private static int longSize(int size, int bits) {
+		return (int) (((long) size * bits + 63) >>> 6);
+	}
+
+	@Override
+	public MAP_TYPE getType() {
+		return MapToFactory.MAP_TYPE.PACKED;
+	}
+
+	@Override
+	public int getIndex(int n) {
+		final long p = (long) n * _bits;
+		final int w = (int) (p >>> 6);
+		final int s = (int) (p & 63);
+		long v = _data[w] >>> s;
+		if(s + _bits > 64)
+			v |= _data[w + 1] << (64 - s);
+		return (int) (v & _mask);
+	}
+
+	/**
+	 * Decode the values in the range rl to ru into the beginning of the given buffer.
+	 *
+	 * @param rl  The index to start from
+	 * @param ru  The index to end at (not inclusive)
+	 * @param buf The buffer to decode into, of at least length ru - rl
+	 */
+	protected void unpack(int rl, int ru, int[] buf) {
+		if(rl >= ru)
+			return;
+		// scalar until aligned to 64 values, vectorized over full blocks of 64, and scalar for the rest.
+		// the vectorized blocks load a full vector of longs, therefore stop before the end of the data.
+		final int rla = Math.min(ru, (rl + 63) & ~63);
+		unpackScalar(rl, rla, buf, 0);
+		int i = rla;
+		final int vLen = LSPECIES.length();
+		if(_bits <= 32 && vLen > 1)
+			for(; i + 64 <= ru && (i >>> 6) * _bits + _bits + vLen < _data.length; i += 64)
+				unpack64(i, buf, i - rl);
+		unpackScalar(i, ru, buf, i - rl);
+	}
+
+	private void unpack64(int rl, int[] buf, int off) {
+		final int w = (rl >>> 6) * _bits;
+		final int[] word = WORD[_bits];
+		final long[] lo = SHIFT_LO[_bits];
+		final long[] hi = SHIFT_HI[_bits];
+		final VectorShuffle<Long>[] sLo = SHUFFLE_LO[_bits];
+		final VectorShuffle<Long>[] sHi = SHUFFLE_HI[_bits];
+		final int vLen = LSPECIES.length();
+		for(int j = 0, g = 0; j < 64; j += vLen, g++) {
+			final LongVector d = LongVector.fromArray(LSPECIES, _data, w + word[j]);
+			// shift the upper part in two steps, such that it is zero if the value does not span two longs
+			final LongVector v = d.rearrange(sLo[g]).lanewise(VectorOperators.LSHR, LongVector.fromArray(LSPECIES, lo, j))
+				.or(d.rearrange(sHi[g]).lanewise(VectorOperators.LSHL, 1)
+					.lanewise(VectorOperators.LSHL, LongVector.fromArray(LSPECIES, hi, j)))
+				.and(_mask);
+			((IntVector) v.convertShape(VectorOperators.L2I, ISPECIES, 0)).intoArray(buf, off + j);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static VectorShuffle<Long>[][] createShuffles() {
+		final VectorShuffle<Long>[][] ret = new VectorShuffle[33][];
+		for(int b = 1; b <= 32; b++)
+			ret[b] = new VectorShuffle[64 / LSPECIES.length()];
+		return ret;
+	}
+
+	private void unpackScalar(int rl, int ru, int[] buf, int off) {
+		if(rl >= ru)
+			return;
+		final long p = (long) rl * _bits;
+		int w = (int) (p >>> 6);
+		int s = (int) (p & 63);
+		long cur = _data[w];
+		final int n = ru - rl;
+		for(int i = 0; i < n; i++) {
+			long v = cur >>> s;
+			s += _bits;
+			if(s >= 64) {
+				s -= 64;
+				w++;
+				cur = w < _data.length ? _data[w] : 0;
+				if(s > 0)
+					v |= cur << (_bits - s);
+			}
+			buf[off + i] = (int) (v & _mask);
+		}
+	}
+
+	@Override
+	public void getIndexes(int rl, int ru, int[] buf) {
+		unpack(rl, ru, buf);
+	}
+
+	@Override
+	public void set(int n, int v) {
+		final long p = (long) n * _bits;
+		final int w = (int) (p >>> 6);
+		final int s = (int) (p & 63);
+		final long val = v & _mask;
+		_data[w] = (_data[w] & ~(_mask << s)) | (val << s);
+		if(s + _bits > 64) {
+			final int r = 64 - s;
+			_data[w + 1] = (_data[w + 1] & ~(_mask >>> r)) | (val >>> r);
+		}
+	}
+
+	@Override
+	public void set(int l, int u, int off, AMapToData tm) {
+		for(int i = l; i < u; i++, off++)
+			set(i, tm.getIndex(off));
+	}
+
+	@Override
+	public int setAndGet(int n, int v) {
+		set(n, v);
+		return (int) (v & _mask);
+	}
+
+	@Override
+	public void fill(int v) {
+		if(v == 0) {
+			Arrays.fill(_data, 0L);
+			return;
+		}
+		// the pattern of the longs repeats every bits longs, containing 64 values.
+		final int n = Math.min(64, _size);
+		for(int i = 0; i < n; i++)
+			set(i, v);
+		for(int i = _bits; i < _data.length; i++)
+			_data[i] = _data[i - _bits];
+		// clear the bits after the last value
+		final int rem = (int) (((long) _size * _bits) & 63);
+		if(rem != 0)
+			_data[_data.length - 1] &= (1L << rem) - 1;
+	}
+
+	@Override
+	public int getUpperBoundValue() {
+		return (int) _mask;
+	}
+
+	@Override
+	public long getInMemorySize() {
+		return inMemorySize(_size, _bits);
+	}
+
+	/**
+	 * Get the in memory size of a packed map.
+	 *
+	 * @param size   The number of values in the map
+	 * @param unique The number of unique values to support
+	 * @return The size in bytes
+	 */
+	public static long getInMemorySize(int size, int unique) {
+		return inMemorySize(size, bits(unique));
+	}
+
+	private static long inMemorySize(int size, int bits) {
+		long s = 16 + 8 + 4 + 4 + 8; // object header + object reference + int size + int bits + long mask
+		s += MemoryEstimates.longArrayCost(longSize(size, bits));
+		return s;
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		return 1 + 4 + 4 + 1 + 4 + _data.length * 8L;
+	}
+
+	@Override
+	public int size() {
+		return _size;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(MAP_TYPE.PACKED.ordinal());
+		out.writeInt(getUnique());
+		out.writeInt(_size);
+		out.writeByte(_bits);
+		out.writeInt(_data.length);
+		for(int i = 0; i < _data.length; i++)
+			out.writeLong(_data[i]);
+	}
+
+	protected static MapToPacked readFields(DataInput in) throws IOException {
+		final int unique = in.readInt();
+		final int size = in.readInt();
+		final int bits = in.readByte();
+		final long[] data = new long[in.readInt()];
+		for(int i = 0; i < data.length; i++)
+			data[i] = in.readLong();
+		return new MapToPacked(unique, data, size, bits);
+	}
+
+	@Override
+	public void replace(int v, int r) {
+		final int[] buf = new int[BLK];
+		for(int b = 0; b < _size; b += BLK) {
+			final int be = Math.min(_size, b + BLK);
+			unpack(b, be, buf);
+			for(int i = b; i < be; i++)
+				if(buf[i - b] == v)
+					set(i, r);
+		}
+	}
+
+	@Override
+	public void copyInt(int[] d, int start, int end) {
+		for(int i = start; i < end; i++)
+			set(i, d[i]);
+	}
+
+	@Override
+	public int[] getCounts(int[] ret) {
+		final int[] buf = new int[BLK];
+		for(int b = 0; b < _size; b += BLK) {
+			final int n = Math.min(_size, b + BLK) - b;
+			unpack(b, b + n, buf);
+			for(int i = 0; i < n; i++)
+				ret[buf[i]]++;
+		}
+		return ret;
+	}
+
+	@Override
+	protected void preAggregateDenseToRowBy8(double[] mV, double[] preAV, int cl, int cu, int off) {
+		final int[] buf = new int[Math.min(BLK, cu - cl)];
+		off += cl;
+		for(int b = cl; b < cu; b += BLK) {
+			final int n = Math.min(cu, b + BLK) - b;
+			unpack(b, b + n, buf);
+			for(int i = 0; i < n; i++, off++)
+				preAV[buf[i]] += mV[off];
+		}
+	}
+
+	@Override
+	protected void preAggregateDenseMultiRowContiguousBy8(double[] mV, int nCol, int nVal, double[] preAV, int rl,
+		int ru, int cl, int cu) {
+		final int[] buf = new int[Math.min(BLK, cu - cl)];
+		final int offR = nCol * rl;
+		final int offE = nCol * ru;
+		for(int b = cl; b < cu; b += BLK) {
+			final int be = Math.min(cu, b + BLK);
+			unpack(b, be, buf);
+			final int h = (be - b) % 8;
+			for(int c = b; c < b + h; c++) {
+				final int idx = buf[c - b];
+				for(int offOut = idx, off = c + offR; off < c + offE; offOut += nVal, off += nCol)
+					preAV[offOut] += mV[off];
+			}
+			for(int c = b + h; c < be; c += 8) {
+				final int i = c - b;
+				final int id1 = buf[i], id2 = buf[i + 1], id3 = buf[i + 2], id4 = buf[i + 3], id5 = buf[i + 4],
+					id6 = buf[i + 5], id7 = buf[i + 6], id8 = buf[i + 7];
+				final int end = c + offE;
+				int nValOff = 0;
+				for(int off = c + offR; off < end; off += nCol) {
+					preAV[id1 + nValOff] += mV[off];
+					preAV[id2 + nValOff] += mV[off + 1];
+					preAV[id3 + nValOff] += mV[off + 2];
+					preAV[id4 + nValOff] += mV[off + 3];
+					preAV[id5 + nValOff] += mV[off + 4];
+					preAV[id6 + nValOff] += mV[off + 5];
+					preAV[id7 + nValOff] += mV[off + 6];
+					preAV[id8 + nValOff] += mV[off + 7];
+					nValOff += nVal;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void decompressToRange(double[] c, int rl, int ru, int offR, double[] values) {
+		// OVERWRITTEN FOR JIT COMPILE!
+		if(offR == 0)
+			decompressToRangeNoOff(c, rl, ru, values);
+		else
+			decompressToRangeOff(c, rl, ru, offR, values);
+	}
+
+	@Override
+	protected void decompressToRangeOff(double[] c, int rl, int ru, int offR, double[] values) {
+		final int[] buf = new int[Math.min(BLK, Math.max(ru - rl, 0))];
+		final int vLen = DSPECIES.length();
+		for(int b = rl, offT = rl + offR; b < ru; b += BLK) {
+			final int n = Math.min(ru, b + BLK) - b;
+			unpack(b, b + n, buf);
+			final int h = n - n % vLen;
+			int i = 0;
+			for(; i < h; i += vLen, offT += vLen)
+				DoubleVector.fromArray(DSPECIES, c, offT).add(DoubleVector.fromArray(DSPECIES, values, 0, buf, i))
+					.intoArray(c, offT);
+			for(; i < n; i++, offT++)
+				c[offT] += values[buf[i]];
+		}
+	}
+
+	@Override
+	protected void decompressToRangeNoOff(double[] c, int rl, int ru, double[] values) {
+		decompressToRangeOff(c, rl, ru, 0, values);
+	}
+
+	@Override
+	public AMapToData resize(int unique) {
+		AMapToData ret;
+		if(unique <= 1)
+			return new MapToZero(_size);
+		else if(unique == 2 && _size > 32)
+			ret = new MapToBit(unique, _size);
+		else if(unique <= 127)
+			ret = new MapToUByte(unique, _size);
+		else if(unique <= 256)
+			ret = new MapToByte(unique, _size);
+		else if(bits(unique) == _bits) {
+			setUnique(unique);
+			return this;
+		}
+		else
+			ret = MapToFactory.create(_size, unique);
+		ret.copy(this);
+		return ret;
+	}
+
+	@Override
+	public int countRuns() {
+		final int[] buf = new int[BLK];
+		int c = 1;
+		int prev = getIndex(0);
+		for(int b = 0; b < _size; b += BLK) {
+			final int n = Math.min(_size, b + BLK) - b;
+			unpack(b, b + n, buf);
+			for(int i = 0; i < n; i++) {
+				c += prev == buf[i] ? 0 : 1;
+				prev = buf[i];
+			}
+		}
+		return c;
+	}
+
+	@Override
+	public AMapToData slice(int l, int u) {
+		final MapToPacked ret = new MapToPacked(getUnique(), new long[longSize(u - l, _bits)], u - l, _bits);
+		ret.set(0, u - l, l, this);
+		return ret;
+	}
+
+	@Override
+	public AMapToData append(AMapToData t) {
+		if(t instanceof MapToPacked) {
+			final MapToPacked tp = (MapToPacked) t;
+			final int newSize = _size + tp._size;
+			final int newDistinct = Math.max(getUnique(), t.getUnique());
+			final int bits = Math.max(_bits, tp._bits);
+			final MapToPacked ret = new MapToPacked(newDistinct, new long[longSize(newSize, bits)], newSize, bits);
+			if(bits == _bits)
+				System.arraycopy(_data, 0, ret._data, 0, longSize(_size, _bits));
+			else
+				ret.set(0, _size, 0, this);
+			ret.set(_size, newSize, 0, tp);
+			return ret;
+		}
+		else
+			throw new NotImplementedException("Not implemented append on Packed map different type");
+	}
+
+	@Override
+	public AMapToData appendN(IMapToDataGroup[] d) {
+		int p = 0; // pointer
+		int bits = _bits;
+		for(IMapToDataGroup gd : d) {
+			final AMapToData m = gd.getMapToData();
+			p += m.size();
+			if(m.size() > 0)
+				bits = Math.max(bits, ((MapToPacked) m)._bits);
+		}
+		final MapToPacked ret = new MapToPacked(getUnique(), new long[longSize(p, bits)], p, bits);
+
+		p = 0;
+		for(int i = 0; i < d.length; i++) {
+			final AMapToData m = d[i].getMapToData();
+			if(m.size() > 0) {
+				final int ms = m.size();
+				ret.set(p, p + ms, 0, m);
+				p += ms;
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public boolean equals(AMapToData e) {
+		return e instanceof MapToPacked && //
+			e.getUnique() == getUnique() && //
+			((MapToPacked) e)._size == _size && //
+			((MapToPacked) e)._bits == _bits && //
+			Arrays.equals(((MapToPacked) e)._data, _data);
+	}
+
+	@Override
+	public AMapToData[] splitReshapeDDCPushDown(final int multiplier, final ExecutorService pool) throws Exception {
+		final int s = size();
+		final AMapToData[] ret = new AMapToData[multiplier];
+		final int eachSize = s / multiplier;
+		for(int i = 0; i < multiplier; i++)
+			ret[i] = new MapToPacked(getUnique(), eachSize);
+
+		// align the tasks to 64 output values, such that concurrent tasks never write to the same long
+		int blk = Math.max(eachSize / 8, 2048);
+		blk += (64 - blk % 64) % 64;
+		final int blkz = blk * multiplier;
+		List<Future<?>> tasks = new ArrayList<>();
+		for(int i = 0; i < s; i += blkz) {
+			final int start = i;
+			final int end = Math.min(i + blkz, s);
+			tasks.add(pool.submit(() -> {
+				for(int j = start; j < end; j++)
+					ret[j % multiplier].set(j / multiplier, getIndex(j));
+			}));
+		}
+
+		for(Future<?> t : tasks)
+			t.get();
+
+		return ret;
+	}
+}
@@ -219,6 +219,8 @@ public class CompressionScheme {
 	public CompressedMatrixBlock updateAndEncode(MatrixBlock mb) {
 		validateInput(mb);
 
+		final int nRow = mb.getNumRows();
+		final int nCol = mb.getNumColumns();
 		List<AColGroup> ret = new ArrayList<>(encodings.length);
 		boolean transposed = false;
 		if(mb.getSparsity() < 0.1) {
@@ -233,7 +235,7 @@ public class CompressionScheme {
 			ret.add(p.getValue());
 		}
 
-		return new CompressedMatrixBlock(mb.getNumRows(), mb.getNumColumns(), mb.getNonZeros(), false, ret);
+		return new CompressedMatrixBlock(nRow, nCol, mb.getNonZeros(), false, ret);
 
 	}
 
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup.scheme;
+
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDeltaDDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.DeltaDictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.readers.ReaderColumnSelection;
+import org.apache.sysds.runtime.compress.readers.ReaderColumnSelectionDelta;
+import org.apache.sysds.runtime.compress.utils.ACount;
+import org.apache.sysds.runtime.compress.utils.DblArray;
+import org.apache.sysds.runtime.compress.utils.DblArrayCountHashMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.Pair;
+
+/**
+ * Scheme for DeltaDDC, that maintain the known differences between consecutive rows. The first row of each encoded
+ * block is stored as absolute values in the first tuple of the dictionary, therefore only the following differences
+ * have to be known by the scheme.
+ */
+public class DeltaDDCScheme extends ACLAScheme {
+
+	/** The known differences, the id of each difference is offset by one in the encoded dictionaries */
+	private final DblArrayCountHashMap map;
+
+	private DeltaDDCScheme(IColIndex cols, DblArrayCountHashMap map) {
+		super(cols);
+		this.map = map;
+	}
+
+	/**
+	 * Create a scheme for the DeltaDDC compression given
+	 * 
+	 * @param g A DeltaDDC Column group
+	 * @return A DeltaDDC Compression scheme
+	 */
+	public static DeltaDDCScheme create(ColGroupDeltaDDC g) {
+		final int nCol = g.getNumCols();
+		final double[] values = g.getDictionary().getValues();
+		final DblArrayCountHashMap map = new DblArrayCountHashMap(values.length / nCol * 2);
+		for(int off = nCol; off < values.length; off += nCol)
+			map.increment(new DblArray(Arrays.copyOfRange(values, off, off + nCol)));
+		return new DeltaDDCScheme(g.getColIndices(), map);
+	}
+
+	/**
+	 * Create a scheme for the DeltaDDC compression given a list of columns.
+	 * 
+	 * @param cols The columns to compress
+	 * @return A DeltaDDC Compression scheme
+	 */
+	public static DeltaDDCScheme create(IColIndex cols) {
+		return new DeltaDDCScheme(cols, new DblArrayCountHashMap(4));
+	}
+
+	@Override
+	protected AColGroup encodeV(MatrixBlock data, IColIndex columns) {
+		final int nRow = data.getNumRows();
+		return encode(ReaderColumnSelection.createDeltaReader(data, columns, false, 0, nRow), nRow, columns, false);
+	}
+
+	@Override
+	protected AColGroup encodeVT(MatrixBlock data, IColIndex columns) {
+		final int nRow = data.getNumColumns();
+		return encode(ReaderColumnSelection.createDeltaReader(data, columns, true, 0, nRow), nRow, columns, false);
+	}
+
+	@Override
+	protected ICLAScheme updateV(MatrixBlock data, IColIndex columns) {
+		final int nRow = data.getNumRows();
+		return update(ReaderColumnSelection.createDeltaReader(data, columns, false, 0, nRow));
+	}
+
+	@Override
+	protected ICLAScheme updateVT(MatrixBlock data, IColIndex columns) {
+		final int nRow = data.getNumColumns();
+		return update(ReaderColumnSelection.createDeltaReader(data, columns, true, 0, nRow));
+	}
+
+	@Override
+	protected Pair<ICLAScheme, AColGroup> tryUpdateAndEncode(MatrixBlock data, IColIndex columns) {
+		final int nRow = data.getNumRows();
+		return new Pair<>(this,
+			encode(ReaderColumnSelection.createDeltaReader(data, columns, false, 0, nRow), nRow, columns, true));
+	}
+
+	@Override
+	protected Pair<ICLAScheme, AColGroup> tryUpdateAndEncodeT(MatrixBlock data, IColIndex columns) {
+		final int nRow = data.getNumColumns();
+		return new Pair<>(this,
+			encode(ReaderColumnSelection.createDeltaReader(data, columns, true, 0, nRow), nRow, columns, true));
+	}
+
+	private ICLAScheme update(ReaderColumnSelectionDelta reader) {
+		// the first row is absolute and not a difference.
+		reader.nextRow();
+		DblArray d;
+		while((d = reader.nextRow()) != null)
+			map.increment(d);
+		if(!reader.isLossless())
+			throw new DMLCompressionException("Invalid update of delta scheme with lossy differences");
+		return this;
+	}
+
+	private AColGroup encode(ReaderColumnSelectionDelta reader, int nRow, IColIndex columns, boolean update) {
+		final int nCol = columns.size();
+		final AMapToData d = MapToFactory.create(nRow, map.size() + 1);
+		final int max = d.getUpperBoundValue();
+		final double[] first = reader.nextRow().getData().clone();
+		d.set(0, 0);
+		DblArray cellVals;
+		while((cellVals = reader.nextRow()) != null) {
+			final int id;
+			if(update)
+				id = map.increment(cellVals) + 1;
+			else {
+				final ACount<DblArray> c = map.getC(cellVals);
+				if(c == null)
+					throw new DMLCompressionException("Invalid encoding of unknown difference: " + cellVals);
+				id = c.id + 1;
+			}
+			if(id > max)
+				throw new DMLCompressionException("Failed update and encode with " + max + " possible values");
+			d.set(reader.getCurrentRowIndex(), id);
+		}
+		if(!reader.isLossless())
+			throw new DMLCompressionException("Invalid lossy delta encoding");
+
+		final ACount<DblArray>[] vals = map.extractValues();
+		final double[] values = new double[(vals.length + 1) * nCol];
+		System.arraycopy(first, 0, values, 0, nCol);
+		for(ACount<DblArray> dac : vals)
+			System.arraycopy(dac.key().getData(), 0, values, (dac.id + 1) * nCol, nCol);
+		final AMapToData resData = d.resize(vals.length + 1);
+		return ColGroupDeltaDDC.create(columns, new DeltaDictionary(values, nCol), resData);
+	}
+
+	@Override
+	public DeltaDDCScheme clone() {
+		return new DeltaDDCScheme(cols, map.clone());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName());
+		sb.append("\nCols: ");
+		sb.append(cols);
+		sb.append("\nMap:  ");
+		sb.append(map);
+		return sb.toString();
+	}
+}
@@ -31,7 +31,7 @@ public class SchemeFactory {
 			case DDCFOR:
 				break;
 			case DeltaDDC:
-				break;
+				return DeltaDDCScheme.create(columns);
 			case CONST:
 				// const is automatically empty if no data is provided.
 			case EMPTY:
@@ -21,7 +21,9 @@ package org.apache.sysds.runtime.compress.estim;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -29,6 +31,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.compress.CompressionSettings;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
 import org.apache.sysds.runtime.compress.colgroup.indexes.SingleIndex;
 import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
@@ -105,7 +108,12 @@ public abstract class AComEst {
 	 * @return The CompressedSizeInformation associated with the selected ColGroups.
 	 */
 	public final CompressedSizeInfoColGroup getColGroupInfo(IColIndex colIndexes) {
-		return getColGroupInfo(colIndexes, 8, worstCaseUpperBound(colIndexes));
+		final CompressedSizeInfoColGroup g = getColGroupInfo(colIndexes, 8, worstCaseUpperBound(colIndexes));
+		if(!_cs.validCompressions.contains(CompressionType.DeltaDDC) || g.isEmpty() || g.isConst())
+			return g;
+		// delta encodings are estimated on their own encoding of the differences between rows.
+		final CompressedSizeInfoColGroup d = getDeltaColGroupInfo(colIndexes);
+		return d != null && d.getMinSize() < g.getMinSize() ? d : g;
 	}
 
 	/**
@@ -195,6 +203,10 @@ public abstract class AComEst {
 		final long max = Math.min((long) g1V * g2V, worstCase);
 		if(max > 1000000) // set the max combination to a million distinct
 			return null; // This combination is clearly not a good idea return null to indicate that.
+		else if(g1.getBestCompressionType() == CompressionType.DeltaDDC ||
+			g2.getBestCompressionType() == CompressionType.DeltaDDC)
+			// delta encodings cannot be combined with the encodings of other groups, therefore extract again.
+			return getColGroupInfo(combinedColumns);
 		else if(g1.getMap() == null || g2.getMap() == null)
 			// the previous information did not contain maps, therefore fall back to extract from sample
 			return getColGroupInfo(combinedColumns, Math.max(g1V, g2V), (int) max);
@@ -202,6 +214,23 @@ public abstract class AComEst {
 			return combine(combinedColumns, g1, g2, (int) max);
 	}
 
+	/**
+	 * Get the valid compression types for an encoding, delta encoded compressions are only valid for encodings of the
+	 * differences between rows and never for normal encodings.
+	 * 
+	 * @param delta If the encoding is of row differences
+	 * @return The valid compression types
+	 */
+	protected Set<CompressionType> getValidCompressions(boolean delta) {
+		if(delta)
+			return EnumSet.of(CompressionType.DeltaDDC);
+		else if(!_cs.validCompressions.contains(CompressionType.DeltaDDC))
+			return _cs.validCompressions;
+		final EnumSet<CompressionType> ret = EnumSet.copyOf(_cs.validCompressions);
+		ret.remove(CompressionType.DeltaDDC);
+		return ret;
+	}
+
 	/** Clear the pointer to the materialized list of nnz in columns */
 	public void clearNNZ() {
 		nnzCols = null;
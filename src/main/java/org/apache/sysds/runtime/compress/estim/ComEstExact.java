@@ -47,7 +47,8 @@ public class ComEstExact extends AComEst {
 	@Override
 	public CompressedSizeInfoColGroup getDeltaColGroupInfo(IColIndex colIndexes, int estimate, int nrUniqueUpperBound) {
 		final IEncode map = EncodingFactory.createFromMatrixBlockDelta(_data, _cs.transposed, colIndexes);
-		return getFacts(map, colIndexes);
+		final EstimationFactors em = map.extractFacts(getNumRows(), _data.getSparsity(), 1.0, _cs);
+		return new CompressedSizeInfoColGroup(colIndexes, em, getValidCompressions(true), map);
 	}
 
 	@Override
@@ -60,7 +61,7 @@ public class ComEstExact extends AComEst {
 	protected CompressedSizeInfoColGroup getFacts(IEncode map, IColIndex colIndexes) {
 		final int _numRows = getNumRows();
 		final EstimationFactors em = map.extractFacts(_numRows, _data.getSparsity(), _data.getSparsity(), _cs);
-		return new CompressedSizeInfoColGroup(colIndexes, em, _cs.validCompressions, map);
+		return new CompressedSizeInfoColGroup(colIndexes, em, getValidCompressions(false), map);
 	}
 
 	@Override
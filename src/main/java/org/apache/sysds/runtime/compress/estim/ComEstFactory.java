@@ -23,6 +23,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.lib.CLALibQuantize;
+import org.apache.sysds.runtime.compress.lib.CLALibQuantize.Quantization;
 import org.apache.sysds.runtime.compress.lib.CLALibSlice;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
@@ -65,6 +67,26 @@ public interface ComEstFactory {
 		return createEstimator(data, cs, sampleSize, k, nRows);
 	}
 
+	/**
+	 * Create an estimator for lossy compression, that estimates on a quantized sample of the row major input data, such
+	 * that the input is never quantized as a whole.
+	 * 
+	 * @param data         The matrix to extract compression information from.
+	 * @param cs           The settings for the compression
+	 * @param quantization The quantization of the columns of the input data
+	 * @param k            The parallelization degree
+	 * @return A new CompressionSizeEstimator used to extract information of column groups
+	 */
+	public static AComEst createQuantizedEstimator(MatrixBlock data, CompressionSettings cs, Quantization quantization,
+		int k) {
+		final int nRows = data.getNumRows();
+		final int sampleSize = getSampleSize(cs, nRows, data.getNumColumns(), data.getSparsity());
+		final int[] sampleRows = ComEstSample.getSortedSample(nRows, sampleSize, cs.seed, k);
+		final MatrixBlock sample = CLALibQuantize.quantizeRows(data, sampleRows, quantization.steps);
+		LOG.debug("Using quantized sample size: " + sampleSize);
+		return new ComEstSample(sample, cs, data, quantization, k);
+	}
+
 	private static AComEst createEstimator(MatrixBlock data, CompressionSettings cs, int sampleSize, int k, int nRows) {
 		if(sampleSize >= nRows * 0.8) // if sample size is larger than 80% use entire input as sample.
 			return createExactEstimator(data, cs);
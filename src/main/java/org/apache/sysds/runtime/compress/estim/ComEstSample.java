@@ -29,6 +29,7 @@ import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
 import org.apache.sysds.runtime.compress.estim.encoding.EncodingFactory;
 import org.apache.sysds.runtime.compress.estim.encoding.IEncode;
 import org.apache.sysds.runtime.compress.estim.sample.SampleEstimatorFactory;
+import org.apache.sysds.runtime.compress.lib.CLALibQuantize.Quantization;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -50,14 +51,30 @@ public class ComEstSample extends AComEst {
 	protected final int _sampleSize;
 	/** Boolean specifying if the sample is in transposed format. */
 	protected boolean _transposed;
+	/** The quantization of the full data if the sample is quantized for lossy compression, otherwise null */
+	protected final Quantization _quantization;
 
 	public ComEstSample(MatrixBlock sample, CompressionSettings cs, MatrixBlock full, int k) {
+		this(sample, cs, full, null, k);
+	}
+
+	/**
+	 * Create an estimator from an already extracted row major sample.
+	 * 
+	 * @param sample       The sample rows of the full data
+	 * @param cs           The compression settings
+	 * @param full         The full data the sample is extracted from
+	 * @param quantization The quantization the sample is quantized with, or null if not lossy
+	 * @param k            The parallelization degree allowed
+	 */
+	public ComEstSample(MatrixBlock sample, CompressionSettings cs, MatrixBlock full, Quantization quantization,
+		int k) {
 		super(full, cs);
 		_k = k;
 		_transposed = cs.transposed;
 		_sample = sample;
 		_sampleSize = sample.getNumRows();
-
+		_quantization = quantization;
 	}
 
 	/**
@@ -73,6 +90,7 @@ public class ComEstSample extends AComEst {
 		_k = k;
 		_sampleSize = sampleSize;
 		_transposed = _cs.transposed;
+		_quantization = null;
 		if(LOG.isDebugEnabled()) {
 			Timing time = new Timing(true);
 			_sample = sampleData(sampleSize);
@@ -91,7 +109,7 @@ public class ComEstSample extends AComEst {
 			return new CompressedSizeInfoColGroup(colIndexes, getNumRows(), CompressionType.EMPTY);
 
 		final IEncode map = EncodingFactory.createFromMatrixBlock(_sample, _transposed, colIndexes, _cs.scaleFactors);
-		return extractInfo(map, colIndexes, maxDistinct);
+		return extractInfo(map, colIndexes, maxDistinct, false);
 	}
 
 	@Override
@@ -99,7 +117,7 @@ public class ComEstSample extends AComEst {
 		// Don't use sample when doing estimation of delta encoding, instead we read from the start of the matrix until
 		// sample size. This guarantees that the delta values are actually represented in the full compression
 		final IEncode map = EncodingFactory.createFromMatrixBlockDelta(_data, _transposed, colIndexes, _sampleSize);
-		return extractInfo(map, colIndexes, maxDistinct);
+		return extractInfo(map, colIndexes, maxDistinct, true);
 	}
 
 	@Override
@@ -114,7 +132,7 @@ public class ComEstSample extends AComEst {
 		CompressedSizeInfoColGroup g2, int maxDistinct) {
 		try {
 			final IEncode map = g1.getMap().combine(g2.getMap());
-			return extractInfo(map, combinedColumns, maxDistinct);
+			return extractInfo(map, combinedColumns, maxDistinct, false);
 		}
 		catch(Exception e) {
 
@@ -130,12 +148,13 @@ public class ComEstSample extends AComEst {
 		}
 	}
 
-	private CompressedSizeInfoColGroup extractInfo(IEncode map, IColIndex colIndexes, int maxDistinct) {
+	private CompressedSizeInfoColGroup extractInfo(IEncode map, IColIndex colIndexes, int maxDistinct,
+		boolean delta) {
 		try {
 			final double spar = _data.getSparsity();
 			final EstimationFactors sampleFacts = map.extractFacts(_sampleSize, spar, spar, _cs);
 			final EstimationFactors em = scaleFactors(sampleFacts, colIndexes, maxDistinct, map.isDense());
-			return new CompressedSizeInfoColGroup(colIndexes, em, _cs.validCompressions, map);
+			return new CompressedSizeInfoColGroup(colIndexes, em, getValidCompressions(delta), map);
 		}
 		catch(Exception e) {
 			String ms = map.toString();
@@ -171,16 +190,17 @@ public class ComEstSample extends AComEst {
 			final double overallSparsity = calculateSparsity(colIndexes, nnz, scalingFactor, sampleFacts.overAllSparsity);
 			// For robustness safety add 10 percent more tuple sparsity
 			final double tupleSparsity = Math.min(overallSparsity * 1.3, 1.0); // increase sparsity by 30%.
+			final int lossyBytes = _quantization != null ? _quantization.getBytes(colIndexes) : 0;
 			if(_cs.isRLEAllowed()) {
 				final int scaledRuns = Math.max(estDistinct,
 					calculateRuns(sampleFacts, scalingFactor, numOffs, estDistinct));
 				return new EstimationFactors(estDistinct, numOffs, mostFrequentOffsetCount, sampleFacts.frequencies,
-					sampleFacts.numSingle, numRows, scaledRuns, sampleFacts.lossy, sampleFacts.zeroIsMostFrequent,
+					sampleFacts.numSingle, numRows, scaledRuns, lossyBytes, sampleFacts.zeroIsMostFrequent,
 					overallSparsity, tupleSparsity);
 			}
 			else
 				return new EstimationFactors(estDistinct, numOffs, mostFrequentOffsetCount, sampleFacts.frequencies,
-					sampleFacts.numSingle, numRows, sampleFacts.lossy, sampleFacts.zeroIsMostFrequent, overallSparsity,
+					sampleFacts.numSingle, numRows, lossyBytes, sampleFacts.zeroIsMostFrequent, overallSparsity,
 					tupleSparsity);
 		}
 		catch(Exception e) {
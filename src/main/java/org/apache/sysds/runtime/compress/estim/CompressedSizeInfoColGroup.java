@@ -110,6 +110,16 @@ public class CompressedSizeInfoColGroup {
 		_map = map;
 	}
 
+	private CompressedSizeInfoColGroup(IColIndex columns, EstimationFactors facts, double minSize,
+		CompressionType bestCompression, EnumMap<CompressionType, Double> sizes, IEncode map) {
+		_cols = columns;
+		_facts = facts;
+		_minSize = minSize;
+		_bestCompressionType = bestCompression;
+		_sizes = sizes;
+		_map = map;
+	}
+
 	/**
 	 * Create empty or const.
 	 * 
@@ -127,7 +137,7 @@ public class CompressedSizeInfoColGroup {
 				break;
 			case CONST:
 				_sizes.put(ct,
-					(double) ColGroupSizes.estimateInMemorySizeCONST(columns.size(), columns.isContiguous(), 1.0, false));
+					(double) ColGroupSizes.estimateInMemorySizeCONST(columns.size(), columns.isContiguous(), 1.0, 0));
 				break;
 			case UNCOMPRESSED:
 				_sizes.put(ct, (double) ColGroupSizes.estimateInMemorySizeUncompressed(nRows, columns.isContiguous(),
@@ -190,6 +200,17 @@ public class CompressedSizeInfoColGroup {
 		return _cols;
 	}
 
+	/**
+	 * Get a copy of this information for other column indexes, for instance to compress the columns of this group from
+	 * a matrix that only contains these columns.
+	 * 
+	 * @param columns The column indexes of the copy
+	 * @return A copy with the given column indexes
+	 */
+	public CompressedSizeInfoColGroup copyWithColumns(IColIndex columns) {
+		return new CompressedSizeInfoColGroup(columns, _facts, _minSize, _bestCompressionType, _sizes, _map);
+	}
+
 	public int getNumRows() {
 		return _facts.numRows;
 	}
@@ -255,28 +276,28 @@ public class CompressedSizeInfoColGroup {
 			case LinearFunctional:
 				return ColGroupSizes.estimateInMemorySizeLinearFunctional(numCols, contiguousColumns);
 			case DeltaDDC:
-				throw new NotImplementedException();
+				return ColGroupSizes.estimateInMemorySizeDeltaDDC(numCols, contiguousColumns, fact.numVals, fact.numRows);
 			case DDC:
 				nv = fact.numVals + (fact.numOffs < fact.numRows ? 1 : 0);
 				return ColGroupSizes.estimateInMemorySizeDDC(numCols, contiguousColumns, nv, fact.numRows,
-					fact.tupleSparsity, fact.lossy);
+					fact.tupleSparsity, fact.lossyBytes);
 			case RLE:
 				return ColGroupSizes.estimateInMemorySizeRLE(numCols, contiguousColumns, fact.numVals, fact.numRuns,
-					fact.numRows, fact.tupleSparsity, fact.lossy);
+					fact.numRows, fact.tupleSparsity, fact.lossyBytes);
 			case OLE:
 				nv = fact.numVals + (fact.zeroIsMostFrequent ? 1 : 0);
 				return ColGroupSizes.estimateInMemorySizeOLE(numCols, contiguousColumns, nv, fact.numOffs + fact.numVals,
-					fact.numRows, fact.tupleSparsity, fact.lossy);
+					fact.numRows, fact.tupleSparsity, fact.lossyBytes);
 			case UNCOMPRESSED:
 				return ColGroupSizes.estimateInMemorySizeUncompressed(fact.numRows, contiguousColumns, numCols,
 					fact.overAllSparsity);
 			case SDC:
 				return ColGroupSizes.estimateInMemorySizeSDC(numCols, contiguousColumns, fact.numVals, fact.numRows,
-					fact.largestOff, fact.tupleSparsity, fact.zeroIsMostFrequent, fact.lossy);
+					fact.largestOff, fact.tupleSparsity, fact.zeroIsMostFrequent, fact.lossyBytes);
 			case CONST:
 				if(fact.numOffs == fact.numRows && fact.numVals == 1)
 					return ColGroupSizes.estimateInMemorySizeCONST(numCols, contiguousColumns, fact.tupleSparsity,
-						fact.lossy);
+						fact.lossyBytes);
 				else
 					return -1;
 			case EMPTY:
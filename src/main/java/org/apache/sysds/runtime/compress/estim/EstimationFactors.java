@@ -42,8 +42,8 @@ public class EstimationFactors {
 	protected final int numRows;
 	/** The Number of runs of continuous values inside the column group */
 	protected final int numRuns;
-	/** If the estimation of this column group is lossy */
-	protected final boolean lossy;
+	/** The bytes per value of the quantized dictionary if the estimation is lossy, zero otherwise */
+	protected final int lossyBytes;
 	/** Boolean specifying if zero is the most frequent value */
 	protected final boolean zeroIsMostFrequent;
 	/** Boolean specifying if the columnGroup contain no zero tuples. */
@@ -54,25 +54,25 @@ public class EstimationFactors {
 	protected final double tupleSparsity;
 
 	public EstimationFactors(int numVals, int numRows) {
-		this(numVals, numRows, -1, null, -1, numRows, false, false, 1.0, 1.0);
+		this(numVals, numRows, -1, null, -1, numRows, 0, false, 1.0, 1.0);
 	}
 
 	public EstimationFactors(int numVals, int numRows, double tupleSparsity) {
-		this(numVals, numRows, -1, null, -1, numRows, false, false, 1.0, tupleSparsity);
+		this(numVals, numRows, -1, null, -1, numRows, 0, false, 1.0, tupleSparsity);
 	}
 
 	public EstimationFactors(int numVals, int numRows, int numOffs, double tupleSparsity) {
-		this(numVals, numOffs, -1, null, -1, numRows, false, false, 1.0, tupleSparsity);
+		this(numVals, numOffs, -1, null, -1, numRows, 0, false, 1.0, tupleSparsity);
 	}
 
 	public EstimationFactors(int numVals, int numOffs, int largestOff, int[] frequencies, int numSingle, int numRows,
-		boolean lossy, boolean zeroIsMostFrequent, double overAllSparsity, double tupleSparsity) {
-		this(numVals, numOffs, largestOff, frequencies, numSingle, numRows, numOffs, lossy, zeroIsMostFrequent,
+		int lossyBytes, boolean zeroIsMostFrequent, double overAllSparsity, double tupleSparsity) {
+		this(numVals, numOffs, largestOff, frequencies, numSingle, numRows, numOffs, lossyBytes, zeroIsMostFrequent,
 			overAllSparsity, tupleSparsity);
 	}
 
 	public EstimationFactors(int numVals, int numOffs, int largestOff, int[] frequencies, int numSingle, int numRows,
-		int numRuns, boolean lossy, boolean zeroIsMostFrequent, double overAllSparsity, double tupleSparsity) {
+		int numRuns, int lossyBytes, boolean zeroIsMostFrequent, double overAllSparsity, double tupleSparsity) {
 		this.numVals = numVals;
 		this.numOffs = numOffs;
 		this.largestOff = largestOff;
@@ -80,7 +80,7 @@ public class EstimationFactors {
 		this.numRuns = numRuns;
 		this.numSingle = numSingle;
 		this.numRows = numRows;
-		this.lossy = lossy;
+		this.lossyBytes = lossyBytes;
 		this.zeroIsMostFrequent = zeroIsMostFrequent;
 		this.containNoZeroValues = numOffs == numRows && overAllSparsity < 1;
 		this.overAllSparsity = overAllSparsity;
@@ -62,7 +62,7 @@ public class ConstEncoding extends AEncode {
 	@Override
 	public EstimationFactors extractFacts(int nRows, double tupleSparsity, double matrixSparsity,
 		CompressionSettings cs) {
-		return new EstimationFactors(1, nRows, nRows, counts, 0, nRows, 1, false, false, matrixSparsity, tupleSparsity);
+		return new EstimationFactors(1, nRows, nRows, counts, 0, nRows, 1, 0, false, matrixSparsity, tupleSparsity);
 	}
 
 	@Override
@@ -377,10 +377,10 @@ public class DenseEncoding extends AEncode {
 			}
 
 		if(cs.isRLEAllowed())
-			return new EstimationFactors(map.getUnique(), nRows, largestOffs, counts, 0, nRows, map.countRuns(), false,
-				false, matrixSparsity, tupleSparsity);
+			return new EstimationFactors(map.getUnique(), nRows, largestOffs, counts, 0, nRows, map.countRuns(), 0, false,
+				matrixSparsity, tupleSparsity);
 		else
-			return new EstimationFactors(map.getUnique(), nRows, largestOffs, counts, 0, nRows, false, false,
+			return new EstimationFactors(map.getUnique(), nRows, largestOffs, counts, 0, nRows, 0, false,
 				matrixSparsity, tupleSparsity);
 
 	}
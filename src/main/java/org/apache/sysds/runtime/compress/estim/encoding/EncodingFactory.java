@@ -88,9 +88,8 @@ public interface EncodingFactory {
 	 * @return A delta encoded encoding.
 	 */
 	public static IEncode createFromMatrixBlockDelta(MatrixBlock m, boolean transposed, IColIndex rowCols) {
-		throw new NotImplementedException();
-		// final int sampleSize = transposed ? m.getNumColumns() : m.getNumRows();
-		// return createFromMatrixBlockDelta(m, transposed, rowCols, sampleSize);
+		final int sampleSize = transposed ? m.getNumColumns() : m.getNumRows();
+		return createFromMatrixBlockDelta(m, transposed, rowCols, sampleSize);
 	}
 
 	/**
@@ -107,7 +106,25 @@ public interface EncodingFactory {
 	 */
 	public static IEncode createFromMatrixBlockDelta(MatrixBlock m, boolean transposed, IColIndex rowCols,
 		int sampleSize) {
-		throw new NotImplementedException();
+		if(m.isEmpty())
+			return new EmptyEncoding();
+		// Iteration 1, make Count HashMap of the differences, the first row is absolute and gets its own id.
+		final DblArrayCountHashMap map = new DblArrayCountHashMap();
+		ReaderColumnSelection reader = ReaderColumnSelection.createDeltaReader(m, rowCols, transposed, 0, sampleSize);
+		reader.nextRow();
+		DblArray cellVals;
+		while((cellVals = reader.nextRow()) != null)
+			map.increment(cellVals);
+
+		// Iteration 2, assign ids offset by the first row.
+		final AMapToData d = MapToFactory.create(sampleSize, map.size() + 1);
+		reader = ReaderColumnSelection.createDeltaReader(m, rowCols, transposed, 0, sampleSize);
+		reader.nextRow();
+		d.set(0, 0);
+		while((cellVals = reader.nextRow()) != null)
+			d.set(reader.getCurrentRowIndex(), map.getId(cellVals) + 1);
+
+		return new DenseEncoding(d);
 	}
 
 	/**
@@ -390,10 +390,10 @@ public class SparseEncoding extends AEncode {
 		final int[] counts = map.getCounts();
 
 		if(cs.isRLEAllowed())
-			return new EstimationFactors(map.getUnique(), map.size(), largestOffs, counts, 0, nRows, map.countRuns(off),
-				false, true, matrixSparsity, tupleSparsity);
+			return new EstimationFactors(map.getUnique(), map.size(), largestOffs, counts, 0, nRows, map.countRuns(off), 0,
+				true, matrixSparsity, tupleSparsity);
 		else
-			return new EstimationFactors(map.getUnique(), map.size(), largestOffs, counts, 0, nRows, false, true,
+			return new EstimationFactors(map.getUnique(), map.size(), largestOffs, counts, 0, nRows, 0, true,
 				matrixSparsity, tupleSparsity);
 
 	}
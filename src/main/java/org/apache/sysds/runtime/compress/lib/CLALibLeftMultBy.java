@@ -27,6 +27,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
@@ -135,7 +136,7 @@ public final class CLALibLeftMultBy {
 				return CLALibSelectionMult.leftSelection(right, left, ret, k);
 
 			ret = prepareReturnMatrix(right, left, ret, false);
-			ret = LMM(right.getColGroups(), left, ret, k, right.isOverlapping());
+			ret = LMM(right, left, ret, k);
 
 			return ret;
 		}
@@ -283,9 +284,10 @@ public final class CLALibLeftMultBy {
 		return ret;
 	}
 
-	private static MatrixBlock LMM(List<AColGroup> colGroups, MatrixBlock that, MatrixBlock ret, int k,
-		boolean overlapping) throws Exception {
-		final int numColumnsOut = ret.getNumColumns();
+	private static MatrixBlock LMM(CompressedMatrixBlock right, MatrixBlock that, MatrixBlock ret, int k)
+		throws Exception {
+		final List<AColGroup> colGroups = right.getColGroups();
+		final boolean overlapping = right.isOverlapping();
 		final int lr = that.getNumRows();
 		final boolean shouldFilter = CLALibUtils.shouldPreFilter(colGroups);
 		final List<AColGroup> noPreAggGroups = new ArrayList<>();
@@ -293,14 +295,10 @@ public final class CLALibLeftMultBy {
 
 		if(shouldFilter) {
 			// Timing t = new Timing();
-			final double[] constV;
-			// if(CLALibUtils.alreadyPreFiltered(colGroups, ret.getNumColumns())) {
-			// constV = CLALibUtils.filterGroupsAndSplitPreAggOneConst(colGroups, noPreAggGroups, preAggGroups);
-			// }
-			// else {
-			constV = new double[numColumnsOut]; // millions of columns...
-			CLALibUtils.filterGroupsAndSplitPreAgg(colGroups, constV, noPreAggGroups, preAggGroups);
-			// }
+			// the filtered groups are cached in the compressed matrix across calls
+			final Pair<List<AColGroup>, double[]> filtered = CLALibUtils.filterGroups(right);
+			final double[] constV = filtered.getValue();
+			CLALibUtils.splitPreAgg(filtered.getKey(), noPreAggGroups, preAggGroups);
 
 			// final double filterGroupsTime = t.stop();
 
@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.MatrixBlockDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary16;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Error bounded lossy quantization of matrices during compression.
+ *
+ * Each column is rounded to a multiple of a per column step size, that is twice the error bound, such that the absolute
+ * difference to the original values is at most the error bound. With a relative error bound the step size is scaled
+ * with the maximum absolute value of the column. The input is never quantized as a whole, instead only the sample used
+ * for classification and the columns of one column group at a time are quantized, and after compression the
+ * dictionaries of the column groups are replaced by 8 or 16 bit quantized dictionaries if the number of steps allows
+ * it.
+ */
+public final class CLALibQuantize {
+	private static final Log LOG = LogFactory.getLog(CLALibQuantize.class.getName());
+
+	private CLALibQuantize() {
+		// private constructor
+	}
+
+	/**
+	 * Compute the column wise quantization of the given matrix with the given error bound. The input is not modified
+	 * and no quantized copy is allocated.
+	 *
+	 * Columns that contain non finite values, or are constant zero are not quantized, indicated by a step size of zero.
+	 *
+	 * @param mb       The matrix to quantize
+	 * @param bound    The error bound, absolute or relative to the maximum absolute value of each column
+	 * @param relative If the error bound is relative
+	 * @return The quantization containing the step sizes, value widths, and the realized maximum error
+	 */
+	public static Quantization quantize(MatrixBlock mb, double bound, boolean relative) {
+		final int nCol = mb.getNumColumns();
+		final double[] maxAbs = colMaxAbs(mb);
+		final double[] steps = new double[nCol];
+		final int[] bytes = new int[nCol];
+		for(int c = 0; c < nCol; c++) {
+			final double s = 2 * bound * (relative ? maxAbs[c] : 1);
+			if(Double.isFinite(maxAbs[c]) && Double.isFinite(s) && maxAbs[c] > 0) {
+				steps[c] = s;
+				bytes[c] = valueBytes(Math.rint(maxAbs[c] / s));
+			}
+		}
+
+		final long[] nnz = new long[1];
+		final double err = mb.isInSparseFormat() ? errorSparse(mb, steps, nnz) : errorDense(mb, steps, nnz);
+		return new Quantization(steps, bytes, err, nnz[0]);
+	}
+
+	/**
+	 * Quantize the given rows of the matrix into a new row major matrix, used as sample for classification.
+	 *
+	 * @param mb    The matrix to quantize rows from
+	 * @param rows  The sorted row indexes to quantize
+	 * @param steps The step sizes of the columns
+	 * @return A matrix with the quantized rows
+	 */
+	public static MatrixBlock quantizeRows(MatrixBlock mb, int[] rows, double[] steps) {
+		final int nCol = mb.getNumColumns();
+		final MatrixBlock ret = new MatrixBlock(rows.length, nCol, mb.isInSparseFormat());
+		if(mb.isEmpty())
+			return ret;
+		else if(mb.isInSparseFormat()) {
+			final SparseBlock sb = mb.getSparseBlock();
+			for(int i = 0; i < rows.length; i++) {
+				if(sb.isEmpty(rows[i]))
+					continue;
+				final int apos = sb.pos(rows[i]);
+				final int alen = sb.size(rows[i]) + apos;
+				final int[] aix = sb.indexes(rows[i]);
+				final double[] avals = sb.values(rows[i]);
+				for(int j = apos; j < alen; j++)
+					ret.appendValue(i, aix[j], quantize(avals[j], steps[aix[j]]));
+			}
+		}
+		else {
+			ret.allocateDenseBlock();
+			final DenseBlock db = mb.getDenseBlock();
+			final DenseBlock rdb = ret.getDenseBlock();
+			for(int i = 0; i < rows.length; i++) {
+				final double[] vals = db.values(rows[i]);
+				final int off = db.pos(rows[i]);
+				final double[] rvals = rdb.values(i);
+				final int roff = rdb.pos(i);
+				for(int c = 0; c < nCol; c++)
+					rvals[roff + c] = quantize(vals[off + c], steps[c]);
+			}
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 * Quantize the given columns of the matrix into a new matrix that only contains these columns, such that a column
+	 * group can be compressed without quantizing the entire input.
+	 *
+	 * @param mb    The matrix to quantize columns from
+	 * @param cols  The sorted column indexes to quantize
+	 * @param steps The step sizes of the columns
+	 * @return A matrix with the number of rows of the input and the quantized columns in order
+	 */
+	public static MatrixBlock quantizeColumns(MatrixBlock mb, IColIndex cols, double[] steps) {
+		final int nRow = mb.getNumRows();
+		final int nCol = cols.size();
+		final MatrixBlock ret = new MatrixBlock(nRow, nCol, mb.isInSparseFormat());
+		if(mb.isEmpty())
+			return ret;
+		else if(mb.isInSparseFormat()) {
+			final SparseBlock sb = mb.getSparseBlock();
+			for(int r = 0; r < nRow; r++) {
+				if(sb.isEmpty(r))
+					continue;
+				final int apos = sb.pos(r);
+				final int alen = sb.size(r) + apos;
+				final int[] aix = sb.indexes(r);
+				final double[] avals = sb.values(r);
+				for(int j = apos; j < alen; j++) {
+					final int c = cols.findIndex(aix[j]);
+					if(c >= 0)
+						ret.appendValue(r, c, quantize(avals[j], steps[aix[j]]));
+				}
+			}
+		}
+		else {
+			ret.allocateDenseBlock();
+			final DenseBlock db = mb.getDenseBlock();
+			final DenseBlock rdb = ret.getDenseBlock();
+			for(int r = 0; r < nRow; r++) {
+				final double[] vals = db.values(r);
+				final int off = db.pos(r);
+				final double[] rvals = rdb.values(r);
+				final int roff = rdb.pos(r);
+				for(int c = 0; c < nCol; c++) {
+					final int oc = cols.get(c);
+					rvals[roff + c] = quantize(vals[off + oc], steps[oc]);
+				}
+			}
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 * Replace the dictionaries of the given column groups with quantized 8 or 16 bit dictionaries, if all columns of a
+	 * group are quantized with the same step size and the dictionary values fit into the integer range. Other column
+	 * groups are returned as is.
+	 *
+	 * @param groups The column groups compressed from a quantized matrix
+	 * @param steps  The step sizes of the columns
+	 * @return The column groups with quantized dictionaries
+	 */
+	public static List<AColGroup> quantizeDictionaries(List<AColGroup> groups, double[] steps) {
+		final List<AColGroup> ret = new ArrayList<>(groups.size());
+		int nQuantized = 0;
+		for(AColGroup g : groups) {
+			final AColGroup q = quantizeDictionary(g, steps);
+			nQuantized += q != g ? 1 : 0;
+			ret.add(q);
+		}
+		if(LOG.isDebugEnabled())
+			LOG.debug("Quantized dictionaries of " + nQuantized + " of " + groups.size() + " column groups");
+		return ret;
+	}
+
+	private static AColGroup quantizeDictionary(AColGroup g, double[] steps) {
+		if(!(g instanceof ADictBasedColGroup))
+			return g;
+		final ADictBasedColGroup dg = (ADictBasedColGroup) g;
+		final IDictionary d = dg.getDictionary();
+		if(!(d instanceof Dictionary || d instanceof MatrixBlockDictionary))
+			return g;
+
+		final IColIndex cols = g.getColIndices();
+		final int nCol = cols.size();
+		final double step = steps[cols.get(0)];
+		if(step == 0)
+			return g;
+		for(int i = 1; i < nCol; i++)
+			if(steps[cols.get(i)] != step)
+				return g;
+
+		final int nVal = d.getNumberOfValues(nCol);
+		final long[] q = new long[nVal * nCol];
+		long maxAbs = 0;
+		for(int r = 0; r < nVal; r++) {
+			for(int c = 0; c < nCol; c++) {
+				final double v = d.getValue(r, c, nCol);
+				final double qv = Math.rint(v / step);
+				if(qv * step != v || Math.abs(qv) > Short.MAX_VALUE)
+					return g; // not a quantized value, or too many steps
+				q[r * nCol + c] = (long) qv;
+				maxAbs = Math.max(maxAbs, Math.abs((long) qv));
+			}
+		}
+
+		final IDictionary nd;
+		if(maxAbs <= Byte.MAX_VALUE) {
+			final byte[] vals = new byte[q.length];
+			for(int i = 0; i < q.length; i++)
+				vals[i] = (byte) q[i];
+			nd = QDictionary.create(vals, step, nCol, true);
+		}
+		else {
+			final short[] vals = new short[q.length];
+			for(int i = 0; i < q.length; i++)
+				vals[i] = (short) q[i];
+			nd = QDictionary16.create(vals, step, nCol, true);
+		}
+		return nd == null ? g : dg.copyAndSet(nd);
+	}
+
+	private static double[] colMaxAbs(MatrixBlock mb) {
+		final double[] ret = new double[mb.getNumColumns()];
+		if(mb.isEmpty())
+			return ret;
+		else if(mb.isInSparseFormat()) {
+			final SparseBlock sb = mb.getSparseBlock();
+			for(int r = 0; r < mb.getNumRows(); r++) {
+				if(sb.isEmpty(r))
+					continue;
+				final int apos = sb.pos(r);
+				final int alen = sb.size(r) + apos;
+				final int[] aix = sb.indexes(r);
+				final double[] avals = sb.values(r);
+				for(int j = apos; j < alen; j++)
+					ret[aix[j]] = maxAbs(ret[aix[j]], avals[j]);
+			}
+		}
+		else {
+			final DenseBlock db = mb.getDenseBlock();
+			final int nCol = mb.getNumColumns();
+			for(int r = 0; r < mb.getNumRows(); r++) {
+				final double[] vals = db.values(r);
+				final int off = db.pos(r);
+				for(int c = 0; c < nCol; c++)
+					ret[c] = maxAbs(ret[c], vals[off + c]);
+			}
+		}
+		return ret;
+	}
+
+	private static double maxAbs(double m, double v) {
+		// propagate non finite values to disable quantization of the column
+		return Double.isFinite(v) ? Math.max(m, Math.abs(v)) : Double.NaN;
+	}
+
+	private static double errorSparse(MatrixBlock mb, double[] steps, long[] nnz) {
+		if(mb.isEmpty())
+			return 0;
+		final SparseBlock sb = mb.getSparseBlock();
+		double err = 0;
+		long n = 0;
+		for(int r = 0; r < mb.getNumRows(); r++) {
+			if(sb.isEmpty(r))
+				continue;
+			final int apos = sb.pos(r);
+			final int alen = sb.size(r) + apos;
+			final int[] aix = sb.indexes(r);
+			final double[] avals = sb.values(r);
+			for(int j = apos; j < alen; j++) {
+				final double v = avals[j];
+				final double q = quantize(v, steps[aix[j]]);
+				err = Math.max(err, Math.abs(v - q));
+				n += q != 0 ? 1 : 0;
+			}
+		}
+		nnz[0] = n;
+		return err;
+	}
+
+	private static double errorDense(MatrixBlock mb, double[] steps, long[] nnz) {
+		if(mb.isEmpty())
+			return 0;
+		final DenseBlock db = mb.getDenseBlock();
+		final int nCol = mb.getNumColumns();
+		double err = 0;
+		long n = 0;
+		for(int r = 0; r < mb.getNumRows(); r++) {
+			final double[] vals = db.values(r);
+			final int off = db.pos(r);
+			for(int c = 0; c < nCol; c++) {
+				final double v = vals[off + c];
+				final double q = quantize(v, steps[c]);
+				err = Math.max(err, Math.abs(v - q));
+				n += q != 0 ? 1 : 0;
+			}
+		}
+		nnz[0] = n;
+		return err;
+	}
+
+	private static int valueBytes(double maxSteps) {
+		if(maxSteps <= Byte.MAX_VALUE)
+			return 1;
+		else if(maxSteps <= Short.MAX_VALUE)
+			return 2;
+		else
+			return 0; // the dictionaries of the column stay double values
+	}
+
+	private static double quantize(double v, double step) {
+		return step == 0 ? v : Math.rint(v / step) * step;
+	}
+
+	/** The result of quantizing a matrix */
+	public static class Quantization {
+		/** The step size of each column, zero if the column is not quantized */
+		public final double[] steps;
+		/** The bytes per value of the quantized dictionaries of each column, zero if not stored quantized */
+		public final int[] bytes;
+		/** The realized maximum absolute error */
+		public final double maxError;
+		/** The number of non zero values after quantization */
+		public final long nonZeros;
+
+		protected Quantization(double[] steps, int[] bytes, double maxError, long nonZeros) {
+			this.steps = steps;
+			this.bytes = bytes;
+			this.maxError = maxError;
+			this.nonZeros = nonZeros;
+		}
+
+		/**
+		 * Get the number of quantized columns.
+		 *
+		 * @return The number of columns with a non zero step size
+		 */
+		public int getNumQuantizedColumns() {
+			int n = 0;
+			for(double s : steps)
+				n += s != 0 ? 1 : 0;
+			return n;
+		}
+
+		/**
+		 * Get the bytes per value of the quantized dictionary of a column group over the given columns. A dictionary
+		 * is only quantized if all its columns share the same step size, otherwise it stays in double values.
+		 *
+		 * @param cols The columns of the group
+		 * @return The bytes per quantized value, or zero if the dictionary is not quantized
+		 */
+		public int getBytes(IColIndex cols) {
+			final double step = steps[cols.get(0)];
+			int ret = bytes[cols.get(0)];
+			for(int i = 1; i < cols.size() && ret != 0; i++) {
+				final int c = cols.get(i);
+				ret = steps[c] == step && bytes[c] != 0 ? Math.max(ret, bytes[c]) : 0;
+			}
+			return step == 0 ? 0 : ret;
+		}
+	}
+}
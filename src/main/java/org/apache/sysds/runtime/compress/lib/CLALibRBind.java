@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.scheme.CompressionScheme;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Row bind (rbind) of rows onto a compressed matrix.
+ *
+ * The appended rows are encoded with the compression scheme of the compressed matrix, updating the scheme with new
+ * distinct values. Updated schemes only add new tuples to the end of the dictionaries, therefore the existing column
+ * groups can adopt the updated dictionaries and the mappings and offsets of the new rows are appended without
+ * recompressing the existing rows.
+ */
+public final class CLALibRBind {
+	private static final Log LOG = LogFactory.getLog(CLALibRBind.class.getName());
+
+	private CLALibRBind() {
+		// private constructor.
+	}
+
+	/**
+	 * Append the given matrices below the compressed matrix.
+	 *
+	 * @param left  The compressed matrix on top
+	 * @param right The matrices to append below
+	 * @param ret   The output matrix block, only used if the append falls back to uncompressed
+	 * @param k     The parallelization degree
+	 * @return The row bound matrix, compressed if the incremental append succeeded
+	 */
+	public static MatrixBlock rbind(CompressedMatrixBlock left, MatrixBlock[] right, MatrixBlock ret, int k) {
+		final CompressedMatrixBlock inc = appendIncremental(left, right, k);
+		if(inc != null)
+			return inc;
+
+		MatrixBlock leftUC = left.getUncompressed("append list or r-bind not supported in compressed");
+		MatrixBlock[] rightUC = new MatrixBlock[right.length];
+		for(int i = 0; i < right.length; i++)
+			rightUC[i] = CompressedMatrixBlock.getUncompressed(right[i]);
+		return leftUC.append(rightUC, ret, false);
+	}
+
+	/**
+	 * Try to encode and append the given row batches into the column groups of the compressed matrix.
+	 *
+	 * @param left  The compressed matrix on top
+	 * @param right The matrices to append below
+	 * @param k     The parallelization degree
+	 * @return The appended compressed matrix or null if not possible
+	 */
+	public static CompressedMatrixBlock appendIncremental(CompressedMatrixBlock left, MatrixBlock[] right, int k) {
+		final int nCol = left.getNumColumns();
+		if(left.isOverlapping() || left.getColGroups().isEmpty())
+			return null;
+		for(MatrixBlock r : right)
+			if(r.getNumColumns() != nCol)
+				return null;
+
+		try {
+			final CompressionScheme scheme = CLALibScheme.getScheme(left);
+			List<AColGroup> groups = left.getColGroups();
+			int nRow = left.getNumRows();
+			long nnz = left.getNonZeros();
+			for(MatrixBlock r : right) {
+				if(r.getNumRows() == 0)
+					continue;
+				final MatrixBlock rUC = CompressedMatrixBlock.getUncompressed(r);
+				// note: the scheme is updated in place with the new values of the batch
+				final List<AColGroup> encoded = scheme.updateAndEncode(rUC, k).getColGroups();
+				groups = appendGroups(groups, encoded);
+				if(groups == null)
+					return null;
+				nRow += rUC.getNumRows();
+				nnz = (nnz < 0 || rUC.getNonZeros() < 0) ? -1 : nnz + rUC.getNonZeros();
+			}
+
+			final CompressedMatrixBlock ret = new CompressedMatrixBlock(nRow, nCol, nnz, false, groups);
+			if(nnz < 0)
+				ret.recomputeNonZeros();
+			return ret;
+		}
+		catch(Exception e) {
+			// e.g., column groups without a compression scheme
+			LOG.debug("Failed incremental compressed rbind, falling back to uncompressed append", e);
+			return null;
+		}
+	}
+
+	private static List<AColGroup> appendGroups(List<AColGroup> top, List<AColGroup> bottom) {
+		if(top.size() != bottom.size())
+			return null;
+		final List<AColGroup> ret = new ArrayList<>(top.size());
+		for(int i = 0; i < top.size(); i++) {
+			final AColGroup g = append(top.get(i), bottom.get(i));
+			if(g == null) {
+				if(LOG.isDebugEnabled())
+					LOG.debug("Incremental rbind not possible for " + top.get(i).getClass().getSimpleName() + " and "
+						+ bottom.get(i).getClass().getSimpleName());
+				return null;
+			}
+			ret.add(g);
+		}
+		return ret;
+	}
+
+	private static AColGroup append(AColGroup t, AColGroup b) {
+		if(!t.getColIndices().equals(b.getColIndices()))
+			return null;
+		if(t instanceof ADictBasedColGroup && b instanceof ADictBasedColGroup && t.getClass() == b.getClass()) {
+			final ADictBasedColGroup td = (ADictBasedColGroup) t;
+			final IDictionary bd = ((ADictBasedColGroup) b).getDictionary();
+			// adopt the dictionary extended by the scheme update, the existing mapping stays valid.
+			if(td.getDictionary() != bd && extendsDictionary(td.getDictionary(), bd, t.getNumCols()))
+				t = td.copyAndSet(bd);
+		}
+		return t.append(b);
+	}
+
+	/**
+	 * Get if the dictionary b contains all tuples of dictionary a in the same order, followed by zero or more new tuples.
+	 *
+	 * @param a    The dictionary of the existing column group
+	 * @param b    The possibly extended dictionary
+	 * @param nCol The number of columns in the tuples
+	 * @return If b extends a
+	 */
+	public static boolean extendsDictionary(IDictionary a, IDictionary b, int nCol) {
+		final int na = a.getNumberOfValues(nCol);
+		if(b.getNumberOfValues(nCol) < na)
+			return false;
+		for(int r = 0; r < na; r++)
+			for(int c = 0; c < nCol; c++)
+				if(Double.compare(a.getValue(r, c, nCol), b.getValue(r, c, nCol)) != 0)
+					return false;
+		return true;
+	}
+}
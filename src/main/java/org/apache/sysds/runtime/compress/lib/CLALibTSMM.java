@@ -26,9 +26,11 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMMCache;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
@@ -61,12 +63,21 @@ public final class CLALibTSMM {
 			LibMatrixMult.matrixMultTransposeSelf(m, ret, true, k);
 			return;
 		}
+		// reuse the result of previous calls on the same compressed matrix, e.g., in iterative algorithms
+		final CompressedMMCache cache = cmb.getMMCache();
+		final MatrixBlock cached = cache.getTSMM();
+		if(cached != null) {
+			ret.copy(cached);
+			return;
+		}
+
 		final int numRows = cmb.getNumRows();
 		final boolean shouldFilter = CLALibUtils.shouldPreFilter(groups);
 		final boolean overlapping = cmb.isOverlapping();
 		if(shouldFilter) {
-			final double[] constV = new double[numColumns];
-			final List<AColGroup> filteredGroups = CLALibUtils.filterGroups(groups, constV);
+			final Pair<List<AColGroup>, double[]> filtered = CLALibUtils.filterGroups(cmb);
+			final List<AColGroup> filteredGroups = filtered.getKey();
+			final double[] constV = filtered.getValue();
 			tsmmColGroups(filteredGroups, ret, numRows, overlapping, k);
 			addCorrectionLayer(filteredGroups, ret, numRows, numColumns, constV);
 		}
@@ -77,6 +88,7 @@ public final class CLALibTSMM {
 
 		ret.setNonZeros(LibMatrixMult.copyUpperToLowerTriangle(ret));
 		ret.examSparsity();
+		cache.setTSMM(ret);
 	}
 
 	private static void addCorrectionLayer(List<AColGroup> filteredGroups, MatrixBlock result, int nRows, int nCols,
@@ -25,8 +25,11 @@ import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.NotImplementedException;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.CompressedMMCache;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
@@ -205,6 +208,24 @@ public final class CLALibUtils {
 		return filteredGroups;
 	}
 
+	/**
+	 * Filter the column groups into groups without common values, reusing the filtered groups cached in the compressed
+	 * matrix, and caching them if not already cached.
+	 * 
+	 * @param cmb The compressed matrix
+	 * @return The filtered column groups and the extracted common values
+	 */
+	protected static Pair<List<AColGroup>, double[]> filterGroups(CompressedMatrixBlock cmb) {
+		final CompressedMMCache cache = cmb.getMMCache();
+		final Pair<List<AColGroup>, double[]> cached = cache.getFilteredGroups();
+		if(cached != null)
+			return cached;
+		final double[] constV = new double[cmb.getNumColumns()];
+		final List<AColGroup> filtered = filterGroups(cmb.getColGroups(), constV);
+		cache.setFilteredGroups(filtered, constV);
+		return new ImmutablePair<>(filtered, constV);
+	}
+
 	protected static void filterGroupsAndSplitPreAgg(List<AColGroup> groups, double[] constV,
 		List<AColGroup> noPreAggGroups, List<APreAgg> preAggGroups) {
 		for(AColGroup g : groups) {
@@ -195,6 +195,43 @@ public abstract class ReaderColumnSelection {
 		}
 	}	
 
+	/**
+	 * Create a reader of the matrix block that returns the differences of each row to the previous row, and the first
+	 * row as absolute values. All rows are returned including empty rows.
+	 * 
+	 * Note the reader reuse the return, therefore if needed for something please copy the returned rows.
+	 * 
+	 * @param rawBlock   The block to iterate though
+	 * @param colIndices The column indexes to extract and insert into the double array
+	 * @param transposed If the raw block should be treated as transposed
+	 * @param rl         The row to start at
+	 * @param ru         The row to end at (not inclusive)
+	 * @return A delta reader of the columns specified
+	 */
+	public static ReaderColumnSelectionDelta createDeltaReader(MatrixBlock rawBlock, IColIndex colIndices,
+		boolean transposed, int rl, int ru) {
+		return createDeltaReader(rawBlock, colIndices, transposed, rl, ru, null);
+	}
+
+	/**
+	 * Create a delta reader of the matrix block that quantizes the values with the given scale factors (floor(v *
+	 * scale)) before taking the differences of each row to the previous row.
+	 * 
+	 * @param rawBlock     The block to iterate though
+	 * @param colIndices   The column indexes to extract and insert into the double array
+	 * @param transposed   If the raw block should be treated as transposed
+	 * @param rl           The row to start at
+	 * @param ru           The row to end at (not inclusive)
+	 * @param scaleFactors The scale factors, either a single one or one per row (null for no quantization)
+	 * @return A delta reader of the quantized columns specified
+	 */
+	public static ReaderColumnSelectionDelta createDeltaReader(MatrixBlock rawBlock, IColIndex colIndices,
+		boolean transposed, int rl, int ru, double[] scaleFactors) {
+		if(rl >= ru)
+			throw new DMLCompressionException("Invalid inverse range for reader " + rl + " to " + ru);
+		return new ReaderColumnSelectionDelta(rawBlock, colIndices, transposed, rl - 1, ru, scaleFactors);
+	}
+
 	private static void checkInput(final MatrixBlock rawBlock, final IColIndex colIndices, final int rl, final int ru,
 		final boolean transposed) {
 		if(colIndices.size() <= 1)
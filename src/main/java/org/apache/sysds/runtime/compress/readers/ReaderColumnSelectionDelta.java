@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.readers;
+
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.utils.DblArray;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Reader that returns the difference of each row to the previous row, and the absolute values for the first row.
+ * 
+ * Unlike the other readers, all rows are returned including empty rows, and single column selections are allowed.
+ * The differences are taken to the reconstructed previous row, that is the running sum of all returned differences,
+ * therefore summing the returned rows reproduces the input exactly as long as {@link #isLossless()} is true.
+ * 
+ * If scale factors are given, the values are quantized (floor(v * scale)) before taking the differences.
+ */
+public class ReaderColumnSelectionDelta extends ReaderColumnSelection {
+	private final MatrixBlock _data;
+	private final DenseBlock _db;
+	private final boolean _transposed;
+	/** Optional scale factors of quantization-fused compression (single or one per row) */
+	private final double[] _scaleFactors;
+	/** The reconstructed values of the previous row */
+	private final double[] _previous;
+	/** If all returned differences reproduce the input values */
+	private boolean _lossless = true;
+
+	protected ReaderColumnSelectionDelta(MatrixBlock data, IColIndex colIndices, boolean transposed, int rl, int ru,
+		double[] scaleFactors) {
+		super(colIndices, rl, Math.min(ru, transposed ? data.getNumColumns() : data.getNumRows()) - 1);
+		_data = data;
+		_transposed = transposed;
+		_scaleFactors = scaleFactors;
+		_db = !transposed && !data.isInSparseFormat() && !data.isEmpty() ? data.getDenseBlock() : null;
+		_previous = new double[colIndices.size()];
+	}
+
+	@Override
+	protected DblArray getNextRow() {
+		_rl++;
+		for(int i = 0; i < _colIndexes.size(); i++) {
+			final double v = get(_rl, _colIndexes.get(i));
+			final double d = v - _previous[i];
+			final double r = _previous[i] + d;
+			if(Double.compare(r, v) != 0 && r != v)
+				_lossless = false;
+			reusableArr[i] = d;
+			_previous[i] = r;
+		}
+		return reusableReturn;
+	}
+
+	private double get(int r, int c) {
+		final double v;
+		if(_db != null)
+			v = _db.get(r, c);
+		else if(_transposed)
+			v = _data.get(c, r);
+		else
+			v = _data.get(r, c);
+		if(_scaleFactors == null)
+			return v;
+		return Math.floor(v * (_scaleFactors.length == 1 ? _scaleFactors[0] : _scaleFactors[r]));
+	}
+
+	/**
+	 * Get if the differences returned so far reproduce the input values exactly when summed.
+	 * 
+	 * @return If the delta encoding is lossless
+	 */
+	public boolean isLossless() {
+		return _lossless;
+	}
+}
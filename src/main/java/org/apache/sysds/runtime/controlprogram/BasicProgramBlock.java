@@ -30,6 +30,7 @@ import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.lineage.LineageCache;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig;
+import org.apache.sysds.runtime.lineage.LineageCachePrefetch;
 import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
@@ -123,6 +124,9 @@ public class BasicProgramBlock extends ProgramBlock
 			t0 = System.nanoTime();
 		}
 
+		//asynchronous restore of spilled intermediates ahead of reuse
+		LineageCachePrefetch.prefetch(this, tmp, ec);
+
 		//actual instruction execution
 		executeInstructions(tmp, ec);
 		
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.controlprogram;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Iterator;
 
 import org.apache.sysds.api.DMLScript;
@@ -32,6 +33,7 @@ import org.apache.sysds.parser.StatementBlock;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.DMLScriptException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
@@ -117,10 +119,13 @@ public class ForProgramBlock extends ProgramBlock
 			return;
 		
 		// execute for loop
+		List<CacheableData<?>> hinted = null;
 		try
 		{
 			// prepare update in-place variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			// prepare reuse hints of loop-invariant inputs
+			hinted = prepareReuseHints(ec);
 			
 			//dynamically recompile entire loop body (according to loop inputs)
 			//pass loop not just child blocks for correct size propagation
@@ -174,6 +179,10 @@ public class ForProgramBlock extends ProgramBlock
 		catch (Exception e) {
 			throw new DMLRuntimeException(printBlockErrorLocation() + "Error evaluating for program block", e);
 		}
+		finally {
+			// reset reuse hints (also on errors and stop calls)
+			resetReuseHints(hinted);
+		}
 		
 		//execute exit instructions
 		executeExitInstructions("for", ec);
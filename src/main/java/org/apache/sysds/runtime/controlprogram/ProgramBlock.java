@@ -19,6 +19,7 @@
 package org.apache.sysds.runtime.controlprogram;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -37,6 +38,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.DMLScriptException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -316,6 +318,32 @@ public abstract class ProgramBlock implements ParseInfo {
 			}
 	}
 
+	protected List<CacheableData<?>> prepareReuseHints(ExecutionContext ec) {
+		if(_sb == null || CacheableData.CACHING_BUFFER_POLICY != RPolicy.COST)
+			return null;
+
+		// mark loop-invariant inputs (read but not updated in the loop) as
+		// reused in order to keep them in the buffer pool across iterations
+		List<CacheableData<?>> ret = new ArrayList<>();
+		for(String varname : _sb.variablesRead().getVariableNames()) {
+			Data dat = ec.getVariable(varname);
+			if(dat instanceof CacheableData && !_sb.variablesUpdated().containsVariable(varname)
+				&& !((CacheableData<?>) dat).hasReuseHint()) {
+				((CacheableData<?>) dat).setReuseHint(true);
+				ret.add((CacheableData<?>) dat);
+			}
+		}
+		return ret;
+	}
+
+	protected void resetReuseHints(List<CacheableData<?>> hinted) {
+		if(hinted == null)
+			return;
+		// reset reuse hints to pre-loop status (outer loops keep their hints)
+		for(CacheableData<?> cd : hinted)
+			cd.setReuseHint(false);
+	}
+
 	private static void checkSparsity(Instruction lastInst, LocalVariableMap vars, ExecutionContext ec) {
 		for(String varname : vars.keySet()) {
 			Data dat = vars.get(varname);
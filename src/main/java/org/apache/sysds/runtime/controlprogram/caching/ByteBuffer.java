@@ -38,11 +38,22 @@ import org.apache.sysds.runtime.util.LocalFileUtils;
  */
 public class ByteBuffer
 {
+	//estimated read bandwidth [MB/s] and latency [ms] of restores from local FS
+	private static final double FSREAD_DENSE = 500;
+	private static final double FSREAD_SPARSE = 400;
+	private static final double FSREAD_LATENCY = 1;
+	
 	private volatile boolean _serialized;
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
+	private volatile boolean _sparse;
 	private final long _size;
 	
+	//meta data for cost-based eviction (see CacheEvictionQueue)
+	private volatile boolean _reuseHint = false;
+	private int _numAccesses = 0;
+	private double _score = 0;
+	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock<?> _cdata = null; //dense matrix/frame
 	
@@ -55,6 +66,7 @@ public class ByteBuffer
 	{
 		_shallow = cb.isShallowSerialize(true);
 		_matrix = (cb instanceof MatrixBlock);
+		_sparse = _matrix && ((MatrixBlock)cb).isInSparseFormat();
 		
 		try
 		{
@@ -104,13 +116,15 @@ public class ByteBuffer
 	public void evictBuffer( String fname ) 
 		throws IOException
 	{
+		//compress large blocks if configured (see sysds.caching.spill.codec)
+		SpillCodec codec = CacheableData.getSpillCodec(_size);
 		if( !_shallow ) {
 			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			LocalFileUtils.writeByteArrayToLocal(fname, _bdata, codec);
 		}
 		else {
 			//serialize cache block to output stream
-			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
+			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata, codec);
 		}
 	}
 	
@@ -127,6 +141,43 @@ public class ByteBuffer
 		return _shallow;
 	}
 	
+	/**
+	 * Indicates if the compiler expects this block to be read again
+	 * (e.g., loop-invariant inputs), which defers its eviction.
+	 * 
+	 * @return true if reuse hint
+	 */
+	public boolean hasReuseHint() {
+		return _reuseHint;
+	}
+	
+	public void setReuseHint(boolean flag) {
+		_reuseHint = flag;
+	}
+	
+	/**
+	 * Returns the estimated time to restore this block from local FS,
+	 * which depends on the size and the sparse/dense representation.
+	 * 
+	 * @return restore time in milliseconds
+	 */
+	public double getRestoreTime() {
+		double sizeMB = (double)_size / (1024*1024);
+		return FSREAD_LATENCY + 1000 * sizeMB / (_sparse ? FSREAD_SPARSE : FSREAD_DENSE);
+	}
+	
+	public double getScore() {
+		return _score;
+	}
+	
+	protected void updateScore(double inflation) {
+		//greedy-dual-size-frequency score, where the inflation
+		//value accounts for the time since the last access
+		double sizeMB = Math.max((double)_size / (1024*1024), 1e-6);
+		_numAccesses++;
+		_score = inflation + _numAccesses * getRestoreTime() / sizeMB;
+	}
+	
 	public void freeMemory()
 	{
 		//clear strong references to buffer/matrix
@@ -19,27 +19,59 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 
 public class CacheEvictionQueue extends LinkedHashMap<String, ByteBuffer>
 {
 	/**
 	 * Extended LinkedHashMap with convenience methods for adding and removing
 	 * last/first entries.
-	 *
+	 * 
+	 * For the cost-based eviction policy (see RPolicy.COST), the first entry
+	 * is the entry with minimal score instead of the head of the queue. We use
+	 * a greedy-dual-size-frequency scoring (score = L + #accesses * restore cost
+	 * / size), where the inflation value L is set to the score of the last victim
+	 * and thus ages entries that have not been accessed recently. Entries with
+	 * a compiler reuse hint (e.g., loop-invariant reads) are only evicted if no
+	 * other entries are left. Ties are resolved in queue order.
 	 */
 	private static final long serialVersionUID = -5208333402581364859L;
 
+	//inflation value of cost-based eviction (score of last victim)
+	private double _inflation = 0;
+
 	public void addLast( String fname, ByteBuffer bbuff ) {
+		//initialize the score of cost-based eviction
+		if( isCostBased() && bbuff != null )
+			bbuff.updateScore(_inflation);
 		//put entry into eviction queue w/ 'addLast' semantics
 		put(fname, bbuff);
 	}
 
+	public void access( String fname, ByteBuffer bbuff ) {
+		//modify eviction order (accordingly to access)
+		if( CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU ) {
+			//reinsert entry at end of eviction queue
+			remove(fname);
+			put(fname, bbuff);
+		}
+		else if( isCostBased() ) {
+			bbuff.updateScore(_inflation);
+		}
+	}
+
 	public Map.Entry<String, ByteBuffer> removeFirst()
 	{
+		if( isCostBased() )
+			return removeMinScore(null);
+		
 		//move iterator to first entry
 		Iterator<Map.Entry<String, ByteBuffer>> iter = entrySet().iterator();
 		Map.Entry<String, ByteBuffer> entry = iter.next();
@@ -50,7 +82,10 @@ public class CacheEvictionQueue extends LinkedHashMap<String, ByteBuffer>
 		return entry;
 	}
 
-	public Map.Entry<String, ByteBuffer> removeFirstUnpinned(List<String> pinnedList) {
+	public Map.Entry<String, ByteBuffer> removeFirstUnpinned(Collection<String> pinnedList) {
+		if( isCostBased() )
+			return removeMinScore(pinnedList);
+		
 		//move iterator to first entry
 		Iterator<Map.Entry<String, ByteBuffer>> iter = entrySet().iterator();
 		var entry = iter.next();
@@ -61,4 +96,43 @@ public class CacheEvictionQueue extends LinkedHashMap<String, ByteBuffer>
 		iter.remove();
 		return entry;
 	}
+
+	private Map.Entry<String, ByteBuffer> removeMinScore(Collection<String> pinnedList) {
+		//find unpinned entry with minimal score (first in queue order)
+		Map.Entry<String, ByteBuffer> victim = null;
+		for( Map.Entry<String, ByteBuffer> entry : entrySet() ) {
+			if( pinnedList != null && pinnedList.contains(entry.getKey()) )
+				continue;
+			if( victim == null || compare(entry.getValue(), victim.getValue()) < 0 )
+				victim = entry;
+		}
+		if( victim == null )
+			throw new NoSuchElementException();
+
+		//remove entry and age remaining entries
+		ByteBuffer bbuff = victim.getValue();
+		remove(victim.getKey());
+		if( bbuff != null )
+			_inflation = Math.max(_inflation, bbuff.getScore());
+		return new SimpleEntry<>(victim.getKey(), bbuff);
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		_inflation = 0;
+	}
+
+	private static int compare(ByteBuffer b1, ByteBuffer b2) {
+		//evict invalid entries first, and entries with reuse hint last
+		if( b1 == null || b2 == null )
+			return (b1 == null) ? ((b2 == null) ? 0 : -1) : 1;
+		if( b1.hasReuseHint() != b2.hasReuseHint() )
+			return b1.hasReuseHint() ? 1 : -1;
+		return Double.compare(b1.getScore(), b2.getScore());
+	}
+
+	private static boolean isCostBased() {
+		return CacheableData.CACHING_BUFFER_POLICY == RPolicy.COST;
+	}
 }
@@ -20,26 +20,36 @@
 package org.apache.sysds.runtime.controlprogram.caching;
 
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class CacheMaintenanceService
 {
 	protected ExecutorService _pool = null;
 
 	public CacheMaintenanceService() {
-		//create new threadpool for async cleanup
-		if( isAsync() )
-			_pool = Executors.newCachedThreadPool();
+		//create new bounded threadpool for async cleanup (idle threads time out);
+		//tasks only wait for previously submitted tasks, which FIFO order keeps deadlock-free
+		if( isAsync() ) {
+			int k = InfrastructureAnalyzer.getLocalParallelism();
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(k, k,
+				60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+			pool.allowCoreThreadTimeOut(true);
+			_pool = pool;
+		}
 	}
 
-	public void deleteFile(String fname) {
+	public Future<?> deleteFile(String fname) {
 		//sync or async file delete
 		if( CacheableData.CACHING_ASYNC_FILECLEANUP )
-			_pool.submit(new CacheMaintenanceService.FileCleanerTask(fname));
-		else
-			LocalFileUtils.deleteFileIfExists(fname, true);
+			return _pool.submit(new CacheMaintenanceService.FileCleanerTask(fname));
+		LocalFileUtils.deleteFileIfExists(fname, true);
+		return null;
 	}
 
 	public void serializeData(ByteBuffer bbuff, CacheBlock<?> cb) {
@@ -50,6 +60,14 @@ public class CacheMaintenanceService
 			bbuff.serializeBlock(cb);
 	}
 
+	public void evictData(Runnable task) {
+		//sync or async eviction (write to local FS)
+		if( isAsync() )
+			_pool.submit(task);
+		else
+			task.run();
+	}
+
 	public void close() {
 		//execute pending tasks and shutdown pool
 		if( isAsync() )
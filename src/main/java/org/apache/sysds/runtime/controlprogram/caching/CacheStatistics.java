@@ -25,6 +25,8 @@ import java.util.concurrent.atomic.LongAdder;
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Write statistics for caching (lineage, buffer pool, fs, hdfs)
+ * 3) Hit and eviction statistics of the unified memory manager
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -46,6 +48,12 @@ public class CacheStatistics
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numWritesHDFS   = new LongAdder();
 	private static final LongAdder _numWritesLin    = new LongAdder();
+
+	//unified memory manager statistics
+	private static final LongAdder _numHitsUMM      = new LongAdder();
+	private static final LongAdder _numEvictUMM     = new LongAdder();
+	private static final LongAdder _sizeEvictUMM    = new LongAdder(); //in bytes
+	private static final LongAdder _numWaitsUMM     = new LongAdder();
 	
 	//time statistics caching
 	private static final LongAdder _ctimeAcquireR   = new LongAdder(); //in nano sec
@@ -64,6 +72,11 @@ public class CacheStatistics
 		_numWritesFS.reset();
 		_numWritesHDFS.reset();
 		_numWritesLin.reset();
+
+		_numHitsUMM.reset();
+		_numEvictUMM.reset();
+		_sizeEvictUMM.reset();
+		_numWaitsUMM.reset();
 		
 		_ctimeAcquireR.reset();
 		_ctimeAcquireM.reset();
@@ -179,6 +192,35 @@ public class CacheStatistics
 		return _numWritesLin.longValue();
 	}
 	
+	public static void incrementUMMHits() {
+		_numHitsUMM.increment();
+	}
+
+	public static long getUMMHits() {
+		return _numHitsUMM.longValue();
+	}
+
+	public static void incrementUMMEvictions(long size) {
+		_numEvictUMM.increment();
+		_sizeEvictUMM.add(size);
+	}
+
+	public static long getUMMEvictions() {
+		return _numEvictUMM.longValue();
+	}
+
+	public static long getUMMEvictedSize() {
+		return _sizeEvictUMM.longValue();
+	}
+
+	public static void incrementUMMEvictionWaits() {
+		_numWaitsUMM.increment();
+	}
+
+	public static long getUMMEvictionWaits() {
+		return _numWaitsUMM.longValue();
+	}
+	
 	public static void incrementAcquireRTime(long delta) {
 		_ctimeAcquireR.add(delta);
 	}
@@ -239,6 +281,19 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayUMM() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsUMM.longValue());
+		sb.append("/");
+		sb.append(_numEvictUMM.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_sizeEvictUMM.longValue())/(1024*1024))); //in MB
+		sb.append("/");
+		sb.append(_numWaitsUMM.longValue());
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
@@ -36,6 +36,7 @@ import org.apache.sysds.common.Types.ExecMode;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.hops.fedplanner.FTypes.FType;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -88,6 +89,9 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
 	public static boolean CACHING_ASYNC_SERIALIZE = false;
+	public static boolean CACHING_MMAP_RESTORE = false; //memory-map evicted dense blocks on restore
+	public static SpillCodec CACHING_SPILL_CODEC = SpillCodec.NONE; //compression of evicted blocks
+	public static long CACHING_SPILL_THRESHOLD = 64*1024; //min size of compressed spills [in bytes]
 	
 	//NOTE CACHING_ASYNC_SERIALIZE:
 	// The serialization of matrices and frames (ultra-sparse matrices or 
@@ -209,6 +213,8 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	private String  _cacheFileName = null; //local eviction file name
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
+	private boolean _reuseHint = false;    //flag if obj will be read again (e.g., loop inputs)
+	private final long[] _pinnedCharge = new long[2]; //number of pins and size charged by them
 	
 	//spark-specific handles
 	//note: we use the abstraction of LineageObjects for two reasons: (1) to keep track of cleanup
@@ -270,6 +276,24 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		return _cleanupFlag;
 	}
 	
+	/**
+	 * Sets the compiler hint if the associated data object will be
+	 * read again (e.g., loop-invariant inputs of a loop body), which
+	 * defers its eviction under the cost-based buffer pool policy.
+	 * 
+	 * @param flag true if the object will be read again
+	 */
+	public void setReuseHint(boolean flag) {
+		_reuseHint = flag;
+		//update existing buffer pool entry
+		if( _cacheFileName != null && isCachingActive() )
+			setBufferPoolReuseHint(_cacheFileName, flag);
+	}
+	
+	public boolean hasReuseHint() {
+		return _reuseHint;
+	}
+	
 	public CacheStatus getStatus() {
 		return _cacheStatus;
 	}
@@ -736,6 +760,8 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 						UnifiedMemoryManager.writeBlock(filePath, _data);
 					else
 						LazyWriteBuffer.writeBlock(filePath, _data);
+					if( _reuseHint )
+						setBufferPoolReuseHint(filePath, true);
 				}
 				catch (Exception e) {
 					throw new DMLRuntimeException("Eviction to local path " + filePath + " ("+hashCode()+") failed.", e);
@@ -1068,6 +1094,25 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		return ret;
 	}
 	
+	/**
+	 * Obtains the codec for spilling an evicted cache block of the given
+	 * size to local FS (uncompressed if below the spill threshold).
+	 * 
+	 * @param size size of the cache block in bytes
+	 * @return spill codec
+	 */
+	public static SpillCodec getSpillCodec(long size) {
+		return (size >= CACHING_SPILL_THRESHOLD) ?
+			CACHING_SPILL_CODEC : SpillCodec.NONE;
+	}
+	
+	private static void setBufferPoolReuseHint(String fname, boolean flag) {
+		if( OptimizerUtils.isUMMEnabled() )
+			UnifiedMemoryManager.setReuseHint(fname, flag);
+		else
+			LazyWriteBuffer.setReuseHint(fname, flag);
+	}
+	
 	public long getDataSize() {
 		return (_data != null) ?_data.getInMemorySize() : 0;
 	}
@@ -1369,8 +1414,22 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	protected void updateStatusPinned(boolean add) {
 		if( _data == null || !OptimizerUtils.isHybridExecutionMode() )
 			return; //avoid size computation for string frames
-		long size = sizePinned.get();
-		size += (add ? 1 : -1) * _data.getInMemorySize();
+		//release exactly the size charged on pin, as the in-memory size of a block
+		//might change while pinned (e.g., cached intermediates of compressed blocks)
+		long delta = 0;
+		synchronized( _pinnedCharge ) {
+			if( add ) {
+				delta = _data.getInMemorySize();
+				_pinnedCharge[0]++;
+				_pinnedCharge[1] += delta;
+			}
+			else if( _pinnedCharge[0] > 0 ) {
+				delta = -_pinnedCharge[1] / _pinnedCharge[0];
+				_pinnedCharge[0]--;
+				_pinnedCharge[1] += delta;
+			}
+		}
+		long size = sizePinned.get() + delta;
 		sizePinned.set( Math.max(size,0) );
 	}
 
@@ -1466,6 +1525,11 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		else
 			//init write-ahead buffer
 			LazyWriteBuffer.init();
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		CACHING_MMAP_RESTORE = conf.getBooleanValue(DMLConfig.CACHING_MMAP);
+		CACHING_SPILL_CODEC = SpillCodec.parse(conf.getTextValue(DMLConfig.CACHING_SPILL_CODEC));
+		CACHING_SPILL_THRESHOLD = (long) conf.getIntValue(DMLConfig.CACHING_SPILL_THRESHOLD) * 1024;
+		CACHING_BUFFER_POLICY = RPolicy.parse(conf.getTextValue(DMLConfig.CACHING_EVICTION_POLICY));
 
 		_refBCs.set(0);
 		_activeFlag = true; //turn on caching
@@ -20,13 +20,17 @@
 package org.apache.sysds.runtime.controlprogram.caching;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 public class LazyWriteBuffer {
@@ -34,7 +38,17 @@ public class LazyWriteBuffer {
 
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		COST; //cost-based eviction (restore cost, size, access, reuse hints)
+
+		public static RPolicy parse(String policy) {
+			try {
+				return valueOf(policy.trim().toUpperCase());
+			}
+			catch(IllegalArgumentException ex) {
+				throw new DMLRuntimeException("Unsupported buffer pool eviction policy: " + policy);
+			}
+		}
 	}
 	
 	//global size limit in bytes
@@ -88,7 +102,8 @@ public class LazyWriteBuffer {
 		}
 		else {
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			LocalFileUtils.writeCacheBlockToLocal(fname, cb,
+				CacheableData.getSpillCodec(lSize));
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSWrites();
 			
@@ -99,25 +114,49 @@ public class LazyWriteBuffer {
 	}
 
 	private static int evict(long lSize) throws IOException {
-		int numEvicted = 0;
+		List<Entry<String, ByteBuffer>> victims = new ArrayList<>();
 		while(_size + lSize > _limit && !_mQueue.isEmpty()) {
 			// remove first entry from eviction queue
 			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			String ftmp = entry.getKey();
-			ByteBuffer tmp = entry.getValue();
-
-			if(tmp != null) {
-				// wait for pending serialization
-				tmp.checkSerialized();
-
-				// evict matrix
-				tmp.evictBuffer(ftmp);
-				tmp.freeMemory();
-				_size -= tmp.getSize();
-				numEvicted++;
+			if(entry.getValue() != null) {
+				victims.add(entry);
+				_size -= entry.getValue().getSize();
 			}
 		}
-		return numEvicted;
+		evictBuffers(victims);
+		return victims.size();
+	}
+
+	private static void evictBuffers(List<Entry<String, ByteBuffer>> victims) throws IOException {
+		ExecutorService pool = getUtilThreadPool();
+		if(CacheableData.CACHING_SPILL_CODEC == SpillCodec.NONE || victims.size() <= 1 || pool == null) {
+			for(Entry<String, ByteBuffer> entry : victims)
+				evictBuffer(entry.getKey(), entry.getValue());
+			return;
+		}
+		// compress and write multiple victims in parallel
+		List<Future<?>> tasks = new ArrayList<>();
+		for(Entry<String, ByteBuffer> entry : victims)
+			tasks.add(pool.submit(() -> {
+				evictBuffer(entry.getKey(), entry.getValue());
+				return null;
+			}));
+		try {
+			for(Future<?> task : tasks)
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed to evict buffer pool entries.", ex);
+		}
+	}
+
+	private static void evictBuffer(String fname, ByteBuffer tmp) throws IOException {
+		// wait for pending serialization
+		tmp.checkSerialized();
+
+		// evict matrix
+		tmp.evictBuffer(fname);
+		tmp.freeMemory();
 	}
 
 	public static void deleteBlock(String fname)
@@ -152,13 +191,8 @@ public class LazyWriteBuffer {
 			ldata = _mQueue.get(fname);
 			
 			//modify eviction order (accordingly to access)
-			if(CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
-				&& ldata != null )
-			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
-			}
+			if( ldata != null )
+				_mQueue.access(fname, ldata);
 		}
 		
 		//deserialize or read from FS if required
@@ -170,7 +204,8 @@ public class LazyWriteBuffer {
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix,
+				CacheableData.CACHING_MMAP_RESTORE);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
@@ -178,6 +213,20 @@ public class LazyWriteBuffer {
 		return cb;
 	}
 
+	/**
+	 * Sets the compiler reuse hint of a buffer pool entry, if it exists.
+	 * 
+	 * @param fname file name of the cache block
+	 * @param flag true if the block will be read again
+	 */
+	public static void setReuseHint(String fname, boolean flag) {
+		synchronized( _mQueue ) {
+			ByteBuffer ldata = _mQueue.get(fname);
+			if( ldata != null )
+				ldata.setReuseHint(flag);
+		}
+	}
+
 	public static void init() {
 		_mQueue = new CacheEvictionQueue();
 		_fClean = new CacheMaintenanceService();
@@ -261,21 +310,14 @@ public class LazyWriteBuffer {
 		throws IOException 
 	{
 		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
+		List<Entry<String, ByteBuffer>> victims = new ArrayList<>();
+		while( !_mQueue.isEmpty() ) {
 			//remove first entry from eviction queue
 			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
-			}
+			if( entry.getValue() != null )
+				victims.add(entry);
 		}
+		evictBuffers(victims);
 	}
 	
 	public static ExecutorService getUtilThreadPool() {
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.xerial.snappy.SnappyInputStream;
+import org.xerial.snappy.SnappyOutputStream;
+
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * Block compressors for spilling evicted cache blocks to local FS (see sysds.caching.spill.codec).
+ *
+ * Compressed spill files start with a header of a magic number and the codec id, followed by the codec-specific
+ * stream of the serialized block. Since the magic number is negative, it never collides with the number of rows
+ * at the beginning of uncompressed matrix and frame blocks, which allows a transparent decompression on restore.
+ */
+public enum SpillCodec {
+	NONE, LZ4, SNAPPY, DEFLATE;
+
+	public static final int MAGIC = 0xCAC5D5F1;
+	public static final int HEADER_SIZE = Integer.BYTES + 1;
+	private static final int BLOCK_SIZE = 64 * 1024;
+
+	public static SpillCodec parse(String codec) {
+		try {
+			return valueOf(codec.trim().toUpperCase());
+		}
+		catch(IllegalArgumentException ex) {
+			throw new DMLRuntimeException("Unsupported spill codec: " + codec);
+		}
+	}
+
+	/**
+	 * Writes the spill file header and wraps the given output stream into a compressing stream. Closing the returned
+	 * stream finishes the compression and closes the underlying stream.
+	 *
+	 * @param out the file output stream
+	 * @return the compressing output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public OutputStream compress(OutputStream out) throws IOException {
+		//note: header as single write (e.g., for double buffering streams)
+		ByteArrayOutputStream header = new ByteArrayOutputStream(HEADER_SIZE);
+		DataOutputStream dout = new DataOutputStream(header);
+		dout.writeInt(MAGIC);
+		dout.writeByte(ordinal());
+		out.write(header.toByteArray());
+		switch(this) {
+			case LZ4:
+				return new LZ4BlockOutputStream(out, BLOCK_SIZE, LZ4Factory.fastestInstance().fastCompressor());
+			case SNAPPY:
+				return new SnappyOutputStream(out, BLOCK_SIZE);
+			case DEFLATE:
+				final Deflater def = new Deflater(Deflater.BEST_SPEED);
+				return new DeflaterOutputStream(out, def, BLOCK_SIZE) {
+					@Override
+					public void close() throws IOException {
+						try {
+							super.close();
+						}
+						finally {
+							def.end(); //release native memory
+						}
+					}
+				};
+			default:
+				throw new DMLRuntimeException("Invalid spill codec: " + this);
+		}
+	}
+
+	/**
+	 * Reads the spill file header, if present, and wraps the given input stream into a decompressing stream.
+	 *
+	 * @param in     the file input stream, positioned after the header
+	 * @param header the first {@link #HEADER_SIZE} bytes of the file
+	 * @return the decompressing input stream, or null if the file is not compressed
+	 * @throws IOException if IOException occurs
+	 */
+	public static InputStream decompress(InputStream in, byte[] header) throws IOException {
+		DataInputStream hin = new DataInputStream(new ByteArrayInputStream(header));
+		if(header.length < HEADER_SIZE || hin.readInt() != MAGIC)
+			return null;
+		SpillCodec codec = values()[hin.readByte()];
+		switch(codec) {
+			case LZ4:
+				return new LZ4BlockInputStream(in);
+			case SNAPPY:
+				return new SnappyInputStream(in);
+			case DEFLATE:
+				return new InflaterInputStream(in, new Inflater(), BLOCK_SIZE) {
+					@Override
+					public void close() throws IOException {
+						try {
+							super.close();
+						}
+						finally {
+							inf.end(); //release native memory
+						}
+					}
+				};
+			default:
+				throw new IOException("Invalid spill codec: " + codec);
+		}
+	}
+}
@@ -19,16 +19,16 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
-import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Unified Memory Manager - Initial Design
@@ -81,27 +81,47 @@ import java.util.Map;
  *  	and output. Evict cached objects to make space for the inputs.
  *  	Evict cached objects to reserve worst-case output memory.
  *
- * Thread-safeness:
- * Initially, the UMM will be used in an instance-based manner. For global visibility and
- * use in parallel for loops, the UMM would need to provide a static, synchronized API, but
- * this constitutes a source of severe contention. In the future, we will consider a design
- * with thread-local UMMs for the individual parfor workers.
+ * Thread-safeness and Asynchronous Eviction:
+ * The UMM provides a static, synchronized API (guarded by the eviction queue), which allows
+ * its use in parallel for loops and multi-threaded operations. Pinned entries are reference
+ * counted and remember their accounted size, so concurrent pin/unpin requests of the same
+ * object remain consistent. Output memory is reserved per operation (thread), limited to a
+ * fair share of the UMM, and released on the operation's output writes or its last unpin. Evicted entries are written to local FS by the cache maintenance
+ * service outside the critical path: they are moved to a set of in-flight evictions (from
+ * which reads are still served), and only requests that cannot be satisfied otherwise wait
+ * for pending evictions. Every eviction request additionally evicts a small headroom of the
+ * UMM capacity, such that subsequent requests find free memory without blocking.
  */
 
 public class UnifiedMemoryManager
 {
+	// Fraction of the UMM capacity that is evicted ahead of time on eviction requests
+	private static final double EVICTION_HEADROOM = 0.05;
+
 	// Maximum size of UMM in bytes (default 85%)
 	private static long _limit;
 	// Current total size of the cached objects
 	private static long _totCachedSize;
 	// Operational memory limit in bytes (70%)
 	private static long _opMemLimit;
-	// List of pinned entries
-	private static final List<String> _pinnedEntries = new ArrayList<>();
+	// Reference-counted pinned entries (protected from eviction)
+	private static final Map<String, PinnedEntry> _pinnedEntries = new HashMap<>();
+	// Reserved (worst-case) output memory of the current operations (per thread), and its total
+	private static final Map<Long, OpReservation> _reservations = new HashMap<>();
+	private static long _reservedOutputMemSize = 0;
 
 	// Eviction queue of <filename,buffer> pairs (implemented via linked hash map
 	// for (1) queue semantics and (2) constant time get/insert/delete operations)
-	private static CacheEvictionQueue _mQueue;
+	private static final CacheEvictionQueue _mQueue = new CacheEvictionQueue();
+	// Number of queue entries that are currently pinned (i.e., not evictable)
+	private static int _numPinnedQueued = 0;
+	// In-flight evictions of <filename,buffer> pairs, and their total size
+	private static final Map<String, ByteBuffer> _evicting = new HashMap<>();
+	private static long _evictingSize = 0;
+	// Pending asynchronous deletes of evicted files (awaited before rewriting a file)
+	private static final Map<String, Future<?>> _deleting = new HashMap<>();
+	// First error of an asynchronous eviction, rethrown on the next request
+	private static Exception _evictionError = null;
 
 	// Maintenance service for synchronous or asynchronous delete of evicted files
 	private static CacheMaintenanceService _fClean;
@@ -121,26 +141,41 @@ public class UnifiedMemoryManager
 			return;
 		}
 
-		// Space accounting based on an estimated size and before reading the blob
-		long estimatedSize = OptimizerUtils.estimateSize(cd.getDataCharacteristics());
-		if (probe(cd))
-			// Availability in the cache means no memory overhead.
-			// We still need to track to derive the worst-case output memory
-			_pinnedVirtualMemSize += estimatedSize;
-		else {
-			// The blob will be restored from local FS, or will be read
-			// from other backends. Make space if not available.
-			makeSpace(estimatedSize);
-			_pinnedPhysicalMemSize += estimatedSize;
+		String fname = cd.getCacheFilePathAndName();
+		synchronized(_mQueue) {
+			// Track the pins of the current operation (thread)
+			getReservation(true).pins++;
+			PinnedEntry pe = _pinnedEntries.get(fname);
+			if (pe != null) {
+				// Already pinned (e.g., by a concurrent operation)
+				pe.refs++;
+				return;
+			}
+
+			// Space accounting based on an estimated size and before reading the blob
+			long estimatedSize = OptimizerUtils.estimateSize(cd.getDataCharacteristics());
+			pe = new PinnedEntry(estimatedSize, probe(cd));
+			if (pe.virtual)
+				// Availability in the cache means no memory overhead.
+				// We still need to track to derive the worst-case output memory
+				_pinnedVirtualMemSize += estimatedSize;
+			else {
+				// The blob will be restored from local FS, or will be read
+				// from other backends. Make space if not available.
+				makeSpace(estimatedSize);
+				_pinnedPhysicalMemSize += estimatedSize;
+			}
+			// Track the pinned entries to protect from evictions
+			_pinnedEntries.put(fname, pe);
+			if (_mQueue.containsKey(fname))
+				_numPinnedQueued++;
+
+			// Reserve space for output after pinning every input.
+			// This overly conservative approach removes the need to call reserveOutputMem() from
+			// each instruction. Ideally, every instruction first pins all the inputs, followed
+			// by reserving space for the output.
+			reserveOutputMem();
 		}
-		// Track the pinned entries to protect from evictions
-		_pinnedEntries.add(cd.getCacheFilePathAndName());
-
-		// Reserve space for output after pinning every input.
-		// This overly conservative approach removes the need to call reserveOutputMem() from
-		// each instruction. Ideally, every instruction first pins all the inputs, followed
-		// by reserving space for the output.
-		reserveOutputMem();
 	}
 
 	// Reserve space for output in the operation memory
@@ -148,55 +183,108 @@ public class UnifiedMemoryManager
 		if (!OptimizerUtils.isUMMEnabled() || !CacheableData.isCachingActive())
 			return;
 
-		// Worst case upper bound for output = 70% - size(inputs)
-		// FIXME: Parfor splits this 70% into smaller limits
-		long maxOutputSize = _opMemLimit - (_pinnedVirtualMemSize + _pinnedPhysicalMemSize);
-		// Evict cached entries to make space in operation memory if needed
-		makeSpace(maxOutputSize);
+		synchronized(_mQueue) {
+			// Release the previous reservation of this operation (re-reserved below)
+			OpReservation res = getReservation(true);
+			_reservedOutputMemSize -= res.size;
+			res.size = 0;
+			// Worst case upper bound for output = 70% - size(inputs) - other reservations,
+			// and at most a fair share of the UMM among the concurrent operations
+			long maxOutputSize = Math.max(0, _opMemLimit
+				- (_pinnedVirtualMemSize + _pinnedPhysicalMemSize + _reservedOutputMemSize));
+			maxOutputSize = Math.min(maxOutputSize, Math.max(0, _limit
+				- (_pinnedPhysicalMemSize + _evictingSize + _reservedOutputMemSize)) / _reservations.size());
+			// Evict cached entries to make space in operation memory if needed,
+			// and keep the reservation until the outputs are written to the cache
+			makeSpace(maxOutputSize);
+			res.size = Math.min(maxOutputSize, Math.max(0, _limit - (_totCachedSize
+				+ _pinnedPhysicalMemSize + _evictingSize + _reservedOutputMemSize)));
+			_reservedOutputMemSize += res.size;
+		}
 	}
-	
+
 	// Unpins (releases) a cache block from operation memory
 	public static void unpin(CacheableData<?> cd) {
 		if (!CacheableData.isCachingActive())
 			return;
 
-		// TODO: Track preserved output memory to protect from concurrent threads
-		if (!_pinnedEntries.contains(cd.getCacheFilePathAndName()))
-			return; //unpinned. output of an instruction
+		synchronized(_mQueue) {
+			PinnedEntry pe = _pinnedEntries.get(cd.getCacheFilePathAndName());
+			if (pe == null)
+				return; //unpinned. output of an instruction
+
+			// Release the output reservation once the operation unpinned all inputs
+			OpReservation res = getReservation(false);
+			if (res != null && --res.pins <= 0)
+				releaseReservation(res);
+			if (--pe.refs > 0)
+				return; //still pinned by another operation
+
+			// We subtract exactly what we added during pinning
+			if (pe.virtual)
+				_pinnedVirtualMemSize -= pe.size;
+			else
+				_pinnedPhysicalMemSize -= pe.size;
+			_pinnedEntries.remove(cd.getCacheFilePathAndName());
+			if (_mQueue.containsKey(cd.getCacheFilePathAndName()))
+				_numPinnedQueued--;
+		}
+	}
 
-		// We still use the estimated size even though we have the blobs available.
-		// This makes sure we are subtracting exactly what we added during pinning.
-		long estimatedSize = OptimizerUtils.estimateSize(cd.getDataCharacteristics());
-		if (probe(cd))
-			_pinnedVirtualMemSize -= estimatedSize;
-		else
-			_pinnedPhysicalMemSize -= estimatedSize;
+	// Get the output reservation of the current operation (thread), if requested created
+	private static OpReservation getReservation(boolean create) {
+		long tid = Thread.currentThread().getId();
+		OpReservation res = _reservations.get(tid);
+		if (res == null && create) {
+			res = new OpReservation();
+			_reservations.put(tid, res);
+		}
+		return res;
+	}
 
-		_pinnedEntries.remove(cd.getCacheFilePathAndName());
+	private static void releaseReservation(OpReservation res) {
+		_reservedOutputMemSize -= res.size;
+		_reservations.remove(Thread.currentThread().getId());
 	}
 
 	//---------------- UMM MAINTENANCE & LOOKUP -------------------//
 
 	// Initialize the unified memory manager
 	public static void init() {
-		_mQueue = new CacheEvictionQueue();
-		_fClean = new CacheMaintenanceService();
-		_limit = OptimizerUtils.getBufferPoolLimit();
-		_opMemLimit = (long)(OptimizerUtils.getLocalMemBudget()); //70% of heap
-		_totCachedSize = 0;
-		_pinnedPhysicalMemSize = 0;
-		_pinnedVirtualMemSize = 0;
+		synchronized(_mQueue) {
+			_mQueue.clear();
+			_pinnedEntries.clear();
+			_reservations.clear();
+			_numPinnedQueued = 0;
+			_evicting.clear();
+			_deleting.clear();
+			_fClean = new CacheMaintenanceService();
+			_limit = OptimizerUtils.getBufferPoolLimit();
+			_opMemLimit = (long)(OptimizerUtils.getLocalMemBudget()); //70% of heap
+			_totCachedSize = 0;
+			_evictingSize = 0;
+			_evictionError = null;
+			_reservedOutputMemSize = 0;
+			_pinnedPhysicalMemSize = 0;
+			_pinnedVirtualMemSize = 0;
+		}
 	}
 
 	// Cleanup the unified memory manager
 	public static void cleanup() {
-		if( _mQueue != null )
+		synchronized(_mQueue) {
 			_mQueue.clear();
+			_pinnedEntries.clear();
+			_reservations.clear();
+			_numPinnedQueued = 0;
+			_totCachedSize = 0;
+			_reservedOutputMemSize = 0;
+			_pinnedPhysicalMemSize = 0;
+			_pinnedVirtualMemSize = 0;
+		}
+		//note: pending evictions and deletes complete after shutdown
 		if( _fClean != null )
 			_fClean.close();
-		_totCachedSize = 0;
-		_pinnedPhysicalMemSize = 0;
-		_pinnedVirtualMemSize = 0;
 	}
 
 	/**
@@ -216,7 +304,11 @@ public class UnifiedMemoryManager
 				"size[bytes]="+_totCachedSize+", " +
 				"size[elements]="+_mQueue.size()+", " +
 				"pinned[elements]="+_pinnedEntries.size()+", " +
-				"pinned[bytes]="+_pinnedPhysicalMemSize);
+				"pinned[bytes]="+_pinnedPhysicalMemSize+", " +
+				"reserved[elements]="+_reservations.size()+", " +
+				"reserved[bytes]="+_reservedOutputMemSize+", " +
+				"evicting[elements]="+_evicting.size()+", " +
+				"evicting[bytes]="+_evictingSize);
 
 			// print current cached entries
 			int count = _mQueue.size();
@@ -232,7 +324,9 @@ public class UnifiedMemoryManager
 	}
 
 	public static void setUMMLimit(long val) {
-		_limit = val;
+		synchronized(_mQueue) {
+			_limit = val;
+		}
 	}
 
 	public static long getUMMSize() {
@@ -244,7 +338,23 @@ public class UnifiedMemoryManager
 	// Get the available memory in UMM
 	public static long getUMMFree() {
 		synchronized(_mQueue) {
-			return _limit - (_totCachedSize + _pinnedPhysicalMemSize);
+			//note: in-flight evictions occupy memory until written to local FS
+			return _limit - (_totCachedSize + _evictingSize
+				+ _pinnedPhysicalMemSize + _reservedOutputMemSize);
+		}
+	}
+
+	// Get the size of the cached objects (excluding in-flight evictions)
+	public static long getCachedSize() {
+		synchronized(_mQueue) {
+			return _totCachedSize;
+		}
+	}
+
+	// Get the size of the reserved output memory
+	public static long getReservedOutputSize() {
+		synchronized(_mQueue) {
+			return _reservedOutputMemSize;
 		}
 	}
 
@@ -261,25 +371,32 @@ public class UnifiedMemoryManager
 			ldata = _mQueue.get(fname);
 
 			//modify eviction order (accordingly to access)
-			if (CacheableData.CACHING_BUFFER_POLICY == LazyWriteBuffer.RPolicy.LRU
-				&& ldata != null)
-			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove (fname);
-				_mQueue.addLast (fname, ldata);
+			if (ldata != null)
+				_mQueue.access(fname, ldata);
+
+			//probe in-flight evictions (not yet written to local FS), and
+			//deserialize before the eviction completes and frees the buffer
+			if (ldata == null && _evicting.containsKey(fname)) {
+				ByteBuffer tmp = _evicting.get(fname);
+				tmp.checkSerialized();
+				cb = tmp.deserializeBlock();
 			}
 		}
 
 		//deserialize or read from FS if required
-		if( ldata != null )
+		if( cb != null || ldata != null )
 		{
-			cb = ldata.deserializeBlock();
-			if (DMLScript.STATISTICS)
+			if( cb == null )
+				cb = ldata.deserializeBlock();
+			if (DMLScript.STATISTICS) {
 				CacheStatistics.incrementFSBuffHits();
+				CacheStatistics.incrementUMMHits();
+			}
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix,
+				CacheableData.CACHING_MMAP_RESTORE);
 			if (DMLScript.STATISTICS)
 				CacheStatistics.incrementFSHits();
 		}
@@ -289,45 +406,48 @@ public class UnifiedMemoryManager
 
 	public static boolean probe(CacheableData<?> cd) {
 		String filePath = cd.getCacheFilePathAndName();
-		return _mQueue.containsKey(filePath);
+		synchronized(_mQueue) {
+			return _mQueue.containsKey(filePath);
+		}
+	}
+
+	// Sets the compiler reuse hint of a cached object, if it exists.
+	public static void setReuseHint(String fname, boolean flag) {
+		synchronized(_mQueue) {
+			ByteBuffer ldata = _mQueue.get(fname);
+			if (ldata != null)
+				ldata.setReuseHint(flag);
+		}
 	}
 
 	// Make required space. Evict if needed.
 	public static int makeSpace(long reqSpace) {
 		int numEvicted = 0;
-		// Check if sufficient space is already available
-		if (getUMMFree() > reqSpace)
-			return numEvicted;
+		synchronized(_mQueue) {
+			checkEvictionError();
+			// Check if sufficient space is already available
+			if (getUMMFree() > reqSpace)
+				return numEvicted;
+
+			// Evict blobs to make room (by default FIFO), including a headroom
+			// that is evicted ahead of time for subsequent requests
+			long headroom = Math.min((long)(EVICTION_HEADROOM * _limit), Math.max(_limit - reqSpace, 0));
+			while (getUMMFree() + _evictingSize < reqSpace + headroom && hasUnpinned()) {
+				//remove first unpinned entry from eviction queue
+				var entry = _mQueue.removeFirstUnpinned(_pinnedEntries.keySet());
+				evict(entry.getKey(), entry.getValue());
+				numEvicted++;
+			}
 
-		// Evict cached objects to make space
-		try {
-			synchronized(_mQueue) {
-				// Evict blobs to make room (by default FIFO)
-				while (getUMMFree() < reqSpace && !_mQueue.isEmpty()) {
-					//remove first unpinned entry from eviction queue
-					var entry = _mQueue.removeFirstUnpinned(_pinnedEntries);
-					String ftmp = entry.getKey();
-					ByteBuffer bb = entry.getValue();
-
-					if(bb != null) {
-						// Wait for pending serialization
-						bb.checkSerialized();
-						// Evict object
-						bb.evictBuffer(ftmp);
-						bb.freeMemory();
-						_totCachedSize -= bb.getSize();
-						numEvicted++;
-					}
-				}
+			// Wait for pending evictions if the required space is not yet available
+			if (getUMMFree() < reqSpace && _evictingSize > 0) {
+				if (DMLScript.STATISTICS)
+					CacheStatistics.incrementUMMEvictionWaits();
+				while (getUMMFree() < reqSpace && _evictingSize > 0 && _evictionError == null)
+					waitForEvictions();
 			}
+			checkEvictionError();
 		}
-		catch (Exception e) {
-			throw new DMLRuntimeException("Eviction request of size "+(reqSpace-getUMMFree())+ " in the UMM failed.", e);
-		}
-
-		if( DMLScript.STATISTICS )
-			CacheStatistics.incrementFSWrites(numEvicted);
-
 		return numEvicted;
 	}
 
@@ -350,10 +470,27 @@ public class UnifiedMemoryManager
 			// Modify buffer pool
 			synchronized( _mQueue )
 			{
+				// Wait for a pending eviction of a previous version
+				while( _evicting.containsKey(fname) )
+					waitForEvictions();
+				// Consume the output memory reserved by the writing operation
+				OpReservation res = getReservation(false);
+				if( res != null ) {
+					long consumed = Math.min(res.size, lSize);
+					res.size -= consumed;
+					_reservedOutputMemSize -= consumed;
+					if( res.pins <= 0 && res.size == 0 )
+						releaseReservation(res);
+				}
 				// Evict blocks to make room if required
 				numEvicted += makeSpace(lSize);
 				// Put placeholder into buffer pool (reserve mem)
-				_mQueue.addLast(fname, bbuff);
+				ByteBuffer old = removeQueued(fname);
+				if( old != null ) {
+					_totCachedSize -= old.getSize();
+					old.freeMemory();
+				}
+				addQueued(fname, bbuff);
 				_totCachedSize += lSize;
 			}
 
@@ -366,7 +503,19 @@ public class UnifiedMemoryManager
 		else
 		{
 			// Write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			Future<?> delete;
+			synchronized( _mQueue ) {
+				delete = _deleting.remove(fname);
+			}
+			try {
+				if( delete != null )
+					delete.get();
+			}
+			catch(Exception ex) {
+				throw new IOException(ex);
+			}
+			LocalFileUtils.writeCacheBlockToLocal(fname, cb,
+				CacheableData.getSpillCodec(lSize));
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -387,8 +536,12 @@ public class UnifiedMemoryManager
 
 		synchronized( _mQueue )
 		{
+			//wait for a pending eviction (which would recreate the file)
+			while( _evicting.containsKey(fname) )
+				waitForEvictions();
+
 			//remove queue entry
-			ByteBuffer ldata = _mQueue.remove(fname);
+			ByteBuffer ldata = removeQueued(fname);
 			if( ldata != null ) {
 				_totCachedSize -= ldata.getSize();
 				requiresDelete = false;
@@ -397,8 +550,15 @@ public class UnifiedMemoryManager
 		}
 
 		//delete from FS if required
-		if( requiresDelete )
-			_fClean.deleteFile(fname);
+		if( requiresDelete ) {
+			Future<?> f = _fClean.deleteFile(fname);
+			if( f != null ) {
+				synchronized( _mQueue ) {
+					_deleting.values().removeIf(Future::isDone);
+					_deleting.put(fname, f);
+				}
+			}
+		}
 	}
 
 	/**
@@ -406,9 +566,24 @@ public class UnifiedMemoryManager
 	 * representations (files in local FS). All internally thread pools must be
 	 * shut down in a graceful manner (e.g., wait for pending deletes).
 	 */
-	public void deleteAll() {
-		//TODO implement
-		throw new NotImplementedException();
+	public static void deleteAll() {
+		synchronized( _mQueue ) {
+			//wait for pending evictions, and drop all cached entries
+			while( !_evicting.isEmpty() )
+				waitForEvictions();
+			for( ByteBuffer bb : _mQueue.values() )
+				bb.freeMemory();
+		}
+		//drop all memory areas and shutdown the maintenance service
+		cleanup();
+
+		//delete evicted representations, but keep the caching working dir
+		String dir = CacheableData.cacheEvictionLocalFilePath;
+		File[] files = (dir != null) ? new File(dir).listFiles() : null;
+		if( files != null )
+			for( File f : files )
+				if( f.getName().startsWith(CacheableData.cacheEvictionLocalFilePrefix) )
+					LocalFileUtils.deleteFileIfExists(f.getAbsolutePath(), true);
 	}
 
 	/**
@@ -420,20 +595,129 @@ public class UnifiedMemoryManager
 	public static void forceEviction()
 		throws IOException
 	{
-		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Map.Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
+		synchronized( _mQueue ) {
+			//evict all unpinned matrices and frames
+			while( hasUnpinned() ) {
+				var entry = _mQueue.removeFirstUnpinned(_pinnedEntries.keySet());
+				evict(entry.getKey(), entry.getValue());
+			}
+			//wait for pending evictions
+			while( !_evicting.isEmpty() )
+				waitForEvictions();
+			checkEvictionError();
+		}
+	}
 
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
+	//---------------- ASYNCHRONOUS EVICTION -------------------//
+
+	// Move an entry to the in-flight evictions and write it to local FS
+	private static void evict(String fname, ByteBuffer bb) {
+		_totCachedSize -= bb.getSize();
+		_evicting.put(fname, bb);
+		_evictingSize += bb.getSize();
+		_fClean.evictData(new EvictionTask(fname, bb, _deleting.remove(fname)));
+	}
+
+	private static boolean hasUnpinned() {
+		return _mQueue.size() > _numPinnedQueued;
+	}
+
+	// Add an entry to the eviction queue and maintain the number of pinned entries
+	private static void addQueued(String fname, ByteBuffer bb) {
+		boolean queued = _mQueue.containsKey(fname);
+		_mQueue.addLast(fname, bb);
+		if (!queued && _pinnedEntries.containsKey(fname))
+			_numPinnedQueued++;
+	}
+
+	// Remove an entry from the eviction queue and maintain the number of pinned entries
+	private static ByteBuffer removeQueued(String fname) {
+		boolean queued = _mQueue.containsKey(fname);
+		ByteBuffer bb = _mQueue.remove(fname);
+		if (queued && _pinnedEntries.containsKey(fname))
+			_numPinnedQueued--;
+		return bb;
+	}
 
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
+	private static void waitForEvictions() {
+		try {
+			_mQueue.wait();
+		}
+		catch(InterruptedException e) {
+			throw new DMLRuntimeException(e);
+		}
+	}
+
+	private static void checkEvictionError() {
+		if( _evictionError != null ) {
+			Exception ex = _evictionError;
+			_evictionError = null;
+			throw new DMLRuntimeException("Eviction of cache blocks in the UMM failed.", ex);
+		}
+	}
+
+	private static class PinnedEntry {
+		private final long size;
+		private final boolean virtual;
+		private int refs = 1;
+
+		public PinnedEntry(long size, boolean virtual) {
+			this.size = size;
+			this.virtual = virtual;
+		}
+	}
+
+	private static class OpReservation {
+		private int pins = 0;
+		private long size = 0;
+	}
+
+	private static class EvictionTask implements Runnable {
+		private final String _fname;
+		private final ByteBuffer _bbuff;
+		private final Future<?> _delete;
+
+		public EvictionTask(String fname, ByteBuffer bbuff, Future<?> delete) {
+			_fname = fname;
+			_bbuff = bbuff;
+			_delete = delete;
+		}
+
+		@Override
+		public void run() {
+			Exception err = null;
+			try {
+				// Wait for a pending delete of a previously evicted file
+				if( _delete != null )
+					_delete.get();
+				// Wait for pending serialization
+				_bbuff.checkSerialized();
+				// Evict object
+				_bbuff.evictBuffer(_fname);
+			}
+			catch(Exception ex) {
+				err = ex;
+			}
+			synchronized( _mQueue ) {
+				//note: robust against concurrent re-initialization
+				if( _evicting.get(_fname) == _bbuff ) {
+					_evicting.remove(_fname);
+					_evictingSize -= _bbuff.getSize();
+				}
+				if( err != null ) {
+					// Keep the entry cached in order to not lose the data
+					addQueued(_fname, _bbuff);
+					_totCachedSize += _bbuff.getSize();
+					if( _evictionError == null )
+						_evictionError = err;
+				}
+				else
+					_bbuff.freeMemory();
+				_mQueue.notifyAll();
+			}
+			if( err == null && DMLScript.STATISTICS ) {
+				CacheStatistics.incrementFSWrites();
+				CacheStatistics.incrementUMMEvictions(_bbuff.getSize());
 			}
 		}
 	}
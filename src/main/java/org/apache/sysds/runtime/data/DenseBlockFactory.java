@@ -25,6 +25,9 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.util.BitSet;
 
 public abstract class DenseBlockFactory
@@ -124,6 +127,12 @@ public abstract class DenseBlockFactory
 					default:
 						throw new DMLRuntimeException("Unsupported dense block value type: "+vt.name());
 				}
+			case LDRB_OFFHEAP:
+				switch(vt) {
+					case FP64: return new DenseBlockLFP64OffHeap(dims);
+					default:
+						throw new DMLRuntimeException("Unsupported off-heap dense block value type: "+vt.name());
+				}
 			case LDRB:
 				switch(vt) {
 					case FP32: return new DenseBlockLFP32(dims);
@@ -140,12 +149,30 @@ public abstract class DenseBlockFactory
 		}
 	}
 
+	/**
+	 * Create an off-heap dense block by memory-mapping the row-major, big-endian
+	 * cell values of a rlen x clen matrix (as written by DataOutput.writeDouble).
+	 * 
+	 * @param channel  file channel
+	 * @param position byte offset of the first cell value
+	 * @param rlen     number of rows
+	 * @param clen     number of columns
+	 * @return memory-mapped dense block
+	 * @throws IOException if the mapping fails
+	 */
+	public static DenseBlock mapDenseBlock(FileChannel channel, long position, int rlen, int clen)
+		throws IOException
+	{
+		return DenseBlockLFP64OffHeap.map(channel, position, rlen, clen, ByteOrder.BIG_ENDIAN);
+	}
+
 	public static boolean isDenseBlockType(DenseBlock sblock, DenseBlock.Type type) {
 		return (getDenseBlockType(sblock) == type);
 	}
 
 	public static DenseBlock.Type getDenseBlockType(DenseBlock dblock) {
-		return (dblock instanceof DenseBlockDRB) ? DenseBlock.Type.DRB :
+		return (dblock instanceof DenseBlockLFP64OffHeap) ? DenseBlock.Type.LDRB_OFFHEAP :
+			(dblock instanceof DenseBlockDRB) ? DenseBlock.Type.DRB :
 			(dblock instanceof DenseBlockLDRB) ? DenseBlock.Type.LDRB : null;
 	}
 
@@ -54,6 +54,16 @@ public abstract class DenseBlockLDRB extends DenseBlock
 	 */
 	protected abstract void allocateBlocks(int numBlocks);
 
+	/**
+	 * Get the maximum number of cells per block, which determines
+	 * the number of rows per block for a given number of columns.
+	 *
+	 * @return the maximum block length
+	 */
+	protected int getMaxBlockLength() {
+		return MAX_ALLOC;
+	}
+
 	@Override
 	public int blockSize() {
 		return _blen;
@@ -67,7 +77,7 @@ public abstract class DenseBlockLDRB extends DenseBlock
 	@Override
 	public void reset(int rlen, int[] odims, double v) {
 		long dataLength = (long) rlen * odims[0];
-		int newBlockSize = Math.min(rlen, MAX_ALLOC / odims[0]);
+		int newBlockSize = Math.min(rlen, getMaxBlockLength() / odims[0]);
 		int numBlocks = UtilFunctions.toInt(Math.ceil((double) rlen / newBlockSize));
 		if (_blen == newBlockSize && dataLength <= capacity()) {
 			IntStream.range(0, numBlocks)
@@ -76,7 +86,7 @@ public abstract class DenseBlockLDRB extends DenseBlock
 						fillBlock(bi, 0, toIndex, v);
 					});
 		} else {
-			int lastBlockSize = (newBlockSize == rlen ? newBlockSize : rlen % newBlockSize) * odims[0];
+			int lastBlockSize = (rlen - (numBlocks - 1) * newBlockSize) * odims[0];
 			allocateBlocks(numBlocks);
 			IntStream.range(0, numBlocks)
 					.forEach(i -> {
@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.data;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Large dense row block of FP64 values that keeps its data outside the Java heap, in direct or memory-mapped
+ * buffers. Large driver-side matrices stored this way are invisible to the garbage collector and can be mapped
+ * zero-copy from files that hold the row-major cell values (e.g., the dense part of buffer pool eviction files).
+ *
+ * Cell-wise access (get, set, incr, fill) and bulk range copies operate directly on the off-heap buffers. Since many
+ * kernels require array access, {@link #values(int)} and {@link #valuesAt(int)} materialize the requested block on
+ * the heap, release its off-heap buffer, and serve all subsequent accesses of this block from the heap array. Hence,
+ * the block remains correct for arbitrary kernels, while untouched blocks stay off-heap.
+ *
+ * Multi-threaded kernels may access the same block concurrently. Reads are lock-free, while off-heap updates and the
+ * materialization of a block synchronize on a per-block lock, so that no thread observes a released buffer and no
+ * update is lost by copying the block concurrently. Note that most kernels obtain the cell values via
+ * {@link #values(int)}, i.e., blocks used by such kernels end up on the heap; only the cell-wise, range and
+ * serialization paths operate directly on the off-heap buffers.
+ */
+public class DenseBlockLFP64OffHeap extends DenseBlockLDRB
+{
+	private static final long serialVersionUID = 4611326410263567318L;
+
+	// direct buffers are limited to Integer.MAX_VALUE bytes
+	public static final int MAX_BUFFER_ALLOC = (Integer.MAX_VALUE - 8) / Double.BYTES;
+
+	private transient AtomicReferenceArray<DoubleBuffer> _buffers; //off-heap blocks
+	private transient AtomicReferenceArray<double[]> _blocks;      //materialized on-heap blocks
+	private transient Object[] _locks;                             //per-block materialization locks
+
+	public DenseBlockLFP64OffHeap(int[] dims) {
+		super(dims);
+		reset(_rlen, _odims, 0);
+	}
+
+	private DenseBlockLFP64OffHeap(int[] dims, int blen, DoubleBuffer[] buffers) {
+		super(dims);
+		_blen = blen;
+		allocateBlocks(buffers.length);
+		for( int bix = 0; bix < buffers.length; bix++ )
+			_buffers.set(bix, buffers[bix]);
+	}
+
+	/**
+	 * Create a dense block by memory-mapping the row-major cell values of a rlen x clen matrix from the given file
+	 * channel. The mapping is read-only and mapped blocks are materialized on the heap on their first update, i.e.,
+	 * updates of the block are never written back to the file.
+	 *
+	 * @param channel  the file channel
+	 * @param position the byte offset of the first cell value in the file
+	 * @param rlen     the number of rows
+	 * @param clen     the number of columns
+	 * @param order    the byte order of the cell values in the file
+	 * @return the memory-mapped dense block
+	 * @throws IOException if the mapping fails
+	 */
+	public static DenseBlockLFP64OffHeap map(FileChannel channel, long position, int rlen, int clen,
+		ByteOrder order) throws IOException
+	{
+		int blen = Math.min(rlen, Math.min(MAX_ALLOC, MAX_BUFFER_ALLOC) / clen);
+		int numBlocks = UtilFunctions.toInt(Math.ceil((double) rlen / blen));
+		DoubleBuffer[] buffers = new DoubleBuffer[numBlocks];
+		long pos = position;
+		for( int bix = 0; bix < numBlocks; bix++ ) {
+			int len = Math.min(blen, rlen - bix * blen) * clen;
+			buffers[bix] = channel.map(MapMode.READ_ONLY, pos, (long) len * Double.BYTES)
+				.order(order).asDoubleBuffer();
+			pos += (long) len * Double.BYTES;
+		}
+		return new DenseBlockLFP64OffHeap(new int[] {rlen, clen}, blen, buffers);
+	}
+
+	@Override
+	protected int getMaxBlockLength() {
+		return Math.min(MAX_ALLOC, MAX_BUFFER_ALLOC);
+	}
+
+	@Override
+	protected void allocateBlocks(int numBlocks) {
+		_buffers = new AtomicReferenceArray<>(numBlocks);
+		_blocks = new AtomicReferenceArray<>(numBlocks);
+		_locks = new Object[numBlocks];
+		for( int bix = 0; bix < numBlocks; bix++ )
+			_locks[bix] = new Object();
+	}
+
+	@Override
+	protected void allocateBlock(int bix, int length) {
+		//note: direct buffers are guaranteed to be 0-initialized
+		_buffers.set(bix, ByteBuffer.allocateDirect(length * Double.BYTES)
+			.order(ByteOrder.nativeOrder()).asDoubleBuffer());
+		_blocks.set(bix, null);
+	}
+
+	@Override
+	protected void setInternal(int bix, int ix, double v) {
+		double[] a = _blocks.get(bix);
+		if( a == null ) {
+			synchronized( _locks[bix] ) {
+				DoubleBuffer buff = getWritableOffHeap(bix);
+				if( buff != null ) {
+					buff.put(ix, v);
+					return;
+				}
+				a = materialize(bix);
+			}
+		}
+		a[ix] = v;
+	}
+
+	/**
+	 * Get the off-heap buffer of the given block if it is still stored off-heap and
+	 * writable (read-only mapped blocks are materialized on write), otherwise null.
+	 * The caller is required to hold the lock of the block.
+	 */
+	private DoubleBuffer getWritableOffHeap(int bix) {
+		DoubleBuffer buff = _buffers.get(bix);
+		return (_blocks.get(bix) == null && !buff.isReadOnly()) ? buff : null;
+	}
+
+	private double getInternal(int bix, int ix) {
+		double[] a = _blocks.get(bix);
+		if( a != null )
+			return a[ix];
+		//note: the buffer is released only after publishing the materialized block
+		DoubleBuffer buff = _buffers.get(bix);
+		return (buff != null) ? buff.get(ix) : _blocks.get(bix)[ix];
+	}
+
+	/**
+	 * Indicate if the given block is still stored off-heap,
+	 * i.e., has not been materialized on the heap yet.
+	 *
+	 * @param bix block index
+	 * @return true if the block is stored off-heap
+	 */
+	public boolean isOffHeap(int bix) {
+		return _blocks.get(bix) == null;
+	}
+
+	/**
+	 * Get the number of bytes currently stored off-heap.
+	 *
+	 * @return the off-heap size in bytes
+	 */
+	public long getOffHeapSize() {
+		long size = 0;
+		for( int bix = 0; bix < _buffers.length(); bix++ ) {
+			DoubleBuffer buff = _buffers.get(bix);
+			if( buff != null && _blocks.get(bix) == null )
+				size += (long) buff.capacity() * Double.BYTES;
+		}
+		return size;
+	}
+
+	/**
+	 * Copy a range of cell values of the given block into an array,
+	 * without materializing the block on the heap.
+	 *
+	 * @param bix block index
+	 * @param pos the start position within the block
+	 * @param dst the destination array
+	 * @param len the number of cells
+	 */
+	public void getRange(int bix, int pos, double[] dst, int len) {
+		double[] a = _blocks.get(bix);
+		if( a == null ) {
+			DoubleBuffer buff = _buffers.get(bix);
+			if( buff != null ) {
+				buff.get(pos, dst, 0, len);
+				return;
+			}
+			a = _blocks.get(bix);
+		}
+		System.arraycopy(a, pos, dst, 0, len);
+	}
+
+	/**
+	 * Copy a range of cell values from an array into the given block,
+	 * without materializing the block on the heap (unless read-only).
+	 *
+	 * @param bix block index
+	 * @param pos the start position within the block
+	 * @param src the source array
+	 * @param len the number of cells
+	 */
+	public void setRange(int bix, int pos, double[] src, int len) {
+		double[] a = _blocks.get(bix);
+		if( a == null ) {
+			synchronized( _locks[bix] ) {
+				DoubleBuffer buff = getWritableOffHeap(bix);
+				if( buff != null ) {
+					buff.put(pos, src, 0, len);
+					return;
+				}
+				a = materialize(bix);
+			}
+		}
+		System.arraycopy(src, 0, a, pos, len);
+	}
+
+	@Override
+	public boolean isNumeric() {
+		return true;
+	}
+
+	@Override
+	public boolean isNumeric(ValueType vt) {
+		return ValueType.FP64 == vt;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return _buffers.length() == 1;
+	}
+
+	@Override
+	public int numBlocks() {
+		return _buffers.length();
+	}
+
+	@Override
+	public long capacity() {
+		if( _buffers == null )
+			return -1;
+		long cap = 0;
+		for( int bix = 0; bix < _buffers.length(); bix++ ) {
+			double[] a = _blocks.get(bix);
+			DoubleBuffer buff = (a == null) ? _buffers.get(bix) : null;
+			cap += (buff != null) ? buff.capacity() : _blocks.get(bix).length;
+		}
+		return cap;
+	}
+
+	@Override
+	protected long computeNnz(int bix, int start, int length) {
+		double[] a = _blocks.get(bix);
+		DoubleBuffer buff = (a == null) ? _buffers.get(bix) : null;
+		if( buff == null )
+			return UtilFunctions.computeNnz(_blocks.get(bix), start, length);
+		long nnz = 0;
+		for( int i = start; i < start + length; i++ )
+			nnz += (buff.get(i) != 0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return valuesAt(index(r));
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		double[] a = _blocks.get(bix);
+		if( a != null )
+			return a;
+		synchronized( _locks[bix] ) {
+			return materialize(bix);
+		}
+	}
+
+	/**
+	 * Materialize the given block on the heap (if not done yet) and release its off-heap
+	 * buffer. The caller is required to hold the lock of the block.
+	 */
+	private double[] materialize(int bix) {
+		double[] a = _blocks.get(bix);
+		if( a == null ) {
+			DoubleBuffer buff = _buffers.get(bix);
+			a = new double[buff.capacity()];
+			buff.get(0, a);
+			//publish the heap block before releasing the buffer (see getInternal)
+			_blocks.set(bix, a);
+			_buffers.set(bix, null);
+		}
+		return a;
+	}
+
+	@Override
+	public void incr(int r, int c) {
+		incr(r, c, 1);
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		int bix = index(r), ix = pos(r, c);
+		setInternal(bix, ix, getInternal(bix, ix) + delta);
+	}
+
+	@Override
+	public void fillBlock(int bix, int fromIndex, int toIndex, double v) {
+		double[] a = _blocks.get(bix);
+		if( a == null ) {
+			synchronized( _locks[bix] ) {
+				DoubleBuffer buff = getWritableOffHeap(bix);
+				if( buff != null ) {
+					for( int i = fromIndex; i < toIndex; i++ )
+						buff.put(i, v);
+					return;
+				}
+				a = materialize(bix);
+			}
+		}
+		Arrays.fill(a, fromIndex, toIndex, v);
+	}
+
+	@Override
+	public void fillRow(int r, double v) {
+		int start = pos(r);
+		fillBlock(index(r), start, start + getDim(1), v);
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		setInternal(index(r), pos(r, c), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int[] ix, double v) {
+		setInternal(index(ix[0]), pos(ix), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int[] ix, long v) {
+		setInternal(index(ix[0]), pos(ix), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int[] ix, String v) {
+		setInternal(index(ix[0]), pos(ix), Double.parseDouble(v));
+		return this;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return getInternal(index(r), pos(r, c));
+	}
+
+	@Override
+	public double get(int[] ix) {
+		return getInternal(index(ix[0]), pos(ix));
+	}
+
+	@Override
+	public String getString(int[] ix) {
+		return String.valueOf(get(ix));
+	}
+
+	@Override
+	public long getLong(int[] ix) {
+		return UtilFunctions.toLong(get(ix));
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		//serialize blocks as arrays without materializing them
+		out.defaultWriteObject();
+		out.writeInt(_buffers.length());
+		for( int bix = 0; bix < _buffers.length(); bix++ ) {
+			double[] tmp = new double[size(bix)];
+			getRange(bix, 0, tmp, tmp.length);
+			out.writeObject(tmp);
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		allocateBlocks(in.readInt());
+		for( int bix = 0; bix < _buffers.length(); bix++ ) {
+			double[] tmp = (double[]) in.readObject();
+			allocateBlock(bix, tmp.length);
+			setRange(bix, 0, tmp, tmp.length);
+		}
+	}
+}
@@ -78,6 +78,11 @@ public class SparseBlockCSC extends SparseBlock {
 		_size = nnz;
 	}
 
+	public SparseBlockCSC(int rlen, int[] colPtr, int[] rowInd, double[] values, int nnz) {
+		this(colPtr, rowInd, values, nnz);
+		_rlen = rlen;
+	}
+
 	public SparseBlockCSC(SparseBlock sblock, int clen) {
 		_clenInferred = clen;
 		_rlen = sblock.numRows();
@@ -116,6 +121,11 @@ public class SparseBlockCSC extends SparseBlock {
 			int valPos = 0;
 			SparseRow columns[] = originalMCSC.getCols();
 			for(SparseRow column : columns) {
+				if(column == null || column.isEmpty()) {
+					_ptr[ptrPos] = _ptr[ptrPos - 1];
+					ptrPos++;
+					continue;
+				}
 				int rowIdx[] = column.indexes();
 				double vals[] = column.values();
 				System.arraycopy(rowIdx, 0, _indexes, valPos, column.size());
@@ -342,7 +352,7 @@ public class SparseBlockCSC extends SparseBlock {
 	 * @return array of row indexes
 	 */
 	public int[] indexes() {
-		return indexes(0);
+		return _indexes;
 	}
 
 	/**
@@ -351,7 +361,7 @@ public class SparseBlockCSC extends SparseBlock {
 	 * @return array of values
 	 */
 	public double[] values() {
-		return values(0);
+		return _values;
 	}
 
 	///////////////////
@@ -382,7 +392,8 @@ public class SparseBlockCSC extends SparseBlock {
 		if(_rlen > -1)
 			return _rlen;
 		else {
-			int rlen = Arrays.stream(_indexes).max().getAsInt();
+			//infer from the largest row index of the actual non-zeros
+			int rlen = (_size > 0) ? Arrays.stream(_indexes, 0, _size).max().getAsInt() + 1 : 0;
 			_rlen = rlen;
 			return rlen;
 		}
@@ -404,7 +415,8 @@ public class SparseBlockCSC extends SparseBlock {
 
 	@Override
 	public boolean isContiguous() {
-		return true;
+		//column-major layout: rows are materialized on access and not contiguous
+		return false;
 	}
 
 	@Override
@@ -97,6 +97,33 @@ public class SparseBlockCSR extends SparseBlock
 			_values = Arrays.copyOf(ocsr._values, ocsr._size);
 			_size = ocsr._size;
 		}
+		//special case SparseBlockCSC (counting sort by row, O(rlen+nnz))
+		else if( sblock instanceof SparseBlockCSC ) {
+			SparseBlockCSC ocsc = (SparseBlockCSC)sblock;
+			int rlen = ocsc.numRows();
+			int clen = ocsc.numCols();
+			int[] cptr = ocsc.colPointers();
+			int[] rix = ocsc.indexes();
+			double[] cvals = ocsc.values();
+
+			_ptr = new int[rlen+1];
+			_indexes = new int[(int)size];
+			_values = new double[(int)size];
+			_size = (int)size;
+
+			for( int k=cptr[0]; k<cptr[clen]; k++ )
+				_ptr[rix[k]+1]++;
+			for( int i=0; i<rlen; i++ )
+				_ptr[i+1] += _ptr[i];
+			int[] pos = Arrays.copyOf(_ptr, rlen);
+			//scan columns in order to obtain sorted column indexes per row
+			for( int j=0; j<clen; j++ )
+				for( int k=cptr[j]; k<cptr[j+1]; k++ ) {
+					int p = pos[rix[k]]++;
+					_indexes[p] = j;
+					_values[p] = cvals[k];
+				}
+		}
 		//general case SparseBlock
 		else {
 			int rlen = sblock.numRows();
@@ -26,6 +26,10 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 public abstract class SparseBlockFactory{
 		protected static final Log LOG = LogFactory.getLog(SparseBlockFactory.class.getName());
 
+	//max fraction of non-empty rows for storing read-mostly blocks in DCSR instead of CSR
+	public static final double DCSR_MAX_NONEMPTY_ROW_RATIO = 0.1;
+	//min number of rows for DCSR, small blocks do not benefit from the row index
+	public static final int DCSR_MIN_ROWS = 1024;
 
 	public static SparseBlock createSparseBlock(int rlen) {
 		return createSparseBlock(MatrixBlock.DEFAULT_SPARSEBLOCK, rlen);
@@ -42,6 +46,15 @@ public abstract class SparseBlockFactory{
 		}
 	}
 	
+	public static SparseBlock createSparseBlock(SparseBlock.Type type, int rlen, int clen) {
+		//column-major blocks require the number of columns
+		switch( type ) {
+			case CSC: return new SparseBlockCSC(rlen, clen);
+			case MCSC: return new SparseBlockMCSC(rlen, clen);
+			default: return createSparseBlock(type, rlen);
+		}
+	}
+	
 	public static SparseBlock createSparseBlock(SparseBlock.Type type, SparseRow row) {
 		SparseBlock ret = createSparseBlock(type, 1);
 		ret.set(0, row, true);
@@ -63,7 +76,16 @@ public abstract class SparseBlockFactory{
 		if( !forceCopy && isSparseBlockType(sblock, type) ){
 			return sblock;
 		}
-		
+
+		//convert column-major blocks via CSR (counting sort) to avoid
+		//materializing individual rows of the column-major block
+		if( isColumnMajor(sblock) && !isColumnMajor(type) ) {
+			SparseBlock csr = new SparseBlockCSR(sblock instanceof SparseBlockCSC ?
+				sblock : new SparseBlockCSC(sblock, clen));
+			return (type == SparseBlock.Type.CSR) ? csr :
+				copySparseBlock(type, csr, false, clen);
+		}
+
 		//create target sparse block
 		switch( type ) {
 			case MCSR: return new SparseBlockMCSR(sblock);
@@ -84,7 +106,90 @@ public abstract class SparseBlockFactory{
 	public static SparseBlock.Type getSparseBlockType(SparseBlock sblock) {
 		return (sblock instanceof SparseBlockMCSR) ? SparseBlock.Type.MCSR :
 			(sblock instanceof SparseBlockCSR) ? SparseBlock.Type.CSR : 
-			(sblock instanceof SparseBlockCOO) ? SparseBlock.Type.COO : null;
+			(sblock instanceof SparseBlockCOO) ? SparseBlock.Type.COO :
+			(sblock instanceof SparseBlockDCSR) ? SparseBlock.Type.DCSR :
+			(sblock instanceof SparseBlockCSC) ? SparseBlock.Type.CSC :
+			(sblock instanceof SparseBlockMCSC) ? SparseBlock.Type.MCSC : null;
+	}
+
+	/**
+	 * Indicates if the given sparse block stores its non-zeros column-major (CSC, MCSC),
+	 * in which case the row-oriented accessors materialize rows on demand.
+	 * 
+	 * @param sblock sparse block
+	 * @return true if column-major sparse block
+	 */
+	public static boolean isColumnMajor(SparseBlock sblock) {
+		return sblock instanceof SparseBlockCSC
+			|| sblock instanceof SparseBlockMCSC;
+	}
+
+	/**
+	 * Indicates if the given sparse block type stores its non-zeros column-major.
+	 * 
+	 * @param type sparse block type
+	 * @return true if column-major sparse block type
+	 */
+	public static boolean isColumnMajor(SparseBlock.Type type) {
+		return type == SparseBlock.Type.CSC
+			|| type == SparseBlock.Type.MCSC;
+	}
+
+	/**
+	 * Obtains a CSC representation of the given sparse block, which is returned as is
+	 * if already in CSC (e.g., for column-oriented kernels on MCSC inputs).
+	 * 
+	 * @param sblock sparse block
+	 * @param clen number of columns
+	 * @return sparse block in CSC
+	 */
+	public static SparseBlockCSC toCSC(SparseBlock sblock, int clen) {
+		return (SparseBlockCSC) copySparseBlock(SparseBlock.Type.CSC, sblock, false, clen);
+	}
+
+	/**
+	 * Counts the number of non-empty rows of the given sparse block.
+	 * 
+	 * @param sblock sparse block
+	 * @param rlen number of rows
+	 * @return number of non-empty rows
+	 */
+	public static int countNonEmptyRows(SparseBlock sblock, int rlen) {
+		if( sblock instanceof SparseBlockCSR ) {
+			int[] ptr = ((SparseBlockCSR)sblock).rowPointers();
+			int cnt = 0;
+			for( int i=0; i<rlen; i++ )
+				cnt += (ptr[i] < ptr[i+1]) ? 1 : 0;
+			return cnt;
+		}
+		int cnt = 0;
+		for( int i=0; i<rlen; i++ )
+			cnt += !sblock.isEmpty(i) ? 1 : 0;
+		return cnt;
+	}
+
+	/**
+	 * Selects the sparse block type for a read-mostly sparse block according to its
+	 * shape and access pattern. Blocks that are mainly accessed by columns are stored in
+	 * CSC, very tall blocks with few non-empty rows in DCSR (which avoids the per-row
+	 * overhead of MCSR and CSR), and all other blocks in CSR.
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param nnz number of non-zeros
+	 * @param nnzRows number of non-empty rows
+	 * @param colAccess true if the block is mainly accessed column-wise
+	 * @return selected sparse block type
+	 */
+	public static SparseBlock.Type selectSparseBlockType(long rlen, long clen, long nnz, long nnzRows, boolean colAccess) {
+		//CSR, DCSR, and CSC are limited to int nnz
+		if( nnz > Integer.MAX_VALUE )
+			return SparseBlock.Type.MCSR;
+		if( colAccess )
+			return SparseBlock.Type.CSC;
+		if( rlen >= DCSR_MIN_ROWS && nnzRows < rlen * DCSR_MAX_NONEMPTY_ROW_RATIO )
+			return SparseBlock.Type.DCSR;
+		return SparseBlock.Type.CSR;
 	}
 
 	public static long estimateSizeSparseInMemory(SparseBlock.Type type, long nrows, long ncols, double sparsity) {
@@ -52,6 +52,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.frame.data.columns.ACompressedArray;
 import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
 import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
@@ -1637,6 +1638,8 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 	}
 
 	public FrameBlock map(FrameMapFunction lambdaExpr, long margin) {
+		if(margin != 1 && margin != 2 && containsCompressed())
+			return mapCellsCompressed(lambdaExpr);
 		// Prepare temporary output array
 		String[][] output = new String[getNumRows()][getNumColumns()];
 
@@ -1673,6 +1676,32 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 		return new FrameBlock(UtilFunctions.nCopies(getNumColumns(), ValueType.STRING), output);
 	}
 
+	private boolean containsCompressed() {
+		for(int j = 0; j < getNumColumns(); j++)
+			if(_coldata[j] instanceof ACompressedArray)
+				return true;
+		return false;
+	}
+
+	private FrameBlock mapCellsCompressed(FrameMapFunction lambdaExpr) {
+		// compressed columns only apply the function to their distinct values.
+		final Array<?>[] out = new Array<?>[getNumColumns()];
+		for(int j = 0; j < getNumColumns(); j++) {
+			final Array<?> input = getColumn(j);
+			if(input instanceof ACompressedArray)
+				out[j] = ((ACompressedArray<?>) input).mapValues(lambdaExpr::apply);
+			else {
+				final String[] col = new String[getNumRows()];
+				for(int i = 0; i < col.length; i++) {
+					final Object v = input.get(i);
+					col[i] = v == null ? null : lambdaExpr.apply(String.valueOf(v));
+				}
+				out[j] = ArrayFactory.create(col);
+			}
+		}
+		return new FrameBlock(out);
+	}
+
 	public FrameBlock mapDist(FrameMapFunction lambdaExpr) {
 		String[][] output = new String[getNumRows()][getNumRows()];
 		for(String[] row : output)
@@ -19,6 +19,8 @@
 
 package org.apache.sysds.runtime.frame.data.columns;
 
+import java.util.function.Function;
+
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.frame.data.compress.ArrayCompressionStatistics;
@@ -94,6 +96,38 @@ public abstract class ACompressedArray<T> extends Array<T> {
 		throw new DMLCompressionException("Invalid to reset compressed array");
 	}
 
+	/**
+	 * Get the dictionary of distinct values of this compressed array.
+	 * 
+	 * @return The dictionary
+	 */
+	public abstract Array<T> getDict();
+
+	/**
+	 * Get a dense dictionary encoded version of this compressed array, sharing the dictionary.
+	 * 
+	 * @return A DDC array containing the same values
+	 */
+	public abstract DDCArray<T> toDDC();
+
+	/**
+	 * Materialize the values of this compressed array into an uncompressed array of the same value type.
+	 * 
+	 * @return An uncompressed array
+	 */
+	public Array<T> decompress() {
+		return toDDC().decompress();
+	}
+
+	/**
+	 * Apply the given function to the string representation of each distinct value, without materializing the rows.
+	 * Null values stay null.
+	 * 
+	 * @param fun The function to apply
+	 * @return A compressed string array of the mapped values
+	 */
+	public abstract ACompressedArray<String> mapValues(Function<String, String> fun);
+
 	@Override
 	public abstract ArrayCompressionStatistics statistics(int nSamples);
 
@@ -36,7 +36,7 @@ public interface ArrayFactory {
 	public final static int bitSetSwitchPoint = 64;
 
 	public enum FrameArrayType {
-		STRING, BOOLEAN, BITSET, INT32, INT64, FP32, FP64, CHARACTER, RAGGED, OPTIONAL, DDC, HASH64, HASH32;
+		STRING, BOOLEAN, BITSET, INT32, INT64, FP32, FP64, CHARACTER, RAGGED, OPTIONAL, DDC, HASH64, HASH32, RLE;
 	}
 
 	public static StringArray create(String[] col) {
@@ -268,6 +268,8 @@ public interface ArrayFactory {
 				return OptionalArray.read(in, nRow);
 			case DDC:
 				return DDCArray.read(in);
+			case RLE:
+				return RLEArray.read(in);
 			case HASH32:
 				return HashIntegerArray.read(in, nRow);
 			case HASH64:
@@ -297,6 +299,10 @@ public interface ArrayFactory {
 		Array<C> ac = (Array<C>) (ta != tc ? a.changeType(tc) : a);
 		Array<C> bc = (Array<C>) (tb != tc ? b.changeType(tc) : b);
 
+		// uncompressed arrays cannot append compressed arrays directly.
+		if(bc instanceof ACompressedArray && !(ac instanceof ACompressedArray))
+			bc = ((ACompressedArray<C>) bc).decompress();
+
 		return ac.append(bc);
 	}
 
@@ -22,8 +22,10 @@ package org.apache.sysds.runtime.frame.data.columns;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -57,6 +59,7 @@ public class DDCArray<T> extends ACompressedArray<T> {
 		}
 	}
 
+	@Override
 	public Array<T> getDict() {
 		return dict;
 	}
@@ -224,9 +227,79 @@ public class DDCArray<T> extends ACompressedArray<T> {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Array<T> append(Array<T> other) {
-		// TODO add append compressed to each other.
-		throw new DMLCompressionException("Currently not supported to append compressed but could be cool");
+		final Array<T> o = other instanceof ACompressedArray ? //
+			((ACompressedArray<T>) other).toDDC() : compressToDDC(other);
+		if(o instanceof DDCArray)
+			return appendDDC((DDCArray<T>) o);
+		else // the appended values do not compress, therefore materialize.
+			return decompress().append(other);
+	}
+
+	private DDCArray<T> appendDDC(DDCArray<T> o) {
+		final int nDict = dict.size();
+		if(dict == o.dict || (nDict == o.dict.size() && dict.equals(o.dict)))
+			return new DDCArray<>(dict, MapToFactory.append(map, o.map, nDict));
+
+		// extend the dictionary with the values of the other dictionary that are not contained already.
+		final HashMapToInt<T> rcd = new HashMapToInt<>(nDict + o.dict.size());
+		for(int i = 0; i < nDict; i++)
+			rcd.putIfAbsentI(dict.getInternal(i), i);
+		final int[] remap = new int[o.dict.size()];
+		final int[] added = new int[o.dict.size()];
+		int nAdded = 0;
+		for(int i = 0; i < remap.length; i++) {
+			final int e = rcd.putIfAbsentI(o.dict.getInternal(i), nDict + nAdded);
+			if(e == -1) {
+				added[nAdded] = i;
+				remap[i] = nDict + nAdded++;
+			}
+			else
+				remap[i] = e;
+		}
+		final Array<T> d = nAdded == 0 ? dict : ArrayFactory.append(dict, o.dict.select(Arrays.copyOf(added, nAdded)));
+
+		final int no = o.size();
+		final AMapToData om = MapToFactory.create(no, d.size());
+		for(int i = 0; i < no; i++)
+			om.set(i, remap[o.map.getIndex(i)]);
+		return new DDCArray<>(d, MapToFactory.append(map, om, d.size()));
+	}
+
+	@Override
+	public DDCArray<T> toDDC() {
+		return this;
+	}
+
+	@Override
+	public Array<T> decompress() {
+		final int[] idx = new int[size()];
+		for(int i = 0; i < idx.length; i++)
+			idx[i] = map.getIndex(i);
+		return dict.select(idx);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public DDCArray<String> mapValues(Function<String, String> fun) {
+		final int nDict = dict.size();
+		final HashMapToInt<String> rcd = new HashMapToInt<>(nDict);
+		final int[] remap = new int[nDict];
+		int id = 0;
+		for(int i = 0; i < nDict; i++) {
+			final T v = dict.get(i);
+			final int e = rcd.putIfAbsentI(v == null ? null : fun.apply(String.valueOf(v)), id);
+			remap[i] = e == -1 ? id++ : e;
+		}
+		final Array<String> d = (Array<String>) rcd.inverse(ValueType.STRING);
+		if(id == nDict) // all mapped values are distinct, and in the same order.
+			return new DDCArray<>(d, map);
+
+		final AMapToData m = MapToFactory.create(size(), id);
+		for(int i = 0; i < size(); i++)
+			m.set(i, remap[map.getIndex(i)]);
+		return new DDCArray<>(d, m);
 	}
 
 	@Override
@@ -285,11 +358,15 @@ public class DDCArray<T> extends ACompressedArray<T> {
 
 	@Override
 	public Array<?> changeType(ValueType t) {
+		if(t == getValueType())
+			return this;
 		return new DDCArray<>(dict.changeType(t), map);
 	}
 
 	@Override
 	public Array<?> changeTypeWithNulls(ValueType t) {
+		if(t == getValueType())
+			return this;
 		Array<?> d2 = dict.changeTypeWithNulls(t);
 		return new DDCArray<>(d2, map);
 	}
@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.frame.data.columns;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory.FrameArrayType;
+import org.apache.sysds.runtime.frame.data.compress.ArrayCompressionStatistics;
+import org.apache.sysds.runtime.matrix.data.Pair;
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * A run length encoded version of a column array, for sorted or clustered columns where consecutive rows contain the
+ * same value.
+ */
+public class RLEArray<T> extends ACompressedArray<T> {
+
+	/** The unique values contained */
+	private final Array<T> dict;
+	/** The exclusive end row of each run, strictly increasing, the last run ends at the size of the array */
+	private final int[] ends;
+	/** The dictionary index of each run */
+	private final AMapToData runs;
+	/** The run of the last access, to avoid searching the runs on sequential access (racy but always validated) */
+	private int lastRun = 0;
+
+	public RLEArray(Array<T> dict, int[] ends, AMapToData runs) {
+		super(ends.length == 0 ? 0 : ends[ends.length - 1]);
+		this.dict = dict;
+		this.ends = ends;
+		this.runs = runs;
+	}
+
+	@Override
+	public Array<T> getDict() {
+		return dict;
+	}
+
+	/**
+	 * Get the exclusive end row of each run.
+	 *
+	 * @return The run ends
+	 */
+	public int[] getEnds() {
+		return ends;
+	}
+
+	/**
+	 * Get the dictionary index of each run.
+	 *
+	 * @return The mapping from runs to the dictionary
+	 */
+	public AMapToData getRuns() {
+		return runs;
+	}
+
+	/**
+	 * Get the number of runs.
+	 *
+	 * @return The number of runs
+	 */
+	public int getNumRuns() {
+		return ends.length;
+	}
+
+	/**
+	 * Try to run length encode a DDC array, if the runs are smaller in memory than the mapping of the DDC array.
+	 *
+	 * @param <T> The type of the Array
+	 * @param arr The array to try to compress
+	 * @return Either the run length encoded version or the original.
+	 */
+	public static <T> ACompressedArray<T> compressToRLE(DDCArray<T> arr) {
+		final AMapToData map = arr.getMap();
+		final int s = map.size();
+		if(s <= 10 || arr.getDict() == null)
+			return arr;
+		final int nRuns = countRuns(map);
+		final int nDict = arr.getDict().size();
+		if(estimateInMemorySize(nRuns, nDict) >= map.getInMemorySize())
+			return arr;
+
+		final int[] ends = new int[nRuns];
+		final AMapToData runs = MapToFactory.create(nRuns, nDict);
+		int r = 0;
+		int prev = map.getIndex(0);
+		for(int i = 1; i < s; i++) {
+			final int v = map.getIndex(i);
+			if(v != prev) {
+				runs.set(r, prev);
+				ends[r++] = i;
+				prev = v;
+			}
+		}
+		runs.set(r, prev);
+		ends[r] = s;
+		return new RLEArray<>(arr.getDict(), ends, runs);
+	}
+
+	private static int countRuns(AMapToData map) {
+		int nRuns = 1;
+		int prev = map.getIndex(0);
+		for(int i = 1; i < map.size(); i++) {
+			final int v = map.getIndex(i);
+			if(v != prev) {
+				nRuns++;
+				prev = v;
+			}
+		}
+		return nRuns;
+	}
+
+	/**
+	 * Get the run containing the given row. Sequential accesses are served from the run of the previous access, or the
+	 * following run, while other accesses search the runs.
+	 *
+	 * @param i The row index
+	 * @return The run index
+	 */
+	private int findRun(int i) {
+		final int h = lastRun;
+		if(h < ends.length && i < ends[h]) {
+			if(i >= runStart(h))
+				return h;
+		}
+		else if(h + 1 < ends.length && i < ends[h + 1] && i >= ends[h]) {
+			lastRun = h + 1;
+			return h + 1;
+		}
+		final int b = Arrays.binarySearch(ends, i);
+		// if i is the end of a run it is the first row of the next run.
+		final int r = b >= 0 ? b + 1 : -b - 1;
+		if(r < ends.length)
+			lastRun = r;
+		return r;
+	}
+
+	private int runStart(int r) {
+		return r == 0 ? 0 : ends[r - 1];
+	}
+
+	@Override
+	protected HashMapToInt<T> createRecodeMap(int estimate, ExecutorService pool, int k)
+		throws InterruptedException, ExecutionException {
+		return dict.createRecodeMap(estimate, pool, k);
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(FrameArrayType.RLE.ordinal());
+		out.writeInt(ends.length);
+		for(int i = 0; i < ends.length; i++)
+			out.writeInt(ends[i]);
+		runs.write(out);
+		dict.write(out);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		throw new DMLRuntimeException("Should not be called");
+	}
+
+	public static RLEArray<?> read(DataInput in) throws IOException {
+		final int nRuns = in.readInt();
+		final int[] ends = new int[nRuns];
+		for(int i = 0; i < nRuns; i++)
+			ends[i] = in.readInt();
+		final AMapToData runs = MapToFactory.readIn(in);
+		return new RLEArray<>(ArrayFactory.read(in, runs.getUnique()), ends, runs);
+	}
+
+	@Override
+	public T get(int index) {
+		return dict.get(runs.getIndex(findRun(index)));
+	}
+
+	@Override
+	public T getInternal(int index) {
+		return dict.getInternal(runs.getIndex(findRun(index)));
+	}
+
+	@Override
+	public double[] extractDouble(double[] ret, int rl, int ru) {
+		if(rl >= ru)
+			return ret;
+		// fill run by run.
+		for(int r = findRun(rl), i = rl; i < ru; r++) {
+			final int e = Math.min(ends[r], ru);
+			final double v = dict.getAsDouble(runs.getIndex(r));
+			Arrays.fill(ret, i - rl, e - rl, v);
+			i = e;
+		}
+		return ret;
+	}
+
+	@Override
+	public double getAsDouble(int i) {
+		return dict.getAsDouble(runs.getIndex(findRun(i)));
+	}
+
+	@Override
+	public double getAsNaNDouble(int i) {
+		return dict.getAsNaNDouble(runs.getIndex(findRun(i)));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Array<T> append(Array<T> other) {
+		if(other instanceof RLEArray && (dict == ((RLEArray<T>) other).dict || //
+			dict.equals(((RLEArray<T>) other).dict)))
+			return appendRLE((RLEArray<T>) other);
+		final Array<T> ret = toDDC().append(other);
+		return ret instanceof DDCArray ? compressToRLE((DDCArray<T>) ret) : ret;
+	}
+
+	private RLEArray<T> appendRLE(RLEArray<T> o) {
+		if(o.size() == 0)
+			return this;
+		// merge the last run with the first run of the other array if they contain the same value.
+		final int s = size();
+		final boolean merge = ends.length > 0 && runs.getIndex(ends.length - 1) == o.runs.getIndex(0);
+		final int off = merge ? 1 : 0;
+		final int nRuns = ends.length + o.ends.length - off;
+		final int[] newEnds = Arrays.copyOf(ends, nRuns);
+		for(int i = off; i < o.ends.length; i++)
+			newEnds[ends.length + i - off] = o.ends[i] + s;
+		if(merge)
+			newEnds[ends.length - 1] = o.ends[0] + s;
+		final AMapToData oRuns = merge ? o.runs.slice(1, o.ends.length) : o.runs;
+		return new RLEArray<>(dict, newEnds, MapToFactory.append(runs, oRuns, dict.size()));
+	}
+
+	@Override
+	public Array<T> slice(int rl, int ru) {
+		if(rl >= ru)
+			return new RLEArray<>(dict, new int[0], MapToFactory.create(0, dict.size()));
+		final int s = findRun(rl);
+		final int e = findRun(ru - 1) + 1;
+		final int[] newEnds = new int[e - s];
+		for(int r = s; r < e; r++)
+			newEnds[r - s] = Math.min(ends[r], ru) - rl;
+		// the slice shares the dictionary.
+		return new RLEArray<>(dict, newEnds, runs.slice(s, e));
+	}
+
+	@Override
+	public DDCArray<T> toDDC() {
+		final AMapToData map = MapToFactory.create(size(), dict.size());
+		for(int r = 0; r < ends.length; r++) {
+			final int v = runs.getIndex(r);
+			for(int i = runStart(r); i < ends[r]; i++)
+				map.set(i, v);
+		}
+		return new DDCArray<>(dict, map);
+	}
+
+	@Override
+	public RLEArray<String> mapValues(Function<String, String> fun) {
+		final DDCArray<String> mapped = new DDCArray<>(dict, runs).mapValues(fun);
+		return new RLEArray<>(mapped.getDict(), ends, mapped.getMap());
+	}
+
+	@Override
+	public byte[] getAsByteArray() {
+		return decompress().getAsByteArray();
+	}
+
+	@Override
+	public ValueType getValueType() {
+		return dict.getValueType();
+	}
+
+	@Override
+	public Pair<ValueType, Boolean> analyzeValueType(int maxCells) {
+		return dict.analyzeValueType(maxCells);
+	}
+
+	@Override
+	public void set(int rl, int ru, Array<T> value, int rlSrc) {
+		throw new DMLCompressionException("Invalid to set value in CompressedArray");
+	}
+
+	@Override
+	public FrameArrayType getFrameArrayType() {
+		return FrameArrayType.RLE;
+	}
+
+	@Override
+	public long getExactSerializedSize() {
+		return 1L + 4L + 4L * ends.length + runs.getExactSizeOnDisk() + dict.getExactSerializedSize();
+	}
+
+	@Override
+	public Array<?> changeType(ValueType t) {
+		if(t == getValueType())
+			return this;
+		return new RLEArray<>(dict.changeType(t), ends, runs);
+	}
+
+	@Override
+	public Array<?> changeTypeWithNulls(ValueType t) {
+		if(t == getValueType())
+			return this;
+		return new RLEArray<>(dict.changeTypeWithNulls(t), ends, runs);
+	}
+
+	@Override
+	public boolean isShallowSerialize() {
+		return true;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@Override
+	public Array<T> select(int[] indices) {
+		final int[] newSelect = new int[indices.length];
+		for(int i = 0; i < newSelect.length; i++)
+			newSelect[i] = runs.getIndex(findRun(indices[i]));
+		return dict.select(newSelect);
+	}
+
+	@Override
+	public Array<T> select(boolean[] select, int nTrue) {
+		return toDDC().select(select, nTrue);
+	}
+
+	@Override
+	public boolean isNotEmpty(int i) {
+		return dict.isNotEmpty(runs.getIndex(findRun(i)));
+	}
+
+	@Override
+	public Array<T> clone() {
+		// Since the compressed formats are immutable, it is allowed to return the same.
+		return new RLEArray<>(dict, ends, runs);
+	}
+
+	@Override
+	public double hashDouble(int idx) {
+		return dict.hashDouble(runs.getIndex(findRun(idx)));
+	}
+
+	@Override
+	public long getInMemorySize() {
+		return super.getInMemorySize() + //
+			dict.getInMemorySize() + //
+			(long) MemoryEstimates.intArrayCost(ends.length) + //
+			runs.getInMemorySize();
+	}
+
+	/**
+	 * Estimate the size in memory of the runs, excluding the dictionary.
+	 *
+	 * @param nRuns The number of runs
+	 * @param nDict The number of distinct values
+	 * @return The estimated size in bytes
+	 */
+	public static long estimateInMemorySize(int nRuns, int nDict) {
+		return (long) MemoryEstimates.intArrayCost(nRuns) + MapToFactory.estimateInMemorySize(nRuns, nDict);
+	}
+
+	@Override
+	public boolean containsNull() {
+		return dict.containsNull();
+	}
+
+	@Override
+	public boolean equals(Array<T> other) {
+		if(other instanceof RLEArray) {
+			RLEArray<T> ot = (RLEArray<T>) other;
+			return dict.equals(ot.dict) // equivalent dictionaries
+				&& Arrays.equals(ends, ot.ends) // equivalent runs
+				&& runs.equals(ot.runs);
+		}
+		else
+			return false;
+	}
+
+	@Override
+	public boolean possiblyContainsNaN() {
+		return dict.possiblyContainsNaN();
+	}
+
+	@Override
+	public double[] minMax(int l, int u) {
+		// only consider the values of the runs overlapping the range.
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		if(l < u) {
+			for(int r = findRun(l); r < ends.length && runStart(r) < u; r++) {
+				final double v = dict.getAsDouble(runs.getIndex(r));
+				if(!Double.isNaN(v)) {
+					min = Math.min(min, v);
+					max = Math.max(max, v);
+				}
+			}
+		}
+		return new double[] {min, max};
+	}
+
+	@Override
+	public ArrayCompressionStatistics statistics(int nSamples) {
+		final long memSize = getInMemorySize();
+		final int memSizePerElement = estMemSizePerElement(getValueType(), memSize);
+
+		return new ArrayCompressionStatistics(memSizePerElement, //
+			dict.size(), false, getValueType(), false, FrameArrayType.RLE, memSize, memSize, true);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("\n%15s", "Values: "));
+		sb.append(dict);
+		sb.append(String.format("\n%15s", "Ends: "));
+		sb.append(Arrays.toString(ends));
+		sb.append(String.format("\n%15s", "Runs: "));
+		sb.append(runs);
+		return sb.toString();
+	}
+}
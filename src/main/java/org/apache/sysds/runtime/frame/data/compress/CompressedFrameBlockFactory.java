@@ -35,6 +35,7 @@ import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory.FrameArrayType;
 import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.frame.data.columns.RLEArray;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.utils.stats.Timing;
@@ -207,8 +208,11 @@ public class CompressedFrameBlockFactory {
 	private Array<?> compressColFinally(int i, final Array<?> a, final ArrayCompressionStatistics s) {
 		Timing time = LOG.isDebugEnabled() ? new Timing(true) : null;
 		if(s.bestType != null && s.shouldCompress) {
-			if(s.bestType == FrameArrayType.DDC)
-				compressedColumns[i] = DDCArray.compressToDDC(a, s.sampledAllRows ? s.nUnique : Integer.MAX_VALUE);
+			if(s.bestType == FrameArrayType.DDC) {
+				final Array<?> c = DDCArray.compressToDDC(a, s.sampledAllRows ? s.nUnique : Integer.MAX_VALUE);
+				// sorted or clustered columns are further run length encoded.
+				compressedColumns[i] = c instanceof DDCArray ? RLEArray.compressToRLE((DDCArray<?>) c) : c;
+			}
 			else
 				throw new RuntimeException("Unsupported frame compression encoding : " + s.bestType);
 		}
@@ -24,6 +24,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
@@ -107,9 +108,13 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction {
 		MatrixBlock ret;
 
 		// TODO: Use rewrite rule here t(x) %*% y -> t(t(y) %*% x)
+		// sparse row-major inputs are consumed as zero-copy column-major transpose, which
+		// shares the input arrays and hence is released after the matrix multiplication
+		final boolean viewLeft = transposeLeft && matBlock1.isInSparseFormat();
 		if(transposeLeft) {
-			matBlock1 = LibMatrixReorg.transpose(matBlock1, ab_op.getNumThreads());
-			ec.releaseMatrixInput(input1.getName());
+			matBlock1 = LibMatrixMult.prepMatrixMultTransposeLeftInput(matBlock1, ab_op.getNumThreads());
+			if(!viewLeft)
+				ec.releaseMatrixInput(input1.getName());
 		}
 		if(transposeRight) {
 			matBlock2 = LibMatrixReorg.transpose(matBlock2, ab_op.getNumThreads());
@@ -118,7 +123,7 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction {
 
 		ret = matBlock1.aggregateBinaryOperations(matBlock1, matBlock2, new MatrixBlock(), ab_op);
 
-		if(!transposeLeft)
+		if(!transposeLeft || viewLeft)
 			ec.releaseMatrixInput(input1.getName());
 		if(!transposeRight)
 			ec.releaseMatrixInput(input2.getName());
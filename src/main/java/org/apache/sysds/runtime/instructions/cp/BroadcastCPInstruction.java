@@ -41,6 +41,6 @@ public class BroadcastCPInstruction extends UnaryCPInstruction {
 	@Override
 	public void processInstruction(ExecutionContext ec) {
 		ec.setVariable(output.getName(), ec.getMatrixObject(input1));
-		CommonThreadPool.getDynamicPool().submit(new TriggerBroadcastTask(ec, ec.getMatrixObject(output)));
+		CommonThreadPool.getIOPool().submit(new TriggerBroadcastTask(ec, ec.getMatrixObject(output)));
 	}
 }
@@ -53,6 +53,6 @@ public class PrefetchCPInstruction extends UnaryCPInstruction {
 		// In that case this Prefetch instruction will act like a NOOP. 
 		// Saving the lineage item inside the matrix object will replace the pre-attached
 		// lineage item (e.g. mapmm). Hence, passing separately.
-		CommonThreadPool.getDynamicPool().submit(new TriggerPrefetchTask(ec.getMatrixObject(output), li));
+		CommonThreadPool.getIOPool().submit(new TriggerPrefetchTask(ec.getMatrixObject(output), li));
 	}
 }
@@ -84,7 +84,7 @@ public class CheckpointSPInstruction extends UnarySPInstruction {
 			// TODO: Synchronize. Avoid double execution
 			ec.setVariable(output.getName(), ec.getCacheableData(input1));
 
-			CommonThreadPool.getDynamicPool().submit(new TriggerCheckpointTask(ec.getMatrixObject(output)));
+			CommonThreadPool.getIOPool().submit(new TriggerCheckpointTask(ec.getMatrixObject(output)));
 			return;
 		}
 
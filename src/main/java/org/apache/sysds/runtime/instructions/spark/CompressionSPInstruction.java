@@ -19,19 +19,34 @@
 
 package org.apache.sysds.runtime.instructions.spark;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
+import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.storage.RDDInfo;
 import org.apache.spark.storage.StorageLevel;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.SingletonLookupHashMap;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.scheme.CompressionScheme;
 import org.apache.sysds.runtime.compress.cost.CostEstimatorBuilder;
 import org.apache.sysds.runtime.compress.cost.CostEstimatorFactory.CostType;
+import org.apache.sysds.runtime.compress.lib.CLALibScheme;
 import org.apache.sysds.runtime.compress.workload.WTreeRoot;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
@@ -41,9 +56,11 @@ import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibCompress;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.spark.data.LazyIterableIterator;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.utils.Statistics;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
@@ -52,6 +69,9 @@ import scala.Tuple2;
 public class CompressionSPInstruction extends UnarySPInstruction {
 	private static final Log LOG = LogFactory.getLog(CompressionSPInstruction.class.getName());
 
+	/** The number of row blocks sampled on the driver to derive a shared compression scheme */
+	public static int SCHEME_SAMPLE_BLOCKS = 4;
+
 	private final int _singletonLookupID;
 
 	private CompressionSPInstruction(Operator op, CPOperand in, CPOperand out, String opcode, String istr,
@@ -100,6 +120,10 @@ public class CompressionSPInstruction extends UnarySPInstruction {
 		// get input rdd handle
 		JavaPairRDD<MatrixIndexes, MatrixBlock> in = sec.getBinaryMatrixBlockRDDHandleForVariable(input1.getName());
 
+		// derive a shared compression scheme on the driver if enabled
+		final Broadcast<MatrixBlock[]> schemes = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.COMPRESSED_SPARK_SCHEME) ? broadcastSchemes(sec, in) : null;
+
 		// construct the compression mapping function
 		Function<MatrixBlock, MatrixBlock> mappingFunction;
 		if(_singletonLookupID == 0)
@@ -110,8 +134,10 @@ public class CompressionSPInstruction extends UnarySPInstruction {
 			mappingFunction = new CompressionWorkloadFunction(costBuilder);
 		}
 
-		// execute compression
-		JavaPairRDD<MatrixIndexes, MatrixBlock> out = in.mapValues(mappingFunction);
+		// execute compression (preserving the partitioning, since the keys are unchanged)
+		JavaPairRDD<MatrixIndexes, MatrixBlock> out = schemes != null ? //
+			in.mapPartitionsToPair(new CompressionSchemeFunction(schemes, mappingFunction), true) : //
+			in.mapValues(mappingFunction);
 		if(LOG.isTraceEnabled()) {
 			in.persist(StorageLevel.MEMORY_AND_DISK());
 			out.persist(StorageLevel.MEMORY_AND_DISK());
@@ -139,6 +165,157 @@ public class CompressionSPInstruction extends UnarySPInstruction {
 		sec.addLineageRDD(input1.getName(), output.getName());
 	}
 
+	/**
+	 * Derive one compression scheme per column block from a sample of row blocks, and broadcast the schemes in form
+	 * of the compressed samples. Encoding all blocks with the same scheme makes the blocks share their dictionaries.
+	 * 
+	 * @param sec The spark execution context
+	 * @param in  The input rdd
+	 * @return The broadcast compressed samples, indexed by column block, or null if no scheme could be derived
+	 */
+	private Broadcast<MatrixBlock[]> broadcastSchemes(SparkExecutionContext sec,
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in) {
+		final DataCharacteristics mc = sec.getDataCharacteristics(input1.getName());
+		if(!mc.dimsKnown() || mc.getNumColBlocks() > Integer.MAX_VALUE)
+			return null;
+		final long nrb = mc.getNumRowBlocks();
+		final int ncb = (int) mc.getNumColBlocks();
+
+		// sample evenly spaced row blocks
+		final int nSample = (int) Math.min(nrb, SCHEME_SAMPLE_BLOCKS);
+		final Set<Long> rows = new HashSet<>();
+		for(int i = 0; i < nSample; i++)
+			rows.add(1 + i * nrb / nSample);
+		final List<Tuple2<MatrixIndexes, MatrixBlock>> sample = in.filter(new SampleFunction(rows)).collect();
+
+		final MatrixBlock[] schemes = new MatrixBlock[ncb];
+		boolean any = false;
+		for(int c = 0; c < ncb; c++) {
+			final List<Tuple2<MatrixIndexes, MatrixBlock>> col = new ArrayList<>(nSample);
+			for(Tuple2<MatrixIndexes, MatrixBlock> e : sample)
+				if(e._1().getColumnIndex() == c + 1)
+					col.add(e);
+			col.sort((a, b) -> Long.compare(a._1().getRowIndex(), b._1().getRowIndex()));
+			final MatrixBlock[] mbs = new MatrixBlock[col.size()];
+			for(int i = 0; i < mbs.length; i++)
+				mbs[i] = col.get(i)._2();
+			schemes[c] = deriveScheme(mbs);
+			any |= schemes[c] != null;
+		}
+
+		if(!any) {
+			LOG.debug("No compression scheme derived from sample, compressing blocks independently");
+			return null;
+		}
+		return sec.getSparkContext().broadcast(schemes);
+	}
+
+	/**
+	 * Derive the compression scheme of a column block from the given sampled row blocks, in form of the compressed
+	 * concatenation of the blocks.
+	 * 
+	 * @param blocks The sampled row blocks of one column block, in row order
+	 * @return The compressed sample, or null if no scheme could be derived
+	 */
+	public static MatrixBlock deriveScheme(MatrixBlock[] blocks) {
+		if(blocks.length == 0)
+			return null;
+		final MatrixBlock[] mbs = new MatrixBlock[blocks.length];
+		for(int i = 0; i < mbs.length; i++) {
+			final MatrixBlock mb = blocks[i];
+			mbs[i] = mb instanceof CompressedMatrixBlock ? ((CompressedMatrixBlock) mb).getUncompressed() : mb;
+		}
+		final MatrixBlock sample = mbs.length == 1 ? mbs[0] : mbs[0]
+			.append(Arrays.copyOfRange(mbs, 1, mbs.length), null, false);
+		try {
+			// restrict to encodings with schemes that extend their dictionaries on new values
+			final CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setIsInSparkInstruction()
+				.setCostType(CostType.MEMORY).clearValidCompression().addValidCompression(CompressionType.DDC)
+				.addValidCompression(CompressionType.SDC);
+			final MatrixBlock c = CompressedMatrixBlockFactory
+				.compress(sample, InfrastructureAnalyzer.getLocalParallelism(), csb).getLeft();
+			if(!(c instanceof CompressedMatrixBlock) || ((CompressedMatrixBlock) c).isOverlapping())
+				return null;
+			final CompressedMatrixBlock cmb = (CompressedMatrixBlock) c;
+			final CompressionScheme scheme = CLALibScheme.getScheme(cmb);
+			for(int i = 0; i < cmb.getColGroups().size(); i++)
+				if(scheme.get(i) == null)
+					return null;
+			return cmb;
+		}
+		catch(Exception e) {
+			LOG.debug("Failed to derive compression scheme from sample", e);
+			return null;
+		}
+	}
+
+	private static class SampleFunction implements Function<Tuple2<MatrixIndexes, MatrixBlock>, Boolean> {
+		private static final long serialVersionUID = 3470961874320395183L;
+
+		private final Set<Long> _rows;
+
+		public SampleFunction(Set<Long> rows) {
+			_rows = rows;
+		}
+
+		@Override
+		public Boolean call(Tuple2<MatrixIndexes, MatrixBlock> arg0) throws Exception {
+			return _rows.contains(arg0._1().getRowIndex());
+		}
+	}
+
+	/**
+	 * Encode each block with the broadcast compression scheme of its column block. Values not contained in the scheme
+	 * extend the dictionaries of the block, while blocks only containing known values share the broadcast dictionaries.
+	 * Blocks without a scheme are compressed independently with the fallback function, and so are blocks the scheme
+	 * does not support, which is logged as a warning. Each block is encoded single-threaded, since Spark already
+	 * runs one task per executor core. Note that shared dictionaries are only shared in memory, and serialized with
+	 * every block on shuffle or persist.
+	 */
+	public static class CompressionSchemeFunction
+		implements PairFlatMapFunction<Iterator<Tuple2<MatrixIndexes, MatrixBlock>>, MatrixIndexes, MatrixBlock> {
+		private static final long serialVersionUID = -2795283402931856227L;
+
+		private final Broadcast<MatrixBlock[]> _schemes;
+		private final Function<MatrixBlock, MatrixBlock> _fallback;
+
+		public CompressionSchemeFunction(Broadcast<MatrixBlock[]> schemes, Function<MatrixBlock, MatrixBlock> fallback) {
+			_schemes = schemes;
+			_fallback = fallback;
+		}
+
+		@Override
+		public LazyIterableIterator<Tuple2<MatrixIndexes, MatrixBlock>> call(
+			Iterator<Tuple2<MatrixIndexes, MatrixBlock>> arg0) {
+			return new CompressionSchemeIterator(arg0);
+		}
+
+		private class CompressionSchemeIterator extends LazyIterableIterator<Tuple2<MatrixIndexes, MatrixBlock>> {
+			public CompressionSchemeIterator(Iterator<Tuple2<MatrixIndexes, MatrixBlock>> in) {
+				super(in);
+			}
+
+			@Override
+			protected Tuple2<MatrixIndexes, MatrixBlock> computeNext(Tuple2<MatrixIndexes, MatrixBlock> arg)
+				throws Exception {
+				final MatrixBlock in = arg._2();
+				final MatrixBlock s = _schemes.value()[(int) arg._1().getColumnIndex() - 1];
+				MatrixBlock ret = null;
+				if(s != null && !(in instanceof CompressedMatrixBlock)) {
+					try {
+						// extract a new scheme for each block, since encoding updates the scheme
+						final CompressionScheme scheme = CLALibScheme.getScheme((CompressedMatrixBlock) s);
+						ret = scheme.updateAndEncode(in, 1);
+					}
+					catch(DMLCompressionException | NotImplementedException e) {
+						LOG.warn("Failed encoding block " + arg._1() + " with shared scheme, compressing independently", e);
+					}
+				}
+				return new Tuple2<>(arg._1(), ret != null ? ret : _fallback.call(in));
+			}
+		}
+	}
+
 	public static class CompressionFunction implements Function<MatrixBlock, MatrixBlock> {
 		private static final long serialVersionUID = -6528833083609423922L;
 
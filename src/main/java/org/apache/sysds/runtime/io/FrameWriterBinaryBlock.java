@@ -34,6 +34,7 @@ import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayWrapper;
 import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.frame.data.columns.RLEArray;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.util.HDFSTool;
 
@@ -79,6 +80,9 @@ public class FrameWriterBinaryBlock extends FrameWriter {
 		boolean modified = false;
 		for(int i = 0; i < src.getNumColumns(); i++){
 			Array<?> a = src.getColumn(i);
+			// run length encoded columns are written as DDC blocks, sharing the same dictionary
+			if(a instanceof RLEArray)
+				a = ((RLEArray<?>)a).toDDC();
 			if(a instanceof DDCArray){
 				DDCArray<?> d = (DDCArray<?>)a;
 				dicts.add(new Pair<>(i, d.getDict()));
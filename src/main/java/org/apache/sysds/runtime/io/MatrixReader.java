@@ -33,6 +33,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.SparseBlock;
@@ -54,6 +55,11 @@ public abstract class MatrixReader
 	//internal configuration
 	protected static final boolean AGGREGATE_BLOCK_NNZ = true;
 	protected static final boolean RETURN_EMPTY_NNZ0 = true;
+
+	/** Force compression while reading, in the readers that support streaming compression */
+	public static boolean FORCE_STREAM_COMPRESS = false;
+	/** Compress while reading if compression is enabled and the input exceeds this fraction of the memory budget */
+	public static final double STREAM_COMPRESS_MEM_FRACTION = 0.5;
 	
 	public abstract MatrixBlock readMatrixFromHDFS( String fname, long rlen, long clen, int blen, long estnnz )
 		throws IOException, DMLRuntimeException;
@@ -111,6 +117,26 @@ public abstract class MatrixReader
 		return ret;
 	}
 
+	/**
+	 * Get if the matrix should be compressed while reading, instead of materializing the uncompressed matrix.
+	 * 
+	 * @param rlen   number of rows
+	 * @param clen   number of columns
+	 * @param estnnz estimated number of non-zeros
+	 * @return if streaming compression should be used
+	 */
+	protected static boolean isStreamCompress(long rlen, long clen, long estnnz) {
+		if(rlen <= 0 || clen <= 0 || !OptimizerUtils.isValidCPDimensions(rlen, clen))
+			return false;
+		else if(FORCE_STREAM_COMPRESS)
+			return true;
+		else if(!ConfigurationManager.isCompressionEnabled())
+			return false;
+		final double sp = estnnz < 0 ? 1.0 : OptimizerUtils.getSparsity(rlen, clen, estnnz);
+		return MatrixBlock.estimateSizeInMemory(rlen, clen, sp) > //
+			OptimizerUtils.getLocalMemBudget() * STREAM_COMPRESS_MEM_FRACTION;
+	}
+
 	protected static void checkValidInputFile(FileSystem fs, Path path) 
 		throws IOException
 	{
@@ -34,6 +34,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.StreamCompressor;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -60,9 +61,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -71,6 +69,16 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
 		
+		//compress blocks while reading, without allocating the uncompressed output
+		if( isStreamCompress(rlen, clen, estnnz) ) {
+			StreamCompressor comp = new StreamCompressor((int)rlen, (int)clen, blen, estnnz, _numThreads);
+			readBinaryBlockMatrixFromHDFS(path, job, fs, comp, rlen, clen, blen);
+			return comp.finish();
+		}
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+		
 		//core read
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 		long numBlocks = (long)Math.ceil((double)rlen / blen);
@@ -125,11 +133,40 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		}
 	}
 
+	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, StreamCompressor comp,
+			long rlen, long clen, int blen )
+		throws IOException, DMLRuntimeException
+	{
+		//set up preferred custom serialization framework for binary block format
+		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			HDFSTool.addBinaryBlockSerializationFramework( job );
+		
+		final ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			//create read tasks for all files, appending the blocks to the stream compressor
+			ArrayList<ReadFileTask> tasks = new ArrayList<>();
+			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+				tasks.add(new ReadFileTask(lpath, job, comp, rlen, clen, blen));
+			
+			//wait until all tasks have been executed
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel compressed read of binary block input.", e);
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
 	private static class ReadFileTask implements Callable<Object> 
 	{
 		private final Path _path;
 		private final JobConf _job;
 		private final MatrixBlock _dest;
+		private final StreamCompressor _comp;
 		private final long _rlen, _clen;
 		private final int _blen;
 		private final boolean _syncBlocks;
@@ -138,16 +175,28 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			_path = path;
 			_job = job;
 			_dest = dest;
+			_comp = null;
 			_rlen = rlen;
 			_clen = clen;
 			_blen = blen;
 			_syncBlocks = syncBlocks;
 		}
+		
+		public ReadFileTask(Path path, JobConf job, StreamCompressor comp, long rlen, long clen, int blen) {
+			_path = path;
+			_job = job;
+			_dest = null;
+			_comp = comp;
+			_rlen = rlen;
+			_clen = clen;
+			_blen = blen;
+			_syncBlocks = false;
+		}
 
 		@Override
 		public Object call() throws Exception 
 		{
-			boolean sparse = _dest.isInSparseFormat();
+			boolean sparse = _dest != null && _dest.isInSparseFormat();
 			MatrixIndexes key = new MatrixIndexes(); 
 			MatrixBlock value = getReuseBlock(_blen, sparse);
 			long lnnz = 0; //aggregate block nnz
@@ -179,7 +228,11 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 					}
 			
 					//copy block to result
-					if( sparse )
+					if( _comp != null ) {
+						//note: the value block is reused for the next block, and retained by the compressor
+						_comp.append(new MatrixBlock(value), row_offset, col_offset);
+					}
+					else if( sparse )
 					{
 						//note: append requires final sort
 						if (cols < _clen ) {
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -40,6 +41,7 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.StreamCompressor;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseRow;
@@ -92,17 +94,30 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
+		// allocate output matrix block, unless it is compressed while reading (known dimensions)
 		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz);
+		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz,
+			!isStreamCompress(rlen, clen, estnnz));
 		
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, ret);
-		
-		// post-processing (representation-specific, change of sparse/dense block representation)
-		// - no sorting required for CSV because it is read in sorted order per row
-		// - nnz explicitly maintained in parallel for the individual splits
-		ret.examSparsity();
+		if(isStreamCompress(_rLen, _cLen, estnnz)) {
+			// Second Read Pass (read, parse strings, encode row blocks into compressed column groups)
+			_bLen = blen > 0 ? blen : ConfigurationManager.getBlocksize();
+			StreamCompressor comp = new StreamCompressor(_rLen, _cLen, _bLen, estnnz, _numThreads);
+			readCSVMatrixFromHDFS(splits, path, comp);
+			ret = comp.finish();
+		}
+		else {
+			if(ret == null)
+				ret = createOutputMatrixBlock(_rLen, _cLen, blen, (estnnz < 0) ? (long) _rLen * _cLen : estnnz, true, true);
+			
+			// Second Read Pass (read, parse strings, append to matrix block)
+			readCSVMatrixFromHDFS(splits, path, ret);
+			
+			// post-processing (representation-specific, change of sparse/dense block representation)
+			// - no sorting required for CSV because it is read in sorted order per row
+			// - nnz explicitly maintained in parallel for the individual splits
+			ret.examSparsity();
+		}
 		
 		// sanity check for parallel row count (since determined internally)
 		if(rlen >= 0 && rlen != ret.getNumRows())
@@ -125,6 +140,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(_job);
 
+		// parsing is compute bound, therefore use the compute pool instead of the blocking I/O pool
 		ExecutorService pool = CommonThreadPool.get(_numThreads);
 
 		try {
@@ -154,23 +170,51 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		catch(Exception e) {
 			throw new IOException("Thread pool issue, while parallel read.", e);
 		}
-		finally{
+		finally {
 			pool.shutdown();
 		}
 	}
 
-	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits,
-		Path path, long rlen, long clen, int blen, long estnnz) throws IOException, DMLRuntimeException {
+	private void readCSVMatrixFromHDFS(InputSplit[] splits, Path path, StreamCompressor comp) throws IOException {
+
+		FileInputFormat.addInputPath(_job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(_job);
+
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+
+		try {
+			// create read tasks for all splits
+			ArrayList<Callable<Long>> tasks = new ArrayList<>();
+			int splitCount = 0;
+			for(InputSplit split : splits)
+				tasks.add(new CSVReadCompressTask(split, informat, comp, splitCount++));
+
+			// check return codes
+			for(Future<Long> rt : pool.invokeAll(tasks))
+				rt.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Thread pool issue, while parallel compressed read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits, Path path, long rlen, long clen,
+		int blen, long estnnz, boolean allocate) throws IOException, DMLRuntimeException {
 		_rLen = 0;
 		_cLen = 0;
 
-		//overlap output allocation and count-row pass
-		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		//overlap output allocation and count-row pass, only the blocking row count uses the I/O pool
+		ExecutorService pool = CommonThreadPool.getIOPool();
+		ExecutorService allocPool = CommonThreadPool.get(_numThreads);
 		
 		// count rows in parallel per split
 		try {
-			Future<MatrixBlock> ret = (rlen<0 || clen<0 || estnnz<0) ? null :
-				pool.submit(() -> createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true));
+			Future<MatrixBlock> ret = (!allocate || rlen<0 || clen<0 || estnnz<0) ? null :
+				allocPool.submit(() -> createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true));
 			
 			FileInputFormat.addInputPath(_job, path);
 			TextInputFormat informat = new TextInputFormat();
@@ -228,6 +272,8 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 			// allocate target matrix block based on given size;
 			// need to allocate sparse as well since lock-free insert into target
+			if(!allocate)
+				return null;
 			long estnnz2 = (estnnz < 0) ? (long) _rLen * _cLen : estnnz;
 			return (ret!=null) ? UtilFunctions.getSafe(ret) :
 				createOutputMatrixBlock(_rLen, _cLen, blen, estnnz2, true, true);
@@ -235,8 +281,8 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		catch(Exception e) {
 			throw new IOException("Thread pool Error " + e.getMessage(), e);
 		}
-		finally{
-			pool.shutdown();
+		finally {
+			allocPool.shutdown();
 		}
 	}
 
@@ -543,4 +589,72 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			return nnz;
 		}
 	}
+	private class CSVReadCompressTask extends CSVReadTask {
+		private final StreamCompressor _comp;
+
+		public CSVReadCompressTask(InputSplit split, TextInputFormat informat, StreamCompressor comp, int splitCount) {
+			super(split, informat, null, splitCount);
+			_comp = comp;
+		}
+
+		@Override
+		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
+			final int splitEnd = _offsets.getOffsetPerSplit(_splitCount) + _offsets.getLenghtPerSplit(_splitCount);
+			final Set<String> naStrings = _props.getNAStrings();
+			MatrixBlock buff = null;
+			double[] avals = null;
+			int bStart = _row;
+			long bnnz = 0;
+			long nnz = 0;
+			double cellValue = 0;
+			boolean noFillEmpty = false;
+
+			while(reader.next(key, value)) { // foreach line
+				if(buff == null) {
+					// buffer the rows of the split up to the end of the current row block
+					bStart = _row;
+					final int bEnd = Math.min(splitEnd, (_row / _bLen + 1) * _bLen);
+					// sparse or dense according to the estimated nnz (wide sparse inputs)
+					buff = _comp.allocateRows(bEnd - bStart);
+					avals = buff.isInSparseFormat() ? null : buff.getDenseBlockValues();
+					bnnz = 0;
+				}
+				final String cellStr = value.toString().trim();
+				final String[] parts = _cLen == 1 ? null : IOUtilFunctions.split(cellStr, _props.getDelim());
+				final int apos = (_row - bStart) * _cLen;
+				for(int j = 0; j < _cLen; j++) { // foreach cell
+					String part = _cLen == 1 ? cellStr : parts[j].trim();
+					if(part.isEmpty()) {
+						noFillEmpty |= !_props.isFill();
+						cellValue = _props.getFillValue();
+					}
+					else if(naStrings != null)
+						cellValue = UtilFunctions.parseToDouble(part, naStrings);
+					else
+						cellValue = Double.parseDouble(part);
+
+					if(cellValue != 0) {
+						if(avals != null)
+							avals[apos + j] = cellValue;
+						else
+							buff.getSparseBlock().append(_row - bStart, j, cellValue);
+						bnnz++;
+					}
+				}
+				// sanity checks (number of columns, fill values)
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), noFillEmpty);
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split, cellStr, parts, _cLen);
+				_row++;
+
+				if(_row - bStart == buff.getNumRows()) {
+					// hand over the completed rows, the buffer is retained by the compressor
+					buff.setNonZeros(bnnz);
+					_comp.append(buff, bStart, 0);
+					nnz += bnnz;
+					buff = null;
+				}
+			}
+			return nnz;
+		}
+	}
 }
@@ -70,10 +70,11 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LineageCache
 {
-	private static final Map<LineageItem, LineageCacheEntry> _cache = new HashMap<>();
+	private static final Map<LineageItem, LineageCacheEntry> _cache = new ConcurrentHashMap<>();
 	protected static final boolean DEBUG = false;
 
 	static {
@@ -89,6 +90,9 @@ public class LineageCache
 	//   entry objects which reduces contention and prevents deadlocks in case of
 	//   function/statement block placeholders which computation itself might be
 	//   a complex workflow of operations that accesses the cache as well.
+	//   Hits on in-memory entries and placeholders are served without the monitor
+	//   (concurrent map), and their updates of the eviction order are buffered and
+	//   applied in batches under the monitor (see LineageCacheEviction.recordHit).
 	
 	
 	//--------------- PUBLIC CACHE API (keep it narrow) ----------------//
@@ -106,27 +110,47 @@ public class LineageCache
 			//obtaining value to avoid blocking in critical section
 			LineageCacheEntry e = null;
 			boolean reuseAll = true;
-			synchronized( _cache ) {
-				//try to reuse full or partial intermediates (CPU and FED only)
-				for (MutablePair<LineageItem,LineageCacheEntry> item : liList) {
-					if (LineageCacheConfig.getCacheType().isFullReuse())
-						//e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
-						e = getIntern(item.getKey()); //avoid double probing (containsKey + get)
-					//TODO need to also move execution of compensation plan out of here
-					//(create lazily evaluated entry)
-					if (e == null && LineageCacheConfig.getCacheType().isPartialReuse()
-						&& !(inst instanceof ComputationSPInstruction)
-						&& !(DMLScript.USE_ACCELERATOR))
-						if( LineageRewriteReuse.executeRewrites(inst, ec) )
-							e = getIntern(item.getKey());
-					reuseAll &= (e != null);
-					item.setValue(e);
+			//lock-free full reuse of in-memory entries and placeholders
+			if( !LineageCacheConfig.getCacheType().isFullReuse() || !probeConcurrent(liList) ) {
+				List<MutablePair<LineageItem, LineageCacheEntry>> persisted = null;
+				synchronized( _cache ) {
+					//try to reuse full or partial intermediates (CPU and FED only)
+					for (MutablePair<LineageItem,LineageCacheEntry> item : liList) {
+						if (LineageCacheConfig.getCacheType().isFullReuse())
+							//e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
+							e = getIntern(item.getKey()); //avoid double probing (containsKey + get)
+						if (e == null && LineageCacheConfig.isSetPersist()
+							&& !(inst instanceof ComputationSPInstruction)
+							&& !(DMLScript.USE_ACCELERATOR)
+							&& LineagePersistentCache.probe(item.getKey())) {
+							//try intermediates of previous runs, read after releasing the
+							//monitor while concurrent lookups wait on the placeholder
+							putInternPlaceholder(inst, item.getKey());
+							e = _cache.get(item.getKey());
+							if (e != null) {
+								persisted = persisted != null ? persisted : new ArrayList<>();
+								persisted.add(item);
+							}
+						}
+						//TODO need to also move execution of compensation plan out of here
+						//(create lazily evaluated entry)
+						if (e == null && LineageCacheConfig.getCacheType().isPartialReuse()
+							&& !(inst instanceof ComputationSPInstruction)
+							&& !(DMLScript.USE_ACCELERATOR))
+							if( LineageRewriteReuse.executeRewrites(inst, ec) )
+								e = getIntern(item.getKey());
+						reuseAll &= (e != null);
+						item.setValue(e);
 					
-					//create a placeholder if no reuse to avoid redundancy
-					//(e.g., concurrent threads that try to start the computation)
-					if(e == null && isMarkedForCaching(inst, ec))
-						putInternPlaceholder(inst, item.getKey());
+						//create a placeholder if no reuse to avoid redundancy
+						//(e.g., concurrent threads that try to start the computation)
+						if(e == null && isMarkedForCaching(inst, ec))
+							putInternPlaceholder(inst, item.getKey());
+					}
 				}
+				if (persisted != null)
+					for (MutablePair<LineageItem, LineageCacheEntry> item : persisted)
+						reuseAll &= getPersisted(inst, ec, item.getKey(), item.getValue());
 			}
 			reuse = reuseAll;
 			
@@ -138,8 +162,8 @@ public class LineageCache
 
 					if (e.isMatrixValue() && !e.isGPUObject()) {
 						MatrixBlock mb = e.getMBValue(); //wait if another thread is executing the same inst.
-						if (mb == null && e.getCacheStatus() == LineageCacheStatus.NOTCACHED)
-							return false;  //the executing thread removed this entry from cache
+						if (mb == null && isRemoved(e))
+							return false;  //the executing thread or eviction removed this entry from cache
 						if (e.getCacheStatus() == LineageCacheStatus.TOCACHE) { //not cached yet
 							ec.replaceLineageItem(outName, e._key); //reuse the lineage trace
 							return false;
@@ -235,18 +259,11 @@ public class LineageCache
 			// set _distLeaf2Node for this special lineage item to 1
 			// to save it from early eviction if DAGHEIGHT policy is selected
 			li.setHeight(1);
-			LineageCacheEntry e = null;
-			synchronized(_cache) {
-				if (LineageCache.probe(li)) {
-					e = LineageCache.getIntern(li);
-					funcOutLIs.add(e);
-				}
-				else {
-					//create a placeholder if no reuse to avoid redundancy
-					//(e.g., concurrent threads that try to start the computation)
-					putIntern(li, outParams.get(i).getDataType(), null, null, 0);
-				}
-			}
+			//create a placeholder if no reuse to avoid redundancy
+			//(e.g., concurrent threads that try to start the computation)
+			LineageCacheEntry e = getOrPutPlaceholder(li, outParams.get(i).getDataType());
+			if (e != null)
+				funcOutLIs.add(e);
 			//TODO: handling of recursive calls
 			
 			if (e != null) {
@@ -257,8 +274,8 @@ public class LineageCache
 				//convert to matrix object
 				if (e.isMatrixValue()) {
 					MatrixBlock mb = e.getMBValue();
-					if (mb == null && e.getCacheStatus() == LineageCacheStatus.NOTCACHED)
-						return false;  //the executing thread removed this entry from cache
+					if (mb == null && isRemoved(e))
+						return false;  //the executing thread or eviction removed this entry from cache
 					if (e.getCacheStatus() == LineageCacheStatus.TOCACHE)  //not cached yet
 						return false;
 					MetaDataFormat md = new MetaDataFormat(
@@ -397,14 +414,8 @@ public class LineageCache
 
 		LineageItem li = udf.getLineageItem(ec).getValue();
 		li.setHeight(1); //to save from early eviction
-		LineageCacheEntry e = null;
-		synchronized(_cache) {
-			if (probe(li))
-				e = LineageCache.getIntern(li);
-			else
-				//for now allow only matrix blocks
-				putIntern(li, DataType.MATRIX, null, null, 0);
-		}
+		//for now allow only matrix blocks
+		LineageCacheEntry e = getOrPutPlaceholder(li, DataType.MATRIX);
 		
 		if (e != null) {
 			String outName = String.valueOf(outIds.get(0));
@@ -466,16 +477,9 @@ public class LineageCache
 		if (ReuseCacheType.isNone() || dataType != DataType.MATRIX)
 			return false;
 
-		LineageCacheEntry e = null;
-		synchronized(_cache) {
-			if(LineageCache.probe(li)) {
-				e = LineageCache.getIntern(li);
-			}
-			else {
-				putIntern(li, dataType, null, null, 0);
-				return false; // direct return after placing the placeholder
-			}
-		}
+		LineageCacheEntry e = getOrPutPlaceholder(li, dataType);
+		if(e == null)
+			return false; // direct return after placing the placeholder
 
 		if(e != null && e.isMatrixValue()) {
 			MatrixBlock mb = e.getMBValue(); // waiting if the value is not set yet
@@ -500,16 +504,9 @@ public class LineageCache
 
 		LineageItem li = LineageItemUtils.getSerializedFedResponseLineageItem(objLI);
 
-		LineageCacheEntry e = null;
-		synchronized(_cache) {
-			if(LineageCache.probe(li)) {
-				e = LineageCache.getIntern(li);
-			}
-			else {
-				putIntern(li, DataType.UNKNOWN, null, null, 0);
-				return null; // direct return after placing the placeholder
-			}
-		}
+		LineageCacheEntry e = getOrPutPlaceholder(li, DataType.UNKNOWN);
+		if(e == null)
+			return null; // direct return after placing the placeholder
 
 		if(e != null && e.isSerializedBytes()) {
 			byte[] sBytes = e.getSerializedBytes(); // waiting if the value is not set yet
@@ -576,19 +573,11 @@ public class LineageCache
 	}
 	
 	public static MatrixBlock getMatrix(LineageItem key) {
-		LineageCacheEntry e = null;
-		synchronized( _cache ) {
-			e = getIntern(key);
-		}
-		return e.getMBValue();
+		return getConcurrent(key).getMBValue();
 	}
 
 	public static LineageCacheEntry getEntry(LineageItem key) {
-		LineageCacheEntry e = null;
-		synchronized( _cache ) {
-			e = getIntern(key);
-		}
-		return e;
+		return getConcurrent(key);
 	}
 	
 	//NOTE: safe to pin the object in memory as coming from CPInstruction
@@ -611,6 +600,17 @@ public class LineageCache
 		}
 	}
 	
+	public static void putScalar(Instruction inst, ExecutionContext ec, long computetime) {
+		if (LineageCacheConfig.isReusable(inst, ec) && inst instanceof ComputationCPInstruction) {
+			LineageItem item = ((LineageTraceable) inst).getLineageItem(ec).getValue();
+			//This method is called only to put scalar value
+			ScalarObject so = ec.getScalarInput(((ComputationCPInstruction) inst).output);
+			synchronized( _cache ) {
+				putIntern(item, DataType.SCALAR, null, so, computetime);
+			}
+		}
+	}
+	
 	public static void putValue(Instruction inst, ExecutionContext ec, long starttime) {
 		if (DMLScript.LINEAGE_ESTIMATE)
 			//forward to estimator
@@ -770,6 +770,10 @@ public class LineageCache
 
 				//maintain order for eviction
 				LineageCacheEviction.addEntry(centry);
+
+				//write-through to the persistent cache, if expensive to recompute
+				if (LineageCacheConfig.isSetPersist())
+					LineagePersistentCache.put(centry);
 			}
 		}
 	}
@@ -1051,6 +1055,9 @@ public class LineageCache
 			LineageCacheEviction.resetEviction();
 			LineageGPUCacheEviction.resetEviction();
 			LineageSparkCacheEviction.resetEviction();
+			LineagePersistentCache.resetPersistentCache();
+			LineageRewriteReuse.resetWindows();
+			LineageCachePrefetch.resetPrefetch();
 		}
 	}
 	
@@ -1085,12 +1092,16 @@ public class LineageCache
 		
 		// Create a new entry.
 		LineageCacheEntry newItem = new LineageCacheEntry(key, dt, Mval, Sval, computetime);
+		long size = newItem.getSize();
+		if( size > LineageCacheEviction.getCacheLimit() )
+			return; //not applicable
+		
+		// Place the entry, unless concurrently placed by a lock-free lookup
+		if( _cache.putIfAbsent(key, newItem) != null )
+			return;
 		
 		// Make space by removing or spilling entries.
 		if( Mval != null || Sval != null ) {
-			long size = newItem.getSize();
-			if( size > LineageCacheEviction.getCacheLimit())
-				return; //not applicable
 			if( !LineageCacheEviction.isBelowThreshold(size) )
 				LineageCacheEviction.makeSpace(_cache, size);
 			LineageCacheEviction.updateSize(size, true);
@@ -1098,10 +1109,35 @@ public class LineageCache
 		
 		// Place the entry in the weighted queue.
 		LineageCacheEviction.addEntry(newItem);
-		
-		_cache.put(key, newItem);
 	}
 	
+	private static boolean getPersisted(Instruction inst, ExecutionContext ec, LineageItem key, LineageCacheEntry centry) {
+		//read without holding the monitor
+		LineageCacheEntry pe = LineagePersistentCache.get(key);
+		synchronized( _cache ) {
+			if (_cache.get(key) != centry)
+				return false; //concurrently removed
+			long size = pe != null ? pe.getSize() : 0;
+			if (pe == null || size > LineageCacheEviction.getCacheLimit()) {
+				//keep the placeholder for computing the value, if marked for caching
+				if (!isMarkedForCaching(inst, ec))
+					removePlaceholder(key);
+				return false;
+			}
+			//place the read value into the placeholder
+			if (!LineageCacheEviction.isBelowThreshold(size))
+				LineageCacheEviction.makeSpace(_cache, size);
+			LineageCacheEviction.updateSize(size, true);
+			if (pe.isMatrixValue())
+				centry.setValue(pe.getMBValue(), pe._computeTime);
+			else
+				centry.setValue(pe.getSOValue(), pe._computeTime);
+			centry.setCacheStatus(LineageCacheStatus.CACHED);
+			LineageCacheEviction.addEntry(centry);
+			return true;
+		}
+	}
+
 	private static LineageCacheEntry getIntern(LineageItem key) {
 		LineageCacheEntry e = _cache.get(key);
 		if (e == null) {
@@ -1126,6 +1162,79 @@ public class LineageCache
 		else
 			return LineageCacheEviction.readFromLocalFS(_cache, key);
 	}
+
+	private static LineageCacheEntry getConcurrent(LineageItem key) {
+		LineageCacheEntry e = _cache.get(key);
+		if (e != null && isConcurrentHit(e)) {
+			recordHit(e);
+			return e;
+		}
+		synchronized( _cache ) {
+			return getIntern(key);
+		}
+	}
+
+	private static LineageCacheEntry getOrPutPlaceholder(LineageItem key, DataType dt) {
+		LineageCacheEntry e = _cache.get(key);
+		if (e != null && isConcurrentHit(e)) {
+			recordHit(e);
+			return e;
+		}
+		synchronized( _cache ) {
+			if (probe(key))
+				return getIntern(key);
+			putIntern(key, dt, null, null, 0);
+			return null;
+		}
+	}
+
+	private static boolean probeConcurrent(List<MutablePair<LineageItem, LineageCacheEntry>> liList) {
+		//all or nothing, to keep the statistics and placeholders of misses consistent
+		for (MutablePair<LineageItem, LineageCacheEntry> item : liList) {
+			LineageCacheEntry e = _cache.get(item.getKey());
+			if (e == null || !isConcurrentHit(e))
+				return false;
+			item.setValue(e);
+		}
+		for (MutablePair<LineageItem, LineageCacheEntry> item : liList)
+			recordHit(item.getValue());
+		return true;
+	}
+
+	private static boolean isConcurrentHit(LineageCacheEntry e) {
+		//spilled entries are restored, and RDD and GPU entries maintain
+		//their own eviction order, both only under the cache monitor
+		if (e.isRDDPersist() || e.isGPUObject())
+			return false;
+		switch(e.getCacheStatus()) {
+			case EMPTY:
+			case TOCACHE:
+			case CACHED:
+			case RELOADED:
+			case PINNED:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static void recordHit(LineageCacheEntry e) {
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementMemHits();
+		// Maintain order for eviction (deferred)
+		if (LineageCacheEviction.recordHit(e)) {
+			synchronized( _cache ) {
+				LineageCacheEviction.drainHits();
+			}
+		}
+	}
+
+	private static boolean isRemoved(LineageCacheEntry e) {
+		//removed placeholders, or entries spilled after a lock-free lookup
+		LineageCacheStatus st = e.getCacheStatus();
+		return st == LineageCacheStatus.NOTCACHED || st == LineageCacheStatus.SPILLED
+			|| st == LineageCacheStatus.TOSPILL || st == LineageCacheStatus.TODELETE;
+	}
 	
 	private static void mvIntern(LineageItem item, LineageItem probeItem, long computetime) {
 		if (ReuseCacheType.isNone())
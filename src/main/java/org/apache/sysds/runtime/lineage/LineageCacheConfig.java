@@ -476,4 +476,27 @@ public class LineageCacheConfig
 		DMLConfig conf = ConfigurationManager.getDMLConfig();
 		return conf.getBooleanValue(DMLConfig.LINEAGECACHESPILL);
 	}
+
+	public static boolean isSetPrefetch() {
+		// Check if cacheprefetch set in SystemDS-config (default true)
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		return conf.getBooleanValue(DMLConfig.LINEAGECACHEPREFETCH);
+	}
+
+	public static String getPersistDir() {
+		// Local dir of the persistent cache in SystemDS-config (default disabled)
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		String dir = conf.getTextValue(DMLConfig.LINEAGECACHE_PERSIST_DIR);
+		return (dir == null || dir.trim().isEmpty()) ? null : dir.trim();
+	}
+
+	public static boolean isSetPersist() {
+		return getPersistDir() != null;
+	}
+
+	public static long getPersistLimit() {
+		// Size limit of the persistent cache in SystemDS-config (in MB)
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		return (long) conf.getIntValue(DMLConfig.LINEAGECACHE_PERSIST_SIZE) * 1024 * 1024;
+	}
 }
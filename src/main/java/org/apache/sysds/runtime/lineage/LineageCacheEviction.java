@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
@@ -40,12 +42,18 @@ public class LineageCacheEviction
 	protected static final Map<LineageItem, Integer> _removelist = new HashMap<>();
 	private static String _outdir = null;
 	private static TreeSet<LineageCacheEntry> weightedQueue = new TreeSet<>(LineageCacheConfig.LineageCacheComparator);
+	// Hits of lock-free lookups, applied to the weighted queue in batches
+	private static final ConcurrentLinkedQueue<LineageCacheEntry> _pendingHits = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger _numPendingHits = new AtomicInteger(0);
+	protected static int MAX_PENDING_HITS = 1024;
 	
 	protected static void resetEviction() {
 		// reset cache size, otherwise the cache clear leads to unusable 
 		// space which means evictions could run into endless loops
 		_cachesize = 0;
 		weightedQueue.clear();
+		_pendingHits.clear();
+		_numPendingHits.set(0);
 		_outdir = null;
 		_removelist.clear();
 	}
@@ -96,6 +104,29 @@ public class LineageCacheEviction
 		}
 	}
 
+	/**
+	 * Record a cache hit of a lookup without the cache monitor. The hit is
+	 * applied to the eviction order on the next eviction or drain.
+	 * 
+	 * @param entry the cache entry that was hit
+	 * @return true if the caller should drain the pending hits
+	 */
+	protected static boolean recordHit(LineageCacheEntry entry) {
+		if (!LineageCacheConfig.isTimeBased() && !LineageCacheConfig.isCostNsize())
+			return false; //order independent of hits
+		_pendingHits.add(entry);
+		return _numPendingHits.incrementAndGet() >= MAX_PENDING_HITS;
+	}
+
+	protected static void drainHits() {
+		//Caller should hold the monitor on the cache
+		LineageCacheEntry e = null;
+		while ((e = _pendingHits.poll()) != null) {
+			_numPendingHits.decrementAndGet();
+			getEntry(e);
+		}
+	}
+
 	private static void removeEntry(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry e, boolean updateSpace) {
 		if (cache.remove(e._key) != null) {
 			if (updateSpace)
@@ -211,6 +242,7 @@ public class LineageCacheEviction
 	}
 
 	public static void removeAll(Map<LineageItem, LineageCacheEntry> cache) {
+		drainHits();
 		while (!weightedQueue.isEmpty()) {
 			LineageCacheEntry e = weightedQueue.pollFirst();
 			if (e == null)
@@ -224,6 +256,7 @@ public class LineageCacheEviction
 	}
 
 	protected static void makeSpace(Map<LineageItem, LineageCacheEntry> cache, long spaceNeeded) {
+		drainHits();
 		//Cost based eviction
 		while ((spaceNeeded + _cachesize) > CACHE_LIMIT)
 		{
@@ -285,11 +318,16 @@ public class LineageCacheEviction
 		_startTimestamp = System.currentTimeMillis();
 	}
 	
+	protected static boolean hasSpilled() {
+		// Any entry spilled since the last reset
+		return _outdir != null;
+	}
+
 	protected static long getStartTimestamp() {
 		return _startTimestamp;
 	}
 
-	private static double getDiskSpillEstimate(LineageCacheEntry e) {
+	protected static double getDiskSpillEstimate(LineageCacheEntry e) {
 		if (!e.isMatrixValue() || e.isNullVal())
 			return 0;
 		// This includes sum of writing to and reading from disk
@@ -396,8 +434,17 @@ public class LineageCacheEviction
 			throw new DMLRuntimeException ("Spilled item should present in cache. Key: "+key);
 
 		LineageCacheEntry e = cache.get(key);
+		// Take the value of a pending prefetch, if any
+		MatrixBlock mb = LineageCachePrefetch.getPrefetched(key);
+		if (mb != null) {
+			restoreToCache(cache, e, mb);
+			// still a hit of a spilled entry, read ahead of time
+			if (DMLScript.STATISTICS)
+				LineageCacheStatistics.incrementFSHits();
+			return cache.get(key);
+		}
+		
 		long t0 = System.nanoTime();
-		MatrixBlock mb = null;
 		// Read from local FS
 		try {
 			mb = LocalFileUtils.readMatrixBlockFromLocal(e.getOutfile());
@@ -409,6 +456,46 @@ public class LineageCacheEviction
 		long t1 = System.nanoTime();
 
 		// Restore to cache
+		restoreToCache(cache, e, mb);
+
+		// Adjust disk reading speed
+		adjustReadWriteSpeed(e, ((double)(t1-t0))/1000000000, true);
+		// TODO: set cache status as RELOADED for this entry
+		if (DMLScript.STATISTICS) {
+			LineageCacheStatistics.incrementFSReadTime(t1-t0);
+			LineageCacheStatistics.incrementFSHits();
+		}
+		return cache.get(key);
+	}
+
+	protected static boolean restorePrefetched(Map<LineageItem, LineageCacheEntry> cache, LineageItem key,
+		String outfile, MatrixBlock mb, long readtime)
+	{
+		//Caller should hold the monitor on the cache
+		LineageCacheEntry e = cache.get(key);
+		// Drop the value if the entry changed meanwhile, or if it does not fit
+		// without evictions, which could spill the entries needed next.
+		if (e == null || e.getCacheStatus() != LineageCacheStatus.SPILLED
+			|| !outfile.equals(e.getOutfile()) || !isBelowThreshold(mb.getInMemorySize()))
+			return false;
+		
+		restoreToCache(cache, e, mb);
+		adjustReadWriteSpeed(e, ((double)readtime)/1000000000, true);
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementFSReadTime(readtime);
+
+		// Unlike restores on a hit, speculatively restored entries are not
+		// necessarily used again, and thus, need to be evictable.
+		LineageCacheEntry h = (e._origItem != null) ? cache.get(e._origItem) : e;
+		while (h != null) {
+			h.setCacheStatus(LineageCacheStatus.RELOADED);
+			addEntry(h);
+			h = h._nextEntry;
+		}
+		return true;
+	}
+
+	private static void restoreToCache(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry e, MatrixBlock mb) {
 		e.setValue(mb);
 		if (e._origItem != null) {
 			// Restore to all the entries having the same data.
@@ -421,14 +508,5 @@ public class LineageCacheEviction
 
 		// Increase cachesize once for all the entries.
 		updateSize(e.getSize(), true);
-
-		// Adjust disk reading speed
-		adjustReadWriteSpeed(e, ((double)(t1-t0))/1000000000, true);
-		// TODO: set cache status as RELOADED for this entry
-		if (DMLScript.STATISTICS) {
-			LineageCacheStatistics.incrementFSReadTime(t1-t0);
-			LineageCacheStatistics.incrementFSHits();
-		}
-		return cache.get(key);
 	}
 }
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.lineage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.controlprogram.ProgramBlock;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.DataGenCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCacheStatus;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Speculative prefetch of spilled lineage cache entries. Before a basic program block
+ * executes, its instructions are scanned for lineage keys that are likely probed, which
+ * are all instructions whose inputs are defined before the block. Spilled entries of these
+ * keys are read from local disk by the I/O thread pool and restored to the cache, such that
+ * the later cache hits, e.g., in loop bodies, do not read synchronously. The bytes of
+ * pending reads are bounded by a fraction of the cache limit and the available space, and
+ * restores that would require evictions are dropped. A cache hit on a pending prefetch
+ * waits for the read instead of reading the entry again. The candidate instructions are
+ * memoized per program block, and their keys are only rebuilt if the input lineage changed.
+ */
+public class LineageCachePrefetch
+{
+	private static final Log LOG = LogFactory.getLog(LineageCachePrefetch.class.getName());
+	// max fraction of the cache limit for pending reads
+	protected static double PREFETCH_FRACTION = 0.1;
+	// max number of instructions scanned per program block
+	protected static int MAX_LOOKAHEAD = 128;
+
+	// pending reads by lineage key, completed before the value is restored
+	private static final Map<LineageItem, CompletableFuture<MatrixBlock>> _pending = new ConcurrentHashMap<>();
+	private static final AtomicLong _pendingBytes = new AtomicLong(0);
+	// prefetch candidates per program block
+	private static final Map<ProgramBlock, Candidates> _candidates =
+		Collections.synchronizedMap(new WeakHashMap<>());
+
+	protected static void resetPrefetch() {
+		// pending reads still complete, but are not restored anymore
+		_pending.clear();
+		_candidates.clear();
+	}
+
+	/**
+	 * Schedule the asynchronous restore of spilled cache entries that the given
+	 * instructions will probably probe.
+	 *
+	 * @param pb program block of the instructions
+	 * @param insts instructions of the program block, before their execution
+	 * @param ec execution context
+	 */
+	public static void prefetch(ProgramBlock pb, List<Instruction> insts, ExecutionContext ec) {
+		if (!isEnabled(ec))
+			return;
+
+		for (Candidate c : getCandidates(pb, insts)) {
+			if (!isDefined(c.inst.getInputs(), ec) || !LineageCacheConfig.isReusable(c.inst, ec))
+				continue;
+			LineageItem key = c.getKey(ec);
+			LineageCacheEntry e = LineageCache.getLineageCache().get(key);
+			if (e != null && e.getCacheStatus() == LineageCacheStatus.SPILLED)
+				prefetch(key, e.getOutfile());
+		}
+	}
+
+	private static List<Candidate> getCandidates(ProgramBlock pb, List<Instruction> insts) {
+		// memoized per program block, and rescanned if the block was recompiled
+		Candidates ret = _candidates.get(pb);
+		if (ret != null && ret.insts == insts)
+			return ret.list;
+
+		// variables (re)assigned in the block, whose lineage is not yet known
+		Set<String> assigned = new HashSet<>();
+		List<Candidate> list = new ArrayList<>();
+		int count = 0;
+		for (Instruction inst : insts) {
+			if (count++ >= MAX_LOOKAHEAD)
+				break;
+			if (inst instanceof VariableCPInstruction) {
+				VariableCPInstruction vinst = (VariableCPInstruction) inst;
+				if (vinst.getInput2() != null)
+					assigned.add(vinst.getInput2().getName()); //cpvar, mvvar
+				if (vinst.getOutput() != null)
+					assigned.add(vinst.getOutput().getName()); //createvar
+				continue;
+			}
+			if (!(inst instanceof ComputationCPInstruction))
+				break; //unknown outputs (e.g., function calls)
+
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+			if (!(inst instanceof DataGenCPInstruction) //lineage of rand sets the seed
+				&& !isAssigned(cinst.getInputs(), assigned))
+				list.add(new Candidate(cinst));
+			if (cinst.getOutput() != null)
+				assigned.add(cinst.getOutput().getName());
+		}
+		_candidates.put(pb, new Candidates(insts, list));
+		return list;
+	}
+
+	/**
+	 * Take the value of a pending prefetch of the given key, and wait for
+	 * the read if necessary. The caller restores the value to the cache.
+	 *
+	 * @param key lineage item of a spilled cache entry
+	 * @return the read value, or null if there is no pending prefetch
+	 */
+	protected static MatrixBlock getPrefetched(LineageItem key) {
+		CompletableFuture<MatrixBlock> f = _pending.remove(key);
+		if (f == null)
+			return null;
+		try {
+			MatrixBlock mb = f.get();
+			if (DMLScript.STATISTICS)
+				LineageCacheStatistics.incrementPrefetchHits();
+			return mb;
+		}
+		catch (Exception ex) {
+			// fall back to the synchronous read
+			LOG.debug("Prefetch of "+key.getId()+" failed: "+ex.getMessage());
+			return null;
+		}
+	}
+
+	private static boolean isEnabled(ExecutionContext ec) {
+		// only once entries are spilled, to avoid scans of all blocks
+		return LineageCacheEviction.hasSpilled() && !ReuseCacheType.isNone()
+			&& ec.getLineage() != null && LineageCacheConfig.getCacheType().isFullReuse()
+			&& !DMLScript.USE_ACCELERATOR && LineageCacheConfig.isSetPrefetch();
+	}
+
+	private static boolean isAssigned(CPOperand[] inputs, Set<String> assigned) {
+		for (CPOperand in : inputs)
+			if (in != null && !in.isLiteral() && assigned.contains(in.getName()))
+				return true;
+		return false;
+	}
+
+	private static boolean isDefined(CPOperand[] inputs, ExecutionContext ec) {
+		for (CPOperand in : inputs) {
+			if (in == null || in.isLiteral())
+				continue;
+			if (!ec.containsVariable(in.getName()) || ec.getLineage().get(in.getName()) == null)
+				return false;
+		}
+		return true;
+	}
+
+	private static void prefetch(LineageItem key, String outfile) {
+		if (outfile == null || _pending.containsKey(key))
+			return;
+		// bound the memory of pending reads and restores
+		long size = new File(outfile).length();
+		long limit = Math.min((long) (PREFETCH_FRACTION * LineageCacheEviction.getCacheLimit()),
+			LineageCacheEviction.getAvailableSpace());
+		if (_pendingBytes.addAndGet(size) > limit) {
+			_pendingBytes.addAndGet(-size);
+			return;
+		}
+		CompletableFuture<MatrixBlock> f = new CompletableFuture<>();
+		if (_pending.putIfAbsent(key, f) != null) {
+			_pendingBytes.addAndGet(-size);
+			return;
+		}
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementPrefetches();
+		CommonThreadPool.getIOPool().submit(() -> read(key, outfile, size, f));
+	}
+
+	private static void read(LineageItem key, String outfile, long size, CompletableFuture<MatrixBlock> f) {
+		try {
+			long t0 = System.nanoTime();
+			MatrixBlock mb = null;
+			try {
+				mb = LocalFileUtils.readMatrixBlockFromLocal(outfile);
+			}
+			catch (Exception ex) {
+				f.completeExceptionally(ex);
+				_pending.remove(key, f);
+				return;
+			}
+			long t1 = System.nanoTime();
+			// complete before restoring, as a waiting hit holds the cache monitor
+			f.complete(mb);
+
+			Map<LineageItem, LineageCacheEntry> cache = LineageCache.getLineageCache();
+			synchronized (cache) {
+				// not restored if taken by a hit or reset meanwhile
+				if (_pending.remove(key, f)
+					&& !LineageCacheEviction.restorePrefetched(cache, key, outfile, mb, t1-t0)
+					&& DMLScript.STATISTICS)
+					LineageCacheStatistics.incrementPrefetchDrops();
+			}
+		}
+		finally {
+			_pendingBytes.addAndGet(-size);
+		}
+	}
+
+	private static class Candidates {
+		// the scanned instructions, which change on recompilation
+		private final List<Instruction> insts;
+		private final List<Candidate> list;
+
+		private Candidates(List<Instruction> insts, List<Candidate> list) {
+			this.insts = insts;
+			this.list = list;
+		}
+	}
+
+	private static class Candidate {
+		private final ComputationCPInstruction inst;
+		// lineage of the inputs at the last scan, and the resulting key
+		private LineageItem[] inputs;
+		private LineageItem key;
+
+		private Candidate(ComputationCPInstruction inst) {
+			this.inst = inst;
+		}
+
+		private synchronized LineageItem getKey(ExecutionContext ec) {
+			// reuse the key if the inputs have the same lineage, e.g., loop invariant inputs
+			CPOperand[] ops = inst.getInputs();
+			LineageItem[] current = new LineageItem[ops.length];
+			for (int i = 0; i < ops.length; i++)
+				if (ops[i] != null && !ops[i].isLiteral())
+					current[i] = ec.getLineage().get(ops[i].getName());
+			if (key == null || !sameItems(inputs, current)) {
+				key = inst.getLineageItem(ec).getValue();
+				inputs = current;
+			}
+			return key;
+		}
+
+		private static boolean sameItems(LineageItem[] a, LineageItem[] b) {
+			for (int i = 0; i < a.length; i++)
+				if (a[i] != b[i])
+					return false;
+			return true;
+		}
+	}
+}
@@ -57,6 +57,14 @@ public class LineageCacheStatistics {
 	private static final LongAdder _numRddPersist   = new LongAdder();
 	private static final LongAdder _numRddUnpersist   = new LongAdder();
 	private static final LongAdder _numHitsDelRdd   = new LongAdder();
+	// Below entries are specific to the persistent cross-run cache
+	private static final LongAdder _numHitsPersist   = new LongAdder();
+	private static final LongAdder _numWritesPersist = new LongAdder();
+	private static final LongAdder _numDelPersist    = new LongAdder();
+	// Below entries are specific to the prefetch of spilled entries
+	private static final LongAdder _numPrefetch      = new LongAdder();
+	private static final LongAdder _numHitsPrefetch  = new LongAdder();
+	private static final LongAdder _numDropPrefetch  = new LongAdder();
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -87,6 +95,12 @@ public class LineageCacheStatistics {
 		_numRddPersist.reset();
 		_numRddUnpersist.reset();
 		_numHitsDelRdd.reset();
+		_numHitsPersist.reset();
+		_numWritesPersist.reset();
+		_numDelPersist.reset();
+		_numPrefetch.reset();
+		_numHitsPrefetch.reset();
+		_numDropPrefetch.reset();
 	}
 	
 	public static void incrementMemHits() {
@@ -157,6 +171,10 @@ public class LineageCacheStatistics {
 		_numRewrites.increment();
 	}
 
+	public static long getPRewrites() {
+		return _numRewrites.longValue();
+	}
+
 	public static void incrementFSWrites() {
 		// Number of times written in local FS.
 		_numWritesFS.increment();
@@ -275,6 +293,52 @@ public class LineageCacheStatistics {
 		_numHitsDelRdd.increment();
 	}
 
+	public static void incrementPersistHits() {
+		// Number of hits in the persistent cache of previous runs
+		_numHitsPersist.increment();
+	}
+
+	public static long getPersistHits() {
+		return _numHitsPersist.longValue();
+	}
+
+	public static void incrementPersistWrites() {
+		// Number of entries written to the persistent cache
+		_numWritesPersist.increment();
+	}
+
+	public static long getPersistWrites() {
+		return _numWritesPersist.longValue();
+	}
+
+	public static void incrementPersistDeletes() {
+		// Number of entries evicted from the persistent cache
+		_numDelPersist.increment();
+	}
+
+	public static void incrementPrefetches() {
+		// Number of spilled entries scheduled for prefetch
+		_numPrefetch.increment();
+	}
+
+	public static long getPrefetches() {
+		return _numPrefetch.longValue();
+	}
+
+	public static void incrementPrefetchHits() {
+		// Number of spilled entries restored by prefetch before their use
+		_numHitsPrefetch.increment();
+	}
+
+	public static long getPrefetchHits() {
+		return _numHitsPrefetch.longValue();
+	}
+
+	public static void incrementPrefetchDrops() {
+		// Number of prefetched values dropped for lack of space or stale entries
+		_numDropPrefetch.increment();
+	}
+
 	public static String displayHits() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -378,6 +442,35 @@ public class LineageCacheStatistics {
 		return sb.toString();
 	}
 
+	public static String displayPersist() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsPersist.longValue());
+		sb.append("/");
+		sb.append(_numWritesPersist.longValue());
+		sb.append("/");
+		sb.append(_numDelPersist.longValue());
+		return sb.toString();
+	}
+
+	public static String displayPrefetch() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetch.longValue());
+		sb.append("/");
+		sb.append(_numHitsPrefetch.longValue());
+		sb.append("/");
+		sb.append(_numDropPrefetch.longValue());
+		return sb.toString();
+	}
+
+	public static boolean ifPrefetchStats() {
+		return _numPrefetch.longValue() != 0;
+	}
+
+	public static boolean ifPersistStats() {
+		return (_numHitsPersist.longValue() + _numWritesPersist.longValue()
+			+ _numDelPersist.longValue()) != 0;
+	}
+
 	public static boolean ifSparkStats() {
 		return (_numHitsSparkActions.longValue() + _numHitsRdd.longValue()
 		+ _numHitsRddPersist.longValue() + _numRddPersist.longValue()) != 0;
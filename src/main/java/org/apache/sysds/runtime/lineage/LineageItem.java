@@ -32,19 +32,23 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 
 public class LineageItem {
 	private static IDSequence _idSeq = new IDSequence();
+	// canonical opcode strings, shared by all items and compared by reference
+	private static final Map<String, String> _opcodes = new ConcurrentHashMap<>();
 	
 	private final long _id;
-	private final String _opcode;
+	private final String _opcode; //canonical, see getCanonicalOpcode
 	private final String _data;
 	private LineageItem[] _inputs;
 	private long _height = 0; //distance leaf to node
 	private int _hash = 0;
+	private String _digest = null; //stable key across runs, empty if not persistable
 	private LineageItem _dedupPatch;
-	private final BooleanArray32 _specialValueBits;  // TODO: Move this to a new subclass
-	// map from thread id to visited flag to allow concurrent checks through the lineage trace
+	private int _specialValueBits;  // TODO: Move this to a new subclass
+	// map from thread id to visited flag to allow concurrent checks through the lineage trace,
+	// allocated on first visit to keep untraversed items small
 	
 	//TODO replace with thread local concurrent hashmap per worker
-	private Map<Long, Boolean> _visited = new ConcurrentHashMap<>();
+	private volatile Map<Long, Boolean> _visited = null;
 	
 	public enum LineageItemType {Literal, Creation, Instruction, Dedup}
 	public static final String dedupItemOpcode = "dedup";
@@ -101,7 +105,7 @@ public class LineageItem {
 	
 	public LineageItem(long id, String data, String opcode, LineageItem[] inputs, int specialValueBits) {
 		_id = id;
-		_opcode = opcode;
+		_opcode = getCanonicalOpcode(opcode);
 		_data = data;
 		_inputs = inputs;
 		// store the distance of this node from the leaves. (O(#inputs)) operation
@@ -110,7 +114,16 @@ public class LineageItem {
 		// materialize hash on construction 
 		// (constant time operation if input hashes constructed)
 		_hash = hashCode();
-		_specialValueBits = new BooleanArray32(specialValueBits);
+		_specialValueBits = specialValueBits;
+	}
+	
+	private static String getCanonicalOpcode(String opcode) {
+		if (opcode.isEmpty())
+			return "";
+		String ret = _opcodes.get(opcode);
+		if (ret == null && (ret = _opcodes.putIfAbsent(opcode, opcode)) == null)
+			ret = opcode;
+		return ret;
 	}
 	
 	public LineageItem[] getInputs() {
@@ -143,12 +156,22 @@ public class LineageItem {
 	public void resetHash() {
 		_hash = 0; //enable recomputation
 		_hash = hashCode();
+		_digest = null;
+	}
+
+	protected String getDigest() {
+		return _digest;
+	}
+
+	protected void setDigest(String digest) {
+		_digest = digest;
 	}
 
 	public boolean isVisited() {
 		// default value (e.g., not set value) is true to ensure visited items are
 		// not hidden when used as inputs to new items
-		return _visited.getOrDefault(Thread.currentThread().getId(), true);
+		Map<Long, Boolean> visited = _visited;
+		return visited == null || visited.getOrDefault(Thread.currentThread().getId(), true);
 	}
 	
 	public void setVisited() {
@@ -156,15 +179,24 @@ public class LineageItem {
 	}
 	
 	public void setVisited(boolean flag) {
-		_visited.put(Thread.currentThread().getId(), flag);
+		Map<Long, Boolean> visited = _visited;
+		if (visited == null) {
+			synchronized (this) {
+				if (_visited == null)
+					_visited = new ConcurrentHashMap<>(4);
+				visited = _visited;
+			}
+		}
+		visited.put(Thread.currentThread().getId(), flag);
 	}
 	
 	public void setSpecialValueBit(int pos, boolean flag) {
-		_specialValueBits.set(pos, flag);
+		int mask = 1 << pos;
+		_specialValueBits = (_specialValueBits & ~mask) | (flag ? mask : 0);
 	}
 	
 	public void setSpecialValueBits(int value) {
-		_specialValueBits.setValue(value);
+		_specialValueBits = value;
 	}
 
 	public long getId() {
@@ -176,11 +208,11 @@ public class LineageItem {
 	}
 	
 	public boolean getSpecialValueBit(int pos) {
-		return _specialValueBits.get(pos);
+		return (_specialValueBits & (1 << pos)) != 0;
 	}
 
 	public int getSpecialValueBits() {
-		return _specialValueBits.getValue();
+		return _specialValueBits;
 	}
 
 	public boolean isPlaceholder() {
@@ -226,7 +258,7 @@ public class LineageItem {
 		if (isVisited() || this == that)
 			return true;
 		
-		boolean ret = _opcode.equals(that._opcode);
+		boolean ret = _opcode == that._opcode;
 		ret &= _data.equals(that._data);
 		ret &= (hashCode() == that.hashCode());
 		if( ret && _inputs != null && _inputs.length == that._inputs.length )
@@ -249,7 +281,7 @@ public class LineageItem {
 			if (li1.isVisited() || li1 == li2)
 				return true;
 
-			ret = li1._opcode.equals(li2._opcode);
+			ret = li1._opcode == li2._opcode;
 			ret &= li1._data.equals(li2._data);
 			ret &= (li1.hashCode() == li2.hashCode());
 			if (!ret) break;
@@ -282,7 +314,7 @@ public class LineageItem {
 
 			if (!li1.isDedup() && !li2.isDedup()) {
 				// Opcodes don't match if either entry is dedup
-				ret = li1._opcode.equals(li2._opcode);
+				ret = li1._opcode == li2._opcode;
 				ret &= li1._data.equals(li2._data);
 			}
 			//check hash including height as pre-filter
@@ -375,7 +407,7 @@ public class LineageItem {
 			LineageItem li2 = s2.pop();
 			if (li1.isVisited() || li1 == li2)
 				continue; //FIXME: fill phMap
-			ret = li1._opcode.equals(li2._opcode);
+			ret = li1._opcode == li2._opcode;
 			ret &= li1._data.equals(li2._data);
 			//ret &= (li1.hashCode() == li2.hashCode());
 			// Do not match the hash codes, as the hash of a dedup patch node doesn't represent the whole dag.
@@ -425,6 +457,26 @@ public class LineageItem {
 		return _hash;
 	}
 
+	/**
+	 * Shallow equality check of opcode, data, and the identity of inputs,
+	 * which is equivalent to {@link #equals(Object)} for hash-consed inputs.
+	 * 
+	 * @param that lineage item
+	 * @return true if both items are structurally equal
+	 */
+	protected boolean equalsShallow(LineageItem that) {
+		if (_opcode != that._opcode || _height != that._height || !_data.equals(that._data))
+			return false;
+		if (isLeaf() || that.isLeaf())
+			return isLeaf() && that.isLeaf();
+		if (_inputs.length != that._inputs.length)
+			return false;
+		for (int i=0; i<_inputs.length; i++)
+			if (_inputs[i] != that._inputs[i])
+				return false;
+		return true;
+	}
+
 	public LineageItem deepCopy() { //bottom-up
 		if (isLeaf())
 			return new LineageItem(this);
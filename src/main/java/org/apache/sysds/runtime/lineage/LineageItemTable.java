@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.lineage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hash-consing table of lineage items, which maps structurally equal items
+ * (same opcode, data, and identical inputs) to a single shared instance. Since
+ * inputs are interned before their consumers, repeated computations (e.g.,
+ * loop-invariant operations in long-running loops) share their sub-DAGs instead
+ * of creating new items per iteration.
+ * 
+ * The table is scoped to a single lineage map, because traces of different
+ * workers (e.g., parfor) are later stitched together in place. It is bounded in
+ * size and evicts the least recently used items to retain only recent items,
+ * which still allows garbage collection of unreferenced traces.
+ */
+public class LineageItemTable
+{
+	public static final int DEFAULT_CAPACITY = 4096;
+	
+	private final Map<ConsKey, LineageItem> _items;
+	
+	public LineageItemTable() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	@SuppressWarnings("serial")
+	public LineageItemTable(int capacity) {
+		_items = new LinkedHashMap<ConsKey, LineageItem>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ConsKey, LineageItem> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+	
+	/**
+	 * Get the shared instance of the given lineage item, or add
+	 * the item if no structurally equal item exists.
+	 * 
+	 * @param li lineage item
+	 * @return shared lineage item
+	 */
+	public LineageItem intern(LineageItem li) {
+		//dedup items share the hash of their patch, and placeholders 
+		//are replaced in place, so keep them as is
+		if (li == null || li.isDedup() || li.isPlaceholder())
+			return li;
+		if (!li.isLeaf())
+			for (LineageItem in : li.getInputs())
+				if (in.isPlaceholder())
+					return li;
+		ConsKey key = new ConsKey(li);
+		LineageItem ret = _items.putIfAbsent(key, li);
+		return (ret != null) ? ret : li;
+	}
+	
+	public int size() {
+		return _items.size();
+	}
+	
+	public void clear() {
+		_items.clear();
+	}
+	
+	private static class ConsKey {
+		private final LineageItem _item;
+		private final int _hash; //materialized, robust against later changes
+		
+		private ConsKey(LineageItem item) {
+			_item = item;
+			_hash = item.hashCode();
+		}
+		
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof ConsKey))
+				return false;
+			ConsKey that = (ConsKey) o;
+			return _hash == that._hash && _item.equalsShallow(that._item);
+		}
+	}
+}
@@ -41,10 +41,12 @@ public class LineageMap {
 	
 	private final Map<String, LineageItem> _traces;
 	private final Map<String, LineageItem> _literals;
+	private final LineageItemTable _items; //hash-consing of traced items
 	
 	public LineageMap() {
 		_traces = new HashMap<>();
 		_literals = new HashMap<>();
+		_items = new LineageItemTable();
 	}
 	
 	public LineageMap(LineageMap that) {
@@ -104,7 +106,7 @@ public class LineageMap {
 		//handle variables
 		LineageItem ret = _traces.get(variable.getName());
 		return (ret != null) ? ret :
-			new LineageItem(variable.getLineageLiteral());
+			_items.intern(new LineageItem(variable.getLineageLiteral()));
 	}
 	
 	public LineageItem get(String varName) {
@@ -136,6 +138,7 @@ public class LineageMap {
 	public void resetLineageMaps() {
 		_traces.clear();
 		_literals.clear();
+		_items.clear();
 	}
 	
 	public Map<String, LineageItem> getTraces() {
@@ -161,8 +164,12 @@ public class LineageMap {
 				}
 				case Read:
 				case CreateVariable: {
-					if (li != null)
+					if (li != null) {
 						addLineageItem(li);
+						//fingerprint inputs outside the lineage cache monitors
+						if (li.getValue() != null && LineageCacheConfig.isSetPersist())
+							LineagePersistentCache.traceRead(li.getValue());
+					}
 					break;
 				}
 				case RemoveVariable: {
@@ -241,8 +248,8 @@ public class LineageMap {
 	}
 	
 	private void addLineageItem(Pair<String, LineageItem> li) {
-		//add item or overwrite existing item
-		_traces.put(li.getKey(), li.getValue());
+		//add item or overwrite existing item, shared with equal items
+		_traces.put(li.getKey(), _items.intern(li.getValue()));
 	}
 	
 	private void processWriteLI(CPOperand input1, CPOperand input2, ExecutionContext ec) {
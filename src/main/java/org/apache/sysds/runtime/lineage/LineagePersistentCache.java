@@ -0,0 +1,618 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.lineage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileChecksum;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.lops.Data;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObjectFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Persistent tier of the lineage cache, which keeps reusable intermediates in a local
+ * directory across runs. Entries are keyed by a digest of their lineage trace that is
+ * stable across runs, where reads of persistent inputs include a fingerprint of the input
+ * files (checksum if provided by the file system, otherwise length and modification time),
+ * taken when the read is traced.
+ * Traces with untraced variables, dedup items or other run specific leaves are not
+ * persisted. An index file keeps the persisted entries in LRU order, and the least
+ * recently used entries are deleted if the configured size limit is exceeded.
+ *
+ * The in-memory index is only accessed under the monitor of this class, which is never
+ * held during I/O, since lookups and placements are called from within the monitor of the
+ * lineage cache. Values are written asynchronously by the I/O thread pool, and the index
+ * file is an append-only log of placed, accessed, and deleted entries, which is appended
+ * in batches and compacted once it mostly contains outdated records.
+ */
+public class LineagePersistentCache
+{
+	private static final Log LOG = LogFactory.getLog(LineagePersistentCache.class.getName());
+	private static final String INDEX_FILE = "index";
+	private static final String FILE_SUFFIX = ".bin";
+	private static final int MAX_STRING_LENGTH = 1024;
+	private static final int MIN_COMPACT_RECORDS = 1024;
+
+	private static String _dir = null;
+	private static long _limit = 0;
+	private static long _size = 0;
+	// persisted entries by digest, in LRU order
+	private static final LinkedHashMap<String, PersistedEntry> _index = new LinkedHashMap<>(16, 0.75f, true);
+	// digests of entries that are currently written
+	private static final Set<String> _writing = new HashSet<>();
+	// pending asynchronous writes
+	private static final List<Future<?>> _writes = new ArrayList<>();
+	// index records not yet appended to the index file, and number of records in the file
+	private static List<String> _records = new ArrayList<>();
+	private static boolean _flushPending = false;
+	private static long _numRecords = 0;
+	// serializes the appends to, and compactions of the index file
+	private static final Object _indexLock = new Object();
+	// fingerprints of input files, computed when their reads are traced and valid for the current run
+	private static final Map<String, String> _fingerprints = new ConcurrentHashMap<>();
+
+	protected static void resetPersistentCache() {
+		// wait for pending writes, such that the next run sees them
+		flush();
+		synchronized (LineagePersistentCache.class) {
+			// the index is reloaded on the next access, and inputs might have changed
+			_dir = null;
+			_index.clear();
+			_records = new ArrayList<>();
+			_fingerprints.clear();
+		}
+	}
+
+	/**
+	 * Wait for all pending asynchronous writes of persisted entries and their index records.
+	 */
+	public static void flush() {
+		while (true) {
+			List<Future<?>> writes;
+			synchronized (LineagePersistentCache.class) {
+				if (_writes.isEmpty())
+					return;
+				writes = new ArrayList<>(_writes);
+				_writes.clear();
+			}
+			for (Future<?> f : writes) {
+				try {
+					f.get();
+				}
+				catch (Exception ex) {
+					LOG.warn("Failed to persist lineage cache entry: " + ex.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fingerprint the input file if the given lineage item is the createvar of a
+	 * persistent read. This is called when the read is traced, such that the file
+	 * system is never accessed while computing digests under the cache monitors.
+	 * Reads that are not traced have no fingerprint and are not persisted.
+	 *
+	 * @param li lineage item of a traced instruction
+	 */
+	public static void traceRead(LineageItem li) {
+		String fname = getReadFileName(li);
+		if (fname == null || _fingerprints.containsKey(fname))
+			return;
+		String fp = getFileFingerprint(fname);
+		if (fp != null)
+			_fingerprints.put(fname, fp);
+	}
+
+	//--------------- CACHE LOOKUP AND PLACEMENT ----------------//
+
+	/**
+	 * Probe if the value of the given lineage item is persisted, without reading it.
+	 *
+	 * @param key lineage item of an instruction output
+	 * @return true if persisted
+	 */
+	protected static synchronized boolean probe(LineageItem key) {
+		if (!init())
+			return false;
+		String digest = getDigest(key);
+		return !digest.isEmpty() && _index.containsKey(digest);
+	}
+
+	/**
+	 * Read the persisted value of the given lineage item, if available. The value
+	 * is read without holding any monitor.
+	 *
+	 * @param key lineage item of an instruction output
+	 * @return a new cache entry with the value, or null if not persisted
+	 */
+	protected static LineageCacheEntry get(LineageItem key) {
+		final String dir, digest;
+		final PersistedEntry pe;
+		synchronized (LineagePersistentCache.class) {
+			if (!init())
+				return null;
+			digest = getDigest(key);
+			pe = digest.isEmpty() ? null : _index.get(digest);
+			if (pe == null)
+				return null;
+			dir = _dir;
+			// record the access to keep the LRU order across runs
+			addRecord(dir, toRecord(digest, pe));
+		}
+
+		long t0 = System.nanoTime();
+		LineageCacheEntry ret = null;
+		try {
+			if (pe.dt.isMatrix())
+				ret = new LineageCacheEntry(key, pe.dt,
+					LocalFileUtils.readMatrixBlockFromLocal(getFileName(dir, digest)), null, pe.computeTime);
+			else
+				ret = new LineageCacheEntry(key, pe.dt, null, readScalar(getFileName(dir, digest)), pe.computeTime);
+		}
+		catch (IOException ex) {
+			// deleted by eviction, a concurrent run, or corrupted, drop the entry
+			LOG.warn("Failed to read persisted lineage cache entry " + digest + ": " + ex.getMessage());
+			synchronized (LineagePersistentCache.class) {
+				if (dir.equals(_dir) && _index.remove(digest, pe)) {
+					_size -= pe.size;
+					addRecord(dir, digest);
+				}
+			}
+			LocalFileUtils.deleteFileIfExists(getFileName(dir, digest));
+			return null;
+		}
+		if (DMLScript.STATISTICS) {
+			LineageCacheStatistics.incrementFSReadTime(System.nanoTime() - t0);
+			LineageCacheStatistics.incrementPersistHits();
+		}
+		return ret;
+	}
+
+	/**
+	 * Write the value of the given cache entry to the persistent cache, if it is
+	 * a matrix or scalar that is more expensive to compute than to write and read,
+	 * and if its lineage trace is stable across runs. The value is captured and
+	 * written asynchronously.
+	 *
+	 * @param e cache entry with value
+	 */
+	protected static synchronized void put(LineageCacheEntry e) {
+		if (!init() || !isPersistable(e))
+			return;
+		final String digest = getDigest(e._key);
+		if (digest.isEmpty() || _index.get(digest) != null || !_writing.add(digest))
+			return; //not persistable, already persisted (LRU order updated), or written
+
+		final String dir = _dir;
+		final DataType dt = e._dt;
+		final MatrixBlock mb = e.isMatrixValue() ? e.getMBValue() : null;
+		final ScalarObject so = e.isMatrixValue() ? null : e.getSOValue();
+		final long computeTime = e._computeTime;
+		_writes.removeIf(Future::isDone);
+		_writes.add(CommonThreadPool.getIOPool().submit(() -> write(dir, digest, dt, mb, so, computeTime)));
+	}
+
+	private static void write(String dir, String digest, DataType dt, MatrixBlock mb, ScalarObject so,
+		long computeTime)
+	{
+		long t0 = System.nanoTime();
+		String fname = getFileName(dir, digest);
+		String tmpname = fname + ".tmp";
+		try {
+			if (mb != null)
+				LocalFileUtils.writeMatrixBlockToLocal(tmpname, mb);
+			else
+				writeScalar(tmpname, so);
+			// atomic placement, in case of concurrent runs on the same dir
+			Files.move(new File(tmpname).toPath(), new File(fname).toPath(),
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			LOG.warn("Failed to persist lineage cache entry " + digest + ": " + ex.getMessage());
+			LocalFileUtils.deleteFileIfExists(tmpname);
+			synchronized (LineagePersistentCache.class) {
+				_writing.remove(digest);
+			}
+			return;
+		}
+
+		List<String> evicted;
+		synchronized (LineagePersistentCache.class) {
+			_writing.remove(digest);
+			if (!dir.equals(_dir)) {
+				// cache reset or moved during the write
+				evicted = new ArrayList<>();
+				evicted.add(digest);
+			}
+			else {
+				PersistedEntry pe = new PersistedEntry(dt, new File(fname).length(), computeTime);
+				_index.put(digest, pe);
+				_size += pe.size;
+				addRecord(dir, toRecord(digest, pe));
+				evicted = makeSpace(dir);
+			}
+		}
+		for (String d : evicted)
+			LocalFileUtils.deleteFileIfExists(getFileName(dir, d));
+		if (DMLScript.STATISTICS) {
+			LineageCacheStatistics.incrementFSWriteTime(System.nanoTime() - t0);
+			LineageCacheStatistics.incrementPersistWrites();
+		}
+	}
+
+	private static boolean isPersistable(LineageCacheEntry e) {
+		if (e.isNullVal() || e._origItem != null)
+			return false; //placeholders and function/statement block outputs
+		double exectime = ((double) e._computeTime) / 1000000; // in milliseconds
+		if (exectime < LineageCacheConfig.MIN_SPILL_TIME_ESTIMATE)
+			return false;
+		if (e.isMatrixValue())
+			return e.getSize() <= _limit //spill estimate in sec
+				&& exectime > LineageCacheEviction.getDiskSpillEstimate(e) * 1000;
+		if (e.isScalarValue()) {
+			ScalarObject so = e.getSOValue();
+			return so != null && (so.getValueType() != ValueType.STRING
+				|| so.getStringValue().length() <= MAX_STRING_LENGTH);
+		}
+		return false;
+	}
+
+	//---------------- SPACE MANAGEMENT AND INDEX -----------------//
+
+	private static boolean init() {
+		String dir = LineageCacheConfig.getPersistDir();
+		if (dir == null)
+			return false;
+		if (dir.equals(_dir))
+			return true;
+
+		// (re)load the index of the configured directory, by replaying its records
+		_dir = dir;
+		_limit = LineageCacheConfig.getPersistLimit();
+		_size = 0;
+		_numRecords = 0;
+		_index.clear();
+		_records = new ArrayList<>();
+		LocalFileUtils.createLocalFileIfNotExist(_dir);
+		File index = new File(_dir, INDEX_FILE);
+		if (index.exists()) {
+			try (BufferedReader br = Files.newBufferedReader(index.toPath(), StandardCharsets.UTF_8)) {
+				String line = null;
+				while ((line = br.readLine()) != null) {
+					_numRecords++;
+					String[] parts = line.split("\t");
+					if (parts.length == 1)
+						_index.remove(parts[0]);
+					else if (parts.length == 4)
+						_index.put(parts[0], new PersistedEntry(DataType.valueOf(parts[1]),
+							Long.parseLong(parts[2]), Long.parseLong(parts[3])));
+				}
+			}
+			catch (IOException | IllegalArgumentException ex) {
+				LOG.warn("Failed to read lineage cache index " + index + ", starting empty: " + ex.getMessage());
+				_index.clear();
+			}
+			// skip deleted entries
+			Iterator<Entry<String, PersistedEntry>> iter = _index.entrySet().iterator();
+			while (iter.hasNext()) {
+				Entry<String, PersistedEntry> e = iter.next();
+				if (new File(getFileName(_dir, e.getKey())).exists())
+					_size += e.getValue().size;
+				else
+					iter.remove();
+			}
+		}
+		if (_size > _limit) {
+			final List<String> evicted = makeSpace(_dir);
+			final String d = _dir;
+			_writes.add(CommonThreadPool.getIOPool().submit(() -> {
+				for (String e : evicted)
+					LocalFileUtils.deleteFileIfExists(getFileName(d, e));
+			}));
+		}
+		return true;
+	}
+
+	private static List<String> makeSpace(String dir) {
+		// remove least recently used entries, deleted by the caller
+		List<String> ret = new ArrayList<>();
+		Iterator<Entry<String, PersistedEntry>> iter = _index.entrySet().iterator();
+		while (_size > _limit && iter.hasNext()) {
+			Entry<String, PersistedEntry> e = iter.next();
+			iter.remove();
+			_size -= e.getValue().size;
+			ret.add(e.getKey());
+			addRecord(dir, e.getKey());
+			if (DMLScript.STATISTICS)
+				LineageCacheStatistics.incrementPersistDeletes();
+		}
+		return ret;
+	}
+
+	private static String toRecord(String digest, PersistedEntry pe) {
+		return digest + "\t" + pe.dt.name() + "\t" + pe.size + "\t" + pe.computeTime;
+	}
+
+	private static void addRecord(String dir, String record) {
+		// batch the records of concurrent placements into one append
+		_records.add(record);
+		if (!_flushPending) {
+			_flushPending = true;
+			_writes.removeIf(Future::isDone);
+			_writes.add(CommonThreadPool.getIOPool().submit(() -> writeIndex(dir)));
+		}
+	}
+
+	private static void writeIndex(String dir) {
+		synchronized (_indexLock) {
+			List<String> records;
+			List<String> snapshot = null;
+			synchronized (LineagePersistentCache.class) {
+				records = _records;
+				_records = new ArrayList<>();
+				_flushPending = false;
+				if (!dir.equals(_dir) || records.isEmpty())
+					return;
+				_numRecords += records.size();
+				if (_numRecords > Math.max(MIN_COMPACT_RECORDS, 2L * _index.size())) {
+					// compact the log to the live entries in LRU order
+					snapshot = new ArrayList<>(_index.size());
+					for (Entry<String, PersistedEntry> e : _index.entrySet())
+						snapshot.add(toRecord(e.getKey(), e.getValue()));
+					_numRecords = snapshot.size();
+				}
+			}
+			File index = new File(dir, INDEX_FILE);
+			if (snapshot != null) {
+				// write to a temporary file and atomically replace the index
+				File tmp = new File(dir, INDEX_FILE + "." + DMLScript.getUUID());
+				try {
+					Files.write(tmp.toPath(), snapshot, StandardCharsets.UTF_8);
+					Files.move(tmp.toPath(), index.toPath(),
+						StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+				catch (IOException ex) {
+					LOG.warn("Failed to write lineage cache index " + index + ": " + ex.getMessage());
+					tmp.delete();
+				}
+			}
+			else {
+				try (BufferedWriter bw = Files.newBufferedWriter(index.toPath(), StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+					for (String r : records) {
+						bw.write(r);
+						bw.newLine();
+					}
+				}
+				catch (IOException ex) {
+					LOG.warn("Failed to append to lineage cache index " + index + ": " + ex.getMessage());
+				}
+			}
+		}
+	}
+
+	private static String getFileName(String dir, String digest) {
+		return dir + "/" + digest + FILE_SUFFIX;
+	}
+
+	//---------------- STABLE LINEAGE DIGESTS -----------------//
+
+	/**
+	 * Get the digest of the given lineage trace, which is stable across runs,
+	 * or an empty string if the trace contains run specific items. Digests are
+	 * memoized, and computed with a non-recursive traversal of the trace
+	 * for robustness with regard to stack overflow errors.
+	 *
+	 * @param li lineage item
+	 * @return hex encoded digest or empty string
+	 */
+	protected static String getDigest(LineageItem li) {
+		if (li.getDigest() != null)
+			return li.getDigest();
+		// post-order traversal, digesting the inputs before their consumers
+		Stack<LineageItem> s = new Stack<>();
+		s.push(li);
+		while (!s.empty()) {
+			LineageItem tmp = s.peek();
+			if (tmp.getDigest() != null) {
+				s.pop();
+				continue;
+			}
+			boolean ready = true;
+			if (!tmp.isLeaf() && !tmp.isDedup() && !tmp.isPlaceholder())
+				for (LineageItem in : tmp.getInputs())
+					if (in.getDigest() == null) {
+						s.push(in);
+						ready = false;
+					}
+			if (ready) {
+				s.pop();
+				tmp.setDigest(computeDigest(tmp));
+			}
+		}
+		return li.getDigest();
+	}
+
+	private static String computeDigest(LineageItem li) {
+		// all inputs are already digested
+		if (li.isDedup() || li.isPlaceholder())
+			return "";
+		StringBuilder sb = new StringBuilder();
+		sb.append(li.getOpcode());
+		sb.append(Instruction.OPERAND_DELIM);
+		sb.append(li.getData());
+		if (li.isLeaf()) {
+			String fp = getLeafFingerprint(li);
+			if (fp == null)
+				return "";
+			sb.append(Instruction.OPERAND_DELIM);
+			sb.append(fp);
+		}
+		else {
+			for (LineageItem in : li.getInputs()) {
+				String din = in.getDigest();
+				if (din.isEmpty())
+					return "";
+				sb.append(Instruction.OPERAND_DELIM);
+				sb.append(din);
+			}
+		}
+		return hash(sb.toString());
+	}
+
+	private static String getLeafFingerprint(LineageItem li) {
+		if (!li.isInstruction()) {
+			// literals, and values of scalar variables; untraced
+			// matrices, frames, and lists are only known by name
+			String[] parts = li.getData().split(Instruction.VALUETYPE_PREFIX);
+			boolean literal = parts.length < 4 || parts[3].equals("true")
+				|| parts[1].equals(DataType.SCALAR.name());
+			return literal ? "" : null;
+		}
+		// only lookup the fingerprint taken when the read was traced
+		String fname = getReadFileName(li);
+		return fname != null ? _fingerprints.get(fname) : null;
+	}
+
+	private static String getReadFileName(LineageItem li) {
+		if (!li.isInstruction() || !li.getOpcode().equals(Opcodes.CREATEVAR.toString()))
+			return null;
+		// createvar of a persistent read: <exec>°createvar°pREADxxx°<fname>°...
+		String[] parts = li.getData().split(Instruction.OPERAND_DELIM, -1);
+		if (parts.length < 4 || !parts[2].startsWith(Data.PREAD_PREFIX))
+			return null;
+		return parts[3];
+	}
+
+	private static String getFileFingerprint(String fname) {
+		try {
+			Path path = new Path(fname);
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			if (!fs.exists(path))
+				return null;
+			FileStatus stat = fs.getFileStatus(path);
+			StringBuilder sb = new StringBuilder();
+			if (stat.isDirectory()) {
+				// multi-part inputs: fingerprints of all parts
+				for (FileStatus part : fs.listStatus(path))
+					sb.append(part.getPath().getName()).append(':')
+						.append(part.getLen()).append(':').append(part.getModificationTime()).append(';');
+			}
+			else {
+				FileChecksum cs = fs.getFileChecksum(path);
+				if (cs != null)
+					sb.append(cs.toString());
+				else
+					sb.append(stat.getLen()).append(':').append(stat.getModificationTime());
+			}
+			return sb.toString();
+		}
+		catch (IOException ex) {
+			LOG.debug("No fingerprint of input " + fname + ": " + ex.getMessage());
+			return null;
+		}
+	}
+
+	private static String hash(String str) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			byte[] bytes = md.digest(str.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder(2 * bytes.length);
+			for (byte b : bytes) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+				sb.append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	//---------------- I/O OF SCALAR ENTRIES -----------------//
+
+	private static void writeScalar(String fname, ScalarObject so) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(fname))) {
+			out.writeUTF(so.getValueType().name());
+			out.writeUTF(so.getStringValue());
+		}
+	}
+
+	private static ScalarObject readScalar(String fname) throws IOException {
+		try (DataInputStream in = new DataInputStream(new FileInputStream(fname))) {
+			ValueType vt = ValueType.valueOf(in.readUTF());
+			return ScalarObjectFactory.createScalarObject(vt, in.readUTF());
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	private static class PersistedEntry {
+		private final DataType dt;
+		private final long size;
+		private final long computeTime;
+
+		private PersistedEntry(DataType dt, long size, long computeTime) {
+			this.dt = dt;
+			this.size = size;
+			this.computeTime = computeTime;
+		}
+	}
+}
@@ -29,6 +29,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Opcodes;
 import org.apache.sysds.common.Types.AggOp;
+import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.Direction;
 import org.apache.sysds.common.Types.OpOp2;
 import org.apache.sysds.common.Types.OpOpN;
@@ -53,11 +54,17 @@ import org.apache.sysds.runtime.controlprogram.Program;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.InstructionParser;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.DataGenCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.MMTSJCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.ParameterizedBuiltinCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
@@ -74,6 +81,26 @@ public class LineageRewriteReuse
 	private static ExecutionContext _lrEC = null;
 	private static boolean _disableReuse = true;
 	private static long _computeTime = 0;
+	private static final long UNKNOWN = Long.MIN_VALUE;
+	private static final int MAX_WINDOWS = 64;
+	// max number of consecutive incremental aggregates before a full recompute
+	private static final int MAX_INC_STEPS = 32;
+	// last row window per aggregate, input and columns, for sliding window rewrites
+	@SuppressWarnings("serial")
+	private static final Map<LineageItem, LineageItem> _windows = new LinkedHashMap<LineageItem, LineageItem>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<LineageItem, LineageItem> eldest) {
+			return size() > MAX_WINDOWS;
+		}
+	};
+	// number of incremental steps since the last full recompute, per aggregate
+	@SuppressWarnings("serial")
+	private static final Map<LineageItem, Integer> _incSteps = new LinkedHashMap<LineageItem, Integer>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<LineageItem, Integer> eldest) {
+			return size() > MAX_WINDOWS;
+		}
+	};
 	private static final Log LOG = LogFactory.getLog(LineageRewriteReuse.class.getName());
 	
 	public static boolean executeRewrites (Instruction curr, ExecutionContext ec)
@@ -93,8 +120,15 @@ public class LineageRewriteReuse
 		newInst = (newInst == null) ? rewriteTsmm2Cbind(curr, ec, lrwec) : newInst;
 		//tsmm(cbind(cbind(X, deltaX), ones)) -> TODO
 		newInst = (newInst == null) ? rewriteTsmm2CbindSameLeft(curr, ec, lrwec) : newInst;
+		//agg(rbind(X, deltaX)) -> agg(X) + agg(deltaX), for sum, colSums, colMeans, tsmm
+		//agg(X[rl:ru,]) -> agg(X[rl0:ru0,]) - agg(X[rl0:rl-1,]) + agg(X[ru0+1:ru,]), for sliding windows
+		newInst = (newInst == null) ? rewriteIncAgg(curr, ec, lrwec) : newInst;
 		//tsmm(rbind(X, deltaX)) -> tsmm(X) + tsmm(deltaX)
 		newInst = (newInst == null) ? rewriteTsmmRbind(curr, ec, lrwec) : newInst;
+		//t(rbind(X, deltaX)) %*% rbind(y, deltay) -> t(X) %*% y + t(deltaX) %*% deltay
+		newInst = (newInst == null) ? rewriteTMatMulRbind(curr, ec, lrwec) : newInst;
+		//X %*% leftIndex(Y, B, 1:nrow, cl:cu) -> leftIndex(X %*% Y, X %*% Y[,cl:cu], 1:nrow, cl:cu)
+		newInst = (newInst == null) ? rewriteMatMulColBlock(curr, ec, lrwec) : newInst;
 		//rbind(X,deltaX) %*% Y -> rbind(X %*% Y, deltaX %*% Y)
 		newInst = (newInst == null) ? rewriteMatMulRbindLeft(curr, ec, lrwec) : newInst;
 		//X %*% cbind(Y,ones)) -> cbind(X %*% Y, rowSums(X))
@@ -119,12 +153,16 @@ public class LineageRewriteReuse
 		long t0 = System.nanoTime();
 		executeInst(newInst, lrwec);
 		long t1 = System.nanoTime();
-		ec.setVariable(((ComputationCPInstruction)curr).output.getName(), lrwec.getVariable(LR_VAR));
+		CPOperand output = ((ComputationCPInstruction)curr).output;
+		ec.setVariable(output.getName(), lrwec.getVariable(LR_VAR));
 
 		//put the result into the cache
 		//Projected CT(Rewritten entry) = CT(last entry) + CT(rewrite), where CT = ComputeTime
 		long totCT = _computeTime + (t1-t0);
-		LineageCache.putMatrix(curr, ec, totCT);
+		if (output.isMatrix())
+			LineageCache.putMatrix(curr, ec, totCT);
+		else
+			LineageCache.putScalar(curr, ec, totCT);
 		DMLScript.EXPLAIN = et; //TODO can't change this here
 		
 		//cleanup execution context
@@ -814,6 +852,156 @@ public class LineageRewriteReuse
 		return inst;
 	}
 	
+	private static ArrayList<Instruction> rewriteIncAgg(Instruction curr, ExecutionContext ec, ExecutionContext lrwec)
+	{
+		// Check the applicability of this rewrite for appended rows or sliding windows
+		IncAggPlan plan = isIncAggRbind(curr, ec);
+		plan = (plan == null) ? isIncAggWindow(curr, ec) : plan;
+		plan = (plan == null) ? isIncAggRbindWindow(curr, ec) : plan;
+		if (plan == null || !plan.isCheaperThanRecompute())
+			return null;
+		
+		// Bound the accumulated cancellation error by recomputing every MAX_INC_STEPS updates
+		int steps = _incSteps.getOrDefault(plan.lastItem, 0) + 1;
+		if (steps >= MAX_INC_STEPS)
+			return null;
+		
+		// Get the cached aggregate, and subtract removed rows only if all involved values
+		// are finite, as NaN or Inf would otherwise poison all subsequent windows
+		double lastScalar = 0;
+		MatrixBlock cachedEntry = null;
+		if (plan.agg.isScalar())
+			lastScalar = LineageCache.getEntry(plan.lastItem).getSOValue().getDoubleValue();
+		else
+			cachedEntry = LineageCache.getMatrix(plan.lastItem);
+		if (plan.removed != null && (plan.agg.isScalar() ? !Double.isFinite(lastScalar) :
+			!isFinite(cachedEntry, 1, cachedEntry.getNumRows(), 1, cachedEntry.getNumColumns())
+			|| !isFinite(plan.removed.acquireReadAndRelease(), plan.removedRange[0],
+				plan.removedRange[1], plan.removedRange[2], plan.removedRange[3])))
+			return null;
+		
+		// Create a read op over the cached aggregate, in additive form (e.g., sums for means)
+		Hop lastRes;
+		if (plan.agg.isScalar())
+			lastRes = new LiteralOp(lastScalar);
+		else {
+			lrwec.setVariable("cachedEntry", toMatrixObject(cachedEntry));
+			lastRes = HopRewriteUtils.createTransientRead("cachedEntry", cachedEntry);
+		}
+		Hop lrwHop = plan.agg.toAdditive(lastRes, plan.lastRows);
+		
+		// agg(new) = agg(last) - agg(removed rows) + agg(added rows)
+		if (plan.removed != null) {
+			lrwec.setVariable("removedSrc", plan.removed);
+			Hop removed = HopRewriteUtils.createIndexingOp(HopRewriteUtils.createTransientRead("removedSrc", plan.removed),
+				plan.removedRange[0], plan.removedRange[1], plan.removedRange[2], plan.removedRange[3]);
+			lrwHop = HopRewriteUtils.createBinary(lrwHop, plan.agg.aggregate(removed), OpOp2.MINUS);
+		}
+		if (plan.added != null) {
+			lrwec.setVariable("addedSrc", plan.added);
+			Hop added = HopRewriteUtils.createIndexingOp(HopRewriteUtils.createTransientRead("addedSrc", plan.added),
+				plan.addedRange[0], plan.addedRange[1], plan.addedRange[2], plan.addedRange[3]);
+			lrwHop = HopRewriteUtils.createBinary(lrwHop, plan.agg.aggregate(added), OpOp2.PLUS);
+		}
+		lrwHop = plan.agg.fromAdditive(lrwHop, plan.rows);
+		DataOp lrwWrite = HopRewriteUtils.createTransientWrite(LR_VAR, lrwHop);
+
+		// generate runtime instructions
+		if (LOG.isDebugEnabled())
+			LOG.debug("LINEAGE REWRITE rewriteIncAgg ("+plan.agg.name()+") APPLIED");
+		ArrayList<Instruction> inst = genInst(lrwWrite, lrwec);
+		_disableReuse = true;
+
+		// cleanup buffer pool
+		addRmvarInstructions(inst, lrwec, "cachedEntry");
+		_incSteps.put(plan.item, steps);
+		
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementPRewrites();
+		return inst;
+	}
+	
+	private static ArrayList<Instruction> rewriteTMatMulRbind(Instruction curr, ExecutionContext ec, ExecutionContext lrwec)
+	{
+		// Check the applicability of this rewrite.
+		Map<String, MatrixBlock> inCache = new HashMap<>();
+		long numAppended = isTMatMulRbind(curr, ec, inCache);
+		if (numAppended <= 0)
+			return null;
+		
+		// Create a transient read op over the last ba+* result
+		MatrixBlock cachedEntry = inCache.get("lastMatrix");
+		lrwec.setVariable("cachedEntry", toMatrixObject(cachedEntry));
+		DataOp lastRes = HopRewriteUtils.createTransientRead("cachedEntry", cachedEntry);
+		MatrixObject moL = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		lrwec.setVariable("leftMatrix", moL);
+		DataOp leftMatrix = HopRewriteUtils.createTransientRead("leftMatrix", moL);
+		MatrixObject moR = ec.getMatrixObject(((ComputationCPInstruction)curr).input2);
+		lrwec.setVariable("rightMatrix", moR);
+		DataOp rightMatrix = HopRewriteUtils.createTransientRead("rightMatrix", moR);
+		
+		// t(rbind(X, deltaX)) %*% rbind(y, deltay) = t(X) %*% y + t(deltaX) %*% deltay
+		long n = moR.getNumRows();
+		IndexingOp tdeltaX = HopRewriteUtils.createIndexingOp(leftMatrix, 1, moL.getNumRows(), n-numAppended+1, n);
+		IndexingOp deltay = HopRewriteUtils.createIndexingOp(rightMatrix, n-numAppended+1, n, 1, moR.getNumColumns());
+		AggBinaryOp delta = HopRewriteUtils.createMatrixMultiply(tdeltaX, deltay);
+		BinaryOp lrwHop = HopRewriteUtils.createBinary(lastRes, delta, OpOp2.PLUS);
+		DataOp lrwWrite = HopRewriteUtils.createTransientWrite(LR_VAR, lrwHop);
+
+		// generate runtime instructions
+		if (LOG.isDebugEnabled())
+			LOG.debug("LINEAGE REWRITE rewriteTMatMulRbind APPLIED");
+		ArrayList<Instruction> inst = genInst(lrwWrite, lrwec);
+		_disableReuse = true;
+
+		// cleanup buffer pool
+		addRmvarInstructions(inst, lrwec, "cachedEntry");
+		
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementPRewrites();
+		return inst;
+	}
+	
+	private static ArrayList<Instruction> rewriteMatMulColBlock(Instruction curr, ExecutionContext ec, ExecutionContext lrwec)
+	{
+		// Check the applicability of this rewrite.
+		Map<String, MatrixBlock> inCache = new HashMap<>();
+		long[] cols = isMatMulColBlock(curr, ec, inCache);
+		if (cols == null)
+			return null;
+		
+		// Create a transient read op over the last ba+* result
+		MatrixBlock cachedEntry = inCache.get("lastMatrix");
+		lrwec.setVariable("cachedEntry", toMatrixObject(cachedEntry));
+		DataOp lastRes = HopRewriteUtils.createTransientRead("cachedEntry", cachedEntry);
+		MatrixObject moL = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		lrwec.setVariable("leftMatrix", moL);
+		DataOp leftMatrix = HopRewriteUtils.createTransientRead("leftMatrix", moL);
+		MatrixObject moR = ec.getMatrixObject(((ComputationCPInstruction)curr).input2);
+		lrwec.setVariable("rightMatrix", moR);
+		DataOp rightMatrix = HopRewriteUtils.createTransientRead("rightMatrix", moR);
+		
+		// X %*% Y = leftIndex(X %*% Yold, X %*% Y[,cl:cu], 1:nrow, cl:cu)
+		IndexingOp colBlock = HopRewriteUtils.createIndexingOp(rightMatrix, 1, moR.getNumRows(), cols[0], cols[1]);
+		AggBinaryOp newCols = HopRewriteUtils.createMatrixMultiply(leftMatrix, colBlock);
+		Hop lrwHop = HopRewriteUtils.createLeftIndexingOp(lastRes, newCols, new LiteralOp(1),
+			new LiteralOp(moL.getNumRows()), new LiteralOp(cols[0]), new LiteralOp(cols[1]));
+		DataOp lrwWrite = HopRewriteUtils.createTransientWrite(LR_VAR, lrwHop);
+
+		// generate runtime instructions
+		if (LOG.isDebugEnabled())
+			LOG.debug("LINEAGE REWRITE rewriteMatMulColBlock APPLIED");
+		ArrayList<Instruction> inst = genInst(lrwWrite, lrwec);
+		_disableReuse = true;
+
+		// cleanup buffer pool
+		addRmvarInstructions(inst, lrwec, "cachedEntry");
+		
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementPRewrites();
+		return inst;
+	}
+	
 	/*------------------------REWRITE APPLICABILITY CHECKS-------------------------*/
 
 	private static boolean isTsmmCbind(Instruction curr, ExecutionContext ec, Map<String, MatrixBlock> inCache)
@@ -1215,6 +1403,187 @@ public class LineageRewriteReuse
 		return inCache.containsKey("projected") && inCache.containsKey("lastMatrix");
 	}
 
+	private static IncAggPlan isIncAggRbind(Instruction curr, ExecutionContext ec)
+	{
+		IncAgg agg = IncAgg.get(curr);
+		if (agg == null || !LineageCacheConfig.isReusable(curr, ec))
+			return null;
+
+		// If the input to the aggregate came from rbind, look for the aggregate of the first input
+		LineageItem item = ((ComputationCPInstruction) curr).getLineageItem(ec).getValue();
+		LineageItem source = item.getInputs()[0];
+		if (!source.getOpcode().equalsIgnoreCase(Opcodes.RBIND.toString()) || source.getInputs().length != 2)
+			return null;
+		LineageItem tmp = replaceInput(item, 0, source.getInputs()[0]);
+		if (!isCachedValue(tmp))
+			return null;
+		
+		// find the number of appended rows via the cached or live inputs of rbind
+		MatrixObject mo = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		long n = mo.getNumRows();
+		long numAppended = getNumAppendedRows(source, n, ec);
+		if (numAppended <= 0 || numAppended >= n)
+			return null;
+		
+		IncAggPlan plan = new IncAggPlan(agg, item, tmp, n-numAppended, n, mo.getNumColumns());
+		plan.setAdded(mo, n-numAppended+1, n, 1, mo.getNumColumns());
+		_computeTime = LineageCache.getEntry(tmp)._computeTime;
+		return plan;
+	}
+
+	private static IncAggPlan isIncAggWindow(Instruction curr, ExecutionContext ec)
+	{
+		IncAgg agg = IncAgg.get(curr);
+		if (agg == null || !LineageCacheConfig.isReusable(curr, ec))
+			return null;
+
+		// If the input to the aggregate is a row window X[rl:ru, cl:cu], look for 
+		// the aggregate of the last window over the same input and columns
+		LineageItem item = ((ComputationCPInstruction) curr).getLineageItem(ec).getValue();
+		LineageItem source = item.getInputs()[0];
+		if (!source.getOpcode().equalsIgnoreCase("rightIndex") || source.getInputs().length != 5)
+			return null;
+		LineageItem[] ix = source.getInputs();
+		long rl = evalIndex(ix[1]), ru = evalIndex(ix[2]);
+		long cl = evalIndex(ix[3]), cu = evalIndex(ix[4]);
+		if (rl < 1 || ru < rl || cl < 1 || cu < cl)
+			return null;
+		
+		// remember this window, which is cached after execution
+		LineageItem key = new LineageItem(curr.getOpcode(), new LineageItem[] {ix[0], ix[3], ix[4]});
+		LineageItem last = _windows.put(key, item);
+		if (last == null || !isCachedValue(last))
+			return null;
+		LineageItem[] lastIx = last.getInputs()[0].getInputs();
+		long rl0 = evalIndex(lastIx[1]), ru0 = evalIndex(lastIx[2]);
+		// only forward sliding, overlapping windows
+		if (rl0 < 1 || rl < rl0 || ru < ru0 || rl > ru0 || (rl == rl0 && ru == ru0))
+			return null;
+		MatrixObject X = findMatrix(ix[0], ec);
+		if (X == null)
+			return null;
+		
+		IncAggPlan plan = new IncAggPlan(agg, item, last, ru0-rl0+1, ru-rl+1, cu-cl+1);
+		if (rl > rl0)
+			plan.setRemoved(X, rl0, rl-1, cl, cu);
+		if (ru > ru0)
+			plan.setAdded(X, ru0+1, ru, cl, cu);
+		_computeTime = LineageCache.getEntry(last)._computeTime;
+		return plan;
+	}
+
+	private static IncAggPlan isIncAggRbindWindow(Instruction curr, ExecutionContext ec)
+	{
+		IncAgg agg = IncAgg.get(curr);
+		if (agg == null || !LineageCacheConfig.isReusable(curr, ec))
+			return null;
+
+		// If the input to the aggregate is rbind(X[rl:nrow,], deltaX), 
+		// look for the aggregate of the last window X
+		LineageItem item = ((ComputationCPInstruction) curr).getLineageItem(ec).getValue();
+		LineageItem source = item.getInputs()[0];
+		if (!source.getOpcode().equalsIgnoreCase(Opcodes.RBIND.toString()) || source.getInputs().length != 2)
+			return null;
+		LineageItem kept = source.getInputs()[0];
+		if (!kept.getOpcode().equalsIgnoreCase("rightIndex") || kept.getInputs().length != 5)
+			return null;
+		LineageItem tmp = replaceInput(item, 0, kept.getInputs()[0]);
+		if (!isCachedValue(tmp))
+			return null;
+		MatrixObject X = findMatrix(kept.getInputs()[0], ec);
+		if (X == null)
+			return null;
+		LineageItem[] ix = kept.getInputs();
+		long rl = evalIndex(ix[1]), ru = evalIndex(ix[2]);
+		long cl = evalIndex(ix[3]), cu = evalIndex(ix[4]);
+		if (rl < 2 || ru != X.getNumRows() || cl != 1 || cu != X.getNumColumns())
+			return null;
+		
+		MatrixObject mo = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		long n = mo.getNumRows();
+		long numKept = ru - rl + 1;
+		IncAggPlan plan = new IncAggPlan(agg, item, tmp, X.getNumRows(), n, mo.getNumColumns());
+		plan.setRemoved(X, 1, rl-1, 1, X.getNumColumns());
+		if (n > numKept)
+			plan.setAdded(mo, numKept+1, n, 1, mo.getNumColumns());
+		_computeTime = LineageCache.getEntry(tmp)._computeTime;
+		return plan;
+	}
+
+	private static long isTMatMulRbind(Instruction curr, ExecutionContext ec, Map<String, MatrixBlock> inCache)
+	{
+		if (!LineageCacheConfig.isReusable(curr, ec) 
+			|| !curr.getOpcode().equalsIgnoreCase(Opcodes.MMULT.toString()))
+			return -1;
+
+		// If the inputs to ba+* are t(rbind(X, deltaX)) and rbind(y, deltay), 
+		// look for t(X) %*% y in cache
+		LineageItem item = ((ComputationCPInstruction) curr).getLineageItem(ec).getValue();
+		LineageItem left = item.getInputs()[0];
+		LineageItem right = item.getInputs()[1];
+		if (!left.getOpcode().equalsIgnoreCase(Opcodes.TRANSPOSE.toString())
+			|| !right.getOpcode().equalsIgnoreCase(Opcodes.RBIND.toString()) || right.getInputs().length != 2)
+			return -1;
+		LineageItem leftSource = left.getInputs()[0];
+		if (!leftSource.getOpcode().equalsIgnoreCase(Opcodes.RBIND.toString()) || leftSource.getInputs().length != 2)
+			return -1;
+		LineageItem tX = replaceInput(left, 0, leftSource.getInputs()[0]);
+		LineageItem tmp = replaceInput(replaceInput(item, 0, tX), 1, right.getInputs()[0]);
+		if (!isCachedValue(tmp))
+			return -1;
+		
+		// find the number of appended rows via the cached or live inputs of rbind
+		MatrixObject moL = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		MatrixObject moR = ec.getMatrixObject(((ComputationCPInstruction)curr).input2);
+		long n = moR.getNumRows();
+		long numAppended = getNumAppendedRows(right, n, ec);
+		numAppended = (numAppended < 0) ? getNumAppendedRows(leftSource, n, ec) : numAppended;
+		if (numAppended <= 0 || numAppended >= n)
+			return -1;
+		
+		// compensate only if cheaper than recomputing
+		double cells = (double) moL.getNumRows() * moR.getNumColumns();
+		if (numAppended * cells + cells >= n * cells)
+			return -1;
+		
+		inCache.put("lastMatrix", LineageCache.getMatrix(tmp));
+		_computeTime = LineageCache.getEntry(tmp)._computeTime;
+		return numAppended;
+	}
+
+	private static long[] isMatMulColBlock(Instruction curr, ExecutionContext ec, Map<String, MatrixBlock> inCache)
+	{
+		if (!LineageCacheConfig.isReusable(curr, ec) 
+			|| !curr.getOpcode().equalsIgnoreCase(Opcodes.MMULT.toString()))
+			return null;
+
+		// If the right input to ba+* is Y with an updated column block 
+		// (Y[,cl:cu] = B), look for X %*% Y of the old Y in cache
+		LineageItem item = ((ComputationCPInstruction) curr).getLineageItem(ec).getValue();
+		LineageItem right = item.getInputs()[1];
+		if (!right.getOpcode().equalsIgnoreCase("leftIndex") || right.getInputs().length != 6)
+			return null;
+		LineageItem[] ix = right.getInputs(); //Y, B, rl, ru, cl, cu
+		MatrixObject moL = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		MatrixObject moR = ec.getMatrixObject(((ComputationCPInstruction)curr).input2);
+		long cl = evalIndex(ix[4]), cu = evalIndex(ix[5]);
+		if (evalIndex(ix[2]) != 1 || evalIndex(ix[3]) != moR.getNumRows() || cl < 1 || cu < cl)
+			return null;
+		LineageItem tmp = replaceInput(item, 1, ix[0]);
+		if (!isCachedValue(tmp))
+			return null;
+		
+		// compensate only if cheaper than recomputing
+		double cost = (double) moL.getNumRows() * moL.getNumColumns();
+		double outCells = (double) moL.getNumRows() * moR.getNumColumns();
+		if ((cu-cl+1) * cost + outCells >= moR.getNumColumns() * cost)
+			return null;
+		
+		inCache.put("lastMatrix", LineageCache.getMatrix(tmp));
+		_computeTime = LineageCache.getEntry(tmp)._computeTime;
+		return new long[] {cl, cu};
+	}
+
 	/*----------------------INSTRUCTIONS GENERATION & EXECUTION-----------------------*/
 
 	private static ArrayList<Instruction> genInst(Hop hops, ExecutionContext ec) {
@@ -1289,6 +1658,123 @@ public class LineageRewriteReuse
 		return(new LineageItem(old_data));
 	}
 
+	private static LineageItem replaceInput(LineageItem li, int pos, LineageItem input) {
+		LineageItem[] inputs = li.getInputs().clone();
+		inputs[pos] = input;
+		return new LineageItem(li.getData(), li.getOpcode(), inputs);
+	}
+	
+	private static boolean isCachedValue(LineageItem li) {
+		//probe without blocking on placeholders of running instructions
+		if (!LineageCache.probe(li))
+			return false;
+		LineageCacheEntry e = LineageCache.getEntry(li);
+		return e != null && !e.isNullVal();
+	}
+	
+	private static boolean isFinite(MatrixBlock mb, long rl, long ru, long cl, long cu) {
+		//scan the 1-based, inclusive range, as non-finite values cannot be subtracted
+		if (mb.isEmptyBlock(false))
+			return true;
+		if (mb.isInSparseFormat() && !SparseBlockFactory.isColumnMajor(mb.getSparseBlock())) {
+			SparseBlock sb = mb.getSparseBlock();
+			for (int i = (int) rl-1; i < ru; i++) {
+				if (sb.isEmpty(i))
+					continue;
+				int apos = sb.pos(i);
+				int alen = sb.size(i);
+				int[] aix = sb.indexes(i);
+				double[] avals = sb.values(i);
+				for (int k = apos; k < apos+alen; k++)
+					if (aix[k] >= cl-1 && aix[k] < cu && !Double.isFinite(avals[k]))
+						return false;
+			}
+		}
+		else if (!mb.isInSparseFormat()) {
+			DenseBlock db = mb.getDenseBlock();
+			for (int i = (int) rl-1; i < ru; i++) {
+				double[] avals = db.values(i);
+				int apos = db.pos(i);
+				for (int j = (int) cl-1; j < cu; j++)
+					if (!Double.isFinite(avals[apos+j]))
+						return false;
+			}
+		}
+		else {
+			for (int i = (int) rl-1; i < ru; i++)
+				for (int j = (int) cl-1; j < cu; j++)
+					if (!Double.isFinite(mb.get(i, j)))
+						return false;
+		}
+		return true;
+	}
+	
+	private static MatrixObject findMatrix(LineageItem li, ExecutionContext ec) {
+		//look for the value in the cache
+		if (isCachedValue(li)) {
+			LineageCacheEntry e = LineageCache.getEntry(li);
+			if (e.isMatrixValue())
+				return toMatrixObject(e.getMBValue());
+		}
+		//look for a live variable with the same lineage
+		if (ec.getLineage() == null)
+			return null;
+		for (String varname : ec.getVariables().keySet()) {
+			Data dat = ec.getVariable(varname);
+			if (!(dat instanceof MatrixObject) || ((MatrixObject) dat).isFederated()
+				|| ((MatrixObject) dat).hasRDDHandle())
+				continue;
+			LineageItem vli = ec.getLineage().get(varname);
+			if (vli == li || (vli != null && vli.hashCode() == li.hashCode() && vli.equals(li)))
+				return (MatrixObject) dat;
+		}
+		return null;
+	}
+	
+	private static long getNumAppendedRows(LineageItem rbind, long nrow, ExecutionContext ec) {
+		MatrixObject delta = findMatrix(rbind.getInputs()[1], ec);
+		if (delta != null)
+			return delta.getNumRows();
+		MatrixObject X = findMatrix(rbind.getInputs()[0], ec);
+		return (X != null) ? nrow - X.getNumRows() : -1;
+	}
+	
+	private static long evalIndex(LineageItem li) {
+		//evaluate literal indexes and simple arithmetic over
+		//literals (e.g., windows over loop variables)
+		if (li.getType() == LineageItemType.Literal) {
+			String[] parts = li.getData().split(Instruction.VALUETYPE_PREFIX);
+			if (parts.length != 4 || !parts[1].equals(DataType.SCALAR.name()) || !Boolean.parseBoolean(parts[3]))
+				return UNKNOWN;
+			try {
+				double val = Double.parseDouble(parts[0]);
+				return (val == Math.floor(val)) ? (long) val : UNKNOWN;
+			}
+			catch (NumberFormatException ex) {
+				return UNKNOWN;
+			}
+		}
+		if (li.getType() != LineageItemType.Instruction || li.getInputs().length != 2)
+			return UNKNOWN;
+		long a = evalIndex(li.getInputs()[0]);
+		long b = evalIndex(li.getInputs()[1]);
+		if (a == UNKNOWN || b == UNKNOWN)
+			return UNKNOWN;
+		String opcode = li.getOpcode();
+		if (opcode.equals(Opcodes.PLUS.toString()))
+			return a + b;
+		else if (opcode.equals(Opcodes.MINUS.toString()))
+			return a - b;
+		else if (opcode.equals(Opcodes.MULT.toString()))
+			return a * b;
+		return UNKNOWN;
+	}
+	
+	public static void resetWindows() {
+		_windows.clear();
+		_incSteps.clear();
+	}
+
 	private static ExecutionContext getExecutionContext() {
 		if( _lrEC == null )
 			_lrEC = ExecutionContextFactory.createContext();
@@ -1300,4 +1786,102 @@ public class LineageRewriteReuse
 			_lrPB = new BasicProgramBlock(new Program());
 		return _lrPB;
 	}
+
+	/*----------------------INCREMENTALLY MAINTAINED AGGREGATES-----------------------*/
+	
+	/**
+	 * Aggregates over rows that can be updated for appended and removed rows,
+	 * via their additive form (e.g., column sums for column means).
+	 */
+	private enum IncAgg {
+		SUM(Opcodes.UAKP),
+		COLSUMS(Opcodes.UACKP),
+		COLMEANS(Opcodes.UACMEAN),
+		TSMM(Opcodes.TSMM);
+		
+		private final String _opcode;
+		
+		private IncAgg(Opcodes opcode) {
+			_opcode = opcode.toString();
+		}
+		
+		private static IncAgg get(Instruction inst) {
+			if (!(inst instanceof ComputationCPInstruction))
+				return null;
+			for (IncAgg agg : values())
+				if (agg._opcode.equalsIgnoreCase(inst.getOpcode()))
+					return (agg != TSMM || (inst instanceof MMTSJCPInstruction
+						&& ((MMTSJCPInstruction) inst).getMMTSJType().isLeft())) ? agg : null;
+			return null;
+		}
+		
+		private boolean isScalar() {
+			return this == SUM;
+		}
+		
+		private Hop aggregate(Hop rows) {
+			switch (this) {
+				case SUM: return HopRewriteUtils.createAggUnaryOp(rows, AggOp.SUM, Direction.RowCol);
+				case TSMM: return HopRewriteUtils.createTsmm(rows, true);
+				default: return HopRewriteUtils.createAggUnaryOp(rows, AggOp.SUM, Direction.Col);
+			}
+		}
+		
+		private Hop toAdditive(Hop agg, long nrow) {
+			return (this == COLMEANS) ? HopRewriteUtils.createBinary(agg, new LiteralOp(nrow), OpOp2.MULT) : agg;
+		}
+		
+		private Hop fromAdditive(Hop agg, long nrow) {
+			return (this == COLMEANS) ? HopRewriteUtils.createBinary(agg, new LiteralOp(nrow), OpOp2.DIV) : agg;
+		}
+		
+		private double getRowCost(long ncol) {
+			return (this == TSMM) ? (double) ncol * ncol : ncol;
+		}
+		
+		private double getOutputCells(long ncol) {
+			return (this == TSMM) ? (double) ncol * ncol : (this == SUM) ? 1 : ncol;
+		}
+	}
+	
+	private static class IncAggPlan {
+		private final IncAgg agg;
+		private final LineageItem item; //new aggregate
+		private final LineageItem lastItem; //cached aggregate
+		private final long lastRows;
+		private final long rows;
+		private final long cols;
+		private MatrixObject removed = null;
+		private long[] removedRange = null;
+		private MatrixObject added = null;
+		private long[] addedRange = null;
+		
+		private IncAggPlan(IncAgg agg, LineageItem item, LineageItem lastItem, long lastRows, long rows, long cols) {
+			this.agg = agg;
+			this.item = item;
+			this.lastItem = lastItem;
+			this.lastRows = lastRows;
+			this.rows = rows;
+			this.cols = cols;
+		}
+		
+		private void setRemoved(MatrixObject src, long rl, long ru, long cl, long cu) {
+			removed = src;
+			removedRange = new long[] {rl, ru, cl, cu};
+		}
+		
+		private void setAdded(MatrixObject src, long rl, long ru, long cl, long cu) {
+			added = src;
+			addedRange = new long[] {rl, ru, cl, cu};
+		}
+		
+		private boolean isCheaperThanRecompute() {
+			//compensation over changed rows and updates of the cached aggregate vs
+			//recomputation over all rows, both proportional to the per-row cost
+			long numChanged = (removed != null ? removedRange[1]-removedRange[0]+1 : 0)
+				+ (added != null ? addedRange[1]-addedRange[0]+1 : 0);
+			double compensation = numChanged * agg.getRowCost(cols) + 2 * agg.getOutputCells(cols);
+			return compensation < rows * agg.getRowCost(cols);
+		}
+	}
 }
@@ -222,7 +222,7 @@ public class LineageSparkCacheEviction
 		int localHitCount = RDDHitCountLocal.get(e._key);
 		if (localHitCount > 3) {
 			RDDHitCountLocal.remove(e._key);
-			CommonThreadPool.getDynamicPool().submit(new TriggerRemoteTask(e.getRDDObject().getRDD()));
+			CommonThreadPool.getIOPool().submit(new TriggerRemoteTask(e.getRDDObject().getRDD()));
 		}
 	}
 
@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFP64DEDUP;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSC;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.functionobjects.Builtin;
@@ -2619,7 +2620,26 @@ public class LibMatrixAgg {
 	private static void s_uackp( SparseBlock a, DenseBlock c, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) 
 	{
 		//compute column aggregates
-		if( a.isContiguous() ) {
+		if( a instanceof SparseBlockCSC ) {
+			//column-major: aggregate each column in a single pass
+			SparseBlockCSC csc = (SparseBlockCSC) a;
+			int[] aptr = csc.colPointers();
+			int[] aix = csc.indexes();
+			double[] avals = csc.values();
+			double[] sum = c.values(0);
+			double[] corr = c.values(1);
+			int pos0 = c.pos(0), pos1 = c.pos(1);
+			for( int j=0; j<n; j++ ) {
+				int apos = lowerBound(aix, aptr[j], aptr[j+1], rl);
+				int alen = lowerBound(aix, apos, aptr[j+1], ru) - apos;
+				if( alen <= 0 ) continue;
+				kbuff.set(sum[pos0+j], corr[pos1+j]);
+				sum(avals, apos, alen, kbuff, kplus);
+				sum[pos0+j] = kbuff._sum;
+				corr[pos1+j] = kbuff._correction;
+			}
+		}
+		else if( a.isContiguous() ) {
 			sumAgg( a.values(rl), c, a.indexes(rl), a.pos(rl), (int)a.size(rl, ru), n, kbuff, kplus );
 		}
 		else {
@@ -2632,7 +2652,23 @@ public class LibMatrixAgg {
 
 	private static void s_uacp(SparseBlock a, DenseBlock c, int n, int rl, int ru) {
 		final double[] cVal = c.values(0);
-		if(a.isContiguous())
+		if(a instanceof SparseBlockCSC) {
+			// column-major: aggregate each column in a single pass
+			final SparseBlockCSC csc = (SparseBlockCSC) a;
+			final int[] aptr = csc.colPointers();
+			final int[] aix = csc.indexes();
+			final double[] avals = csc.values();
+			final int cix = c.pos(0);
+			for(int j = 0; j < n; j++) {
+				final int apos = lowerBound(aix, aptr[j], aptr[j + 1], rl);
+				final int aend = lowerBound(aix, apos, aptr[j + 1], ru);
+				double v = 0;
+				for(int k = apos; k < aend; k++)
+					v += avals[k];
+				cVal[cix + j] += v;
+			}
+		}
+		else if(a.isContiguous())
 			sumAgg(a.values(rl), cVal, a.indexes(rl), a.pos(rl), (int) a.size(rl, ru), n);
 		else
 			for(int i = rl; i < ru; i++)
@@ -3381,11 +3417,19 @@ public class LibMatrixAgg {
 	////////////////////////////////////////////
 	
 	private static void sum(double[] a, int ai, final int len, KahanObject kbuff, KahanFunction kplus) {
+		if( LibMatrixAggSIMD.isApplicable(kplus, len) ) {
+			LibMatrixAggSIMD.sum(a, ai, len, kbuff, kplus);
+			return;
+		}
 		for (int i=ai; i<ai+len; i++)
 			kplus.execute2(kbuff, a[i]);
 	}
 
 	private static void sumAgg(double[] a, DenseBlock c, int ai, final int len, KahanObject kbuff, KahanFunction kplus) {
+		if( LibMatrixAggSIMD.isApplicable(kplus, len) ) {
+			LibMatrixAggSIMD.sumAgg(a, c, ai, len, kbuff, kplus);
+			return;
+		}
 		//note: output might span multiple physical blocks
 		double[] sum = c.values(0);
 		double[] corr = c.values(1);
@@ -3414,6 +3458,23 @@ public class LibMatrixAgg {
 		}
 	}
 
+	/**
+	 * Position of the first sorted row index in [ai, aend) that is not smaller than r.
+	 */
+	private static int lowerBound(int[] aix, int ai, int aend, int r) {
+		if( ai >= aend || aix[ai] >= r )
+			return ai;
+		int lo = ai, hi = aend;
+		while( lo < hi ) {
+			int mid = (lo + hi) >>> 1;
+			if( aix[mid] < r )
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
 	private static void sumAgg(double[] a, double[] c, int[] aix, int ai, final int len, final int n) {
 		for(int i = ai; i < ai + len; i++)
 			c[aix[i]] += a[i];
@@ -3555,6 +3616,8 @@ public class LibMatrixAgg {
 	}
 	
 	private static double builtin( double[] a, int ai, final double init, final int len, Builtin aggop ) {
+		if( LibMatrixAggSIMD.isApplicable(aggop, len) )
+			return LibMatrixAggSIMD.builtin(a, ai, init, len, aggop);
 		double val = init;
 		for( int i=0; i<len; i++, ai++ )
 			val = aggop.execute( val, a[ ai ] );
@@ -3562,6 +3625,10 @@ public class LibMatrixAgg {
 	}
 
 	private static void builtinAgg( double[] a, double[] c, int ai, final int len, Builtin aggop ) {
+		if( LibMatrixAggSIMD.isApplicable(aggop, len) ) {
+			LibMatrixAggSIMD.builtinAgg(a, c, ai, len, aggop);
+			return;
+		}
 		for( int i=0; i<len; i++ )
 			c[ i ] = aggop.execute( c[ i ], a[ ai+i ] );
 	}
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.matrix.data;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.KahanFunction;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized (SIMD) kernels for unary aggregates over dense FP64 arrays, based on the Java Vector API. The kernels
+ * cover sum and sum of squares with Kahan compensation (uak+, uark+, uack+, uasqk+, uarsqk+, uacsqk+) as well as
+ * min and max (uamin, uamax and their row/column variants), and are opt-in via the sysds.cp.simd.ops configuration.
+ *
+ * Full and row sums keep one Kahan sum and correction per vector lane and fold the lanes into the output buffer at
+ * the end, which changes the order of additions but retains the compensated accuracy. Column sums and min/max
+ * produce exactly the same results as the scalar kernels in {@link LibMatrixAgg}, including the special handling of
+ * infinite values in {@link KahanPlus}.
+ */
+public final class LibMatrixAggSIMD {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final int vLen = SPECIES.length();
+
+	private LibMatrixAggSIMD() {
+		// prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicate if the vectorized sum kernels are enabled and supported for the given Kahan function.
+	 *
+	 * @param kplus The Kahan function (KahanPlus or KahanPlusSq)
+	 * @param len   The number of cells to process per call
+	 * @return If the vectorized kernels should be used
+	 */
+	public static boolean isApplicable(KahanFunction kplus, int len) {
+		return DMLScript.SIMD_OPS && len >= vLen && (kplus instanceof KahanPlus || kplus instanceof KahanPlusSq);
+	}
+
+	/**
+	 * Indicate if the vectorized min/max kernels are enabled and supported for the given builtin function.
+	 *
+	 * @param aggop The builtin aggregation function
+	 * @param len   The number of cells to process per call
+	 * @return If the vectorized kernels should be used
+	 */
+	public static boolean isApplicable(Builtin aggop, int len) {
+		if(!DMLScript.SIMD_OPS || len < vLen)
+			return false;
+		switch(aggop.getBuiltinCode()) {
+			case MAX:
+			case MIN:
+			case CUMMAX:
+			case CUMMIN:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Compensated sum (or sum of squares) of a[ai:ai+len], added to the given Kahan buffer. If the lane-wise result
+	 * is not finite, the range is recomputed with the scalar kernel in order to retain the exact semantics of
+	 * infinite and NaN values.
+	 *
+	 * @param a     The input values
+	 * @param ai    The offset in a
+	 * @param len   The number of cells
+	 * @param kbuff The Kahan buffer holding the running sum and correction
+	 * @param kplus The Kahan function (KahanPlus or KahanPlusSq)
+	 */
+	public static void sum(double[] a, int ai, final int len, KahanObject kbuff, KahanFunction kplus) {
+		final boolean sq = kplus instanceof KahanPlusSq;
+		final double sum0 = kbuff._sum, corr0 = kbuff._correction;
+		final int end = len - len % vLen;
+
+		// lane-wise Kahan summation
+		DoubleVector sv = DoubleVector.zero(SPECIES);
+		DoubleVector cv = DoubleVector.zero(SPECIES);
+		for(int j = 0; j < end; j += vLen) {
+			DoubleVector av = DoubleVector.fromArray(SPECIES, a, ai + j);
+			DoubleVector corr = (sq ? av.mul(av) : av).add(cv);
+			DoubleVector sum = sv.add(corr);
+			cv = corr.sub(sum.sub(sv));
+			sv = sum;
+		}
+
+		// fold lanes and remaining cells into the output buffer
+		KahanPlus kadd = KahanPlus.getKahanPlusFnObject();
+		double[] lsum = sv.toArray();
+		double[] lcorr = cv.toArray();
+		for(int k = 0; k < vLen; k++)
+			kadd.execute(kbuff, lsum[k], lcorr[k]);
+		for(int i = ai + end; i < ai + len; i++)
+			kplus.execute2(kbuff, a[i]);
+
+		// fallback for special values (inf/nan/overflow)
+		if(!Double.isFinite(kbuff._sum)) {
+			kbuff.set(sum0, corr0);
+			for(int i = ai; i < ai + len; i++)
+				kplus.execute2(kbuff, a[i]);
+		}
+	}
+
+	/**
+	 * Column-wise compensated sum (or sum of squares) of a[ai:ai+len] into the sums and corrections of the output
+	 * block, equivalent to a cell-wise application of {@link KahanPlus#execute2(KahanObject, double)}.
+	 *
+	 * @param a     The input values
+	 * @param c     The output block with sums in row 0 and corrections in row 1
+	 * @param ai    The offset in a
+	 * @param len   The number of cells
+	 * @param kbuff The Kahan buffer for the remaining cells
+	 * @param kplus The Kahan function (KahanPlus or KahanPlusSq)
+	 */
+	public static void sumAgg(double[] a, DenseBlock c, int ai, final int len, KahanObject kbuff,
+		KahanFunction kplus) {
+		final boolean sq = kplus instanceof KahanPlusSq;
+		final double[] sum = c.values(0);
+		final double[] corr = c.values(1);
+		final int pos0 = c.pos(0), pos1 = c.pos(1);
+		final int end = len - len % vLen;
+		final DoubleVector zero = DoubleVector.zero(SPECIES);
+
+		int j = 0;
+		for(; j < end; j += vLen) {
+			DoubleVector av = DoubleVector.fromArray(SPECIES, a, ai + j);
+			DoubleVector in = sq ? av.mul(av) : av;
+			DoubleVector sv = DoubleVector.fromArray(SPECIES, sum, pos0 + j);
+			DoubleVector cv = DoubleVector.fromArray(SPECIES, corr, pos1 + j);
+			DoubleVector lcorr = in.add(cv);
+			DoubleVector lsum = sv.add(lcorr);
+			lcorr = lcorr.sub(lsum.sub(sv));
+			// fast path for INF/-INF analogous to KahanPlus
+			VectorMask<Double> ainf = in.test(VectorOperators.IS_INFINITE);
+			VectorMask<Double> inf = ainf.or(sv.test(VectorOperators.IS_INFINITE));
+			if(inf.anyTrue()) {
+				lsum = lsum.blend(sv, inf).blend(in, ainf);
+				lcorr = lcorr.blend(zero, inf);
+			}
+			lsum.intoArray(sum, pos0 + j);
+			lcorr.intoArray(corr, pos1 + j);
+		}
+		for(; j < len; j++) {
+			kbuff._sum = sum[pos0 + j];
+			kbuff._correction = corr[pos1 + j];
+			kplus.execute2(kbuff, a[ai + j]);
+			sum[pos0 + j] = kbuff._sum;
+			corr[pos1 + j] = kbuff._correction;
+		}
+	}
+
+	/**
+	 * Min or max of a[ai:ai+len] and the given initial value.
+	 *
+	 * @param a     The input values
+	 * @param ai    The offset in a
+	 * @param init  The initial value
+	 * @param len   The number of cells
+	 * @param aggop The builtin aggregation function (min or max)
+	 * @return The aggregated value
+	 */
+	public static double builtin(double[] a, int ai, final double init, final int len, Builtin aggop) {
+		final boolean max = isMax(aggop);
+		final int end = len - len % vLen;
+		DoubleVector vv = DoubleVector.broadcast(SPECIES, init);
+		for(int j = 0; j < end; j += vLen) {
+			DoubleVector av = DoubleVector.fromArray(SPECIES, a, ai + j);
+			vv = max ? vv.max(av) : vv.min(av);
+		}
+		double val = vv.reduceLanes(max ? VectorOperators.MAX : VectorOperators.MIN);
+		for(int i = ai + end; i < ai + len; i++)
+			val = aggop.execute(val, a[i]);
+		return val;
+	}
+
+	/**
+	 * Cell-wise min or max c[0:len] = aggop(c[0:len], a[ai:ai+len]).
+	 *
+	 * @param a     The input values
+	 * @param c     The output values
+	 * @param ai    The offset in a
+	 * @param len   The number of cells
+	 * @param aggop The builtin aggregation function (min or max)
+	 */
+	public static void builtinAgg(double[] a, double[] c, int ai, final int len, Builtin aggop) {
+		final boolean max = isMax(aggop);
+		final int end = len - len % vLen;
+		int j = 0;
+		for(; j < end; j += vLen) {
+			DoubleVector av = DoubleVector.fromArray(SPECIES, a, ai + j);
+			DoubleVector cv = DoubleVector.fromArray(SPECIES, c, j);
+			(max ? cv.max(av) : cv.min(av)).intoArray(c, j);
+		}
+		for(; j < len; j++)
+			c[j] = aggop.execute(c[j], a[ai + j]);
+	}
+
+	private static boolean isMax(Builtin aggop) {
+		switch(aggop.getBuiltinCode()) {
+			case MAX:
+			case CUMMAX:
+				return true;
+			default:
+				return false;
+		}
+	}
+}
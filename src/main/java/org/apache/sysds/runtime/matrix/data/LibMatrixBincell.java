@@ -748,7 +748,9 @@ public class LibMatrixBincell {
 
 		final BinaryAccessType atype = getBinaryAccessType(m1, m2);
 
-		if(atype == BinaryAccessType.MATRIX_COL_VECTOR)
+		if(isDenseSIMD(m1, m2, ret, op))
+			return binaryDenseSIMD(m1, m2, ret, op, atype, rl, ru);
+		else if(atype == BinaryAccessType.MATRIX_COL_VECTOR)
 			return safeBinaryMVDenseColVector(m1, m2, ret, op, rl, ru);
 		else // if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )
 			return safeBinaryMVDenseRowVector(m1, m2, ret, op, rl, ru);
@@ -1793,6 +1795,8 @@ public class LibMatrixBincell {
 		
 		if(isPM && clen >= 64)
 			return safeBinaryMMDenseDenseDensePM_Vec(da, db, dc, op, rl, ru, clen);
+		else if(isDenseSIMD(m1, m2, ret, op))
+			return binaryDenseSIMD(m1, m2, ret, op, BinaryAccessType.MATRIX_MATRIX, rl, ru);
 		else if(da.isContiguous() && db.isContiguous() && dc.isContiguous()) {
 			if(op.fn instanceof PlusMultiply)
 				return safeBinaryMMDenseDenseDensePM(da, db, dc, op, rl, ru, clen);
@@ -1902,6 +1906,53 @@ public class LibMatrixBincell {
 		return lnnz;
 	}
 	
+	private static boolean isDenseSIMD(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		return !m1.sparse && !m2.sparse && !ret.sparse //
+			&& m1.getDenseBlock() != null && m2.getDenseBlock() != null //
+			&& LibMatrixBincellSIMD.isApplicable(op.fn, m1.clen);
+	}
+
+	/**
+	 * Vectorized dense-dense-dense binary operations for matrix-matrix, matrix-row vector and matrix-column vector
+	 * inputs. The caller guarantees dense, allocated inputs and output (see isDenseSIMD).
+	 */
+	private static long binaryDenseSIMD(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op,
+		BinaryAccessType atype, int rl, int ru) {
+		final int clen = m1.clen;
+		final ValueFunction fn = op.fn;
+		final DenseBlock da = m1.getDenseBlock();
+		final DenseBlock dc = ret.getDenseBlock();
+		long nnz = 0;
+		if(atype == BinaryAccessType.MATRIX_COL_VECTOR) {
+			final double[] b = m2.getDenseBlockValues(); // always single block
+			for(int i = rl; i < ru; i++) {
+				// skip empty rows (consistent with the scalar multiply kernel)
+				if(b[i] == 0 && fn instanceof Multiply)
+					continue;
+				nnz += LibMatrixBincellSIMD.ms(fn, da.values(i), da.pos(i), b[i], false, dc.values(i), dc.pos(i), clen);
+			}
+		}
+		else if(atype == BinaryAccessType.MATRIX_ROW_VECTOR) {
+			final double[] b = m2.getDenseBlockValues(); // always single block
+			for(int i = rl; i < ru; i++)
+				nnz += LibMatrixBincellSIMD.mm(fn, da.values(i), da.pos(i), b, 0, dc.values(i), dc.pos(i), clen);
+		}
+		else { // MATRIX - MATRIX
+			final DenseBlock db = m2.getDenseBlock();
+			if(da.isContiguous() && db.isContiguous() && dc.isContiguous()) {
+				final int pos = da.pos(rl);
+				final int len = da.pos(ru) - pos;
+				nnz = LibMatrixBincellSIMD.mm(fn, da.values(0), pos, db.values(0), pos, dc.values(0), pos, len);
+			}
+			else {
+				for(int i = rl; i < ru; i++)
+					nnz += LibMatrixBincellSIMD.mm(fn, da.values(i), da.pos(i), db.values(i), db.pos(i), dc.values(i),
+						dc.pos(i), clen);
+			}
+		}
+		return nnz;
+	}
+
 	private static long safeBinaryMMSparseDenseSkip(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret,
 		final BinaryOperator op, int rl, int ru)
 	{
@@ -2086,7 +2137,11 @@ public class LibMatrixBincell {
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 	
-		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )  //MATRIX - COL_VECTOR
+		if( atype != BinaryAccessType.OUTER_VECTOR_VECTOR && isDenseSIMD(m1, m2, ret, op) ) {
+			ret.allocateDenseBlock();
+			return binaryDenseSIMD(m1, m2, ret, op, atype, rl, ru);
+		}
+		else if( atype == BinaryAccessType.MATRIX_COL_VECTOR )  //MATRIX - COL_VECTOR
 			return unsafeBinaryMcV(m1, m2, ret, op, rl, ru, clen);
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )  //MATRIX - ROW_VECTOR
 			return unsafeBinaryMrV(m1, m2, ret, op, rl, ru, clen);
@@ -2543,7 +2598,9 @@ public class LibMatrixBincell {
 		final int clen = m1.clen;
 		// compute scalar operation, incl nnz maintenance
 		long nnz = 0;
-		if(op.fn instanceof Multiply){
+		if(LibMatrixBincellSIMD.isApplicable(op.fn, da.isContiguous() ? (long) (ru - rl) * clen : clen))
+			nnz = denseBinaryScalarSIMD(da, dc, op, clen, rl, ru);
+		else if(op.fn instanceof Multiply){
 			// in case of multiply we do not need to count nnz. since they are known by the m1 input.
 			if(clen == 1)
 				nnz = denseBinaryScalarMultiplySingleCol(da.valuesAt(0), dc.valuesAt(0), op.getConstant(), rl, ru);
@@ -2561,6 +2618,18 @@ public class LibMatrixBincell {
 		return nnz;
 	}
 
+	private static long denseBinaryScalarSIMD(DenseBlock da, DenseBlock dc, ScalarOperator op, int clen, int rl,
+		int ru) {
+		if(da.isContiguous() && dc.isContiguous()) {
+			final int apos = da.pos(rl);
+			return LibMatrixBincellSIMD.ms(op, da.values(0), apos, dc.values(0), apos, da.pos(ru) - apos);
+		}
+		long nnz = 0;
+		for(int i = rl; i < ru; i++)
+			nnz += LibMatrixBincellSIMD.ms(op, da.values(i), da.pos(i), dc.values(i), dc.pos(i), clen);
+		return nnz;
+	}
+
 	private static long denseBinaryScalarSingleCol(double[] a, double[] c, ScalarOperator op, int rl, int ru) {
 		long nnz = 0;
 		for(int i = rl; i < ru; i++) { // VECTOR
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.matrix.data;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.Divide;
+import org.apache.sysds.runtime.functionobjects.Equals;
+import org.apache.sysds.runtime.functionobjects.GreaterThan;
+import org.apache.sysds.runtime.functionobjects.GreaterThanEquals;
+import org.apache.sysds.runtime.functionobjects.LessThan;
+import org.apache.sysds.runtime.functionobjects.LessThanEquals;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.NotEquals;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized (SIMD) kernels for dense FP64 binary cellwise operations, based on the Java Vector API. The kernels
+ * cover matrix-matrix, matrix-vector (row and column vector broadcasting) and matrix-scalar operations for the basic
+ * arithmetic, min/max and comparison operators, and are opt-in via the sysds.cp.simd.ops configuration.
+ * 
+ * All kernels operate on a linearized range of a single dense block array, return the number of non-zeros of the
+ * output range, and produce exactly the same results as the scalar kernels in {@link LibMatrixBincell}.
+ */
+public final class LibMatrixBincellSIMD {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final int vLen = SPECIES.length();
+	private static final DoubleVector ZERO = DoubleVector.zero(SPECIES);
+	private static final DoubleVector ONE = DoubleVector.broadcast(SPECIES, 1.0);
+
+	/** Supported vector operations */
+	private enum VOp {
+		PLUS, MINUS, MULT, DIV, MIN, MAX, EQ, NEQ, LT, LTE, GT, GTE;
+	}
+
+	private LibMatrixBincellSIMD() {
+		// prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicate if the vectorized kernels are enabled and supported for the given value function.
+	 * 
+	 * @param fn  The value function of the binary or scalar operator
+	 * @param len The number of cells to process per call (e.g., the number of columns)
+	 * @return If the vectorized kernels should be used
+	 */
+	public static boolean isApplicable(ValueFunction fn, long len) {
+		return DMLScript.SIMD_OPS && len >= vLen && getOp(fn) != null;
+	}
+
+	/**
+	 * Indicate if the given value function is supported by the vectorized kernels.
+	 * 
+	 * @param fn The value function
+	 * @return If supported
+	 */
+	public static boolean isSupported(ValueFunction fn) {
+		return getOp(fn) != null;
+	}
+
+	/**
+	 * Matrix-matrix kernel c[ci:ci+len] = a[ai:ai+len] op b[bi:bi+len].
+	 * 
+	 * @param fn  The value function
+	 * @param a   The left input values
+	 * @param ai  The offset in a
+	 * @param b   The right input values
+	 * @param bi  The offset in b
+	 * @param c   The output values
+	 * @param ci  The offset in c
+	 * @param len The number of cells
+	 * @return The number of non-zeros written to c
+	 */
+	public static long mm(ValueFunction fn, double[] a, int ai, double[] b, int bi, double[] c, int ci, int len) {
+		final VOp op = getOp(fn);
+		final int end = len - len % vLen;
+		long nnz = 0;
+		int j = 0;
+		for(; j < end; j += vLen) {
+			DoubleVector av = DoubleVector.fromArray(SPECIES, a, ai + j);
+			DoubleVector bv = DoubleVector.fromArray(SPECIES, b, bi + j);
+			nnz += store(apply(op, av, bv), c, ci + j);
+		}
+		for(; j < len; j++)
+			nnz += ((c[ci + j] = fn.execute(a[ai + j], b[bi + j])) != 0) ? 1 : 0;
+		return nnz;
+	}
+
+	/**
+	 * Matrix-scalar kernel c[ci:ci+len] = a[ai:ai+len] op b, or b op a[ai:ai+len] if left is true. This kernel is used
+	 * for both scalar operations and column vector broadcasting (with one scalar per row).
+	 * 
+	 * @param fn   The value function
+	 * @param a    The input values
+	 * @param ai   The offset in a
+	 * @param b    The scalar
+	 * @param left If the scalar is the left operand
+	 * @param c    The output values
+	 * @param ci   The offset in c
+	 * @param len  The number of cells
+	 * @return The number of non-zeros written to c
+	 */
+	public static long ms(ValueFunction fn, double[] a, int ai, double b, boolean left, double[] c, int ci, int len) {
+		final VOp op = getOp(fn);
+		final DoubleVector bv = DoubleVector.broadcast(SPECIES, b);
+		final int end = len - len % vLen;
+		long nnz = 0;
+		int j = 0;
+		if(left) {
+			for(; j < end; j += vLen)
+				nnz += store(apply(op, bv, DoubleVector.fromArray(SPECIES, a, ai + j)), c, ci + j);
+			for(; j < len; j++)
+				nnz += ((c[ci + j] = fn.execute(b, a[ai + j])) != 0) ? 1 : 0;
+		}
+		else {
+			for(; j < end; j += vLen)
+				nnz += store(apply(op, DoubleVector.fromArray(SPECIES, a, ai + j), bv), c, ci + j);
+			for(; j < len; j++)
+				nnz += ((c[ci + j] = fn.execute(a[ai + j], b)) != 0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	/**
+	 * Matrix-scalar kernel for the given scalar operator, see {@link #ms(ValueFunction, double[], int, double, boolean,
+	 * double[], int, int)}.
+	 * 
+	 * @param op  The scalar operator
+	 * @param a   The input values
+	 * @param ai  The offset in a
+	 * @param c   The output values
+	 * @param ci  The offset in c
+	 * @param len The number of cells
+	 * @return The number of non-zeros written to c
+	 */
+	public static long ms(ScalarOperator op, double[] a, int ai, double[] c, int ci, int len) {
+		return ms(op.fn, a, ai, op.getConstant(), op instanceof LeftScalarOperator, c, ci, len);
+	}
+
+	private static long store(DoubleVector cv, double[] c, int ci) {
+		cv.intoArray(c, ci);
+		return cv.compare(VectorOperators.NE, 0).trueCount();
+	}
+
+	private static DoubleVector apply(VOp op, DoubleVector a, DoubleVector b) {
+		switch(op) {
+			case PLUS:
+				return a.add(b);
+			case MINUS:
+				return a.sub(b);
+			case MULT:
+				return a.mul(b);
+			case DIV:
+				return a.div(b);
+			case MIN:
+				return a.min(b);
+			case MAX:
+				return a.max(b);
+			case EQ:
+				return select(a.compare(VectorOperators.EQ, b));
+			case NEQ:
+				return select(a.compare(VectorOperators.NE, b));
+			case LT:
+				return select(a.compare(VectorOperators.LT, b));
+			case LTE:
+				return select(a.compare(VectorOperators.LE, b));
+			case GT:
+				return select(a.compare(VectorOperators.GT, b));
+			case GTE:
+				return select(a.compare(VectorOperators.GE, b));
+			default:
+				throw new IllegalStateException("Unsupported vector operation: " + op);
+		}
+	}
+
+	private static DoubleVector select(VectorMask<Double> m) {
+		return ZERO.blend(ONE, m);
+	}
+
+	private static VOp getOp(ValueFunction fn) {
+		if(fn instanceof Plus)
+			return VOp.PLUS;
+		else if(fn instanceof Minus)
+			return VOp.MINUS;
+		else if(fn instanceof Multiply)
+			return VOp.MULT;
+		else if(fn instanceof Divide)
+			return VOp.DIV;
+		else if(fn instanceof Equals)
+			return VOp.EQ;
+		else if(fn instanceof NotEquals)
+			return VOp.NEQ;
+		else if(fn instanceof LessThan)
+			return VOp.LT;
+		else if(fn instanceof LessThanEquals)
+			return VOp.LTE;
+		else if(fn instanceof GreaterThan)
+			return VOp.GT;
+		else if(fn instanceof GreaterThanEquals)
+			return VOp.GTE;
+		else if(Builtin.isBuiltinCode(fn, BuiltinCode.MIN))
+			return VOp.MIN;
+		else if(Builtin.isBuiltinCode(fn, BuiltinCode.MAX))
+			return VOp.MAX;
+		return null;
+	}
+}
@@ -49,8 +49,10 @@ import org.apache.sysds.runtime.data.DenseBlockFP64DEDUP;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlock.Type;
+import org.apache.sysds.runtime.data.SparseBlockCSC;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
+import org.apache.sysds.runtime.data.SparseBlockMCSC;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
 import org.apache.sysds.runtime.data.SparseRowScalar;
@@ -208,6 +210,11 @@ public class LibMatrixMult
 		boolean sparse = !fixedRet && !ultraSparse && !m1Perm
 			&& isSparseOutputMatrixMult(m1, m2);
 
+		// column-major inputs: only a column-major lhs with dense rhs has a
+		// dedicated kernel, all other kernels require row-major sparse inputs
+		m1 = prepMatrixMultColumnMajorInput(m1, !ultraSparse && !m2.sparse);
+		m2 = prepMatrixMultColumnMajorInput(m2, false);
+
 		// allocate output
 		if(ret == null)
 			ret = new MatrixBlock(m1.rlen, m2.clen, ultraSparse | sparse);
@@ -468,6 +475,7 @@ public class LibMatrixMult
 		//pre-processing
 		ret.sparse = isSparseOutputTSMM(m1);
 		ret.allocateBlock();
+		m1 = prepMatrixMultTransposeSelfColumnMajorInput(m1, ret, leftTranspose);
 		MatrixBlock m1t = isSparseOutputTSMM(m1, true) ?
 			LibMatrixReorg.transpose(m1) : null;
 		
@@ -513,6 +521,7 @@ public class LibMatrixMult
 		//pre-processing (no need to check isThreadSafe)
 		ret.sparse = isSparseOutputTSMM(m1);
 		ret.allocateBlock();
+		final MatrixBlock m1c = prepMatrixMultTransposeSelfColumnMajorInput(m1, ret, leftTranspose);
 		MatrixBlock m1t = isSparseOutputTSMM(m1, true) ?
 			LibMatrixReorg.transpose(m1, k) : null;
 		
@@ -523,7 +532,7 @@ public class LibMatrixMult
 			//load balance via #tasks=4k due to triangular shape 
 			int blklen = (int)(Math.ceil((double)ret.rlen / (4 * k)));
 			for(int i = 0; i < ret.rlen; i += blklen)
-				tasks.add(new MatrixMultTransposeTask(m1, m1t, ret, leftTranspose, i, Math.min(i+blklen, ret.rlen)));
+				tasks.add(new MatrixMultTransposeTask(m1c, m1t, ret, leftTranspose, i, Math.min(i+blklen, ret.rlen)));
 			for( Future<Object> rtask :  pool.invokeAll(tasks) )
 				rtask.get();
 		}
@@ -1421,7 +1430,10 @@ public class LibMatrixMult
 		final int cd = m2.rlen;
 		final long xsp = (long)m*cd/m1.nonZeros;
 
-		if( m==1 && n==1 ) {            //DOT PRODUCT
+		if( SparseBlockFactory.isColumnMajor(a) ) { //COLUMN-MAJOR LHS (e.g., t(X) of t(X)%*%Y)
+			matrixMultSparseColumnMajorDense(a, b, c, n, cd, pm2, rl, ru);
+		}
+		else if( m==1 && n==1 ) {       //DOT PRODUCT
 			if( !a.isEmpty(0) )
 				c.set(0, 0, dotProduct(a.values(0), b.values(0), a.indexes(0), a.pos(0), 0, a.size(0)));
 		}
@@ -1445,6 +1457,52 @@ public class LibMatrixMult
 		}
 	}
 	
+	private static void matrixMultSparseColumnMajorDense(SparseBlock a, DenseBlock b, DenseBlock c, int n, int cd, boolean pm2, int rl, int ru) {
+		//algorithm: scan columns k of the lhs and add a[i,k]*b[k,] to row i of the output,
+		//which computes t(X)%*%Y on the CSR/MCSR arrays of X w/o materialized transpose
+		//(partitioning over the common dimension if pm2, otherwise over output rows)
+		final int cl = pm2 ? rl : 0;
+		final int cu = pm2 ? ru : cd;
+		final SparseRow[] cols = (a instanceof SparseBlockMCSC) ? ((SparseBlockMCSC) a).getCols() : null;
+		final SparseBlockCSC csc = (cols == null) ? (SparseBlockCSC) a : null;
+		for( int k=cl; k<cu; k++ ) {
+			int apos, aend;
+			int[] aix;
+			double[] avals;
+			if( csc != null ) {
+				apos = csc.posCol(k);
+				aend = apos + csc.sizeCol(k);
+				aix = csc.indexes();
+				avals = csc.values();
+			}
+			else {
+				if( cols[k] == null || cols[k].isEmpty() ) continue;
+				apos = 0;
+				aend = cols[k].size();
+				aix = cols[k].indexes();
+				avals = cols[k].values();
+			}
+			if( !pm2 ) { //restrict to output row range
+				aend = lowerBound(aix, apos, aend, ru);
+				apos = lowerBound(aix, apos, aend, rl);
+			}
+			if( apos >= aend ) continue;
+			final double[] bvals = b.values(k);
+			final int bix = b.pos(k);
+			for( int p=apos; p<aend; p++ ) {
+				final int i = aix[p];
+				vectMultiplyAdd(avals[p], bvals, c.values(i), bix, c.pos(i), n);
+			}
+		}
+	}
+
+	private static int lowerBound(int[] aix, int from, int to, int key) {
+		if( from >= to || aix[from] >= key )
+			return from;
+		final int ix = Arrays.binarySearch(aix, from, to, key);
+		return (ix >= 0) ? ix : -ix - 1;
+	}
+	
 	private static void matrixMultSparseDenseMVShortRHS(SparseBlock a, DenseBlock b, DenseBlock c, int cd, int rl, int ru) {
 		double[] bvals = b.valuesAt(0);
 		double[] cvals = c.valuesAt(0);
@@ -2443,7 +2501,9 @@ public class LibMatrixMult
 	}
 
 	private static void matrixMultTransposeSelf(MatrixBlock m1, MatrixBlock m1t, MatrixBlock ret, boolean leftTranspose, int rl, int ru) {
-		if(m1.sparse && ret.sparse) {
+		if(m1.sparse && m1.sparseBlock instanceof SparseBlockCSC)
+			matrixMultTransposeSelfSparseColumnMajor(m1, ret, rl, ru);
+		else if(m1.sparse && ret.sparse) {
 			if( m1t == null )
 				matrixMultTransposeSelfUltraSparse(m1, ret, leftTranspose, rl, ru);
 			else
@@ -2455,6 +2515,52 @@ public class LibMatrixMult
 			matrixMultTransposeSelfDense(m1, ret, leftTranspose, rl, ru );
 	}
 	
+	private static void matrixMultTransposeSelfSparseColumnMajor(MatrixBlock m1, MatrixBlock ret, int rl, int ru) {
+		//t(X)%*%X on column-major sparse X (CSC), only upper triangle due to symmetry
+		//algorithm: pairwise sparse dot products of columns, where the column-wise
+		//layout avoids the row self joins of the row-major kernels
+		final SparseBlockCSC a = (SparseBlockCSC) m1.sparseBlock;
+		final DenseBlock c = ret.getDenseBlock();
+		final int n = m1.clen;
+		final int[] aptr = a.colPointers();
+		final int[] aix = a.indexes();
+		final double[] avals = a.values();
+		for( int i=rl; i<ru; i++ ) {
+			final int ipos = aptr[i];
+			final int ilen = aptr[i+1] - ipos;
+			if( ilen == 0 ) continue;
+			final double[] cvals = c.values(i);
+			final int cix = c.pos(i);
+			cvals[cix+i] += dotProduct(avals, avals, ipos, ipos, ilen);
+			for( int j=i+1; j<n; j++ ) {
+				final int jpos = aptr[j];
+				final int jlen = aptr[j+1] - jpos;
+				if( jlen > 0 )
+					cvals[cix+j] += dotProductSparse(aix, avals, ipos, ilen, jpos, jlen);
+			}
+		}
+	}
+
+	private static double dotProductSparse(int[] aix, double[] avals, int apos, int alen, int bpos, int blen) {
+		//merge join of two sorted index ranges
+		final int aend = apos + alen;
+		final int bend = bpos + blen;
+		if( aix[apos] > aix[bend-1] || aix[bpos] > aix[aend-1] )
+			return 0; //disjoint ranges
+		double val = 0;
+		while( apos < aend && bpos < bend ) {
+			final int ai = aix[apos];
+			final int bi = aix[bpos];
+			if( ai == bi )
+				val += avals[apos++] * avals[bpos++];
+			else if( ai < bi )
+				apos++;
+			else
+				bpos++;
+		}
+		return val;
+	}
+	
 	private static void matrixMultTransposeSelfSparse( MatrixBlock m1, MatrixBlock ret, boolean leftTranspose, int rl, int ru ) {
 		//2) transpose self matrix multiply sparse
 		// (compute only upper-triangular matrix due to symmetry)
@@ -4386,6 +4492,47 @@ public class LibMatrixMult
 		return nnz;
 	}
 	
+	/**
+	 * Obtains the left input of t(X)%*%Y. Sparse inputs in CSR or MCSR are returned as
+	 * zero-copy column-major t(X) (the rows of X are the columns of t(X)), which is
+	 * consumed by the column-major sparse-dense kernel w/o materializing the transpose.
+	 * All other inputs are transposed.
+	 * 
+	 * @param m1 left input X
+	 * @param k  degree of parallelism for the fallback transpose
+	 * @return t(X)
+	 */
+	public static MatrixBlock prepMatrixMultTransposeLeftInput(MatrixBlock m1, int k) {
+		if( m1.sparse && !m1.isEmptyBlock(false) ) {
+			if( m1.sparseBlock instanceof SparseBlockCSR ) {
+				SparseBlockCSR a = (SparseBlockCSR) m1.sparseBlock;
+				return new MatrixBlock(m1.clen, m1.rlen, m1.nonZeros,
+					new SparseBlockCSC(m1.clen, a.rowPointers(), a.indexes(), a.values(), (int) a.size()));
+			}
+			else if( m1.sparseBlock instanceof SparseBlockMCSR ) {
+				SparseBlockMCSR a = (SparseBlockMCSR) m1.sparseBlock;
+				return new MatrixBlock(m1.clen, m1.rlen, m1.nonZeros,
+					new SparseBlockMCSC(a.getRows(), false, m1.clen));
+			}
+		}
+		return LibMatrixReorg.transpose(m1, k);
+	}
+
+	private static MatrixBlock prepMatrixMultColumnMajorInput(MatrixBlock m, boolean allowColumnMajor) {
+		if( !m.sparse || m.sparseBlock == null || !SparseBlockFactory.isColumnMajor(m.sparseBlock)
+			|| allowColumnMajor )
+			return m;
+		return new MatrixBlock(m, SparseBlock.Type.CSR, false);
+	}
+
+	private static MatrixBlock prepMatrixMultTransposeSelfColumnMajorInput(MatrixBlock m1, MatrixBlock ret, boolean leftTranspose) {
+		if( !m1.sparse || m1.sparseBlock == null || !SparseBlockFactory.isColumnMajor(m1.sparseBlock) )
+			return m1;
+		//t(X)%*%X into dense outputs runs on CSC, all other cases on CSR
+		return new MatrixBlock(m1, (leftTranspose && !ret.sparse) ?
+			SparseBlock.Type.CSC : SparseBlock.Type.CSR, false);
+	}
+	
 	public static MatrixBlock prepMatrixMultTransposeSelfInput( MatrixBlock m1, boolean leftTranspose, boolean par ) {
 		MatrixBlock ret = m1;
 		final int rlen = m1.rlen;
@@ -4437,6 +4584,8 @@ public class LibMatrixMult
 		return (m1.rlen==1 && !(m1.sparse && m2.clen==1) && !(m1.isUltraSparse()||m2.isUltraSparse()))
 			|| (m1.rlen<=16 && m2.rlen > m1.rlen && (!m1.sparse | m2.clen > 1)
 			   && ( !m1.isUltraSparse() && !(m1.sparse & m2.sparse) ) //dense-dense / sparse-dense / dense-sparse
+			   && (long)k * 8 * m1.rlen * m2.clen < Math.max(MEM_OVERHEAD_THRESHOLD,0.01*jvmMem) )
+			|| (m1.sparse && SparseBlockFactory.isColumnMajor(m1.sparseBlock) && !m2.sparse //column-major lhs
 			   && (long)k * 8 * m1.rlen * m2.clen < Math.max(MEM_OVERHEAD_THRESHOLD,0.01*jvmMem) );
 	}
 
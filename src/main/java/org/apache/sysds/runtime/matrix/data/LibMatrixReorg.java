@@ -45,7 +45,9 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSC;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
 import org.apache.sysds.runtime.data.SparseRowVector;
@@ -186,6 +188,12 @@ public class LibMatrixReorg {
 			return out;
 		}
 		
+		//column-major sparse input: the column layout of the input is the row layout of the output
+		if( in.sparse && SparseBlockFactory.isColumnMajor(in.sparseBlock) ) {
+			transposeColumnMajor(in, out);
+			return out;
+		}
+		
 		// Timing time = new Timing(true);
 		
 		//allocate output arrays (if required)
@@ -238,7 +246,8 @@ public class LibMatrixReorg {
 			|| (SHALLOW_COPY_REORG && !in.sparse && !out.sparse && (in.rlen == 1 || in.clen == 1)) //
 			|| (in.sparse && !out.sparse && in.rlen == 1) //
 			|| (!in.sparse && out.sparse && in.rlen == 1) //
-			|| (in.sparse && out.sparse && in.isUltraSparse(false)))
+			|| (in.sparse && out.sparse && in.isUltraSparse(false))
+			|| (in.sparse && SparseBlockFactory.isColumnMajor(in.sparseBlock))) //single pass
 		{
 			return transpose(in, out);
 		}
@@ -1366,6 +1375,35 @@ public class LibMatrixReorg {
 		}
 	}
 
+	private static void transposeColumnMajor(MatrixBlock in, MatrixBlock out) {
+		final SparseBlockCSC a = SparseBlockFactory.toCSC(in.sparseBlock, in.clen);
+		final int n = in.clen;
+		final int[] aptr = a.colPointers();
+		final int[] aix = a.indexes();
+		final double[] avals = a.values();
+		if( out.sparse ) {
+			//the CSC arrays of the input are the CSR arrays of the output, copied
+			//unless the CSC block was only created for this transpose
+			final int nnz = aptr[n];
+			final boolean copy = (a == in.sparseBlock);
+			out.sparseBlock = new SparseBlockCSR(
+				copy ? Arrays.copyOf(aptr, n + 1) : aptr,
+				copy ? Arrays.copyOf(aix, nnz) : aix,
+				copy ? Arrays.copyOf(avals, nnz) : avals, nnz);
+		}
+		else {
+			//scatter columns of the input into rows of the output
+			out.allocateDenseBlock(false);
+			final DenseBlock c = out.getDenseBlock();
+			for( int j=0; j<n; j++ ) {
+				final double[] cvals = c.values(j);
+				final int cix = c.pos(j);
+				for( int k=aptr[j]; k<aptr[j+1]; k++ )
+					cvals[cix + aix[k]] = avals[k];
+			}
+		}
+	}
+
 	private static void transposeUltraSparse(MatrixBlock in, MatrixBlock out) {
 		//note: applied if nnz < max(rlen, clen) - so no cache blocking
 		// but basic, naive transposition in a single-threaded context
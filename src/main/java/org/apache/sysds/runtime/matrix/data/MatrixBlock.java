@@ -44,9 +44,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.commons.math3.random.Well1024a;
 import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Opcodes;
 import org.apache.sysds.common.Types.BlockType;
 import org.apache.sysds.common.Types.CorrectionLocationType;
+import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.MMTSJ.MMTSJType;
@@ -63,9 +65,11 @@ import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFP64;
 import org.apache.sysds.runtime.data.DenseBlockFP64DEDUP;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
+import org.apache.sysds.runtime.data.DenseBlockLFP64OffHeap;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
@@ -144,6 +148,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 	public static final boolean CONVERT_MCSR_TO_CSR_ON_DEEP_SERIALIZE = true;
 	//basic header (int rlen, int clen, byte type)
 	public static final int HEADER_SIZE = 9;
+	//number of cells per chunk for (de)serializing off-heap dense blocks
+	private static final int OFFHEAP_CHUNK_SIZE = 64 * 1024;
 	
 	//matrix meta data
 	protected int rlen       = -1;
@@ -222,7 +228,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 			nonZeros = that.nonZeros;
 			estimatedNNzsPerRow = that.estimatedNNzsPerRow;
 			sparseBlock = SparseBlockFactory
-				.copySparseBlock(stype, that.sparseBlock, deep);
+				.copySparseBlock(stype, that.sparseBlock, deep, that.clen);
 		}
 	}
 	
@@ -501,7 +507,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized)
 		if( sparseBlock == null || sparseBlock.numRows()<rlen
 			|| !SparseBlockFactory.isSparseBlockType(sparseBlock, stype))  {
-			sparseBlock = SparseBlockFactory.createSparseBlock(stype, rlen);
+			sparseBlock = SparseBlockFactory.createSparseBlock(stype, rlen, clen);
 		}
 		else {
 			sparseBlock.reset(estimatedNNzsPerRow, clen);
@@ -658,6 +664,36 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		sparseBlock = sblock;
 	}
 
+	/**
+	 * Converts the sparse block (if allocated) into the given sparse block type,
+	 * including the column-major types CSC and MCSC. Operations without dedicated
+	 * column-major kernels still work on column-major blocks but access them by row.
+	 * 
+	 * @param stype target sparse block type
+	 */
+	public void setSparseBlockType(SparseBlock.Type stype) {
+		if( sparse && sparseBlock != null )
+			sparseBlock = SparseBlockFactory.copySparseBlock(stype, sparseBlock, false, clen);
+	}
+
+	/**
+	 * Converts the sparse block (if allocated) into the sparse block type that best
+	 * fits its shape and expected access pattern (see
+	 * {@link SparseBlockFactory#selectSparseBlockType(long, long, long, long, boolean)}).
+	 * This is meant for read-mostly blocks, because incremental updates are most
+	 * efficient in the default MCSR. It is never applied implicitly (e.g., on read),
+	 * but only by operations that benefit from the selected format.
+	 * 
+	 * @param colAccess true if the block is mainly accessed column-wise
+	 */
+	public void optimizeSparseBlockFormat(boolean colAccess) {
+		if( !sparse || sparseBlock == null || isEmptyBlock(false) )
+			return;
+		long nnz = (nonZeros >= 0) ? nonZeros : sparseBlock.size();
+		long nnzRows = colAccess ? rlen : SparseBlockFactory.countNonEmptyRows(sparseBlock, rlen);
+		setSparseBlockType(SparseBlockFactory.selectSparseBlockType(rlen, clen, nnz, nnzRows, colAccess));
+	}
+
 	public Iterator<IJV> getSparseBlockIterator() {
 		//check for valid format, should have been checked from outside
 		if( !sparse )
@@ -2195,6 +2231,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 	}
 
 	private void readDenseBlock(DataInput in) throws IOException, DMLRuntimeException {
+		if( isOffHeapDenseCandidate() ) {
+			readDenseBlockOffHeap(in);
+			return;
+		}
 		// allocate dense block resets the block if already allocated.
 		allocateDenseBlock(true);
 		DenseBlock a = getDenseBlock();
@@ -2226,6 +2266,60 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		nonZeros = nnz;
 	}
 	
+	/**
+	 * Indicates if a dense block of this size is stored off-heap on deserialization, e.g., of evicted
+	 * or read inputs (opt-in via sysds.cp.offheap.dense). Outputs are always allocated on the heap,
+	 * because kernels accessing the cell values via DenseBlock.values() would materialize the touched
+	 * blocks on the heap anyway. Sizes that fit into a single on-heap array but not into a single
+	 * direct buffer are excluded, so that blocks are contiguous whenever the on-heap block would be.
+	 *
+	 * @return true if the dense block should be read off-heap
+	 */
+	private boolean isOffHeapDenseCandidate() {
+		long cells = (long) rlen * clen;
+		return DMLScript.OFFHEAP_DENSE_THRESHOLD >= 0 && rlen > 0 && clen > 0
+			&& (cells <= DenseBlockLFP64OffHeap.MAX_BUFFER_ALLOC || cells >= Integer.MAX_VALUE)
+			&& estimateSizeDenseInMemory(rlen, clen) >= DMLScript.OFFHEAP_DENSE_THRESHOLD;
+	}
+
+	private DenseBlockLFP64OffHeap createOffHeapDenseBlock() {
+		return (DenseBlockLFP64OffHeap) DenseBlockFactory
+			.createDenseBlock(ValueType.FP64, DenseBlock.Type.LDRB_OFFHEAP, new int[] {rlen, clen}, false);
+	}
+
+	private void readDenseBlockOffHeap(DataInput in) throws IOException {
+		// read directly into off-heap buffers via a small reusable chunk
+		DenseBlockLFP64OffHeap a = createOffHeapDenseBlock();
+		double[] chunk = new double[Math.min(OFFHEAP_CHUNK_SIZE, a.size(0))];
+		FastBufferedDataInputStream fin = null;
+		DataInput lin = in;
+		if( !(in instanceof MatrixBlockDataInput) && in instanceof DataInputBuffer
+			&& HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			lin = fin = new FastBufferedDataInputStream((DataInputBuffer)in);
+		long nnz = 0;
+		try {
+			for( int bi=0; bi<a.numBlocks(); bi++ ) {
+				int size = a.size(bi);
+				for( int pos=0; pos<size; pos+=chunk.length ) {
+					int len = Math.min(chunk.length, size-pos);
+					if( lin instanceof MatrixBlockDataInput )
+						nnz += ((MatrixBlockDataInput)lin).readDoubleArray(len, chunk);
+					else
+						for( int j=0; j<len; j++ )
+							nnz += ((chunk[j] = lin.readDouble()) != 0) ? 1 : 0;
+					a.setRange(bi, pos, chunk, len);
+				}
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(fin);
+		}
+		cleanupBlock(true, true);
+		denseBlock = a;
+		sparse = false;
+		nonZeros = nnz;
+	}
+	
 	private void readSparseBlock(DataInput in) 
 		throws IOException 
 	{
@@ -2331,6 +2425,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 	public void write(DataOutput out)
 		throws IOException 
 	{
+		//column-major blocks are serialized in row-major order, from a local 
+		//copy to leave the block unchanged for concurrent readers
+		if( sparse && SparseBlockFactory.isColumnMajor(sparseBlock) ) {
+			new MatrixBlock(rlen, clen, nonZeros, SparseBlockFactory
+				.copySparseBlock(SparseBlock.Type.CSR, sparseBlock, false, clen)).write(out);
+			return;
+		}
+		
 		//determine format
 		boolean sparseSrc = sparse;
 		boolean sparseDst = evalSparseFormatOnDisk();
@@ -2422,7 +2524,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
 		
 		DenseBlock a = getDenseBlock();
-		if( out instanceof MatrixBlockDataOutput ) { //fast serialize
+		if( a instanceof DenseBlockLFP64OffHeap ) { //off-heap (w/o materialization)
+			writeDenseBlockOffHeap((DenseBlockLFP64OffHeap)a, out);
+		}
+		else if( out instanceof MatrixBlockDataOutput ) { //fast serialize
 			MatrixBlockDataOutput mout = (MatrixBlockDataOutput)out;
 			for(int i=0; i<a.numBlocks(); i++)
 				mout.writeDoubleArray(a.size(i), a.valuesAt(i));
@@ -2437,6 +2542,22 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		}
 	}
 
+	private static void writeDenseBlockOffHeap(DenseBlockLFP64OffHeap a, DataOutput out) throws IOException {
+		double[] chunk = new double[Math.min(OFFHEAP_CHUNK_SIZE, a.size(0))];
+		for( int bi=0; bi<a.numBlocks(); bi++ ) {
+			int size = a.size(bi);
+			for( int pos=0; pos<size; pos+=chunk.length ) {
+				int len = Math.min(chunk.length, size-pos);
+				a.getRange(bi, pos, chunk, len);
+				if( out instanceof MatrixBlockDataOutput )
+					((MatrixBlockDataOutput)out).writeDoubleArray(len, chunk);
+				else
+					for( int j=0; j<len; j++ )
+						out.writeDouble(chunk[j]);
+			}
+		}
+	}
+
 	private void writeSparseBlock(DataOutput out) 
 		throws IOException 
 	{
@@ -2929,6 +3050,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 			double size = getHeaderSize() + ((DenseBlockFP64DEDUP) denseBlock).estimateMemory();
 			return (long) Math.min(size, Long.MAX_VALUE);
 		}
+		//exact in-memory size of compact sparse representations, whose size
+		//depends on the non-empty rows or columns rather than the sparsity
+		if( sparse && sparseBlock != null && (sparseBlock instanceof SparseBlockDCSR
+			|| SparseBlockFactory.isColumnMajor(sparseBlock)) ) {
+			double size = getHeaderSize() + sparseBlock.getExactSizeInMemory();
+			return (long) Math.min(size, Long.MAX_VALUE);
+		}
 		//in-memory size of dense/sparse representation
 		return !sparse ? estimateSizeDenseInMemory(rlen, clen) :
 			estimateSizeSparseInMemory(rlen, clen, getSparsity(),
@@ -468,8 +468,8 @@ public class CompressedEncode {
 	}
 
 	private <T> AColGroup passThroughCompressed(final Array<T> a) throws InterruptedException, ExecutionException {
-		// only DDC possible currently.
-		DDCArray<?> aDDC = (DDCArray<?>) a;
+		// other compressed arrays are expanded to DDC, sharing the dictionary.
+		DDCArray<?> aDDC = ((ACompressedArray<?>) a).toDDC();
 		Array<?> dict = aDDC.getDict();
 		final int dSize = dict.size();
 
@@ -534,8 +534,8 @@ public class CompressedEncode {
 		throws Exception {
 		final int si = map.size();
 		final int nRow = in.getNumRows();
-		if(!containsNull && a instanceof DDCArray)
-			return ((DDCArray<?>) a).getMap();
+		if(!containsNull && a instanceof ACompressedArray)
+			return ((ACompressedArray<?>) a).toDDC().getMap();
 
 		final AMapToData m = MapToFactory.create(nRow, si + (containsNull ? 1 : 0));
 
@@ -548,7 +548,8 @@ public class CompressedEncode {
 	private <T> AMapToData CreateMappingParallel(Array<T> a, HashMapToInt<T> map, boolean containsNull, final int si,
 		final int nRow, final AMapToData m) throws InterruptedException, ExecutionException {
 		final int tk = k / in.getNumColumns();
-		final int blkz = Math.max(ROW_PARALLELIZATION_THRESHOLD / 2, (nRow + tk) / tk);
+		int blkz = Math.max(ROW_PARALLELIZATION_THRESHOLD / 2, (nRow + tk) / tk);
+		blkz = Math.max(64, blkz - blkz % 64); // ensure long size, for maps packed into longs
 
 		List<Future<?>> tasks = new ArrayList<>();
 
@@ -666,9 +667,9 @@ public class CompressedEncode {
 		if(c._estNumDistincts != 0)
 			return;
 		Array<T> col = (Array<T>) in.getColumn(c._colID - 1);
-		if(col instanceof DDCArray) {
-			DDCArray<T> ddcCol = (DDCArray<T>) col;
-			c._estNumDistincts = ddcCol.getDict().size();
+		if(col instanceof ACompressedArray) {
+			ACompressedArray<T> cCol = (ACompressedArray<T>) col;
+			c._estNumDistincts = cCol.getDict().size();
 			return;
 		}
 		final int nRow = in.getNumRows();
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.util;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -29,6 +30,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -47,6 +49,10 @@ import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
  * 
  * Alternatively the class also contain a dynamic threadPool, that is intended for asynchronous long running tasks with
  * low compute overhead, such as broadcast and collect from federated workers.
+ * 
+ * Finally, the I/O thread pool is intended for tasks that mostly block on I/O, such as parallel reads, prefetch, and
+ * requests to federated workers. It uses virtual threads if supported by the JVM, and otherwise falls back to a cached
+ * thread pool, in order to not starve the compute threads of the shared pool.
  */
 public class CommonThreadPool implements ExecutorService {
 	/** Log object */
@@ -67,12 +73,17 @@ public class CommonThreadPool implements ExecutorService {
 	private static ConcurrentHashMap<Long, CommonThreadPool> shared2 = null;
 	/** Dynamic thread pool, that dynamically allocate threads as tasks come in. */
 	private static ExecutorService asyncPool = null;
+	/** Thread pool for blocking I/O tasks (virtual threads if available). */
+	private static ExecutorService ioPool = null;
 	/** This common thread pool */
 	private final ExecutorService _pool;
 
 	/** Local variable indicating if there was a thread that was not main, and requested a thread pool */
 	public static boolean incorrectPoolUse = false;
 
+	/** Flag indicating if the I/O thread pool should use virtual threads if supported by the JVM */
+	public static boolean USE_VIRTUAL_THREADS = true;
+
 	/**
 	 * Constructor of the threadPool. This is intended not to be used except for tests. Please use the static
 	 * constructors.
@@ -185,6 +196,42 @@ public class CommonThreadPool implements ExecutorService {
 		}
 	}
 
+	/**
+	 * Get a thread pool for tasks that mostly block on I/O (e.g., reads, prefetch, or requests to federated workers).
+	 * This pool uses virtual threads if supported by the JVM, and otherwise a cached thread pool. Since the pool is
+	 * shared, callers must not shut it down.
+	 * 
+	 * @return A thread pool for blocking I/O tasks.
+	 */
+	public synchronized static ExecutorService getIOPool() {
+		if(ioPool == null)
+			ioPool = createIOPool();
+		return ioPool;
+	}
+
+	/**
+	 * Indicates if the I/O thread pool is backed by virtual threads.
+	 * 
+	 * @return true if virtual threads are used.
+	 */
+	public static boolean isVirtualIOPool() {
+		return !(getIOPool() instanceof ThreadPoolExecutor);
+	}
+
+	private static ExecutorService createIOPool() {
+		if(USE_VIRTUAL_THREADS) {
+			try {
+				// reflective call to compile against Java 17, while using virtual threads on Java 21+
+				Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				return (ExecutorService) m.invoke(null);
+			}
+			catch(Exception ex) {
+				LOG.debug("Virtual threads not supported, falling back to cached thread pool for I/O tasks.");
+			}
+		}
+		return Executors.newCachedThreadPool();
+	}
+
 	/**
 	 * Shutdown the cached thread pools.
 	 */
@@ -194,6 +241,11 @@ public class CommonThreadPool implements ExecutorService {
 			asyncPool.shutdown();
 			asyncPool = null;
 		}
+		if(ioPool != null) {
+			// shutdown blocking I/O thread pool
+			ioPool.shutdown();
+			ioPool = null;
+		}
 		if(shared2 != null) {
 			for(Long e : shared2.keySet())
 				shutdownPool(e);
@@ -19,15 +19,20 @@
 
 package org.apache.sysds.runtime.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.util.DependencyThreadPool.TaskGraph;
 
 public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callable<E> {
 	protected static final Log LOG = LogFactory.getLog(DependencyTask.class.getName());
@@ -40,6 +45,7 @@ public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callabl
 	private int _rdy = 0;
 	private Integer _priority = 0;
 	private ExecutorService _pool;
+	private TaskGraph _graph;
 
 	public DependencyTask(Callable<E> task, List<DependencyTask<?>> dependantTasks) {
 		_dependantTasks = dependantTasks;
@@ -54,6 +60,19 @@ public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callabl
 		_future = f;
 	}
 
+	public void setGraph(TaskGraph graph) {
+		_graph = graph;
+	}
+
+	/**
+	 * Get the task graph (DAG) this task was submitted with, which allows to cancel all remaining tasks of the DAG.
+	 * 
+	 * @return The task graph, or null if not submitted
+	 */
+	public TaskGraph getGraph() {
+		return _graph;
+	}
+
 	public boolean isReady() {
 		return _rdy == 0;
 	}
@@ -71,7 +90,10 @@ public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callabl
 	
 	public void addDependent(DependencyTask<?> dependencyTask) {
 		_dependantTasks.add(dependencyTask);
-		dependencyTask._rdy += 1;
+		// synchronized because wrapper tasks add dependencies at runtime
+		synchronized(dependencyTask) {
+			dependencyTask._rdy += 1;
+		}
 	}
 	
 	public boolean hasDependency (DependencyTask<?> dependencyTask) {
@@ -80,22 +102,46 @@ public class DependencyTask<E> implements Comparable<DependencyTask<?>>, Callabl
 
 	@Override
 	public E call() throws Exception {
+		if(_graph != null && _graph.isCancelled())
+			throw new CancellationException("Task graph cancelled, skipped task: " + this);
 		LOG.debug("Executing Task: " + this);
 		long t0 = System.nanoTime();
-		E ret = _task.call();
+		E ret;
+		try {
+			ret = _task.call();
+		}
+		catch(Throwable ex) {
+			// cancel the remaining tasks of the DAG to avoid waiting for tasks that never become ready
+			if(_graph != null)
+				_graph.cancel(ex);
+			throw ex;
+		}
 		LOG.debug("Finished Task: " + this + " in: " +
 				(String.format("%.3f", (System.nanoTime()-t0)*1e-9)) + "sec.");
-		_dependantTasks.forEach(t -> {
-			if(t.decrease()) {
-				if(_pool == null)
-					throw new DMLRuntimeException("ExecutorService was not set for DependencyTask");
-				t._future.complete(_pool.submit(t));
-			}
-		});
-
+		releaseDependants();
 		return ret;
 	}
 
+	private void releaseDependants() {
+		List<DependencyTask<?>> ready = new ArrayList<>();
+		for(DependencyTask<?> t : _dependantTasks)
+			if(t.decrease())
+				ready.add(t);
+		if(ready.isEmpty() || (_graph != null && _graph.isCancelled()))
+			return;
+		if(_pool == null)
+			throw new DMLRuntimeException("ExecutorService was not set for DependencyTask");
+		// submissions from a worker thread of a fork-join pool are pushed to the worker's local queue (LIFO),
+		// so we submit in ascending priority such that the highest priority task continues on this thread with
+		// warm caches, while idle workers steal the remaining tasks (other pools execute in submission order)
+		if(Thread.currentThread() instanceof ForkJoinWorkerThread)
+			Collections.sort(ready, Collections.reverseOrder());
+		else
+			Collections.sort(ready);
+		for(DependencyTask<?> t : ready)
+			t._future.complete(_pool.submit(t));
+	}
+
 	@Override
 	public String toString(){
 		return _task.toString() + "<Prio: " + _priority + ">" + "<Waiting: " + _dependantTasks.size() + ">";
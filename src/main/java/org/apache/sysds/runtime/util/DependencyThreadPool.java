@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -53,6 +54,19 @@ public class DependencyThreadPool {
 	}
 
 	public List<Future<Future<?>>> submitAll(List<DependencyTask<?>> dtasks) {
+		return submitAll(dtasks, new TaskGraph());
+	}
+
+	/**
+	 * Submit the tasks of a DAG, where tasks without open dependencies are submitted immediately, and the remaining
+	 * tasks are submitted once their last dependency completes (in order of their priority). If a task fails or the
+	 * task graph is cancelled, all tasks that have not started yet are cancelled.
+	 * 
+	 * @param dtasks The dependency tasks
+	 * @param graph  The task graph to add the tasks to (e.g., of a parent wrapper task)
+	 * @return The futures of the task futures, in order of the sorted dependency tasks
+	 */
+	public List<Future<Future<?>>> submitAll(List<DependencyTask<?>> dtasks, TaskGraph graph) {
 		List<Future<Future<?>>> futures = new ArrayList<>();
 		List<Integer> rdyTasks = new ArrayList<>();
 		int i = 0;
@@ -61,6 +75,8 @@ public class DependencyThreadPool {
 		for(DependencyTask<?> t : dtasks) {
 			CompletableFuture<Future<?>> f = new CompletableFuture<>();
 			t.addPool(_pool);
+			t.setGraph(graph);
+			graph.addFuture(f);
 			if(!t.isReady()) {
 				t.assignFuture(f);
 			}
@@ -99,13 +115,15 @@ public class DependencyThreadPool {
 		List<Future<Future<?>>> futures = submitAll(dtasks);
 		int i = 0;
 		for(Future<Future<?>> ff : futures) {
+			// wait for the task itself (fails if the task graph was cancelled)
+			Object ret = ff.get().get();
 			if(dtasks.get(i) instanceof DependencyWrapperTask) {
 				for(Future<Future<?>> f : ((DependencyWrapperTask<?>) dtasks.get(i)).getWrappedTaskFuture()) {
 					res.add(f.get().get());
 				}
 			}
 			else {
-				res.add(ff.get().get());
+				res.add(ret);
 			}
 			i++;
 		}
@@ -234,4 +252,46 @@ public class DependencyThreadPool {
 		LOG.debug(sb.toString());
 
 	}
+
+	/**
+	 * Handle of a submitted DAG of dependency tasks (including the tasks of wrapper tasks), which allows to cancel all
+	 * tasks of the DAG that have not started yet.
+	 */
+	public static class TaskGraph {
+		private final List<CompletableFuture<Future<?>>> _futures = Collections.synchronizedList(new ArrayList<>());
+		private volatile Throwable _cause = null;
+
+		protected void addFuture(CompletableFuture<Future<?>> f) {
+			_futures.add(f);
+			// tasks added after cancellation (e.g., by wrapper tasks) never start
+			if(_cause != null)
+				f.completeExceptionally(_cause);
+		}
+
+		public boolean isCancelled() {
+			return _cause != null;
+		}
+
+		/**
+		 * Cancel all tasks of this DAG that have not started yet. Running tasks complete normally.
+		 */
+		public void cancel() {
+			cancel(new CancellationException("Task graph cancelled."));
+		}
+
+		protected void cancel(Throwable cause) {
+			synchronized(this) {
+				if(_cause != null)
+					return;
+				_cause = cause;
+			}
+			LOG.debug("Cancel task graph: " + cause.getMessage());
+			synchronized(_futures) {
+				// tasks with open dependencies never get submitted, tasks
+				// already submitted are skipped on execution
+				for(CompletableFuture<Future<?>> f : _futures)
+					f.completeExceptionally(cause);
+			}
+		}
+	}
 }
@@ -57,7 +57,8 @@ public abstract class DependencyWrapperTask<E> extends DependencyTask<E> {
 		List<DependencyTask<?>> wrappedTasks = getWrappedTasks();
 		// passing the dependency to the wrapped tasks.
 		_dependantTasks.forEach(t -> wrappedTasks.forEach(w -> w.addDependent(t)));
-		_pool.submitAll(wrappedTasks).forEach(this::addWrappedTaskFuture);
+		_pool.submitAll(wrappedTasks, getGraph() != null ?
+			getGraph() : new DependencyThreadPool.TaskGraph()).forEach(this::addWrappedTaskFuture);
 		_submitted.complete(null);
 		return super.call();
 	}
@@ -32,6 +32,7 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
@@ -39,12 +40,16 @@ import java.util.HashMap;
 
 import org.apache.hadoop.io.Writable;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.BlockType;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.SpillCodec;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -114,6 +119,52 @@ public class LocalFileUtils
 	public static CacheBlock<?> readCacheBlockFromLocal(String fname, boolean matrix) throws IOException {
 		return (CacheBlock<?>) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
 	}
+
+	/** Reads a matrix/frame block from local file system, optionally
+	 * memory-mapping dense matrix blocks instead of deserializing them.
+	 * 
+	 * @param fname file name to read
+	 * @param matrix if true, read matrix. if false, read frame.
+	 * @param mmap if true, memory-map dense matrix blocks
+	 * @return cache block (common interface to MatrixBlock and FrameBlock)
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock<?> readCacheBlockFromLocal(String fname, boolean matrix, boolean mmap) throws IOException {
+		return (matrix && mmap) ? readMatrixBlockFromLocalMapped(fname) :
+			readCacheBlockFromLocal(fname, matrix);
+	}
+
+	/**
+	 * Reads a matrix block from local file system by memory-mapping its
+	 * serialized dense cell values as a read-only off-heap dense block,
+	 * i.e., without copying the data onto the heap. Sparse, ultra-sparse,
+	 * and empty blocks are deserialized as usual. The mapped blocks are
+	 * materialized on their first update under a per-block lock and hence,
+	 * can be passed to multi-threaded kernels.
+	 * 
+	 * @param fname file name to read
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readMatrixBlockFromLocalMapped(String fname) throws IOException {
+		try(FileChannel channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ)) {
+			//read header (rlen, clen, block type)
+			ByteBuffer header = ByteBuffer.allocate(MatrixBlock.HEADER_SIZE);
+			while( header.hasRemaining() && channel.read(header) >= 0 );
+			header.flip();
+			int rlen = header.getInt();
+			int clen = header.getInt();
+			boolean dense = header.get() == BlockType.DENSE_BLOCK.ordinal();
+			long len = (long) rlen * clen;
+			if( dense && len > 0 && channel.size() == MatrixBlock.HEADER_SIZE + len * Double.BYTES ) {
+				DenseBlock a = DenseBlockFactory.mapDenseBlock(channel, MatrixBlock.HEADER_SIZE, rlen, clen);
+				MatrixBlock ret = new MatrixBlock(rlen, clen, a);
+				ret.recomputeNonZeros();
+				return ret;
+			}
+		}
+		return readMatrixBlockFromLocal(fname);
+	}
 	
 	/**
 	 * Reads an arbitrary writable from local file system, using a fused buffered reader
@@ -130,9 +181,23 @@ public class LocalFileUtils
 		if(fname == null)
 			throw new IOException("Cannot read from null fname");
 		FileInputStream fis = new FileInputStream(fname);
+		InputStream is = fis;
+		try {
+			//probe header of compressed spill files (see SpillCodec)
+			byte[] header = fis.readNBytes(SpillCodec.HEADER_SIZE);
+			is = SpillCodec.decompress(fis, header);
+			if( is == null ) {
+				fis.getChannel().position(0);
+				is = fis;
+			}
+		}
+		catch(IOException ex) {
+			IOUtilFunctions.closeSilently(fis);
+			throw ex;
+		}
 		DataInput in = !(ret instanceof MatrixBlock) ? 
-			new DataInputStream(new BufferedInputStream(fis, BUFFER_SIZE)) :
-			new FastBufferedDataInputStream(fis, BUFFER_SIZE);		
+			new DataInputStream(new BufferedInputStream(is, BUFFER_SIZE)) :
+			new FastBufferedDataInputStream(is, BUFFER_SIZE);		
 		try {
 			ret.readFields(in);
 		}
@@ -223,6 +288,32 @@ public class LocalFileUtils
 	public static void writeCacheBlockToLocal(String fname, CacheBlock<?> cb) throws IOException {
 		writeWritableToLocal(fname, cb, cb.getInMemorySize()>=DOUBLE_BUFFERING_MIN);
 	}
+
+	/** Writes a matrix/frame block to local file system, compressed with the given codec.
+	 * 
+	 * @param fname file name to write
+	 * @param cb cache block (common interface to matrix block and frame block)
+	 * @param codec spill codec (NONE for uncompressed writes)
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeCacheBlockToLocal(String fname, CacheBlock<?> cb, SpillCodec codec) throws IOException {
+		if( codec == SpillCodec.NONE ) {
+			writeCacheBlockToLocal(fname, cb);
+			return;
+		}
+		Files.deleteIfExists(Paths.get(fname));
+		OutputStream fout = cb.getInMemorySize()>=DOUBLE_BUFFERING_MIN ?
+			new DoubleBufferingOutputStream(new FileOutputStream(fname), 2, BUFFER_SIZE) :
+			new FileOutputStream(fname);
+		FastBufferedDataOutputStream dout = null;
+		try {
+			dout = new FastBufferedDataOutputStream(codec.compress(fout), BUFFER_SIZE);
+			cb.write(dout);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(dout != null ? dout : fout);
+		}
+	}
 	
 	/**
 	 * Writes an arbitrary writable to local file system, using a fused buffered writer
@@ -234,6 +325,8 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static void writeWritableToLocal(String fname, Writable mb, boolean doubleBuffering) throws IOException {
+		//replace instead of truncate, to keep memory-mapped views valid
+		Files.deleteIfExists(Paths.get(fname));
 		OutputStream fout = doubleBuffering ?
 			new DoubleBufferingOutputStream(new FileOutputStream(fname), 2, BUFFER_SIZE) :
 			new FileOutputStream(fname);
@@ -253,6 +346,8 @@ public class LocalFileUtils
 		FileChannel channel = null;
 		try {
 			Path path = Paths.get(fname);
+			//replace instead of truncate, to keep memory-mapped views valid
+			Files.deleteIfExists(path);
 			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
 				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
 			channel.write(ByteBuffer.wrap(data));
@@ -262,6 +357,32 @@ public class LocalFileUtils
 		}
 	}
 
+	/** Writes a byte array to local file system, compressed with the given codec.
+	 * 
+	 * @param fname file name to write
+	 * @param data byte array
+	 * @param codec spill codec (NONE for uncompressed writes)
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeByteArrayToLocal(String fname, byte[] data, SpillCodec codec)
+		throws IOException
+	{
+		if( codec == SpillCodec.NONE ) {
+			writeByteArrayToLocal(fname, data);
+			return;
+		}
+		Files.deleteIfExists(Paths.get(fname));
+		OutputStream fout = new FileOutputStream(fname);
+		OutputStream cout = null;
+		try {
+			cout = codec.compress(fout);
+			cout.write(data);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(cout != null ? cout : fout);
+		}
+	}
+
 	public static int readBlockSequenceFromLocal(String fname, 
 			Pair<MatrixIndexes,MatrixValue>[] outValues, HashMap<MatrixIndexes, Integer> outMap) 
 		throws IOException
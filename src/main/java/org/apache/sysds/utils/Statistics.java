@@ -1058,6 +1058,8 @@ public class Statistics
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if (OptimizerUtils.isUMMEnabled())
+				sb.append("UMM hits/evict (num/MB/waits):\t" + CacheStatistics.displayUMM() + ".\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 
@@ -1080,6 +1082,10 @@ public class Statistics
 					sb.append("LinCache Spark (Per/Unper/Del):\t" + LineageCacheStatistics.displaySparkPersist() + ".\n");
 				}
 				sb.append("LinCache writes (Mem/FS/Del): \t" + LineageCacheStatistics.displayWtrites() + ".\n");
+				if (LineageCacheStatistics.ifPersistStats())
+					sb.append("LinCache persist (Hit/Wr/Del):\t" + LineageCacheStatistics.displayPersist() + ".\n");
+				if (LineageCacheStatistics.ifPrefetchStats())
+					sb.append("LinCache prefetch (Iss/Hit/Drop):" + LineageCacheStatistics.displayPrefetch() + ".\n");
 				sb.append("LinCache FStimes (Rd/Wr): \t" + LineageCacheStatistics.displayFSTime() + " sec.\n");
 				sb.append("LinCache Computetime (S/M/P): \t" + LineageCacheStatistics.displayComputeTime() + " sec.\n");
 				sb.append("LinCache Rewrites:    \t\t" + LineageCacheStatistics.displayRewrites() + ".\n");
@@ -19,6 +19,8 @@
 
 package org.apache.sysds.performance;
 
+import java.util.Arrays;
+
 import org.apache.sysds.performance.compression.IOBandwidth;
 import org.apache.sysds.performance.compression.SchemaTest;
 import org.apache.sysds.performance.compression.Serialize;
@@ -143,6 +145,10 @@ public class Main {
 			case 1009:
 				MatrixMultiplicationPerf.main(args);
 				break;
+			case 1010:
+				// JMH benchmarks, remaining arguments are passed to the JMH runner
+				org.openjdk.jmh.Main.main(Arrays.copyOfRange(args, 1, args.length));
+				break;
 			default:
 				break;
 		}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the unary aggregation kernels in LibMatrixAgg.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "--add-modules=jdk.incubator.vector"})
+public class AggregateBenchmark {
+
+	@Benchmark
+	public MatrixBlock sum(MatrixState s) {
+		return agg(s, "uak+");
+	}
+
+	@Benchmark
+	public MatrixBlock rowSums(MatrixState s) {
+		return agg(s, "uark+");
+	}
+
+	@Benchmark
+	public MatrixBlock colSums(MatrixState s) {
+		return agg(s, "uack+");
+	}
+
+	@Benchmark
+	public MatrixBlock sumSq(MatrixState s) {
+		return agg(s, "uasqk+");
+	}
+
+	@Benchmark
+	public MatrixBlock max(MatrixState s) {
+		return agg(s, "uamax");
+	}
+
+	@Benchmark
+	public MatrixBlock min(MatrixState s) {
+		return agg(s, "uamin");
+	}
+
+	@Benchmark
+	public MatrixBlock mean(MatrixState s) {
+		return agg(s, "uamean");
+	}
+
+	private static MatrixBlock agg(MatrixState s, String opcode) {
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode, s.k);
+		return s.a.aggregateUnaryOperations(op);
+	}
+}
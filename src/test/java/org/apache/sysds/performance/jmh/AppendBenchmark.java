@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.matrix.data.LibMatrixAppend;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the cbind and rbind kernels in LibMatrixAppend.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "--add-modules=jdk.incubator.vector"})
+public class AppendBenchmark {
+
+	@Benchmark
+	public MatrixBlock cbind(MatrixState s) {
+		return LibMatrixAppend.append(s.a, new MatrixBlock[] {s.b}, new MatrixBlock(), true);
+	}
+
+	@Benchmark
+	public MatrixBlock rbind(MatrixState s) {
+		return LibMatrixAppend.append(s.a, new MatrixBlock[] {s.b}, new MatrixBlock(), false);
+	}
+
+	@Benchmark
+	public MatrixBlock cbindVector(MatrixState s) {
+		return LibMatrixAppend.append(s.a, new MatrixBlock[] {s.cv}, new MatrixBlock(), true);
+	}
+
+	@Benchmark
+	public MatrixBlock rbindMany(MatrixState s) {
+		return LibMatrixAppend.append(s.a, new MatrixBlock[] {s.b, s.a, s.b}, new MatrixBlock(), false);
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.functionobjects.Divide;
+import org.apache.sysds.runtime.functionobjects.GreaterThan;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the cell-wise binary kernels in LibMatrixBincell, for matrix-matrix, matrix-vector and
+ * matrix-scalar operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "--add-modules=jdk.incubator.vector"})
+public class BinaryCellBenchmark {
+
+	@Benchmark
+	public MatrixBlock plus(MatrixState s) {
+		return LibMatrixBincell.bincellOp(s.a, s.b, new MatrixBlock(), new BinaryOperator(Plus.getPlusFnObject(), s.k));
+	}
+
+	@Benchmark
+	public MatrixBlock mult(MatrixState s) {
+		return LibMatrixBincell.bincellOp(s.a, s.b, new MatrixBlock(),
+			new BinaryOperator(Multiply.getMultiplyFnObject(), s.k));
+	}
+
+	@Benchmark
+	public MatrixBlock greater(MatrixState s) {
+		return LibMatrixBincell.bincellOp(s.a, s.b, new MatrixBlock(),
+			new BinaryOperator(GreaterThan.getGreaterThanFnObject(), s.k));
+	}
+
+	@Benchmark
+	public MatrixBlock plusRowVector(MatrixState s) {
+		return LibMatrixBincell.bincellOp(s.a, s.rv, new MatrixBlock(), new BinaryOperator(Plus.getPlusFnObject(), s.k));
+	}
+
+	@Benchmark
+	public MatrixBlock divColVector(MatrixState s) {
+		return LibMatrixBincell.bincellOp(s.a, s.cv, new MatrixBlock(), new BinaryOperator(Divide.getDivideFnObject(), s.k));
+	}
+
+	@Benchmark
+	public MatrixBlock multScalar(MatrixState s) {
+		return LibMatrixBincell.bincellOpScalar(s.a, new MatrixBlock(),
+			new RightScalarOperator(Multiply.getMultiplyFnObject(), 3.0, s.k), s.k);
+	}
+
+	@Benchmark
+	public MatrixBlock plusScalar(MatrixState s) {
+		return LibMatrixBincell.bincellOpScalar(s.a, new MatrixBlock(),
+			new RightScalarOperator(Plus.getPlusFnObject(), 3.0, s.k), s.k);
+	}
+}
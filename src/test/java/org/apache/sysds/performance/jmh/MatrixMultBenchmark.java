@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the matrix multiplication kernels in LibMatrixMult.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "--add-modules=jdk.incubator.vector"})
+public class MatrixMultBenchmark {
+
+	@Benchmark
+	public MatrixBlock mm(MatrixState s) {
+		return LibMatrixMult.matrixMult(s.a, s.b, s.k);
+	}
+
+	@Benchmark
+	public MatrixBlock mv(MatrixState s) {
+		return LibMatrixMult.matrixMult(s.a, s.v, s.k);
+	}
+
+	@Benchmark
+	public MatrixBlock vm(MatrixState s) {
+		return LibMatrixMult.matrixMult(s.rv, s.b, s.k);
+	}
+
+	@Benchmark
+	public MatrixBlock tsmmLeft(MatrixState s) {
+		MatrixBlock ret = new MatrixBlock(s.cols, s.cols, false);
+		LibMatrixMult.matrixMultTransposeSelf(s.a, ret, true, s.k);
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock tsmmRight(MatrixState s) {
+		MatrixBlock ret = new MatrixBlock(s.rows, s.rows, false);
+		LibMatrixMult.matrixMultTransposeSelf(s.a, ret, false, s.k);
+		return ret;
+	}
+}
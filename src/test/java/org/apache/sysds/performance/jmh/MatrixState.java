@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance.jmh;
+
+import org.apache.sysds.performance.generators.ConstMatrix;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shared JMH state for the matrix kernel benchmarks. The inputs are generated once per trial through the performance
+ * generators, and cover dense, sparse and ultra-sparse blocks via the shape parameter.
+ */
+@State(Scope.Benchmark)
+public class MatrixState {
+
+	/** Number of rows of the left hand side input */
+	@Param({"1000"})
+	public int rows;
+
+	/** Number of columns of the left hand side input */
+	@Param({"1000"})
+	public int cols;
+
+	/** The block shape, one of dense, sparse or ultrasparse */
+	@Param({"dense", "sparse", "ultrasparse"})
+	public String shape;
+
+	/** Degree of parallelism, -1 for the local parallelism */
+	@Param({"1", "-1"})
+	public int k;
+
+	/** Left hand side input */
+	public MatrixBlock a;
+	/** Right hand side input of the same shape as a */
+	public MatrixBlock b;
+	/** Dense column vector with as many rows as a has columns */
+	public MatrixBlock v;
+	/** Dense column vector with as many rows as a */
+	public MatrixBlock cv;
+	/** Dense row vector with as many columns as a */
+	public MatrixBlock rv;
+
+	@Setup
+	public void setup() {
+		if(k == -1)
+			k = InfrastructureAnalyzer.getLocalParallelism();
+		final double sp = sparsity(shape);
+		a = new ConstMatrix(rows, cols, 100, sp).take();
+		b = gen(rows, cols, sp, 7);
+		v = gen(cols, 1, 1.0, 13);
+		cv = gen(rows, 1, 1.0, 11);
+		rv = gen(1, cols, 1.0, 17);
+		a.examSparsity();
+	}
+
+	/**
+	 * Generate a matrix with integer values in [0, 100] of the given dimensions and sparsity.
+	 * 
+	 * @param r    The number of rows
+	 * @param c    The number of columns
+	 * @param sp   The sparsity
+	 * @param seed The seed
+	 * @return A matrix block in its preferred format
+	 */
+	protected static MatrixBlock gen(int r, int c, double sp, int seed) {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(r, c, 0, 100, sp, seed));
+		mb.examSparsity();
+		return mb;
+	}
+
+	/**
+	 * Map a shape name to a sparsity that is guaranteed to yield the given block format.
+	 * 
+	 * @param shape The shape name
+	 * @return The sparsity
+	 */
+	protected static double sparsity(String shape) {
+		switch(shape) {
+			case "dense":
+				return 1.0;
+			case "sparse":
+				return 0.05;
+			case "ultrasparse":
+				// below MatrixBlock.ULTRA_SPARSITY_TURN_POINT
+				return 0.00002;
+			default:
+				throw new IllegalArgumentException("Unknown shape: " + shape);
+		}
+	}
+}
@@ -143,8 +143,39 @@ public class CompressedSingleTests {
 			.setMaxColGroupCoCode(3).setEstimationType(EstimationType.ShlosserJackknifeEstimator).clearValidCompression()
 			.setSamplingRatio(0.2).setSeed(1342).setCoCodePercentage(0.22).setMinimumSampleSize(1342)
 			.setCostType(CostEstimatorFactory.CostType.MEMORY).setMinimumCompressionRatio(2.2)
-			.setSDCSortType(SORT_TYPE.MERGE);
+			.setSDCSortType(SORT_TYPE.MERGE).setCoCodeTimeBudget(100);
 		CompressionSettings s = b.create();
 		b = b.copySettings(s);
+		assertEquals(100, b.create().coCodeTimeBudget);
+	}
+
+	@Test
+	public void test_coCodeTimeBudgetDefault() {
+		// no budget by default, such that plans do not depend on the machine speed
+		assertEquals(0, new CompressionSettingsBuilder().create().coCodeTimeBudget);
+	}
+
+	@Test
+	public void test_parallelGreedyCoCode() {
+		runCoCodeTest(4, 0);
+	}
+
+	@Test
+	public void test_parallelGreedyCoCodeTimeBudget() {
+		// a tiny budget stops the search early, but still has to produce a valid compression
+		runCoCodeTest(4, 1);
+	}
+
+	@Test
+	public void test_singleThreadGreedyCoCodeTimeBudget() {
+		runCoCodeTest(1, 1);
+	}
+
+	private static void runCoCodeTest(int k, long budget) {
+		MatrixBlock in = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 40, 0, 3, 1.0, seed));
+		CompressionSettingsBuilder b = new CompressionSettingsBuilder()
+			.setColumnPartitioner(CoCoderFactory.PartitionerType.GREEDY).setCoCodeTimeBudget(budget);
+		MatrixBlock c = CompressedMatrixBlockFactory.compress(in, k, b).getLeft();
+		TestUtils.compareMatricesBitAvgDistance(in, c, 0, 0, "CoCode with budget " + budget);
 	}
 }
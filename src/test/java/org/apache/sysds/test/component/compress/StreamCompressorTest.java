@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.StreamCompressor;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class StreamCompressorTest {
+
+	@Test
+	public void rowBlocksInOrder() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(5000, 4, 0, 3, 1.0, 7));
+		StreamCompressor s = new StreamCompressor(5000, 4, 1000, -1, 1);
+		for(int i = 0; i < 5000; i += 1000)
+			s.append(mb.slice(i, i + 999), i, 0);
+		verify(mb, s.finish(), true);
+	}
+
+	@Test
+	public void rowBlocksReverseOrderPartialLastBlock() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(4321, 3, 0, 5, 1.0, 8));
+		StreamCompressor s = new StreamCompressor(4321, 3, 1000, -1, 4);
+		for(int i = 4000; i >= 0; i -= 1000)
+			s.append(mb.slice(i, Math.min(4321, i + 1000) - 1), i, 0);
+		verify(mb, s.finish(), true);
+	}
+
+	@Test
+	public void partsOfRowBlocks() {
+		// rows of a block split across inputs, and column blocks of a wide matrix
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(3000, 6, 0, 3, 1.0, 9));
+		StreamCompressor s = new StreamCompressor(3000, 6, 1000, -1, 1);
+		for(int i = 0; i < 3000; i += 1000) {
+			s.append(mb.slice(i + 400, i + 999, 0, 2), i + 400, 0);
+			s.append(mb.slice(i, i + 399, 0, 2), i, 0);
+			s.append(mb.slice(i, i + 999, 3, 5), i, 3);
+		}
+		verify(mb, s.finish(), true);
+	}
+
+	@Test
+	public void sparsePartsOfRowBlocks() {
+		// column blocks of a wide sparse matrix are assembled in sparse row blocks
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(3000, 400, 1, 3, 0.01, 15));
+		StreamCompressor s = new StreamCompressor(3000, 400, 1000, mb.getNonZeros(), 1);
+		assertTrue(s.allocateRows(1000).isInSparseFormat());
+		for(int i = 0; i < 3000; i += 1000)
+			for(int j = 0; j < 400; j += 100)
+				s.append(mb.slice(i, i + 999, j, j + 99), i, j);
+		MatrixBlock ret = s.finish();
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void concurrentAppend() throws Exception {
+		final ExecutorService pool = CommonThreadPool.get(4);
+		try {
+			MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(20000, 4, 0, 3, 1.0, 16));
+			StreamCompressor s = new StreamCompressor(20000, 4, 500, -1, 2, 1000);
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int i = 0; i < 20000; i += 500) {
+				final int rl = i;
+				tasks.add(pool.submit(() -> {
+					s.append(mb.slice(rl + 200, rl + 499, 0, 3), rl + 200, 0);
+					s.append(mb.slice(rl, rl + 199, 0, 3), rl, 0);
+				}));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+			verify(mb, s.finish(), true);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void newValuesAfterSample() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 3, 0, 2, 1.0, 10));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 3, 0, 9, 1.0, 11));
+		MatrixBlock mb = a.append(b, null, false);
+		StreamCompressor s = new StreamCompressor(4000, 3, 1000, -1, 1, 1000);
+		for(int i = 0; i < 4000; i += 1000)
+			s.append(mb.slice(i, i + 999), i, 0);
+		verify(mb, s.finish(), true);
+	}
+
+	@Test
+	public void missingBlocksAreEmpty() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(3000, 3, 1, 3, 1.0, 12));
+		StreamCompressor s = new StreamCompressor(3000, 3, 1000, -1, 1);
+		s.append(mb.slice(0, 999), 0, 0);
+		s.append(mb.slice(2000, 2999), 2000, 0);
+		MatrixBlock exp = new MatrixBlock(3000, 3, false);
+		exp.allocateDenseBlock();
+		mb.slice(0, 999).putInto(exp, 0, 0, false);
+		mb.slice(2000, 2999).putInto(exp, 2000, 0, false);
+		exp.recomputeNonZeros();
+		verify(exp, s.finish(), true);
+	}
+
+	@Test
+	public void notCompressible() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(3000, 3, 0, 1, 1.0, 13);
+		StreamCompressor s = new StreamCompressor(3000, 3, 1000, -1, 1);
+		for(int i = 0; i < 3000; i += 1000)
+			s.append(mb.slice(i, i + 999), i, 0);
+		MatrixBlock ret = s.finish();
+		assertTrue(s.isUncompressed());
+		verify(mb, ret, false);
+	}
+
+	@Test(expected = Exception.class)
+	public void invalidPartAcrossRowBlocks() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(2000, 3, 0, 1, 1.0, 14);
+		new StreamCompressor(2000, 3, 1000, -1, 1).append(mb.slice(500, 1499), 500, 0);
+	}
+
+	private static void verify(MatrixBlock exp, MatrixBlock ret, boolean compressed) {
+		assertEquals(compressed, ret instanceof CompressedMatrixBlock);
+		assertEquals(exp.getNumRows(), ret.getNumRows());
+		assertEquals(exp.getNumColumns(), ret.getNumColumns());
+		assertEquals(exp.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(exp, ret, 0, 0);
+	}
+}
@@ -19,64 +19,304 @@
 
 package org.apache.sysds.test.component.compress.colgroup;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDeltaDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.estim.ComEstExact;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
+import org.apache.sysds.runtime.compress.lib.CLALibReshape;
+import org.apache.sysds.runtime.compress.lib.CLALibStack;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
 public class ColGroupDeltaDDCTest {
 
-	// protected static final Log LOG = LogFactory.getLog(JolEstimateTest.class.getName());
-
-	// @Test
-	// public void testDecompressToDenseBlockSingleColumn() {
-	// 	testDecompressToDenseBlock(new double[][] {{1, 2, 3, 4, 5}}, true);
-	// }
-
-	// @Test
-	// public void testDecompressToDenseBlockSingleColumnTransposed() {
-	// 	testDecompressToDenseBlock(new double[][] {{1}, {2}, {3}, {4}, {5}}, false);
-	// }
-
-	// @Test
-	// public void testDecompressToDenseBlockTwoColumns() {
-	// 	testDecompressToDenseBlock(new double[][] {{1, 1}, {2, 1}, {3, 1}, {4, 1}, {5, 1}}, false);
-	// }
-
-	// @Test
-	// public void testDecompressToDenseBlockTwoColumnsTransposed() {
-	// 	testDecompressToDenseBlock(new double[][] {{1, 2, 3, 4, 5}, {1, 1, 1, 1, 1}}, true);
-	// }
-
-	// public void testDecompressToDenseBlock(double[][] data, boolean isTransposed) {
-	// 	MatrixBlock mbt = DataConverter.convertToMatrixBlock(data);
-
-	// 	final int numCols = isTransposed ? mbt.getNumRows() : mbt.getNumColumns();
-	// 	final int numRows = isTransposed ? mbt.getNumColumns() : mbt.getNumRows();
-	// 	int[] colIndexes = new int[numCols];
-	// 	for(int x = 0; x < numCols; x++)
-	// 		colIndexes[x] = x;
-
-	// 	try {
-	// 		CompressionSettings cs = new CompressionSettingsBuilder().setSamplingRatio(1.0)
-	// 			.setValidCompressions(EnumSet.of(AColGroup.CompressionType.DeltaDDC)).create();
-	// 		cs.transposed = isTransposed;
-
-	// 		final CompressedSizeInfoColGroup cgi = new CompressedSizeEstimatorExact(mbt, cs)
-	// 			.getColGroupInfo(colIndexes);
-	// 		CompressedSizeInfo csi = new CompressedSizeInfo(cgi);
-	// 		AColGroup cg = ColGroupFactory.compressColGroups(mbt, csi, cs, 1).get(0);
-
-	// 		// Decompress to dense block
-	// 		MatrixBlock ret = new MatrixBlock(numRows, numCols, false);
-	// 		ret.allocateDenseBlock();
-	// 		cg.decompressToDenseBlock(ret.getDenseBlock(), 0, numRows);
-
-	// 		MatrixBlock expected = DataConverter.convertToMatrixBlock(data);
-	// 		if(isTransposed)
-	// 			LibMatrixReorg.transposeInPlace(expected, 1);
-	// 		Assert.assertArrayEquals(expected.getDenseBlockValues(), ret.getDenseBlockValues(), 0.01);
-
-	// 	}
-	// 	catch(Exception e) {
-	// 		e.printStackTrace();
-	// 		throw new DMLRuntimeException("Failed construction : " + this.getClass().getSimpleName());
-	// 	}
-	// }
+	private final MatrixBlock mb;
+	private final CompressedMatrixBlock cmb;
+
+	public ColGroupDeltaDDCTest(String name, MatrixBlock mb) {
+		this.mb = mb;
+		this.cmb = compress(mb);
+	}
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> data() {
+		List<Object[]> tests = new ArrayList<>();
+		tests.add(new Object[] {"steps", cumulative(TestUtils.generateTestMatrixBlock(100, 5, 0, 3, 1.0, 7))});
+		tests.add(new Object[] {"sparseSteps", cumulative(TestUtils.generateTestMatrixBlock(1234, 5, 0, 3, 0.1, 3))});
+		tests.add(new Object[] {"negSteps", cumulative(TestUtils.generateTestMatrixBlock(5000, 5, -2, 2, 0.5, 2))});
+		tests.add(new Object[] {"random", TestUtils.round(TestUtils.generateTestMatrixBlock(321, 5, 0, 10, 0.7, 13))});
+		return tests;
+	}
+
+	@Test
+	public void testDecompressToDenseBlockSingleColumn() {
+		testDecompressToDenseBlock(new double[][] {{1, 2, 3, 4, 5}}, true);
+	}
+
+	@Test
+	public void testDecompressToDenseBlockSingleColumnTransposed() {
+		testDecompressToDenseBlock(new double[][] {{1}, {2}, {3}, {4}, {5}}, false);
+	}
+
+	@Test
+	public void testDecompressToDenseBlockTwoColumns() {
+		testDecompressToDenseBlock(new double[][] {{1, 1}, {2, 1}, {3, 1}, {4, 1}, {5, 1}}, false);
+	}
+
+	@Test
+	public void testDecompressToDenseBlockTwoColumnsTransposed() {
+		testDecompressToDenseBlock(new double[][] {{1, 2, 3, 4, 5}, {1, 1, 1, 1, 1}}, true);
+	}
+
+	@Test
+	public void testDecompress() {
+		TestUtils.compareMatricesBitAvgDistance(mb, cmb.decompress(), 0, 0);
+	}
+
+	@Test
+	public void testGetValue() {
+		for(int r = 0; r < mb.getNumRows(); r += 17)
+			for(int c = 0; c < mb.getNumColumns(); c++)
+				if(mb.get(r, c) != cmb.get(r, c))
+					fail("Invalid value at " + r + " " + c + ": " + mb.get(r, c) + " vs " + cmb.get(r, c));
+	}
+
+	@Test
+	public void testSum() {
+		testAggregate(Opcodes.UAKP.toString());
+	}
+
+	@Test
+	public void testColSums() {
+		testAggregate(Opcodes.UACKP.toString());
+	}
+
+	@Test
+	public void testRowSums() {
+		testAggregate(Opcodes.UARKP.toString());
+	}
+
+	@Test
+	public void testSumSq() {
+		testAggregate(Opcodes.UASQKP.toString());
+	}
+
+	@Test
+	public void testColMax() {
+		testAggregate(Opcodes.UACMAX.toString());
+	}
+
+	@Test
+	public void testRightMultiplication() {
+		MatrixBlock right = TestUtils.generateTestMatrixBlock(mb.getNumColumns(), 3, -1, 1, 1.0, 3);
+		MatrixBlock exp = mb.aggregateBinaryOperations(mb, right, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		MatrixBlock ret = cmb.aggregateBinaryOperations(cmb, right, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		TestUtils.compareMatricesPercentageDistance(exp, ret, 0.99, 0.99, "right mm");
+	}
+
+	@Test
+	public void testLeftMultiplication() {
+		MatrixBlock left = TestUtils.generateTestMatrixBlock(3, mb.getNumRows(), -1, 1, 1.0, 3);
+		MatrixBlock exp = mb.aggregateBinaryOperations(left, mb, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		MatrixBlock ret = cmb.aggregateBinaryOperations(left, cmb, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		TestUtils.compareMatricesPercentageDistance(exp, ret, 0.99, 0.99, "left mm");
+	}
+
+	@Test
+	public void testLeftMultiplicationSparse() {
+		MatrixBlock left = TestUtils.generateTestMatrixBlock(3, mb.getNumRows(), -1, 1, 0.01, 3);
+		MatrixBlock exp = mb.aggregateBinaryOperations(left, mb, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		MatrixBlock ret = cmb.aggregateBinaryOperations(left, cmb, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		TestUtils.compareMatricesPercentageDistance(exp, ret, 0.99, 0.99, "left mm sparse");
+	}
+
+	@Test
+	public void testTransposeSelfMatrixMult() {
+		MatrixBlock exp = mb.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+		MatrixBlock ret = cmb.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+		TestUtils.compareMatricesPercentageDistance(exp, ret, 0.99, 0.99, "tsmm");
+	}
+
+	@Test
+	public void testScalarPlus() {
+		testScalar(new RightScalarOperator(Plus.getPlusFnObject(), 3));
+	}
+
+	@Test
+	public void testScalarMultiply() {
+		testScalar(new RightScalarOperator(Multiply.getMultiplyFnObject(), -2));
+	}
+
+	@Test
+	public void testSliceRows() {
+		final int rl = mb.getNumRows() / 3;
+		final int ru = mb.getNumRows() - 2;
+		TestUtils.compareMatricesBitAvgDistance(mb.slice(rl, ru), cmb.slice(rl, ru), 0, 0);
+	}
+
+	@Test
+	public void testSerialization() throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream fos = new DataOutputStream(bos);
+		ColGroupIO.writeGroups(fos, cmb.getColGroups());
+		assertTrue(bos.size() == ColGroupIO.getExactSizeOnDisk(cmb.getColGroups()));
+		DataInputStream fis = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		List<AColGroup> groups = ColGroupIO.readGroups(fis, mb.getNumRows());
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(mb.getNumRows(), mb.getNumColumns(), mb.getNonZeros(),
+			false, groups);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret.decompress(), 0, 0);
+	}
+
+	@Test
+	public void testAppendN() {
+		// the deltas restart at each row block, therefore the groups are not appended
+		final int blen = (mb.getNumRows() + 1) / 2;
+		final CompressedMatrixBlock top = compress(mb.slice(0, blen - 1));
+		final CompressedMatrixBlock bot = compress(mb.slice(blen, mb.getNumRows() - 1));
+		assertNull(AColGroup.appendN(new AColGroup[] {top.getColGroups().get(0), bot.getColGroups().get(0)}, blen,
+			mb.getNumRows()));
+	}
+
+	@Test
+	public void testCombineRowBlocks() {
+		final int blen = (mb.getNumRows() + 1) / 2;
+		final Map<MatrixIndexes, MatrixBlock> blocks = new HashMap<>();
+		blocks.put(new MatrixIndexes(1, 1), compress(mb.slice(0, blen - 1)));
+		blocks.put(new MatrixIndexes(2, 1), compress(mb.slice(blen, mb.getNumRows() - 1)));
+		MatrixBlock ret = CLALibStack.combine(blocks, null, mb.getNumRows(), mb.getNumColumns(), blen, 1);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void testRbind() {
+		final int blen = (mb.getNumRows() + 1) / 2;
+		MatrixBlock top = compress(mb.slice(0, blen - 1));
+		MatrixBlock bot = compress(mb.slice(blen, mb.getNumRows() - 1));
+		MatrixBlock ret = top.append(bot, null, false);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void testReshape() {
+		if(mb.getNumRows() % 2 != 0)
+			return;
+		final int rows = mb.getNumRows() / 2;
+		MatrixBlock exp = mb.reshape(rows, mb.getNumColumns() * 2, true);
+		MatrixBlock ret = CLALibReshape.reshape(cmb, rows, mb.getNumColumns() * 2, true, 1);
+		TestUtils.compareMatricesBitAvgDistance(exp, ret, 0, 0);
+	}
+
+	private void testAggregate(String opcode) {
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode, 1);
+		MatrixBlock exp = mb.aggregateUnaryOperations(op, new MatrixBlock(), mb.getNumRows(), null, true);
+		MatrixBlock ret = cmb.aggregateUnaryOperations(op, new MatrixBlock(), mb.getNumRows(), null, true);
+		TestUtils.compareMatricesPercentageDistance(exp, ret, 0.99, 0.99, opcode);
+	}
+
+	private void testScalar(RightScalarOperator op) {
+		MatrixBlock exp = mb.scalarOperations(op, new MatrixBlock());
+		MatrixBlock ret = cmb.scalarOperations(op, new MatrixBlock());
+		TestUtils.compareMatricesBitAvgDistance(exp, ret, 0, 0);
+	}
+
+	private static void testDecompressToDenseBlock(double[][] data, boolean isTransposed) {
+		MatrixBlock mbt = DataConverter.convertToMatrixBlock(data);
+		final int numCols = isTransposed ? mbt.getNumRows() : mbt.getNumColumns();
+		final int numRows = isTransposed ? mbt.getNumColumns() : mbt.getNumRows();
+
+		CompressionSettings cs = new CompressionSettingsBuilder().setSamplingRatio(1.0)
+			.setValidCompressions(EnumSet.of(CompressionType.DeltaDDC)).create();
+		cs.transposed = isTransposed;
+		AColGroup cg = compress(mbt, ColIndexFactory.create(numCols), cs).get(0);
+		assertTrue(cg instanceof ColGroupDeltaDDC);
+
+		MatrixBlock ret = new MatrixBlock(numRows, numCols, false);
+		ret.allocateDenseBlock();
+		cg.decompressToDenseBlock(ret.getDenseBlock(), 0, numRows);
+
+		MatrixBlock expected = DataConverter.convertToMatrixBlock(data);
+		if(isTransposed)
+			LibMatrixReorg.transposeInPlace(expected, 1);
+		assertArrayEquals(expected.getDenseBlockValues(), ret.getDenseBlockValues(), 0.0);
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb) {
+		// two delta encoded groups and one normal group to cover the combinations with other groups.
+		final CompressionSettings delta = new CompressionSettingsBuilder().setSamplingRatio(1.0)
+			.setValidCompressions(EnumSet.of(CompressionType.DeltaDDC)).create();
+		final CompressionSettings ddc = new CompressionSettingsBuilder().setSamplingRatio(1.0)
+			.setValidCompressions(EnumSet.of(CompressionType.DDC)).create();
+		final List<AColGroup> groups = new ArrayList<>();
+		groups.addAll(compress(mb, ColIndexFactory.create(0, 2), delta));
+		groups.addAll(compress(mb, ColIndexFactory.create(2, 4), ddc));
+		groups.addAll(compress(mb, ColIndexFactory.create(4, 5), delta));
+		assertTrue(groups.get(0) instanceof ColGroupDeltaDDC);
+		final CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb.getNumRows(), mb.getNumColumns(), -1, false,
+			groups);
+		cmb.recomputeNonZeros();
+		return cmb;
+	}
+
+	private static List<AColGroup> compress(MatrixBlock mb, IColIndex cols, CompressionSettings cs) {
+		final ComEstExact est = new ComEstExact(mb, cs);
+		return ColGroupFactory.compressColGroups(mb, new CompressedSizeInfo(est.getColGroupInfo(cols)), cs, 1);
+	}
 
+	private static MatrixBlock cumulative(MatrixBlock mb) {
+		mb = TestUtils.round(mb);
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		ret.allocateDenseBlock();
+		for(int c = 0; c < mb.getNumColumns(); c++) {
+			double s = 0;
+			for(int r = 0; r < mb.getNumRows(); r++)
+				ret.set(r, c, s += mb.get(r, c));
+		}
+		ret.recomputeNonZeros();
+		return ret;
+	}
 }
@@ -24,6 +24,8 @@ import java.util.Collection;
 
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
@@ -34,28 +36,29 @@ public class JolEstimateDeltaDDCTest extends JolEstimateTest {
 	public static Collection<Object[]> data() {
 		ArrayList<Object[]> tests = new ArrayList<>();
 
-		// MatrixBlock mb;
+		MatrixBlock mb;
 
-		// mb = DataConverter.convertToMatrixBlock(new double[][] {{0}});
-		// tests.add(new Object[] {mb});
+		mb = DataConverter.convertToMatrixBlock(new double[][] {{1}});
+		tests.add(new Object[] {mb});
 
-		// mb = DataConverter.convertToMatrixBlock(new double[][] {{1}});
-		// tests.add(new Object[] {mb});
+		mb = DataConverter.convertToMatrixBlock(new double[][] {{1, 2, 3, 4, 5}});
+		tests.add(new Object[] {mb});
 
-		// TODO add reader that reads as if Delta encoded.
-		// then afterwards use this test.
+		mb = DataConverter.convertToMatrixBlock(new double[][] {{1, 2, 3}, {1, 1, 1}});
+		tests.add(new Object[] {mb});
 
-		// mb = DataConverter.convertToMatrixBlock(new double[][] {{1, 2, 3, 4, 5}});
-		// tests.add(new Object[] {mb});
+		mb = DataConverter.convertToMatrixBlock(new double[][] {{1, 1}, {2, 1}, {3, 1}, {4, 1}, {5, 1}});
+		tests.add(new Object[] {mb});
 
-		// mb = DataConverter.convertToMatrixBlock(new double[][] {{1,2,3},{1,1,1}});
-		// tests.add(new Object[] {mb});
+		mb = TestUtils.round(TestUtils.generateTestMatrixBlock(2, 5, 0, 20, 1.0, 7));
+		tests.add(new Object[] {mb});
 
-		// mb = DataConverter.convertToMatrixBlock(new double[][] {{1, 1}, {2, 1}, {3, 1}, {4, 1}, {5, 1}});
-		// tests.add(new Object[] {mb});
-
-		// mb = TestUtils.generateTestMatrixBlock(2, 5, 0, 20, 1.0, 7);
-		// tests.add(new Object[] {mb});
+		// cumulative sums of few distinct steps
+		mb = TestUtils.round(TestUtils.generateTestMatrixBlock(3, 1000, 0, 3, 1.0, 7));
+		for(int c = 0; c < 3; c++)
+			for(int r = 1; r < 1000; r++)
+				mb.set(c, r, mb.get(c, r) + mb.get(c, r - 1));
+		tests.add(new Object[] {mb});
 
 		return tests;
 	}
@@ -169,7 +169,7 @@ public abstract class JolEstimateTest {
 
 			final double estimateCSI = (cg.getCompType() == CompressionType.CONST) ? ColGroupSizes
 				.estimateInMemorySizeCONST(cg.getNumCols(), true, 1.0,
-					false) : cInfo.getCompressionSize(cg.getCompType());
+					0) : cInfo.getCompressionSize(cg.getCompType());
 			final double minTolerance = actualSize * tolerance *
 				(ratio < 1 && mbt.getSparsity() < 0.8 ? mbt.getSparsity() + 0.2 : 1);
 			double maxTolerance = actualSize / tolerance;
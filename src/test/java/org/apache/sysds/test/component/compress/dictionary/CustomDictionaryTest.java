@@ -36,6 +36,7 @@ import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.bitmap.ABitmap;
 import org.apache.sysds.runtime.compress.bitmap.BitmapEncoder;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.AQDictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.DictionaryFactory;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
@@ -44,6 +45,7 @@ import org.apache.sysds.runtime.compress.colgroup.dictionary.IdentityDictionaryS
 import org.apache.sysds.runtime.compress.colgroup.dictionary.MatrixBlockDictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.PlaceHolderDict;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary16;
 import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
 import org.apache.sysds.runtime.compress.utils.DblArray;
 import org.apache.sysds.runtime.compress.utils.DblArrayCountHashMap;
@@ -352,39 +354,46 @@ public class CustomDictionaryTest {
 
 	@Test
 	public void getInMemorySize() {
-		long s = DictionaryFactory.getInMemorySize(100, 100, 1.0, false);
+		long s = DictionaryFactory.getInMemorySize(100, 100, 1.0, 0);
 		long s2 = Dictionary.getInMemorySize(100 * 100);
 		assertTrue(s <= s2);
 	}
 
 	@Test
 	public void getInMemorySize2() {
-		long s = DictionaryFactory.getInMemorySize(100, 100, 0.1, false);
+		long s = DictionaryFactory.getInMemorySize(100, 100, 0.1, 0);
 		long s2 = MatrixBlockDictionary.getInMemorySize(100, 100, 0.1);
 		assertTrue(s <= s2);
 	}
 
 	@Test
 	public void getInMemorySize3() {
-		long s = DictionaryFactory.getInMemorySize(100, 100, 1.0, true);
+		long s = DictionaryFactory.getInMemorySize(100, 100, 1.0, 2);
 		long s2 = Dictionary.getInMemorySize(100 * 100);
 		assertTrue(s <= s2);
 	}
 
 	@Test
 	public void getInMemorySize4() {
-		long s = DictionaryFactory.getInMemorySize(100, 1, 1.0, true);
+		long s = DictionaryFactory.getInMemorySize(100, 1, 1.0, 2);
 		long s2 = Dictionary.getInMemorySize(100);
 		assertTrue(s <= s2);
 	}
 
 	@Test
 	public void getInMemorySize5() {
-		long s = DictionaryFactory.getInMemorySize(100, 1, 1.0, false);
+		long s = DictionaryFactory.getInMemorySize(100, 1, 1.0, 0);
 		long s2 = Dictionary.getInMemorySize(100);
 		assertTrue(s <= s2);
 	}
 
+	@Test
+	public void getInMemorySize8Bit() {
+		long s = DictionaryFactory.getInMemorySize(100, 10, 1.0, 1);
+		long s2 = DictionaryFactory.getInMemorySize(100, 10, 1.0, 2);
+		assertTrue(s < s2);
+	}
+
 	@Test
 	public void createDblArrayCount() {
 
@@ -609,6 +618,22 @@ public class CustomDictionaryTest {
 		assertNotNull(QDictionary.create(new byte[] {0, 0, 0}, 2.3, 1, false));
 	}
 
+	@Test
+	public void sliceQDictionary() {
+		IDictionary a = QDictionary.create(new byte[] {1, 2, 3, 4, 5, 6}, 0.5, 3, true);
+		AQDictionary s = (AQDictionary) a.sliceOutColumnRange(1, 3, 3);
+		assertEquals(2, s.getMBDict().getMatrixBlock().getNumColumns());
+		assertTrue(s.equals(Dictionary.create(new double[] {1, 1.5, 2.5, 3})));
+	}
+
+	@Test
+	public void sliceQDictionary16() {
+		IDictionary a = QDictionary16.create(new short[] {1, 200, 3, 4, 500, 6}, 0.5, 3, true);
+		AQDictionary s = (AQDictionary) a.sliceOutColumnRange(0, 1, 3);
+		assertEquals(1, s.getMBDict().getMatrixBlock().getNumColumns());
+		assertTrue(s.equals(Dictionary.create(new double[] {0.5, 2})));
+	}
+
 	@Test
 	public void notEqualsSlice() {
 
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class IOStreamCompress {
+
+	final static String nameBeginning = "src/test/java/org/apache/sysds/test/component/compress/io/files"
+		+ IOStreamCompress.class.getSimpleName() + "/";
+
+	private static final int blen = 1000;
+
+	public IOStreamCompress() {
+		synchronized(IOCompressionTestUtils.lock) {
+			new File(nameBeginning).mkdirs();
+		}
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		IOCompressionTestUtils.deleteDirectory(new File(nameBeginning));
+	}
+
+	@Test
+	public void testCSV() throws Exception {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(5321, 4, 0, 3, 1.0, 33));
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV();
+		String n = IOCompressionTestUtils.getName(nameBeginning);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.CSV, 1, props)
+			.writeMatrixToHDFS(mb, n, mb.getNumRows(), mb.getNumColumns(), blen, mb.getNonZeros());
+		verify(mb, new ReaderTextCSVParallel(props), n);
+	}
+
+	@Test
+	public void testBinaryBlock() throws Exception {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(5321, 4, 0, 3, 1.0, 34));
+		String n = IOCompressionTestUtils.getName(nameBeginning);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+			.writeMatrixToHDFS(mb, n, mb.getNumRows(), mb.getNumColumns(), blen, mb.getNonZeros());
+		verify(mb, new ReaderBinaryBlockParallel(false), n);
+	}
+
+	private static void verify(MatrixBlock mb, MatrixReader reader, String n) throws Exception {
+		final long rlen = mb.getNumRows(), clen = mb.getNumColumns(), nnz = mb.getNonZeros();
+		MatrixBlock uc = reader.readMatrixFromHDFS(n, rlen, clen, blen, nnz);
+		assertFalse(uc instanceof CompressedMatrixBlock);
+		MatrixBlock c;
+		MatrixReader.FORCE_STREAM_COMPRESS = true;
+		try {
+			c = reader.readMatrixFromHDFS(n, rlen, clen, blen, nnz);
+		}
+		finally {
+			MatrixReader.FORCE_STREAM_COMPRESS = false;
+		}
+		assertTrue(c instanceof CompressedMatrixBlock);
+		assertEquals(nnz, c.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(uc, c, 0, 0);
+		TestUtils.compareMatricesBitAvgDistance(mb, c, 0, 0);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.runtime.compress.CompressedMMCache;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.lib.CLALibLeftMultBy;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CLALibMMCacheTest {
+
+	@Test
+	public void tsmmReuse() {
+		MatrixBlock mb = generate();
+		CompressedMatrixBlock cmb = compress(mb);
+		MatrixBlock exp = mb.transposeSelfMatrixMultOperations(null, MMTSJType.LEFT, 1);
+
+		MatrixBlock r1 = cmb.transposeSelfMatrixMultOperations(null, MMTSJType.LEFT, 1);
+		assertNotNull(cmb.getMMCache().getTSMM());
+		MatrixBlock r2 = cmb.transposeSelfMatrixMultOperations(null, MMTSJType.LEFT, 4);
+		TestUtils.compareMatrices(exp, r1, 1e-10);
+		TestUtils.compareMatrices(exp, r2, 1e-10);
+	}
+
+	@Test
+	public void leftMultReuse() {
+		MatrixBlock mb = generate();
+		CompressedMatrixBlock cmb = compress(mb);
+		assertNull(cmb.getMMCache().getFilteredGroups());
+		for(int i = 0; i < 3; i++) {
+			MatrixBlock v = TestUtils.generateTestMatrixBlock(3, mb.getNumRows(), -1, 1, 1.0, 3 + i);
+			MatrixBlock exp = LibMatrixMult.matrixMult(v, mb);
+			MatrixBlock ret = CLALibLeftMultBy.leftMultByMatrix(cmb, v, null, i + 1);
+			assertNotNull(cmb.getMMCache().getFilteredGroups());
+			TestUtils.compareMatrices(exp, ret, 1e-10, "iteration " + i);
+		}
+	}
+
+	@Test
+	public void chargedInMemorySize() {
+		CompressedMatrixBlock cmb = compress(generate());
+		final long before = cmb.getInMemorySize();
+		cmb.transposeSelfMatrixMultOperations(null, MMTSJType.LEFT, 1);
+		final long cacheSize = cmb.getMMCacheSize();
+		assertTrue(cacheSize > 0);
+		assertEquals(before + cacheSize, cmb.getInMemorySize());
+		assertEquals(before, cmb.estimateCompressedSizeInMemory());
+	}
+
+	@Test
+	public void invalidateOnModification() {
+		MatrixBlock mb = generate();
+		CompressedMatrixBlock cmb = compress(mb);
+		cmb.transposeSelfMatrixMultOperations(null, MMTSJType.LEFT, 1);
+		CompressedMMCache c = cmb.getMMCache();
+		assertNotNull(c.getTSMM());
+
+		cmb.allocateColGroupList(new ArrayList<>(cmb.getColGroups()));
+		assertEquals(0, cmb.getMMCacheSize());
+		assertTrue(c != cmb.getMMCache());
+		assertNull(cmb.getMMCache().getTSMM());
+		MatrixBlock exp = mb.transposeSelfMatrixMultOperations(null, MMTSJType.LEFT, 1);
+		MatrixBlock ret = cmb.transposeSelfMatrixMultOperations(null, MMTSJType.LEFT, 1);
+		TestUtils.compareMatrices(exp, ret, 1e-10);
+	}
+
+	@Test
+	public void notCachedIfTooLarge() {
+		// few distinct values in many columns, such that t(x) %*% x is much larger than the compressed matrix
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 200, 1, 2, 1.0, 7));
+		CompressedMatrixBlock cmb = compress(mb);
+		assertTrue(200 * 200 * 8 > cmb.estimateCompressedSizeInMemory() * CompressedMMCache.MAX_RELATIVE_SIZE);
+		cmb.transposeSelfMatrixMultOperations(null, MMTSJType.LEFT, 1);
+		assertNull(cmb.getMMCache().getTSMM());
+		assertEquals(0, cmb.getMMCacheSize());
+	}
+
+	private static MatrixBlock generate() {
+		// values without zeros such that SDC groups have a non zero default and are filtered,
+		// and duplicate columns to co-code into fewer groups than columns
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 3, 1, 4, 1.0, 7));
+		return mb.append(mb, null, true);
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().clearValidCompression()
+			.addValidCompression(CompressionType.SDC);
+		MatrixBlock c = CompressedMatrixBlockFactory.compress(mb, 1, csb).getLeft();
+		assertTrue(c instanceof CompressedMatrixBlock);
+		return (CompressedMatrixBlock) c;
+	}
+}
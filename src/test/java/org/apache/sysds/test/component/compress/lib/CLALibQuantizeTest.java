@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.CompressionStatistics;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary16;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.lib.CLALibQuantize;
+import org.apache.sysds.runtime.compress.lib.CLALibQuantize.Quantization;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CLALibQuantizeTest {
+
+	@Test
+	public void quantizeDenseAbsolute() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 5, -10, 10, 1.0, 7);
+		Quantization q = CLALibQuantize.quantize(mb, 0.1, false);
+		verifyError(mb, q, 0.1);
+		assertEquals(5, q.getNumQuantizedColumns());
+	}
+
+	@Test
+	public void quantizeSparseRelative() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 5, -100, 100, 0.1, 8);
+		Quantization q = CLALibQuantize.quantize(mb, 0.01, true);
+		verifyError(mb, q, 0.01 * 100);
+		assertTrue(q.nonZeros <= mb.getNonZeros());
+		assertEquals(q.nonZeros, quantizeAll(mb, q).getNonZeros());
+	}
+
+	@Test
+	public void notFiniteColumnNotQuantized() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 3, 0, 1, 1.0, 9);
+		mb.set(10, 1, Double.NaN);
+		Quantization q = CLALibQuantize.quantize(mb, 0.1, false);
+		assertEquals(0, q.steps[1], 0);
+		assertEquals(2, q.getNumQuantizedColumns());
+		MatrixBlock qmb = quantizeAll(mb, q);
+		assertTrue(Double.isNaN(qmb.get(10, 1)));
+		assertEquals(mb.get(11, 1), qmb.get(11, 1), 0);
+	}
+
+	@Test
+	public void valueBytes() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 3, -1, 1, 1.0, 11);
+		mb.set(0, 1, 100);
+		mb.set(0, 2, 1e6);
+		Quantization q = CLALibQuantize.quantize(mb, 0.1, false);
+		assertEquals(1, q.bytes[0]);
+		assertEquals(2, q.bytes[1]);
+		assertEquals(0, q.bytes[2]);
+		assertEquals(1, q.getBytes(ColIndexFactory.createI(0)));
+		assertEquals(2, q.getBytes(ColIndexFactory.createI(0, 1)));
+		assertEquals(0, q.getBytes(ColIndexFactory.createI(1, 2)));
+	}
+
+	@Test
+	public void quantizeRowsAndColumns() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 6, -10, 10, 0.3, 12);
+		Quantization q = CLALibQuantize.quantize(mb, 0.5, false);
+		MatrixBlock qmb = quantizeAll(mb, q);
+		int[] rows = new int[] {3, 17, 50, 99};
+		MatrixBlock qr = CLALibQuantize.quantizeRows(mb, rows, q.steps);
+		MatrixBlock qc = CLALibQuantize.quantizeColumns(mb, ColIndexFactory.createI(1, 4), q.steps);
+		for(int i = 0; i < rows.length; i++)
+			for(int c = 0; c < 6; c++)
+				assertEquals(qmb.get(rows[i], c), qr.get(i, c), 0);
+		for(int r = 0; r < 100; r++) {
+			assertEquals(qmb.get(r, 1), qc.get(r, 0), 0);
+			assertEquals(qmb.get(r, 4), qc.get(r, 1), 0);
+		}
+	}
+
+	@Test
+	public void compressLossy8Bit() {
+		compressLossy(0.05, QDictionary.class);
+	}
+
+	@Test
+	public void compressLossy16Bit() {
+		compressLossy(0.001, QDictionary16.class);
+	}
+
+	@Test(expected = DMLCompressionException.class)
+	public void invalidBound() {
+		new CompressionSettingsBuilder().setLossyErrorBound(0, false);
+	}
+
+	private static void compressLossy(double bound, Class<?> dictType) {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(10000, 4, 0, 1, 1.0, 10);
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setLossyErrorBound(bound, false);
+		Pair<MatrixBlock, CompressionStatistics> p = CompressedMatrixBlockFactory.compress(mb, 1, csb);
+		assertTrue(p.getLeft() instanceof CompressedMatrixBlock);
+		CompressionStatistics stats = p.getRight();
+		assertEquals(4, stats.lossyQuantizedColumns);
+		assertTrue(stats.lossyMaxError <= bound);
+		assertTrue(stats.lossyMaxError > 0);
+
+		CompressedMatrixBlock cmb = (CompressedMatrixBlock) p.getLeft();
+		boolean quantized = false;
+		for(AColGroup g : cmb.getColGroups()) {
+			if(g instanceof ADictBasedColGroup) {
+				IDictionary d = ((ADictBasedColGroup) g).getDictionary();
+				quantized |= dictType.isInstance(d);
+			}
+		}
+		assertTrue(quantized);
+
+		MatrixBlock ret = cmb.getUncompressed();
+		TestUtils.compareMatrices(mb, ret, bound + 1e-10);
+	}
+
+	private static void verifyError(MatrixBlock mb, Quantization q, double bound) {
+		assertTrue(q.maxError <= bound);
+		TestUtils.compareMatrices(mb, quantizeAll(mb, q), bound + 1e-10);
+	}
+
+	private static MatrixBlock quantizeAll(MatrixBlock mb, Quantization q) {
+		return CLALibQuantize.quantizeColumns(mb, ColIndexFactory.create(mb.getNumColumns()), q.steps);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.lib.CLALibRBind;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CLALibRBindTest {
+	protected static final Log LOG = LogFactory.getLog(CLALibRBindTest.class.getName());
+
+	@Test
+	public void appendSameValues() {
+		runRBindTest(0, 3, 10);
+	}
+
+	@Test
+	public void appendNewValues() {
+		// new distinct values extend the dictionaries of the existing groups
+		runRBindTest(0, 10, 10);
+	}
+
+	@Test
+	public void appendNewValuesWiderMapping() {
+		// enough new distinct values to require a wider mapping type
+		runRBindTest(0, 300, 1000);
+	}
+
+	@Test
+	public void appendMultipleBatches() {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 5, 0, 3, 1.0, 7));
+		CompressedMatrixBlock cmb = compress(mb);
+		MatrixBlock b1 = TestUtils.round(TestUtils.generateTestMatrixBlock(50, 5, 0, 4, 1.0, 8));
+		MatrixBlock b2 = TestUtils.round(TestUtils.generateTestMatrixBlock(70, 5, 0, 5, 1.0, 9));
+		MatrixBlock ret = cmb.append(new MatrixBlock[] {b1, b2}, null, false);
+		MatrixBlock exp = mb.append(new MatrixBlock[] {b1, b2}, null, false);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		assertEquals(exp.getNumRows(), ret.getNumRows());
+		TestUtils.compareMatricesBitAvgDistance(exp, ret, 0, 0);
+	}
+
+	private static void runRBindTest(double min, double maxNew, int nRowNew) {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 5, 0, 3, 1.0, 7));
+		CompressedMatrixBlock cmb = compress(mb);
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(nRowNew, 5, min, maxNew, 1.0, 13));
+
+		CompressedMatrixBlock ret = CLALibRBind.appendIncremental(cmb, new MatrixBlock[] {b}, 1);
+		assertTrue("incremental append should not fall back", ret != null);
+		MatrixBlock exp = mb.append(b, null, false);
+		assertEquals(exp.getNumRows(), ret.getNumRows());
+		assertEquals(exp.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(exp, ret, 0, 0);
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().clearValidCompression()
+			.addValidCompression(CompressionType.DDC);
+		MatrixBlock c = CompressedMatrixBlockFactory.compress(mb, 1, csb).getLeft();
+		assertTrue(c instanceof CompressedMatrixBlock);
+		return (CompressedMatrixBlock) c;
+	}
+}
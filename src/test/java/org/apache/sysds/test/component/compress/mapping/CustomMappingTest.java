@@ -51,6 +51,7 @@ import org.apache.sysds.runtime.compress.colgroup.mapping.MapToCharPByte;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory.MAP_TYPE;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToInt;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToPacked;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToUByte;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToZero;
 import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
@@ -199,6 +200,62 @@ public class CustomMappingTest {
 		assertEquals(MapToUByte.class, MapToFactory.create(10, MAP_TYPE.UBYTE).getClass());
 		assertEquals(MapToChar.class, MapToFactory.create(10, MAP_TYPE.CHAR).getClass());
 		assertEquals(MapToInt.class, MapToFactory.create(10, MAP_TYPE.INT).getClass());
+		assertEquals(MapToPacked.class, MapToFactory.create(10, MAP_TYPE.PACKED).getClass());
+	}
+
+	@Test
+	public void createPacked() {
+		assertEquals(MapToPacked.class, MapToFactory.create(10, 257).getClass());
+		assertEquals(MapToPacked.class, MapToFactory.create(10, MapToPacked.MAX_UNIQUE).getClass());
+		assertEquals(MapToChar.class, MapToFactory.create(10, MapToPacked.MAX_UNIQUE + 1).getClass());
+	}
+
+	@Test
+	public void packedValuesAcrossWords() {
+		final Random r = new Random(32);
+		final int[] vals = new int[1000];
+		final MapToPacked m = new MapToPacked(3000, vals.length);
+		for(int i = 0; i < vals.length; i++) {
+			vals[i] = r.nextInt(3000);
+			m.set(i, vals[i]);
+		}
+		final int[] counts = new int[3000];
+		for(int i = 0; i < vals.length; i++) {
+			assertEquals(vals[i], m.getIndex(i));
+			counts[vals[i]]++;
+		}
+		assertArrayEquals(counts, m.getCounts());
+		final AMapToData s = m.slice(13, 913);
+		for(int i = 0; i < s.size(); i++)
+			assertEquals(vals[i + 13], s.getIndex(i));
+	}
+
+	@Test
+	public void packedVectorizedDecode() {
+		final Random r = new Random(33);
+		for(int unique : new int[] {257, 600, 2000, MapToPacked.MAX_UNIQUE}) {
+			final int[] vals = new int[5000];
+			final MapToPacked m = new MapToPacked(unique, vals.length);
+			final double[] dict = new double[unique];
+			for(int i = 0; i < unique; i++)
+				dict[i] = r.nextDouble();
+			for(int i = 0; i < vals.length; i++) {
+				vals[i] = r.nextInt(unique);
+				m.set(i, vals[i]);
+			}
+			// unaligned ranges decode scalar heads and tails around the vectorized blocks
+			final int[] buf = new int[vals.length];
+			for(int rl : new int[] {0, 1, 63, 64, 130}) {
+				final int ru = vals.length - rl;
+				m.getIndexes(rl, ru, buf);
+				for(int i = rl; i < ru; i++)
+					assertEquals(vals[i], buf[i - rl]);
+				final double[] ret = new double[vals.length + 3];
+				m.decompressToRange(ret, rl, ru, 3, dict);
+				for(int i = rl; i < ru; i++)
+					assertEquals(dict[vals[i]], ret[i + 3], 0.0);
+			}
+		}
 	}
 
 	@Test
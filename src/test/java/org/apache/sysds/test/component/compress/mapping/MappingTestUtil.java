@@ -28,6 +28,7 @@ import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToCharPByte;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory.MAP_TYPE;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToPacked;
 import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
 import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
 import org.apache.sysds.runtime.compress.utils.IntArrayList;
@@ -47,6 +48,7 @@ public class MappingTestUtil {
 			case BYTE:
 				ret[idx++] = MapToFactory.resizeForce(m, MAP_TYPE.CHAR);
 			case CHAR:
+			case PACKED:
 				ret[idx++] = MapToFactory.resizeForce(m, MAP_TYPE.CHAR_BYTE);
 			case CHAR_BYTE:
 				ret[idx++] = MapToFactory.resizeForce(m, MAP_TYPE.INT);
@@ -63,6 +65,7 @@ public class MappingTestUtil {
 			case CHAR_BYTE:
 				return 1;
 			case CHAR:
+			case PACKED:
 				return 2;
 			case BYTE:
 				return 3;
@@ -115,6 +118,8 @@ public class MappingTestUtil {
 				return MapToCharPByte.max - 1;
 			case INT:
 				return Integer.MAX_VALUE;
+			case PACKED:
+				return MapToPacked.MAX_UNIQUE - 1;
 			default:
 				throw new DMLCompressionException("Unsupported type " + t);
 		}
@@ -151,6 +151,17 @@ public class MappingTests {
 				fail("Expected equals " + Arrays.toString(expected) + "\nbut got: " + m);
 	}
 
+	@Test
+	public void getIndexes() {
+		final int[] buf = new int[size];
+		for(int rl = 0; rl < size; rl += 61) {
+			final int ru = Math.min(size, rl + 200);
+			m.getIndexes(rl, ru, buf);
+			for(int i = rl; i < ru; i++)
+				assertEquals(expected[i], buf[i - rl]);
+		}
+	}
+
 	@Test
 	public void testSerialization() {
 		try {
@@ -31,6 +31,7 @@ import org.apache.sysds.runtime.compress.cocode.CoCoderFactory;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDeltaDDC;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupOLE;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupRLE;
@@ -190,6 +191,28 @@ public class QuantizationFusedForcedCompressionTypesTest {
 		testForcedCompressionTypeMultiColumn(CompressionType.DDC, ColGroupDDC.class);
 	}
 
+	/**
+	 * Test 10: Test the DeltaDDC compression type by forcing DeltaDDC in each CompressedSizeInfoColGroup.
+	 * 
+	 * m0 is generated as a floored column matrix. m1 is generated as a full-precision column matrix, but will be
+	 * internally multiplied by 1.0 and floored. Essentially m0 = floor(m1 * scaleFactor). Reaches compressDeltaDDC().
+	 */
+	@Test
+	public void testForcedDeltaDDCTypeSingleColumn() {
+		testForcedCompressionTypeSingleColumn(CompressionType.DeltaDDC, ColGroupDeltaDDC.class);
+	}
+
+	/**
+	 * Test 11: Test the DeltaDDC compression type by forcing DeltaDDC in each CompressedSizeInfoColGroup.
+	 * 
+	 * m0 is generated as a floored matrix. m1 is generated as a full-precision matrix, but will be internally multiplied
+	 * by 1.0 and floored. Essentially m0 = floor(m1 * scaleFactor). Reaches compressDeltaDDC().
+	 */
+	@Test
+	public void testForcedDeltaDDCTypeMultiColumn() {
+		testForcedCompressionTypeMultiColumn(CompressionType.DeltaDDC, ColGroupDeltaDDC.class);
+	}
+
 	/**
 	 * Test the given compression type by forcing it in each CompressedSizeInfoColGroup.
 	 * 
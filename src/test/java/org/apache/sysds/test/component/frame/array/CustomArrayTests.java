@@ -30,6 +30,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.lang.ref.SoftReference;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -60,9 +61,13 @@ import org.apache.sysds.runtime.frame.data.columns.IHashArray;
 import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
 import org.apache.sysds.runtime.frame.data.columns.LongArray;
 import org.apache.sysds.runtime.frame.data.columns.OptionalArray;
+import org.apache.sysds.runtime.frame.data.columns.RLEArray;
 import org.apache.sysds.runtime.frame.data.columns.RaggedArray;
 import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.io.FrameReaderBinaryBlock;
+import org.apache.sysds.runtime.io.FrameWriterBinaryBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
+import org.apache.sysds.test.component.compress.io.IOCompressionTestUtils;
 import org.apache.sysds.test.component.frame.compress.FrameCompressTestUtils;
 import org.junit.Test;
 
@@ -2852,4 +2857,143 @@ public class CustomArrayTests {
 			assertTrue(Double.isNaN(s.getAsNaNDouble(i)));
 		}
 	}
+
+	@Test
+	public void RLECompressSorted() {
+		Array<String> a = ArrayFactory.create(generateSorted(1000, 200));
+		Array<String> c = RLEArray.compressToRLE((DDCArray<String>) DDCArray.compressToDDC(a));
+		assertTrue(c instanceof RLEArray);
+		assertEquals(5, ((RLEArray<String>) c).getNumRuns());
+		FrameArrayTests.compare(a, c);
+		assertTrue(c.getInMemorySize() < DDCArray.compressToDDC(a).getInMemorySize());
+		FrameArrayTests.compare(a, FrameArrayTests.serializeAndBack(c));
+		FrameArrayTests.compare(a, ((RLEArray<String>) c).toDDC());
+		FrameArrayTests.compare(a, ((RLEArray<String>) c).decompress());
+	}
+
+	@Test
+	public void RLENotCompressedUnsorted() {
+		Array<String> a = ArrayFactory.create(FrameArrayTests.generateRandomStringNUniqueLength(1000, 32, 5, 200));
+		Array<String> c = RLEArray.compressToRLE((DDCArray<String>) DDCArray.compressToDDC(a));
+		assertTrue(c instanceof DDCArray);
+	}
+
+	@Test
+	public void RLESlice() {
+		Array<String> a = ArrayFactory.create(generateSorted(1000, 200));
+		RLEArray<String> c = (RLEArray<String>) RLEArray.compressToRLE((DDCArray<String>) DDCArray.compressToDDC(a));
+		int[][] ranges = new int[][] {{0, 1000}, {0, 200}, {200, 400}, {150, 250}, {199, 201}, {999, 1000}, {13, 14}};
+		for(int[] r : ranges) {
+			Array<String> sc = c.slice(r[0], r[1]);
+			assertTrue(sc instanceof RLEArray);
+			// the slice shares the dictionary
+			assertTrue(((RLEArray<String>) sc).getDict() == c.getDict());
+			FrameArrayTests.compare(a.slice(r[0], r[1]), sc);
+		}
+	}
+
+	@Test
+	public void RLEAppend() {
+		Array<String> a = ArrayFactory.create(generateSorted(1000, 200));
+		RLEArray<String> c = (RLEArray<String>) RLEArray.compressToRLE((DDCArray<String>) DDCArray.compressToDDC(a));
+		Array<String> s1 = c.slice(0, 300);
+		Array<String> s2 = c.slice(300, 1000);
+		Array<String> ret = s1.append(s2);
+		assertTrue(ret instanceof RLEArray);
+		// the split run is merged again
+		assertEquals(5, ((RLEArray<String>) ret).getNumRuns());
+		FrameArrayTests.compare(a, ret);
+	}
+
+	@Test
+	public void RLEAccessPattern() {
+		Array<String> a = ArrayFactory.create(generateSorted(1000, 7));
+		RLEArray<String> c = (RLEArray<String>) RLEArray.compressToRLE((DDCArray<String>) DDCArray.compressToDDC(a));
+		// sequential, backwards and random access all return the values of the runs
+		for(int i = 0; i < a.size(); i++)
+			assertEquals(a.get(i), c.get(i));
+		for(int i = a.size() - 1; i >= 0; i--)
+			assertEquals(a.get(i), c.get(i));
+		Random r = new Random(13);
+		for(int i = 0; i < 1000; i++) {
+			int j = r.nextInt(a.size());
+			assertEquals(a.get(j), c.get(j));
+		}
+	}
+
+	@Test
+	public void RLEGetAsByteArray() {
+		Array<Integer> a = ArrayFactory.create(new int[] {1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3});
+		Array<Integer> c = RLEArray.compressToRLE((DDCArray<Integer>) DDCArray.compressToDDC(a));
+		assertTrue(c instanceof RLEArray);
+		assertArrayEquals(a.getAsByteArray(), c.getAsByteArray());
+	}
+
+	@Test
+	public void RLEFrameWriteRead() throws Exception {
+		final String dir = "src/test/java/org/apache/sysds/test/component/frame/array/files"
+			+ CustomArrayTests.class.getSimpleName() + "/";
+		try {
+			Array<String> a = ArrayFactory.create(generateSorted(2500, 300));
+			Array<String> c = RLEArray.compressToRLE((DDCArray<String>) DDCArray.compressToDDC(a));
+			assertTrue(c instanceof RLEArray);
+			FrameBlock fb = new FrameBlock(new Array<?>[] {c});
+			String fname = IOCompressionTestUtils.getName(dir);
+			new FrameWriterBinaryBlock().writeFrameToHDFS(fb, fname, fb.getNumRows(), 1);
+			// the dictionary is written once, instead of with every block
+			assertTrue(new File(fname + ".dict").exists());
+			FrameBlock ret = new FrameReaderBinaryBlock().readFrameFromHDFS(fname, fb.getSchema(), fb.getColumnNames(),
+				fb.getNumRows(), 1);
+			FrameArrayTests.compare(a, ret.getColumn(0));
+		}
+		finally {
+			IOCompressionTestUtils.deleteDirectory(new File(dir));
+		}
+	}
+
+	@Test
+	public void DDCAppendDifferentDictionaries() {
+		Array<String> a = ArrayFactory.create(FrameArrayTests.generateRandomStringNUniqueLength(100, 32, 5, 2000));
+		Array<String> b = ArrayFactory.create(FrameArrayTests.generateRandomStringNUniqueLength(100, 33, 5, 2000));
+		Array<String> ret = DDCArray.compressToDDC(a).append(DDCArray.compressToDDC(b));
+		assertTrue(ret instanceof DDCArray);
+		FrameArrayTests.compare(a.append(b), ret);
+	}
+
+	@Test
+	public void DDCAppendUncompressed() {
+		Array<String> a = ArrayFactory.create(FrameArrayTests.generateRandomStringNUniqueLength(100, 32, 5, 2000));
+		Array<String> b = ArrayFactory.create(FrameArrayTests.generateRandomStringNUniqueLength(100, 33, 5, 2000));
+		Array<String> ret = DDCArray.compressToDDC(a).append(b);
+		assertTrue(ret instanceof DDCArray);
+		FrameArrayTests.compare(a.append(b), ret);
+		FrameArrayTests.compare(a.append(b), ArrayFactory.append(a, DDCArray.compressToDDC(b)));
+	}
+
+	@Test
+	public void DDCMapValues() {
+		Array<String> a = ArrayFactory.create(new String[] {"a", "bb", "cc", null, "a", "bb", "d", "cc", "a", "d", "a", "d"});
+		DDCArray<String> ddc = (DDCArray<String>) DDCArray.compressToDDC(a);
+		// the mapping collapses distinct values
+		DDCArray<String> ret = ddc.mapValues(x -> String.valueOf(x.length()));
+		assertEquals(3, ret.getDict().size());
+		for(int i = 0; i < a.size(); i++)
+			assertEquals(a.get(i) == null ? null : String.valueOf(a.get(i).length()), ret.get(i));
+	}
+
+	@Test
+	public void FrameMapCompressed() {
+		Array<String> a = ArrayFactory.create(generateSorted(1000, 200));
+		FrameBlock fb = new FrameBlock(new Array<?>[] {a, DDCArray.compressToDDC(a)});
+		FrameBlock ret = fb.map("x -> x.toUpperCase()", 0);
+		assertTrue(ret.getColumn(1) instanceof DDCArray);
+		FrameArrayTests.compare(ret.getColumn(0), ret.getColumn(1));
+	}
+
+	private static String[] generateSorted(int size, int runLength) {
+		String[] ret = new String[size];
+		for(int i = 0; i < size; i++)
+			ret[i] = "v" + (i / runLength);
+		return ret;
+	}
 }
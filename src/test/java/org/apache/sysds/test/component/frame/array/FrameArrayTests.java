@@ -45,6 +45,8 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
@@ -59,6 +61,7 @@ import org.apache.sysds.runtime.frame.data.columns.HashLongArray;
 import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
 import org.apache.sysds.runtime.frame.data.columns.LongArray;
 import org.apache.sysds.runtime.frame.data.columns.OptionalArray;
+import org.apache.sysds.runtime.frame.data.columns.RLEArray;
 import org.apache.sysds.runtime.frame.data.columns.RaggedArray;
 import org.apache.sysds.runtime.frame.data.columns.StringArray;
 import org.apache.sysds.runtime.frame.data.compress.ArrayCompressionStatistics;
@@ -85,6 +88,16 @@ public class FrameArrayTests {
 		try {
 			int[] seeds = new int[] {1, 6, 123, 232};
 			for(FrameArrayType t : FrameArrayType.values()) {
+				if(t == FrameArrayType.RLE) {
+					// run length encoded arrays of sorted values, of the value types of the DDC arrays
+					for(int s : seeds) {
+						for(int size : new int[] {100, 200, 205}) {
+							final Array<?> rle = create(t, size, s);
+							tests.add(new Object[] {rle, rle.getFrameArrayType()});
+						}
+					}
+					continue;
+				}
 				for(int s : seeds) {
 					tests.add(new Object[] {create(t, 1, s), t});
 					tests.add(new Object[] {create(t, 10, s), t});
@@ -219,7 +232,7 @@ public class FrameArrayTests {
 		catch(IndexOutOfBoundsException e) {
 			throw new ArrayIndexOutOfBoundsException();
 		}
-		if(a.getFrameArrayType() == FrameArrayType.DDC) {
+		if(a.getFrameArrayType() == FrameArrayType.DDC || a.getFrameArrayType() == FrameArrayType.RLE) {
 			// all good. but we do not handle edge cases in map.
 			throw new ArrayIndexOutOfBoundsException();
 		}
@@ -237,7 +250,7 @@ public class FrameArrayTests {
 		catch(IndexOutOfBoundsException e) {
 			throw new ArrayIndexOutOfBoundsException();
 		}
-		if(a.getFrameArrayType() == FrameArrayType.DDC) {
+		if(a.getFrameArrayType() == FrameArrayType.DDC || a.getFrameArrayType() == FrameArrayType.RLE) {
 			// all good. but we do not handle edge cases in map.
 			throw new ArrayIndexOutOfBoundsException();
 		}
@@ -259,7 +272,8 @@ public class FrameArrayTests {
 				break;
 			default: // nothing
 		}
-		if(a.getFrameArrayType() == FrameArrayType.DDC || a.getFrameArrayType() == FrameArrayType.RAGGED)
+		if(a.getFrameArrayType() == FrameArrayType.DDC || a.getFrameArrayType() == FrameArrayType.RLE ||
+			a.getFrameArrayType() == FrameArrayType.RAGGED)
 			return;
 		if(memSize > estSize)
 			fail("Estimated size is not smaller than actual:" + memSize + "  " + estSize + "\n" + a.getValueType() + " "
@@ -593,6 +607,7 @@ public class FrameArrayTests {
 					}
 					return;
 				case DDC:
+				case RLE:
 					a.get();
 					break;
 				default:
@@ -2491,11 +2506,34 @@ public class FrameArrayTests {
 					default:
 						return DDCArray.compressToDDC(ArrayFactory.create(generateRandomBooleanOpt(size, seed)));
 				}
+			case RLE:
+				return createRLE(create(FrameArrayType.DDC, size, seed));
 			default:
 				throw new DMLRuntimeException("Unsupported value type: " + t);
 		}
 	}
 
+	/**
+	 * Sort the mapping of a DDC array, and run length encode the sorted array.
+	 * 
+	 * @param a The array
+	 * @return A run length encoded array, or the given array if it is not DDC or the runs are not smaller
+	 */
+	protected static Array<?> createRLE(Array<?> a) {
+		if(!(a instanceof DDCArray))
+			return a;
+		final DDCArray<?> d = (DDCArray<?>) a;
+		final AMapToData m = d.getMap();
+		final int[] counts = new int[m.getUnique()];
+		for(int i = 0; i < m.size(); i++)
+			counts[m.getIndex(i)]++;
+		final AMapToData sorted = MapToFactory.create(m.size(), m.getUnique());
+		for(int v = 0, off = 0; v < counts.length; v++)
+			for(int c = 0; c < counts[v]; c++)
+				sorted.set(off++, v);
+		return RLEArray.compressToRLE(d.setMap(sorted));
+	}
+
 	protected static StringArray toStringArray(Array<?> a) {
 		String[] ret = new String[a.size()];
 		for(int i = 0; i < a.size(); i++) {
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Opcodes;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Verify that the vectorized aggregation kernels of LibMatrixAggSIMD produce the same results as the scalar kernels
+ * of LibMatrixAgg (up to rounding for full and row sums, exactly otherwise).
+ */
+@RunWith(value = Parameterized.class)
+public class MatrixAggSIMDTest {
+
+	private final MatrixBlock in;
+	private final Opcodes opcode;
+	private final int k;
+
+	public MatrixAggSIMDTest(MatrixBlock in, Opcodes opcode, int k) {
+		this.in = in;
+		this.opcode = opcode;
+		this.k = k;
+	}
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		List<Object[]> tests = new ArrayList<>();
+		Opcodes[] opcodes = new Opcodes[] {Opcodes.UAKP, Opcodes.UARKP, Opcodes.UACKP, Opcodes.UASQKP,
+			Opcodes.UARSQKP, Opcodes.UACSQKP, Opcodes.UAMIN, Opcodes.UARMIN, Opcodes.UACMIN, Opcodes.UAMAX,
+			Opcodes.UARMAX, Opcodes.UACMAX};
+
+		// odd number of columns to cover the scalar tail of the vector loops
+		MatrixBlock m1 = TestUtils.generateTestMatrixBlock(523, 131, -10, 10, 1.0, 7);
+		MatrixBlock m2 = TestUtils.generateTestMatrixBlock(1234, 3, -10, 10, 1.0, 8);
+		MatrixBlock m3 = TestUtils.generateTestMatrixBlock(3, 2345, -10, 10, 0.9, 9);
+		// special values to cover the fallback and infinity handling
+		MatrixBlock m4 = TestUtils.generateTestMatrixBlock(97, 67, -10, 10, 1.0, 10);
+		m4.set(3, 17, Double.POSITIVE_INFINITY);
+		m4.set(50, 17, Double.NEGATIVE_INFINITY);
+		m4.set(11, 40, Double.POSITIVE_INFINITY);
+		m4.set(60, 5, Double.NaN);
+		forceDense(m1, m2, m3, m4);
+
+		for(Opcodes op : opcodes)
+			for(int k : new int[] {1, 4})
+				for(MatrixBlock mb : new MatrixBlock[] {m1, m2, m3, m4})
+					tests.add(new Object[] {mb, op, k});
+		return tests;
+	}
+
+	@Test
+	public void testAggregation() {
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode.toString(), k);
+		MatrixBlock expected = exec(false, op);
+		MatrixBlock actual = exec(true, op);
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		for(int i = 0; i < expected.getNumRows(); i++) {
+			for(int j = 0; j < expected.getNumColumns(); j++) {
+				double e = expected.get(i, j);
+				double a = actual.get(i, j);
+				if(!(e == a || (Double.isNaN(e) && Double.isNaN(a)) || Math.abs(e - a) <= 1e-8 * Math.abs(e)))
+					fail("Value mismatch at (" + i + ", " + j + "): " + e + " vs " + a);
+			}
+		}
+	}
+
+	private MatrixBlock exec(boolean simd, AggregateUnaryOperator op) {
+		final boolean flag = DMLScript.SIMD_OPS;
+		try {
+			DMLScript.SIMD_OPS = simd;
+			return in.aggregateUnaryOperations(op);
+		}
+		finally {
+			DMLScript.SIMD_OPS = flag;
+		}
+	}
+
+	private static void forceDense(MatrixBlock... mbs) {
+		for(MatrixBlock mb : mbs)
+			if(mb.isInSparseFormat())
+				mb.sparseToDense();
+	}
+}
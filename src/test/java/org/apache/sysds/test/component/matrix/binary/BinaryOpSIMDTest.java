@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.matrix.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.Divide;
+import org.apache.sysds.runtime.functionobjects.Equals;
+import org.apache.sysds.runtime.functionobjects.GreaterThan;
+import org.apache.sysds.runtime.functionobjects.GreaterThanEquals;
+import org.apache.sysds.runtime.functionobjects.LessThan;
+import org.apache.sysds.runtime.functionobjects.LessThanEquals;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.NotEquals;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Verify that the vectorized dense kernels of LibMatrixBincellSIMD produce exactly the same results as the scalar
+ * kernels of LibMatrixBincell.
+ */
+@RunWith(value = Parameterized.class)
+public class BinaryOpSIMDTest {
+
+	private final MatrixBlock left;
+	private final MatrixBlock right;
+	private final ValueFunction fn;
+	private final int k;
+
+	public BinaryOpSIMDTest(MatrixBlock left, MatrixBlock right, ValueFunction fn, int k) {
+		this.left = left;
+		this.right = right;
+		this.fn = fn;
+		this.k = k;
+	}
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		List<Object[]> tests = new ArrayList<>();
+		ValueFunction[] fns = new ValueFunction[] {//
+			Plus.getPlusFnObject(), //
+			Minus.getMinusFnObject(), //
+			Multiply.getMultiplyFnObject(), //
+			Divide.getDivideFnObject(), //
+			Builtin.getBuiltinFnObject(BuiltinCode.MIN), //
+			Builtin.getBuiltinFnObject(BuiltinCode.MAX), //
+			Equals.getEqualsFnObject(), //
+			NotEquals.getNotEqualsFnObject(), //
+			LessThan.getLessThanFnObject(), //
+			LessThanEquals.getLessThanEqualsFnObject(), //
+			GreaterThan.getGreaterThanFnObject(), //
+			GreaterThanEquals.getGreaterThanEqualsFnObject(),//
+		};
+
+		// odd number of columns to cover the scalar tail of the vector loops
+		final int rows = 201;
+		final int cols = 131;
+		MatrixBlock l = TestUtils.floor(TestUtils.generateTestMatrixBlock(rows, cols, -5, 5, 1.0, 3));
+		MatrixBlock lz = TestUtils.floor(TestUtils.generateTestMatrixBlock(rows, cols, -5, 5, 0.7, 4));
+		MatrixBlock r = TestUtils.floor(TestUtils.generateTestMatrixBlock(rows, cols, -5, 5, 1.0, 5));
+		MatrixBlock rz = TestUtils.floor(TestUtils.generateTestMatrixBlock(rows, cols, -5, 5, 0.7, 6));
+		MatrixBlock rv = TestUtils.floor(TestUtils.generateTestMatrixBlock(1, cols, -5, 5, 1.0, 7));
+		MatrixBlock cv = TestUtils.floor(TestUtils.generateTestMatrixBlock(rows, 1, -5, 5, 0.8, 8));
+		forceDense(l, lz, r, rz, rv, cv);
+
+		for(ValueFunction fn : fns) {
+			for(int k : new int[] {1, 4}) {
+				tests.add(new Object[] {l, r, fn, k});
+				tests.add(new Object[] {lz, rz, fn, k});
+				tests.add(new Object[] {l, rv, fn, k});
+				tests.add(new Object[] {lz, cv, fn, k});
+			}
+		}
+		return tests;
+	}
+
+	@Test
+	public void testBinaryOperation() {
+		BinaryOperator op = new BinaryOperator(fn, k);
+		MatrixBlock expected = exec(false, () -> LibMatrixBincell.bincellOp(left, right, new MatrixBlock(), op));
+		MatrixBlock actual = exec(true, () -> LibMatrixBincell.bincellOp(left, right, new MatrixBlock(), op));
+		compareExact(expected, actual);
+	}
+
+	@Test
+	public void testScalarRight() {
+		ScalarOperator op = new RightScalarOperator(fn, 2.0, k);
+		MatrixBlock expected = exec(false, () -> LibMatrixBincell.bincellOpScalar(left, null, op, k));
+		MatrixBlock actual = exec(true, () -> LibMatrixBincell.bincellOpScalar(left, null, op, k));
+		compareExact(expected, actual);
+	}
+
+	@Test
+	public void testScalarLeft() {
+		ScalarOperator op = new LeftScalarOperator(fn, 2.0, k);
+		MatrixBlock expected = exec(false, () -> LibMatrixBincell.bincellOpScalar(left, null, op, k));
+		MatrixBlock actual = exec(true, () -> LibMatrixBincell.bincellOpScalar(left, null, op, k));
+		compareExact(expected, actual);
+	}
+
+	@Test
+	public void testScalarZero() {
+		ScalarOperator op = new RightScalarOperator(fn, 0.0, k);
+		MatrixBlock expected = exec(false, () -> LibMatrixBincell.bincellOpScalar(left, null, op, k));
+		MatrixBlock actual = exec(true, () -> LibMatrixBincell.bincellOpScalar(left, null, op, k));
+		compareExact(expected, actual);
+	}
+
+	private static MatrixBlock exec(boolean simd, Supplier<MatrixBlock> f) {
+		final boolean flag = DMLScript.SIMD_OPS;
+		try {
+			DMLScript.SIMD_OPS = simd;
+			return f.get();
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+			return null;
+		}
+		finally {
+			DMLScript.SIMD_OPS = flag;
+		}
+	}
+
+	private static void compareExact(MatrixBlock expected, MatrixBlock actual) {
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		for(int i = 0; i < expected.getNumRows(); i++) {
+			for(int j = 0; j < expected.getNumColumns(); j++) {
+				double e = expected.get(i, j);
+				double a = actual.get(i, j);
+				if(!(e == a || (Double.isNaN(e) && Double.isNaN(a))))
+					fail("Value mismatch at (" + i + ", " + j + "): " + e + " vs " + a);
+			}
+		}
+		// the vectorized kernels maintain exact non-zero counts
+		long nnz = actual.getNonZeros();
+		actual.recomputeNonZeros();
+		assertEquals(actual.getNonZeros(), nnz);
+	}
+
+	private static void forceDense(MatrixBlock... mbs) {
+		for(MatrixBlock mb : mbs)
+			if(mb.isInSparseFormat())
+				mb.sparseToDense();
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.CacheEvictionQueue;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class CacheEvictionQueueTest {
+	private static final long KB = 1024;
+
+	private RPolicy _oldPolicy;
+
+	@Before
+	public void setUp() {
+		_oldPolicy = CacheableData.CACHING_BUFFER_POLICY;
+	}
+
+	@After
+	public void tearDown() {
+		CacheableData.CACHING_BUFFER_POLICY = _oldPolicy;
+	}
+
+	@Test
+	public void testFIFO() {
+		CacheEvictionQueue queue = createQueue(RPolicy.FIFO, 64 * KB, 64 * KB, 64 * KB);
+		queue.access("A", queue.get("A"));
+		assertEquals("A", queue.removeFirst().getKey());
+		assertEquals("B", queue.removeFirst().getKey());
+	}
+
+	@Test
+	public void testLRU() {
+		CacheEvictionQueue queue = createQueue(RPolicy.LRU, 64 * KB, 64 * KB, 64 * KB);
+		queue.access("A", queue.get("A"));
+		assertEquals("B", queue.removeFirst().getKey());
+		assertEquals("C", queue.removeFirst().getKey());
+	}
+
+	@Test
+	public void testCostLargeBlocksFirst() {
+		// larger blocks free more memory per restore cost
+		CacheEvictionQueue queue = createQueue(RPolicy.COST, 64 * KB, 4096 * KB, 256 * KB);
+		assertEquals("B", queue.removeFirst().getKey());
+		assertEquals("C", queue.removeFirst().getKey());
+		assertEquals("A", queue.removeFirst().getKey());
+	}
+
+	@Test
+	public void testCostAccessFrequency() {
+		CacheEvictionQueue queue = createQueue(RPolicy.COST, 64 * KB, 64 * KB, 64 * KB);
+		queue.access("A", queue.get("A"));
+		queue.access("A", queue.get("A"));
+		queue.access("B", queue.get("B"));
+		assertEquals("C", queue.removeFirst().getKey());
+		assertEquals("B", queue.removeFirst().getKey());
+		assertEquals("A", queue.removeFirst().getKey());
+	}
+
+	@Test
+	public void testCostAging() {
+		CacheEvictionQueue queue = createQueue(RPolicy.COST, 64 * KB, 64 * KB, 64 * KB);
+		assertEquals("A", queue.removeFirst().getKey());
+		// entries inserted after an eviction outlive older entries
+		queue.addLast("D", new ByteBuffer(64 * KB));
+		queue.addLast("E", new ByteBuffer(64 * KB));
+		assertEquals("B", queue.removeFirst().getKey());
+		assertEquals("C", queue.removeFirst().getKey());
+		assertEquals("D", queue.removeFirst().getKey());
+	}
+
+	@Test
+	public void testCostReuseHint() {
+		CacheEvictionQueue queue = createQueue(RPolicy.COST, 4096 * KB, 64 * KB, 64 * KB);
+		queue.get("A").setReuseHint(true);
+		queue.access("B", queue.get("B"));
+		assertEquals("C", queue.removeFirst().getKey());
+		assertEquals("B", queue.removeFirst().getKey());
+		assertEquals("A", queue.removeFirst().getKey());
+	}
+
+	@Test
+	public void testCostPinned() {
+		CacheEvictionQueue queue = createQueue(RPolicy.COST, 64 * KB, 4096 * KB, 256 * KB);
+		assertEquals("C", queue.removeFirstUnpinned(Arrays.asList("B")).getKey());
+		assertEquals("B", queue.removeFirst().getKey());
+	}
+
+	private static CacheEvictionQueue createQueue(RPolicy policy, long... sizes) {
+		CacheableData.CACHING_BUFFER_POLICY = policy;
+		CacheEvictionQueue queue = new CacheEvictionQueue();
+		for(int i = 0; i < sizes.length; i++)
+			queue.addLast(String.valueOf((char) ('A' + i)), new ByteBuffer(sizes[i]));
+		return queue;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.lineage.LineageItemTable;
+import org.junit.Test;
+
+public class LineageItemTableTest {
+
+	@Test
+	public void testConsEqualItems() {
+		LineageItemTable table = new LineageItemTable();
+		LineageItem X = table.intern(new LineageItem("X", "createvar"));
+		LineageItem one = table.intern(new LineageItem("1·SCALAR·INT64·true"));
+		LineageItem a = table.intern(new LineageItem("+", new LineageItem[] {X, one}));
+		LineageItem b = table.intern(new LineageItem("+", new LineageItem[] {
+			table.intern(new LineageItem("X", "createvar")),
+			table.intern(new LineageItem("1·SCALAR·INT64·true"))}));
+		assertSame(a, b);
+		assertEquals(3, table.size());
+	}
+
+	@Test
+	public void testDistinctItems() {
+		LineageItemTable table = new LineageItemTable();
+		LineageItem X = table.intern(new LineageItem("X", "createvar"));
+		LineageItem Y = table.intern(new LineageItem("Y", "createvar"));
+		LineageItem a = table.intern(new LineageItem("tsmm", new LineageItem[] {X}));
+		LineageItem b = table.intern(new LineageItem("tsmm", new LineageItem[] {Y}));
+		LineageItem c = table.intern(new LineageItem("ba+*", new LineageItem[] {X}));
+		assertNotSame(a, b);
+		assertNotSame(a, c);
+		assertEquals(5, table.size());
+	}
+
+	@Test
+	public void testCanonicalOpcodes() {
+		LineageItem X = new LineageItem("X", "createvar");
+		LineageItem a = new LineageItem(new String("tsmm"), new LineageItem[] {X});
+		LineageItem b = new LineageItem(new String("tsmm"), new LineageItem[] {X});
+		assertSame(a.getOpcode(), b.getOpcode());
+		assertEquals(a, b);
+	}
+
+	@Test
+	public void testDedupItemsNotShared() {
+		LineageItemTable table = new LineageItemTable();
+		LineageItem X = table.intern(new LineageItem("X", "createvar"));
+		LineageItem patch = new LineageItem("tsmm", new LineageItem[] {X});
+		String opcode = LineageItem.dedupItemOpcode + "_R_1";
+		LineageItem a = table.intern(new LineageItem(opcode, patch, new LineageItem[] {X}));
+		LineageItem b = table.intern(new LineageItem(opcode, patch, new LineageItem[] {X}));
+		assertNotSame(a, b);
+	}
+
+	@Test
+	public void testBoundedCapacity() {
+		LineageItemTable table = new LineageItemTable(2);
+		LineageItem X = table.intern(new LineageItem("X", "createvar"));
+		LineageItem a = table.intern(new LineageItem("tsmm", new LineageItem[] {X}));
+		table.intern(new LineageItem("uak+", new LineageItem[] {a}));
+		assertEquals(2, table.size());
+		// least recently used item X was evicted
+		assertNotSame(X, table.intern(new LineageItem("X", "createvar")));
+	}
+}
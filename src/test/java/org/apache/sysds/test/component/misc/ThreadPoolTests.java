@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -221,6 +222,50 @@ public class ThreadPoolTests {
 		CommonThreadPool.shutdownAsyncPools();
 	}
 
+	@Test
+	public void ioPoolSame() {
+		CommonThreadPool.shutdownAsyncPools();
+		ExecutorService x = CommonThreadPool.getIOPool();
+		ExecutorService y = CommonThreadPool.getIOPool();
+		assertEquals(x, y);
+		assertNotEquals(x, CommonThreadPool.get());
+		CommonThreadPool.shutdownAsyncPools();
+		assertTrue(x.isShutdown());
+		assertNotEquals(x, CommonThreadPool.getIOPool());
+		CommonThreadPool.shutdownAsyncPools();
+	}
+
+	@Test
+	public void ioPoolBlockingTasks() throws InterruptedException, ExecutionException {
+		CommonThreadPool.shutdownAsyncPools();
+		// more blocking tasks than cores, which all need to run concurrently
+		final int k = InfrastructureAnalyzer.getLocalParallelism() * 4;
+		final CountDownLatch latch = new CountDownLatch(k);
+		List<Callable<Boolean>> tasks = new ArrayList<>();
+		for(int i = 0; i < k; i++)
+			tasks.add(() -> {
+				latch.countDown();
+				return latch.await(10, TimeUnit.SECONDS);
+			});
+		for(Future<Boolean> f : CommonThreadPool.getIOPool().invokeAll(tasks))
+			assertTrue(f.get());
+		CommonThreadPool.shutdownAsyncPools();
+	}
+
+	@Test
+	public void ioPoolFallback() {
+		CommonThreadPool.shutdownAsyncPools();
+		boolean tmp = CommonThreadPool.USE_VIRTUAL_THREADS;
+		try {
+			CommonThreadPool.USE_VIRTUAL_THREADS = false;
+			assertFalse(CommonThreadPool.isVirtualIOPool());
+		}
+		finally {
+			CommonThreadPool.USE_VIRTUAL_THREADS = tmp;
+			CommonThreadPool.shutdownAsyncPools();
+		}
+	}
+
 	@Test
 	public void justWorks() throws InterruptedException, ExecutionException {
 
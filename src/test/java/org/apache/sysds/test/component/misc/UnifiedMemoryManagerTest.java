@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.OptimizerUtils.MemoryManager;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.UnifiedMemoryManager;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class UnifiedMemoryManagerTest {
+	private static final int rows = 200, cols = 50; //80KB per block
+
+	private MemoryManager _oldMM;
+	private long _oldPoolSize;
+	private boolean _oldStats;
+
+	@Before
+	public void setUp() throws Exception {
+		_oldMM = OptimizerUtils.MEMORY_MANAGER;
+		_oldPoolSize = OptimizerUtils.BUFFER_POOL_SIZE;
+		_oldStats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		CacheStatistics.reset();
+		OptimizerUtils.enableUMM();
+		CacheableData.initCaching("tmp_umm_test");
+		// capacity for three blocks
+		UnifiedMemoryManager.setUMMLimit(3 * (long) rows * cols * 8 + 1024);
+	}
+
+	@After
+	public void tearDown() {
+		UnifiedMemoryManager.deleteAll();
+		CacheableData.cleanupCacheDir();
+		OptimizerUtils.MEMORY_MANAGER = _oldMM;
+		OptimizerUtils.BUFFER_POOL_SIZE = _oldPoolSize;
+		DMLScript.STATISTICS = _oldStats;
+	}
+
+	@Test
+	public void testEvictionAndRestore() throws Exception {
+		MatrixBlock[] mbs = new MatrixBlock[8];
+		MatrixObject[] mos = new MatrixObject[mbs.length];
+		for(int i = 0; i < mbs.length; i++) {
+			mbs[i] = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, i);
+			mos[i] = createMatrixObject("A" + i, mbs[i]);
+		}
+		UnifiedMemoryManager.forceEviction();
+		assertTrue(CacheStatistics.getUMMEvictions() >= mbs.length - 3);
+		assertTrue(UnifiedMemoryManager.getUMMFree() >= 0);
+
+		// restore all blocks (from buffer pool or local FS)
+		for(int i = 0; i < mbs.length; i++)
+			TestUtils.compareMatricesBitAvgDistance(mbs[i], readAndRelease(mos[i]), 0, 0);
+		assertTrue(CacheStatistics.getFSHits() > 0);
+	}
+
+	@Test
+	public void testPinnedNotEvicted() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixObject mo = createMatrixObject("A", mb);
+		clearCache(mo);
+		// pin twice (e.g., concurrent operations)
+		mo.acquireRead();
+		mo.acquireRead();
+		mo.release();
+		UnifiedMemoryManager.forceEviction();
+		assertTrue(UnifiedMemoryManager.probe(mo));
+		mo.release();
+		UnifiedMemoryManager.forceEviction();
+		assertFalse(UnifiedMemoryManager.probe(mo));
+		assertEquals(0, UnifiedMemoryManager.getReservedOutputSize());
+		TestUtils.compareMatricesBitAvgDistance(mb, readAndRelease(mo), 0, 0);
+	}
+
+	@Test
+	public void testReservationPerOperation() throws Exception {
+		MatrixObject mo1 = createMatrixObject("A", TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7));
+		MatrixObject mo2 = createMatrixObject("B", TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 8));
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			// concurrent operation pins its input and keeps its reservation
+			pool.submit(() -> mo1.acquireRead()).get();
+			long reserved = UnifiedMemoryManager.getReservedOutputSize();
+			assertTrue(reserved > 0);
+			// a second operation must not reset or claim the first reservation
+			mo2.acquireRead();
+			assertTrue(UnifiedMemoryManager.getReservedOutputSize() >= reserved);
+			assertTrue(UnifiedMemoryManager.getUMMFree() >= 0);
+			mo2.release();
+			assertEquals(reserved, UnifiedMemoryManager.getReservedOutputSize());
+			pool.submit(() -> mo1.release()).get();
+			assertEquals(0, UnifiedMemoryManager.getReservedOutputSize());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testReleaseOverwrite() throws Exception {
+		MatrixBlock mb1 = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixBlock mb2 = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 8);
+		MatrixObject mo = createMatrixObject("A", mb1);
+		UnifiedMemoryManager.forceEviction();
+		mo.acquireModify(mb2);
+		mo.release();
+		long cached = UnifiedMemoryManager.getCachedSize();
+		mo.acquireModify(mb2);
+		mo.release();
+		assertEquals(cached, UnifiedMemoryManager.getCachedSize());
+		UnifiedMemoryManager.forceEviction();
+		TestUtils.compareMatricesBitAvgDistance(mb2, readAndRelease(mo), 0, 0);
+	}
+
+	private static MatrixObject createMatrixObject(String name, MatrixBlock mb) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, mb.getNonZeros());
+		MatrixObject mo = new MatrixObject(ValueType.FP64, name, new MetaDataFormat(mc, FileFormat.BINARY));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+
+	private static MatrixBlock readAndRelease(MatrixObject mo) throws Exception {
+		clearCache(mo);
+		MatrixBlock ret = mo.acquireRead();
+		mo.release();
+		return ret;
+	}
+
+	private static void clearCache(MatrixObject mo) throws Exception {
+		Method clear = CacheableData.class.getDeclaredMethod("clearCache");
+		clear.setAccessible(true);
+		clear.invoke(mo);
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.sparse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockFactory;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * Checks matrix operations on column-major (CSC, MCSC) and doubly compressed (DCSR)
+ * sparse blocks against the same operations on the default MCSR blocks.
+ */
+public class SparseBlockColumnMajorOps extends AutomatedTestBase
+{
+	private final static int rows = 1123;
+	private final static int cols = 97;
+	private final static double sparsity1 = 0.001;
+	private final static double sparsity2 = 0.05;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCSCSparsity1() {
+		runColumnMajorOpsTest(SparseBlock.Type.CSC, sparsity1);
+	}
+
+	@Test
+	public void testCSCSparsity2() {
+		runColumnMajorOpsTest(SparseBlock.Type.CSC, sparsity2);
+	}
+
+	@Test
+	public void testMCSCSparsity1() {
+		runColumnMajorOpsTest(SparseBlock.Type.MCSC, sparsity1);
+	}
+
+	@Test
+	public void testMCSCSparsity2() {
+		runColumnMajorOpsTest(SparseBlock.Type.MCSC, sparsity2);
+	}
+
+	@Test
+	public void testDCSRSparsity1() {
+		runColumnMajorOpsTest(SparseBlock.Type.DCSR, sparsity1);
+	}
+
+	@Test
+	public void testDCSRSparsity2() {
+		runColumnMajorOpsTest(SparseBlock.Type.DCSR, sparsity2);
+	}
+
+	@Test
+	public void testTransposeLeftViewCSR() {
+		MatrixBlock X = new MatrixBlock(TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, sparsity2, 7),
+			SparseBlock.Type.CSR, true);
+		MatrixBlock y = TestUtils.generateTestMatrixBlock(rows, 3, -1, 1, 1.0, 3);
+		MatrixBlock tX = LibMatrixMult.prepMatrixMultTransposeLeftInput(X, 1);
+		Assert.assertTrue(SparseBlockFactory.isColumnMajor(tX.getSparseBlock()));
+		MatrixBlock expected = LibMatrixMult.matrixMult(LibMatrixReorg.transpose(X), y);
+		TestUtils.compareMatrices(expected, LibMatrixMult.matrixMult(tX, y), 1e-10);
+		TestUtils.compareMatrices(expected, LibMatrixMult.matrixMult(tX, y, 4), 1e-10);
+	}
+
+	@Test
+	public void testSelectSparseBlockType() {
+		Assert.assertEquals(SparseBlock.Type.CSC,
+			SparseBlockFactory.selectSparseBlockType(10000, 10, 100, 50, true));
+		Assert.assertEquals(SparseBlock.Type.DCSR,
+			SparseBlockFactory.selectSparseBlockType(10000, 10, 100, 50, false));
+		Assert.assertEquals(SparseBlock.Type.CSR,
+			SparseBlockFactory.selectSparseBlockType(10000, 10, 100000, 9000, false));
+		Assert.assertEquals(SparseBlock.Type.MCSR,
+			SparseBlockFactory.selectSparseBlockType(Integer.MAX_VALUE, 10, 3L * Integer.MAX_VALUE, 9000, false));
+	}
+
+	@Test
+	public void testSerializeCSCUnchanged() throws IOException {
+		runSerializeTest(SparseBlock.Type.CSC);
+	}
+
+	@Test
+	public void testSerializeMCSCUnchanged() throws IOException {
+		runSerializeTest(SparseBlock.Type.MCSC);
+	}
+
+	@Test
+	public void testReadUltraSparseKeepsCSR() throws IOException {
+		//tall ultra-sparse block with few non-empty rows, not converted to DCSR on read
+		MatrixBlock mb = new MatrixBlock(SparseBlockFactory.DCSR_MIN_ROWS * 4, cols, true);
+		for(int i = 0; i < 10; i++)
+			mb.appendValue(i * 100, i, i + 1);
+		MatrixBlock mb2 = serializeAndRead(mb);
+		Assert.assertEquals(SparseBlock.Type.CSR, SparseBlockFactory.getSparseBlockType(mb2.getSparseBlock()));
+		TestUtils.compareMatrices(mb, mb2, 0);
+	}
+
+	private void runSerializeTest(SparseBlock.Type btype) throws IOException {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, sparsity2, 7);
+		MatrixBlock mbt = new MatrixBlock(mb, btype, true);
+		SparseBlock sblock = mbt.getSparseBlock();
+		MatrixBlock mb2 = serializeAndRead(mbt);
+		//the serialized block keeps its format and is not converted in place
+		Assert.assertSame(sblock, mbt.getSparseBlock());
+		TestUtils.compareMatrices(mb, mb2, 0);
+	}
+
+	private static MatrixBlock serializeAndRead(MatrixBlock mb) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		mb.write(new DataOutputStream(bos));
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		return ret;
+	}
+
+	private void runColumnMajorOpsTest(SparseBlock.Type btype, double sparsity) {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, sparsity, 7);
+		MatrixBlock mbt = new MatrixBlock(mb, btype, true);
+		Assert.assertEquals(btype, SparseBlockFactory.getSparseBlockType(mbt.getSparseBlock()));
+		Assert.assertEquals(mb.getNonZeros(), mbt.getNonZeros());
+
+		//conversion back to row-major
+		TestUtils.compareMatrices(mb, new MatrixBlock(mbt, SparseBlock.Type.CSR, true), 0);
+		TestUtils.compareMatrices(mb, new MatrixBlock(mbt, SparseBlock.Type.MCSR, true), 0);
+
+		//transpose
+		TestUtils.compareMatrices(LibMatrixReorg.transpose(mb), LibMatrixReorg.transpose(mbt), 0);
+		TestUtils.compareMatrices(LibMatrixReorg.transpose(mb, 4), LibMatrixReorg.transpose(mbt, 4), 0);
+
+		//column aggregates
+		TestUtils.compareMatrices(mb.colSum(), mbt.colSum(), 1e-10);
+
+		//matrix multiplication (sparse-dense, single- and multi-threaded)
+		MatrixBlock y = TestUtils.generateTestMatrixBlock(cols, 5, -1, 1, 1.0, 3);
+		MatrixBlock expected = LibMatrixMult.matrixMult(mb, y);
+		TestUtils.compareMatrices(expected, LibMatrixMult.matrixMult(mbt, y), 1e-10);
+		TestUtils.compareMatrices(expected, LibMatrixMult.matrixMult(mbt, y, 4), 1e-10);
+
+		//transpose-self matrix multiplication
+		MatrixBlock tsmm = mb.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+		TestUtils.compareMatrices(tsmm,
+			mbt.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT), 1e-10);
+		TestUtils.compareMatrices(tsmm,
+			mbt.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, 4), 1e-10);
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.tensor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFactory;
+import org.apache.sysds.runtime.data.DenseBlockLDRB;
+import org.apache.sysds.runtime.data.DenseBlockLFP64OffHeap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DenseBlockOffHeapTest
+{
+	@Test
+	public void testSetGetCell() {
+		DenseBlock db = createOffHeap(7, 13);
+		checkSequence(setSequence(db));
+		Assert.assertEquals(7 * 13, db.countNonZeros());
+		Assert.assertTrue(((DenseBlockLFP64OffHeap) db).isOffHeap(0));
+	}
+
+	@Test
+	public void testSetGetCellMultiBlock() {
+		int tmp = DenseBlockLDRB.MAX_ALLOC;
+		try {
+			DenseBlockLDRB.MAX_ALLOC = 40;
+			DenseBlock db = createOffHeap(9, 13);
+			Assert.assertEquals(3, db.numBlocks());
+			checkSequence(setSequence(db));
+			Assert.assertEquals(9 * 13, db.countNonZeros());
+			Assert.assertEquals(2 * 13 - 2, db.countNonZeros(1, 3, 1, 13));
+		}
+		finally {
+			DenseBlockLDRB.MAX_ALLOC = tmp;
+		}
+	}
+
+	@Test
+	public void testMaterializeOnHeap() {
+		DenseBlockLFP64OffHeap db = (DenseBlockLFP64OffHeap) setSequence(createOffHeap(7, 13));
+		double[] vals = db.values(3);
+		Assert.assertFalse(db.isOffHeap(0));
+		Assert.assertEquals(0, db.getOffHeapSize());
+		Assert.assertEquals(3 * 13 + 5 + 1, vals[db.pos(3, 5)], 0);
+		// updates through the materialized array remain visible
+		vals[db.pos(2, 2)] = -1;
+		Assert.assertEquals(-1, db.get(2, 2), 0);
+		db.set(2, 2, 2 * 13 + 2 + 1);
+		checkSequence(db);
+	}
+
+	@Test
+	public void testConcurrentMaterialize() throws Exception {
+		// threads update disjoint rows of the same block via cells and arrays
+		int k = 8, rlen = 64, clen = 100;
+		for(int rep = 0; rep < 10; rep++) {
+			DenseBlockLFP64OffHeap db = (DenseBlockLFP64OffHeap) createOffHeap(rlen, clen);
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				List<Future<?>> tasks = new ArrayList<>();
+				for(int t = 0; t < k; t++) {
+					final int tix = t;
+					tasks.add(pool.submit(() -> {
+						for(int i = tix; i < rlen; i += k)
+							for(int j = 0; j < clen; j++) {
+								if(j % 2 == 0)
+									db.set(i, j, i * clen + j + 1);
+								else
+									db.values(i)[db.pos(i, j)] = i * clen + j + 1;
+							}
+					}));
+				}
+				for(Future<?> f : tasks)
+					f.get();
+			}
+			finally {
+				pool.shutdown();
+			}
+			Assert.assertFalse(db.isOffHeap(0));
+			checkSequence(db);
+		}
+	}
+
+	@Test
+	public void testMemoryMap() throws IOException {
+		File file = File.createTempFile("offheap", ".bin");
+		file.deleteOnExit();
+		try(DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+			out.writeLong(7); //header to skip
+			for(int i = 0; i < 11 * 17; i++)
+				out.writeDouble(i + 1);
+		}
+		try(FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			DenseBlock db = DenseBlockFactory.mapDenseBlock(ch, Long.BYTES, 11, 17);
+			Assert.assertEquals(DenseBlock.Type.LDRB_OFFHEAP, DenseBlockFactory.getDenseBlockType(db));
+			checkSequence(db);
+			// updates materialize the mapped block
+			db.set(0, 0, -1);
+			Assert.assertFalse(((DenseBlockLFP64OffHeap) db).isOffHeap(0));
+			Assert.assertEquals(-1, db.get(0, 0), 0);
+		}
+	}
+
+	@Test
+	public void testMatrixBlockSerialization() throws IOException {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(123, 45, -1, 1, 1.0, 7);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(DataOutputStream out = new DataOutputStream(bos)) {
+			mb.write(out);
+		}
+		long tmp = DMLScript.OFFHEAP_DENSE_THRESHOLD;
+		MatrixBlock mb2 = new MatrixBlock();
+		try {
+			DMLScript.OFFHEAP_DENSE_THRESHOLD = 0;
+			mb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		}
+		finally {
+			DMLScript.OFFHEAP_DENSE_THRESHOLD = tmp;
+		}
+		Assert.assertTrue(mb2.getDenseBlock() instanceof DenseBlockLFP64OffHeap);
+		Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(mb, mb2, 0, 0);
+
+		// roundtrip of the off-heap block
+		bos = new ByteArrayOutputStream();
+		try(DataOutputStream out = new DataOutputStream(bos)) {
+			mb2.write(out);
+		}
+		MatrixBlock mb3 = new MatrixBlock();
+		mb3.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		TestUtils.compareMatricesBitAvgDistance(mb, mb3, 0, 0);
+
+		// operations on the off-heap block
+		Assert.assertEquals(mb.sum(), mb2.sum(), 1e-10);
+	}
+
+	@Test
+	public void testMatrixBlockAllocationOnHeap() {
+		// outputs are allocated on the heap, even if above the threshold
+		long tmp = DMLScript.OFFHEAP_DENSE_THRESHOLD;
+		MatrixBlock mb = new MatrixBlock(17, 11, false);
+		try {
+			DMLScript.OFFHEAP_DENSE_THRESHOLD = 0;
+			mb.allocateDenseBlock();
+		}
+		finally {
+			DMLScript.OFFHEAP_DENSE_THRESHOLD = tmp;
+		}
+		Assert.assertFalse(mb.getDenseBlock() instanceof DenseBlockLFP64OffHeap);
+		Assert.assertTrue(mb.getDenseBlock().isContiguous());
+	}
+
+	private static DenseBlock createOffHeap(int rlen, int clen) {
+		return DenseBlockFactory.createDenseBlock(ValueType.FP64,
+			DenseBlock.Type.LDRB_OFFHEAP, new int[] {rlen, clen}, false);
+	}
+
+	private static DenseBlock setSequence(DenseBlock db) {
+		int clen = db.getDim(1);
+		for(int i = 0; i < db.numRows(); i++)
+			for(int j = 0; j < clen; j++)
+				db.set(i, j, i * clen + j + 1);
+		return db;
+	}
+
+	private static void checkSequence(DenseBlock db) {
+		int clen = db.getDim(1);
+		for(int i = 0; i < db.numRows(); i++)
+			for(int j = 0; j < clen; j++)
+				Assert.assertEquals(i * clen + j + 1, db.get(i, j), 0);
+	}
+}
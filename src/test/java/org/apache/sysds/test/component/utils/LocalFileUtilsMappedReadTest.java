@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.utils;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.data.DenseBlockLFP64OffHeap;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class LocalFileUtilsMappedReadTest {
+
+	@Test
+	public void testDenseMapped() throws IOException {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(321, 47, -1, 1, 0.9, 7);
+		MatrixBlock ret = writeAndReadMapped(mb);
+		assertTrue(ret.getDenseBlock() instanceof DenseBlockLFP64OffHeap);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void testSparseFallback() throws IOException {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(321, 47, -1, 1, 0.05, 7);
+		MatrixBlock ret = writeAndReadMapped(mb);
+		assertFalse(ret.getDenseBlock() instanceof DenseBlockLFP64OffHeap);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void testEmptyFallback() throws IOException {
+		MatrixBlock mb = new MatrixBlock(13, 7, false);
+		MatrixBlock ret = writeAndReadMapped(mb);
+		assertTrue(ret.isEmpty());
+	}
+
+	@Test
+	public void testOverwriteMappedFile() throws IOException {
+		File file = File.createTempFile("evict", ".dat");
+		file.deleteOnExit();
+		String fname = file.getAbsolutePath();
+		MatrixBlock mb1 = TestUtils.generateTestMatrixBlock(123, 45, -1, 1, 1.0, 7);
+		MatrixBlock mb2 = TestUtils.generateTestMatrixBlock(67, 89, -1, 1, 1.0, 8);
+		LocalFileUtils.writeMatrixBlockToLocal(fname, mb1);
+		MatrixBlock ret1 = LocalFileUtils.readMatrixBlockFromLocalMapped(fname);
+		// re-eviction to the same file must not affect existing mappings
+		LocalFileUtils.writeMatrixBlockToLocal(fname, mb2);
+		MatrixBlock ret2 = LocalFileUtils.readMatrixBlockFromLocalMapped(fname);
+		TestUtils.compareMatricesBitAvgDistance(mb1, ret1, 0, 0);
+		TestUtils.compareMatricesBitAvgDistance(mb2, ret2, 0, 0);
+	}
+
+	@Test
+	public void testConcurrentUpdateMapped() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(64, 47, -1, 1, 1.0, 7);
+		MatrixBlock ret = writeAndReadMapped(mb);
+		DenseBlock a = ret.getDenseBlock();
+		// concurrent first updates of the same read-only mapped block
+		int k = 8;
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int t = 0; t < k; t++) {
+				final int tix = t;
+				tasks.add(pool.submit(() -> {
+					for(int i = tix; i < 64; i += k)
+						for(int j = 0; j < 47; j++)
+							a.set(i, j, 2 * a.get(i, j));
+				}));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+		assertFalse(((DenseBlockLFP64OffHeap) a).isOffHeap(0));
+		for(int i = 0; i < 64; i++)
+			for(int j = 0; j < 47; j++)
+				assertTrue(2 * mb.get(i, j) == a.get(i, j));
+	}
+
+	private static MatrixBlock writeAndReadMapped(MatrixBlock mb) throws IOException {
+		File file = File.createTempFile("evict", ".dat");
+		file.deleteOnExit();
+		LocalFileUtils.writeMatrixBlockToLocal(file.getAbsolutePath(), mb);
+		return (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(file.getAbsolutePath(), true, true);
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.utils;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.SpillCodec;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+@net.jcip.annotations.NotThreadSafe
+public class LocalFileUtilsSpillCodecTest {
+
+	private final SpillCodec codec;
+
+	public LocalFileUtilsSpillCodecTest(SpillCodec codec) {
+		this.codec = codec;
+	}
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		List<Object[]> tests = new ArrayList<>();
+		for(SpillCodec codec : SpillCodec.values())
+			tests.add(new Object[] {codec});
+		return tests;
+	}
+
+	@Test
+	public void testDense() throws IOException {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(321, 47, 0, 9, 0.9, 7));
+		MatrixBlock ret = (MatrixBlock) writeAndRead(mb, false);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void testDenseMapped() throws IOException {
+		// compressed spill files are read without memory-mapping
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(321, 47, -1, 1, 0.9, 7);
+		MatrixBlock ret = (MatrixBlock) writeAndRead(mb, true);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void testSparse() throws IOException {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(321, 47, -1, 1, 0.05, 7);
+		MatrixBlock ret = (MatrixBlock) writeAndRead(mb, false);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void testFrame() throws IOException {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(123, 4, -10, 10, 0.9, 7);
+		FrameBlock fb = DataConverter.convertToFrameBlock(mb,
+			new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT64, ValueType.BOOLEAN});
+		File file = createTempFile();
+		LocalFileUtils.writeCacheBlockToLocal(file.getAbsolutePath(), fb, codec);
+		FrameBlock ret = LocalFileUtils.readFrameBlockFromLocal(file.getAbsolutePath());
+		TestUtils.compareFrames(DataConverter.convertToStringFrame(fb),
+			DataConverter.convertToStringFrame(ret), fb.getNumRows(), fb.getNumColumns());
+	}
+
+	@Test
+	public void testByteArray() throws IOException {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(321, 47, -1, 1, 0.05, 7);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(DataOutputStream out = new DataOutputStream(bos)) {
+			mb.write(out);
+		}
+		byte[] data = bos.toByteArray();
+		File file = createTempFile();
+		LocalFileUtils.writeByteArrayToLocal(file.getAbsolutePath(), data, codec);
+		if(codec != SpillCodec.NONE)
+			assertTrue(file.length() < data.length);
+		MatrixBlock ret = LocalFileUtils.readMatrixBlockFromLocal(file.getAbsolutePath());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void testBufferPoolEviction() throws IOException {
+		SpillCodec tmp = CacheableData.CACHING_SPILL_CODEC;
+		long tmp2 = CacheableData.CACHING_SPILL_THRESHOLD;
+		try {
+			CacheableData.CACHING_SPILL_CODEC = codec;
+			CacheableData.CACHING_SPILL_THRESHOLD = 0;
+			LazyWriteBuffer.init();
+			LazyWriteBuffer.setWriteBufferLimit(2 * 321 * 47 * 8);
+			MatrixBlock[] mbs = new MatrixBlock[5];
+			String[] fnames = new String[mbs.length];
+			for(int i = 0; i < mbs.length; i++) {
+				mbs[i] = TestUtils.generateTestMatrixBlock(321, 47, -1, 1, (i % 2 == 0) ? 0.9 : 0.05, i);
+				fnames[i] = createTempFile().getAbsolutePath();
+				LazyWriteBuffer.writeBlock(fnames[i], mbs[i]);
+			}
+			LazyWriteBuffer.forceEviction();
+			for(int i = 0; i < mbs.length; i++)
+				TestUtils.compareMatricesBitAvgDistance(mbs[i],
+					(MatrixBlock) LazyWriteBuffer.readBlock(fnames[i], true), 0, 0);
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			CacheableData.CACHING_SPILL_CODEC = tmp;
+			CacheableData.CACHING_SPILL_THRESHOLD = tmp2;
+		}
+	}
+
+	private Object writeAndRead(MatrixBlock mb, boolean mmap) throws IOException {
+		File file = createTempFile();
+		LocalFileUtils.writeCacheBlockToLocal(file.getAbsolutePath(), mb, codec);
+		return LocalFileUtils.readCacheBlockFromLocal(file.getAbsolutePath(), true, mmap);
+	}
+
+	private static File createTempFile() throws IOException {
+		File file = File.createTempFile("spill", ".dat");
+		file.deleteOnExit();
+		return file;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.compress.instructionsSpark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.api.java.function.Function;
+import org.apache.spark.broadcast.Broadcast;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysds.runtime.instructions.spark.CompressionSPInstruction;
+import org.apache.sysds.runtime.instructions.spark.CompressionSPInstruction.CompressionSchemeFunction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+import scala.Tuple2;
+
+public class CompressedSparkInstructionsTestScheme extends CompressedSparkInstructionsTest {
+
+	@Override
+	public double getDensity() {
+		return 1.0;
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return new File(SCRIPT_DIR + getTestDir(), "SystemDS-config-compress-scheme.xml");
+	}
+
+	@Test
+	public void testSharedDictionaries() {
+		final MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(4000, 5, 1, 5, 1.0, 7));
+		final MatrixBlock scheme = CompressionSPInstruction
+			.deriveScheme(new MatrixBlock[] {mb.slice(0, 999), mb.slice(1000, 1999)});
+		assertTrue(scheme instanceof CompressedMatrixBlock);
+		final List<AColGroup> schemeGroups = ((CompressedMatrixBlock) scheme).getColGroups();
+
+		final JavaSparkContext sc = SparkExecutionContext.getSparkContextStatic();
+		final Broadcast<MatrixBlock[]> schemes = sc.broadcast(new MatrixBlock[] {scheme});
+		final JavaPairRDD<MatrixIndexes, MatrixBlock> in = SparkExecutionContext.toMatrixJavaPairRDD(sc, mb, 1000)
+			.partitionBy(new HashPartitioner(2));
+		final JavaPairRDD<MatrixIndexes, MatrixBlock> out = in
+			.mapPartitionsToPair(new CompressionSchemeFunction(schemes, new FailFunction()), true);
+		assertEquals(in.partitioner(), out.partitioner());
+
+		final List<Tuple2<MatrixIndexes, MatrixBlock>> blocks = out.collect();
+		assertEquals(4, blocks.size());
+		for(Tuple2<MatrixIndexes, MatrixBlock> b : blocks) {
+			assertTrue(b._2() instanceof CompressedMatrixBlock);
+			final List<AColGroup> groups = ((CompressedMatrixBlock) b._2()).getColGroups();
+			assertEquals(schemeGroups.size(), groups.size());
+			for(int i = 0; i < groups.size(); i++) {
+				assertEquals(schemeGroups.get(i).getColIndices(), groups.get(i).getColIndices());
+				// all values are contained in the sample, so the block must reuse the scheme dictionaries
+				assertTrue(((ADictBasedColGroup) groups.get(i)).getDictionary()
+					.equals(((ADictBasedColGroup) schemeGroups.get(i)).getDictionary()));
+			}
+			final int rl = (int) (b._1().getRowIndex() - 1) * 1000;
+			TestUtils.compareMatricesBitAvgDistance(mb.slice(rl, rl + 999), b._2(), 0, 0);
+		}
+	}
+
+	private static class FailFunction implements Function<MatrixBlock, MatrixBlock> {
+		private static final long serialVersionUID = -1203584318291856142L;
+
+		@Override
+		public MatrixBlock call(MatrixBlock arg0) throws Exception {
+			throw new AssertionError("Block compressed independently instead of with the shared scheme");
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class CachePrefetchTest extends LineageBase {
+
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "CachePrefetch1";
+
+	protected String TEST_CLASS_DIR = TEST_DIR + CachePrefetchTest.class.getSimpleName() + "/";
+
+	private final static int size = 1000;
+	private final static int iterations = 12;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+	}
+
+	@Test
+	public void testPrefetchSpilled() {
+		runTest(TEST_NAME1);
+	}
+
+	public void runTest(String testname) {
+		try {
+			LOG.debug("------------ BEGIN " + testname + "------------");
+			getAndLoadTestConfiguration(testname);
+			fullDMLScriptName = getScript();
+
+			// without reuse
+			Lineage.resetInternalState();
+			runScript(ReuseCacheType.NONE);
+			HashMap<MatrixValue.CellIndex, Double> R_orig = readDMLMatrixFromOutputDir("R");
+
+			// full reuse with spilling and prefetch of spilled entries
+			Lineage.resetInternalState();
+			runScript(ReuseCacheType.REUSE_FULL);
+			HashMap<MatrixValue.CellIndex, Double> R_reused = readDMLMatrixFromOutputDir("R");
+			// spilling depends on the measured compute and I/O times
+			Assert.assertTrue(LineageCacheStatistics.getPrefetchHits() <= LineageCacheStatistics.getPrefetches());
+			// hits on prefetched entries still count as hits of spilled entries
+			Assert.assertTrue(LineageCacheStatistics.getPrefetchHits() <= LineageCacheStatistics.getFSHits());
+			TestUtils.compareMatrices(R_orig, R_reused, 1e-6, "Origin", "Reused");
+		}
+		finally {
+			Lineage.resetInternalState();
+		}
+	}
+
+	private void runScript(ReuseCacheType reuse) {
+		List<String> proArgs = new ArrayList<>();
+		proArgs.add("-stats");
+		proArgs.add("-lineage");
+		proArgs.add(reuse.name().toLowerCase());
+		proArgs.add("-args");
+		proArgs.add(String.valueOf(size));
+		proArgs.add(String.valueOf(iterations));
+		proArgs.add(output("R"));
+		programArgs = proArgs.toArray(new String[proArgs.size()]);
+		runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+	}
+}
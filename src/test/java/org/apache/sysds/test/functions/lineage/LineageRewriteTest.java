@@ -23,9 +23,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.hops.recompile.Recompiler;
 import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
 import org.apache.sysds.runtime.matrix.data.MatrixValue;
 import org.apache.sysds.test.AutomatedTestBase;
 import org.apache.sysds.test.TestConfiguration;
@@ -42,6 +44,8 @@ public class LineageRewriteTest extends AutomatedTestBase {
 	protected static final String TEST_NAME7 = "RewriteTest11";
 	protected static final String TEST_NAME8 = "RewriteTest12";
 	protected static final String TEST_NAME9 = "RewriteTest13";
+	protected static final String TEST_NAME10 = "RewriteTest14";
+	protected static final String TEST_NAME11 = "RewriteTest15";
 	
 	protected String TEST_CLASS_DIR = TEST_DIR + LineageRewriteTest.class.getSimpleName() + "/";
 	
@@ -60,6 +64,8 @@ public class LineageRewriteTest extends AutomatedTestBase {
 		addTestConfiguration(TEST_NAME7, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME7));
 		addTestConfiguration(TEST_NAME8, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME8));
 		addTestConfiguration(TEST_NAME9, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME9));
+		addTestConfiguration(TEST_NAME10, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME10));
+		addTestConfiguration(TEST_NAME11, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME11));
 	}
 	
 	@Test
@@ -108,7 +114,30 @@ public class LineageRewriteTest extends AutomatedTestBase {
 		testRewrite(TEST_NAME9, false, 0);
 	}
 
+	@Test
+	public void testIncAggWindowRbind() {
+		testRewrite(TEST_NAME10, false, 0);
+		Assert.assertTrue(LineageCacheStatistics.getPRewrites() > 0);
+	}
+
+	@Test
+	public void testIncAggWindowNonFinite() {
+		// NaN and Inf in rows that leave the window must not poison later windows
+		testRewrite(TEST_NAME10, false, 0, true);
+		Assert.assertTrue(LineageCacheStatistics.getPRewrites() > 0);
+	}
+
+	@Test
+	public void testTMatmulRbindColBlock() {
+		testRewrite(TEST_NAME11, false, 0);
+		Assert.assertTrue(LineageCacheStatistics.getPRewrites() > 0);
+	}
+
 	private void testRewrite(String testname, boolean elementwise, int classes) {
+		testRewrite(testname, elementwise, classes, false);
+	}
+
+	private void testRewrite(String testname, boolean elementwise, int classes, boolean nonFinite) {
 		try {
 			getAndLoadTestConfiguration(testname);
 			List<String> proArgs = new ArrayList<>();
@@ -122,6 +151,10 @@ public class LineageRewriteTest extends AutomatedTestBase {
 			programArgs = proArgs.toArray(new String[proArgs.size()]);
 			fullDMLScriptName = getScript();
 			double[][] X = getRandomMatrix(numRecords, numFeatures, 0, 1, 0.8, -1);
+			if (nonFinite) {
+				X[0][0] = Double.NaN;
+				X[2][3] = Double.POSITIVE_INFINITY;
+			}
 			double[][] Y = !elementwise ? getRandomMatrix(numFeatures, numRecords, 0, 1, 0.8, -1)
 				: getRandomMatrix(numRecords, numFeatures, 0, 1, 0.8, -1);
 			if (classes > 0) {
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class PersistentCacheTest extends LineageBase {
+
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "PersistentCache1";
+
+	protected String TEST_CLASS_DIR = TEST_DIR + PersistentCacheTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-persist.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	private final static String PERSIST_DIR = "target/testTemp/" + TEST_DIR + "PersistentCacheTest/lincache";
+
+	private final static int rows = 2000;
+	private final static int cols = 800;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+	}
+
+	@Test
+	public void testReuseAcrossRuns() {
+		runTest(TEST_NAME1);
+	}
+
+	public void runTest(String testname) {
+		try {
+			LOG.debug("------------ BEGIN " + testname + "------------");
+			getAndLoadTestConfiguration(testname);
+			fullDMLScriptName = getScript();
+			LocalFileUtils.deleteFileIfExists(PERSIST_DIR);
+			writeInputMatrixWithMTD("X", getRandomMatrix(rows, cols, 0, 1, 1.0, 7), false);
+
+			// first run: compute and persist the intermediates
+			Lineage.resetInternalState();
+			runScript();
+			HashMap<MatrixValue.CellIndex, Double> R_orig = readDMLMatrixFromOutputDir("R");
+			Assert.assertEquals(0, LineageCacheStatistics.getPersistHits());
+			Assert.assertTrue(LineageCacheStatistics.getPersistWrites() > 0);
+
+			// second run with empty in-memory cache: reuse persisted intermediates
+			Lineage.resetInternalState();
+			runScript();
+			HashMap<MatrixValue.CellIndex, Double> R_reused = readDMLMatrixFromOutputDir("R");
+			Assert.assertTrue(LineageCacheStatistics.getPersistHits() > 0);
+			TestUtils.compareMatrices(R_orig, R_reused, 1e-6, "Origin", "Reused");
+
+			// third run with modified input: no reuse of outdated intermediates
+			writeInputMatrixWithMTD("X", getRandomMatrix(rows + 1, cols, 0, 1, 1.0, 8), false);
+			Lineage.resetInternalState();
+			runScript();
+			Assert.assertEquals(0, LineageCacheStatistics.getPersistHits());
+		}
+		finally {
+			Lineage.resetInternalState();
+			LocalFileUtils.deleteFileIfExists(PERSIST_DIR);
+		}
+	}
+
+	private void runScript() {
+		List<String> proArgs = new ArrayList<>();
+		proArgs.add("-stats");
+		proArgs.add("-lineage");
+		proArgs.add(ReuseCacheType.REUSE_FULL.name().toLowerCase());
+		proArgs.add("-args");
+		proArgs.add(input("X"));
+		proArgs.add(output("R"));
+		programArgs = proArgs.toArray(new String[proArgs.size()]);
+		runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+	}
+
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -24,9 +24,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.sysds.runtime.util.DependencyTask;
 import org.apache.sysds.runtime.util.DependencyThreadPool;
 import org.apache.sysds.test.AutomatedTestBase;
 import org.apache.sysds.test.TestConfiguration;
@@ -98,6 +103,97 @@ public class DependencyThreadPoolTest extends AutomatedTestBase {
 		}
 	}
 
+	@Test(timeout = 10000)
+	public void testDiamond() throws Exception {
+		// a -> (b, c) -> d
+		AtomicInteger seq = new AtomicInteger();
+		int[] order = new int[4];
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for(int i = 0; i < 4; i++) {
+			final int ix = i;
+			tasks.add(() -> order[ix] = seq.incrementAndGet());
+		}
+		List<List<? extends Callable<?>>> deps = Arrays.asList(null,
+			tasks.subList(0, 1), tasks.subList(0, 1), tasks.subList(1, 3));
+		DependencyThreadPool pool = new DependencyThreadPool(4);
+		try {
+			List<Object> ret = pool.submitAllAndWait(DependencyThreadPool.createDependencyTasks(tasks, deps));
+			Assert.assertEquals(4, ret.size());
+			Assert.assertEquals(1, order[0]);
+			Assert.assertTrue(order[1] > order[0] && order[2] > order[0]);
+			Assert.assertEquals(4, order[3]);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testFailureCancelsGraph() throws Exception {
+		// a -> b -> c, where b fails
+		AtomicBoolean executed = new AtomicBoolean(false);
+		List<Callable<Object>> tasks = new ArrayList<>();
+		tasks.add(() -> null);
+		tasks.add(() -> {
+			throw new RuntimeException("failed task");
+		});
+		tasks.add(() -> executed.getAndSet(true));
+		List<List<? extends Callable<?>>> deps = Arrays.asList(null, tasks.subList(0, 1), tasks.subList(1, 2));
+		List<DependencyTask<?>> dtasks = DependencyThreadPool.createDependencyTasks(tasks, deps);
+		// dependent tasks first, which would wait forever without cancellation
+		dtasks.get(2).setPriority(2);
+		dtasks.get(1).setPriority(1);
+		DependencyThreadPool pool = new DependencyThreadPool(4);
+		try {
+			pool.submitAllAndWait(dtasks);
+			Assert.fail("expected failure of task graph");
+		}
+		catch(ExecutionException ex) {
+			Assert.assertEquals("failed task", ex.getCause().getMessage());
+			Assert.assertTrue(dtasks.get(0).getGraph().isCancelled());
+			Assert.assertFalse(executed.get());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testCancel() throws Exception {
+		// a -> b, where the graph is cancelled while a is running
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicBoolean executed = new AtomicBoolean(false);
+		List<Callable<Object>> tasks = new ArrayList<>();
+		tasks.add(() -> {
+			started.countDown();
+			release.await();
+			return 7;
+		});
+		tasks.add(() -> executed.getAndSet(true));
+		List<List<? extends Callable<?>>> deps = Arrays.asList(null, tasks.subList(0, 1));
+		List<DependencyTask<?>> dtasks = DependencyThreadPool.createDependencyTasks(tasks, deps);
+		DependencyThreadPool pool = new DependencyThreadPool(4);
+		try {
+			List<Future<Future<?>>> futures = pool.submitAll(dtasks);
+			started.await();
+			dtasks.get(0).getGraph().cancel();
+			release.countDown();
+			// running tasks complete, remaining tasks never start
+			Assert.assertEquals(7, futures.get(0).get().get());
+			try {
+				futures.get(1).get();
+				Assert.fail("expected cancelled task");
+			}
+			catch(CancellationException ex) {
+				Assert.assertFalse(executed.get());
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
 	private static class TestObj {
 		public int value = 0;
 